@@ -98,6 +98,12 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
     @XmlAttribute
     private String delayer;
     @XmlAttribute
+    private String routeStartupParallelism;
+    @XmlAttribute
+    private String inflightRepositoryBrowseEnabled;
+    @XmlAttribute
+    private String inflightRepositoryBrowseSampleRate;
+    @XmlAttribute
     private String handleFault;
     @XmlAttribute
     private String errorHandlerRef;
@@ -571,6 +577,30 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Blu
         this.delayer = delayer;
     }
 
+    public String getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    public void setRouteStartupParallelism(String routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
+    public String getInflightRepositoryBrowseEnabled() {
+        return inflightRepositoryBrowseEnabled;
+    }
+
+    public void setInflightRepositoryBrowseEnabled(String inflightRepositoryBrowseEnabled) {
+        this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
+    }
+
+    public String getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    public void setInflightRepositoryBrowseSampleRate(String inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public String getHandleFault() {
         return handleFault;
     }
@@ -91,6 +91,15 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Def
     @XmlAttribute
     private String delayer;
 
+    @XmlAttribute
+    private String routeStartupParallelism;
+
+    @XmlAttribute
+    private String inflightRepositoryBrowseEnabled;
+
+    @XmlAttribute
+    private String inflightRepositoryBrowseSampleRate;
+
     @XmlAttribute
     private String handleFault;
 
@@ -569,6 +578,30 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Def
         this.delayer = delayer;
     }
 
+    public String getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    public void setRouteStartupParallelism(String routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
+    public String getInflightRepositoryBrowseEnabled() {
+        return inflightRepositoryBrowseEnabled;
+    }
+
+    public void setInflightRepositoryBrowseEnabled(String inflightRepositoryBrowseEnabled) {
+        this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
+    }
+
+    public String getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    public void setInflightRepositoryBrowseSampleRate(String inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public String getHandleFault() {
         return handleFault;
     }
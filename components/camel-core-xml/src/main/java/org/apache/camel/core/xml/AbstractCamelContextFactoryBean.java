@@ -544,6 +544,12 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             if (camelJMXAgent.getLoadStatisticsEnabled() != null) {
                 agent.setLoadStatisticsEnabled(CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getLoadStatisticsEnabled()));
             }
+            if (camelJMXAgent.getPercentilesEnabled() != null) {
+                agent.setPercentilesEnabled(CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getPercentilesEnabled()));
+            }
+            if (camelJMXAgent.getPercentiles() != null) {
+                agent.setPercentiles(CamelContextHelper.parseText(getContext(), camelJMXAgent.getPercentiles()));
+            }
             if (camelJMXAgent.getEndpointRuntimeStatisticsEnabled() != null) {
                 agent.setEndpointRuntimeStatisticsEnabled(CamelContextHelper.parseBoolean(getContext(), camelJMXAgent.getEndpointRuntimeStatisticsEnabled()));
             }
@@ -605,6 +611,10 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (anySpoolRules != null) {
             getContext().getStreamCachingStrategy().setAnySpoolRules(anySpoolRules);
         }
+        Boolean offHeap = CamelContextHelper.parseBoolean(getContext(), streamCaching.getOffHeap());
+        if (offHeap != null) {
+            getContext().getStreamCachingStrategy().setOffHeap(offHeap);
+        }
         String spoolRules = CamelContextHelper.parseText(getContext(), streamCaching.getSpoolRules());
         if (spoolRules != null) {
             for (String name : ObjectHelper.createIterable(spoolRules)) {
@@ -772,6 +782,12 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
 
     public abstract String getDelayer();
 
+    public abstract String getRouteStartupParallelism();
+
+    public abstract String getInflightRepositoryBrowseEnabled();
+
+    public abstract String getInflightRepositoryBrowseSampleRate();
+
     public abstract String getHandleFault();
 
     public abstract String getAutoStartup();
@@ -868,6 +884,15 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (getDelayer() != null) {
             context.setDelayer(CamelContextHelper.parseLong(context, getDelayer()));
         }
+        if (getRouteStartupParallelism() != null) {
+            context.setRouteStartupParallelism(CamelContextHelper.parseInteger(context, getRouteStartupParallelism()));
+        }
+        if (getInflightRepositoryBrowseEnabled() != null) {
+            context.setInflightRepositoryBrowseEnabled(CamelContextHelper.parseBoolean(context, getInflightRepositoryBrowseEnabled()));
+        }
+        if (getInflightRepositoryBrowseSampleRate() != null) {
+            context.setInflightRepositoryBrowseSampleRate(CamelContextHelper.parseDouble(context, getInflightRepositoryBrowseSampleRate()));
+        }
         if (getHandleFault() != null) {
             context.setHandleFault(CamelContextHelper.parseBoolean(context, getHandleFault()));
         }
@@ -999,6 +1024,7 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         answer.setAllowCoreThreadTimeOut(CamelContextHelper.parseBoolean(context, definition.getAllowCoreThreadTimeOut()));
         answer.setRejectedPolicy(definition.getRejectedPolicy());
         answer.setTimeUnit(definition.getTimeUnit());
+        answer.setVirtualThreads(CamelContextHelper.parseBoolean(context, definition.getVirtualThreads()));
         return answer;
     }
 
@@ -59,6 +59,10 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
     private String statisticsLevel;
     @XmlAttribute @Metadata(defaultValue = "false")
     private String loadStatisticsEnabled;
+    @XmlAttribute @Metadata(defaultValue = "false")
+    private String percentilesEnabled;
+    @XmlAttribute @Metadata(defaultValue = "50,90,99,99.9")
+    private String percentiles;
     @XmlAttribute @Metadata(defaultValue = "true")
     private String endpointRuntimeStatisticsEnabled;
     @XmlAttribute @Metadata(defaultValue = "false")
@@ -211,6 +215,28 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    public String getPercentilesEnabled() {
+        return percentilesEnabled;
+    }
+
+    /**
+     * A flag that indicates whether processing time percentiles is enabled
+     */
+    public void setPercentilesEnabled(String percentilesEnabled) {
+        this.percentilesEnabled = percentilesEnabled;
+    }
+
+    public String getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * The processing time percentiles to expose, as a comma separated list
+     */
+    public void setPercentiles(String percentiles) {
+        this.percentiles = percentiles;
+    }
+
     public String getEndpointRuntimeStatisticsEnabled() {
         return endpointRuntimeStatisticsEnabled;
     }
@@ -291,6 +317,12 @@ public class CamelJMXAgentDefinition extends IdentifiedType {
         if (loadStatisticsEnabled != null) {
             csb.append("loadStatisticsEnabled=" + loadStatisticsEnabled);
         }
+        if (percentilesEnabled != null) {
+            csb.append("percentilesEnabled=" + percentilesEnabled);
+        }
+        if (percentiles != null) {
+            csb.append("percentiles=" + percentiles);
+        }
         if (endpointRuntimeStatisticsEnabled != null) {
             csb.append("endpointRuntimeStatisticsEnabled=" + endpointRuntimeStatisticsEnabled);
         }
@@ -54,6 +54,8 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     private String statisticsEnabled;
     @XmlAttribute @Metadata(defaultValue = "false")
     private String anySpoolRules;
+    @XmlAttribute @Metadata(defaultValue = "false")
+    private String offHeap;
 
     public String getEnabled() {
         return enabled;
@@ -197,4 +199,18 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.anySpoolRules = anySpoolRules;
     }
 
-}
\ No newline at end of file
+    public String getOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Sets whether to keep the cached data off the heap, using pooled direct buffers for the in-memory
+     * part and a read-only memory-mapped file for the data spooled to disk.
+     * <p/>
+     * The default value is <tt>false</tt>.
+     */
+    public void setOffHeap(String offHeap) {
+        this.offHeap = offHeap;
+    }
+
+}
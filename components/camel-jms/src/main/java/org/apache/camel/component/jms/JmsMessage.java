@@ -231,6 +231,12 @@ public class JmsMessage extends DefaultMessage {
         }
     }
 
+    @Override
+    protected boolean isMessageIdShareable() {
+        // the id is created from the JMS message
+        return false;
+    }
+
     @Override
     protected String createMessageId() {
         if (jmsMessage == null) {
@@ -0,0 +1,67 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+/**
+ * A bounded lock-free {@link java.util.concurrent.BlockingQueue} for multiple producers and a single consumer.
+ * <p/>
+ * The producers claim the tail using compare and set. The head is claimed using compare and set as well, which is
+ * not contended when there is a single consumer, but allows other threads to {@link #clear() clear} or
+ * {@link #drainTo(java.util.Collection) drain} the queue while the consumer is running, such as when the queue
+ * of a SEDA endpoint is purged. The queue is meant to have a single consumer, such as a SEDA endpoint with
+ * <tt>concurrentConsumers=1</tt> and <tt>multipleConsumers=false</tt>.
+ *
+ * @see RingBufferBlockingQueue
+ */
+public class MpscBlockingQueue<E> extends RingBufferBlockingQueue<E> {
+
+    public MpscBlockingQueue(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    protected long claimTail() {
+        while (true) {
+            long position = tail.get();
+            long diff = sequence(position) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (diff < 0) {
+                // the slot has not been released by the consumer so the queue is full
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    protected long claimHead() {
+        while (true) {
+            long position = head.get();
+            long diff = sequence(position) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (diff < 0) {
+                // the slot has not been published by a producer so the queue is empty
+                return -1;
+            }
+        }
+    }
+}
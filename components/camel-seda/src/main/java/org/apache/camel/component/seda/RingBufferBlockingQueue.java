@@ -0,0 +1,398 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a ring buffer.
+ * <p/>
+ * Each slot of the ring buffer has a sequence number which tells whether the slot is free to be written
+ * by a producer or ready to be read by a consumer, so producers and consumers only contend on the head
+ * and tail counters. Sub classes decide whether the head and tail are claimed by multiple threads
+ * (using compare and set) or by a single thread (using ordered writes only).
+ * <p/>
+ * When the tail is claimed by a single thread, then only that thread must add elements to the queue, and when
+ * the head is claimed by a single thread, then only that thread must take elements from the queue, which
+ * includes {@link #clear()} and {@link #drainTo(Collection)}. Otherwise elements may be lost or taken twice.
+ * <p/>
+ * The blocking operations first spin, then yield, and then park the calling thread, until the queue
+ * is ready or the timeout elapses. Threads only take a lock when they need to park, and the opposite
+ * side only takes the lock to wake them up when there are parked threads.
+ * <p/>
+ * The capacity is rounded up to the next power of two. The {@link #size()} is an estimate while the queue
+ * is being changed, and {@link #remove(Object)} leaves a marker in the slot which is skipped by the
+ * consumers (and counted by {@link #size()} until then). The {@link #iterator()} is a snapshot of the queue.
+ */
+public abstract class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final Object REMOVED = new Object();
+    private static final int SPINS = 64;
+    private static final int YIELDS = SPINS + 16;
+
+    protected final AtomicLong head = new PaddedAtomicLong();
+    protected final AtomicLong tail = new PaddedAtomicLong();
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final Waiters notEmpty = new Waiters();
+    private final Waiters notFull = new Waiters();
+    private final BooleanSupplier empty = this::isEmptySlot;
+    private final BooleanSupplier full = this::isFullSlot;
+
+    protected RingBufferBlockingQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30, was: " + capacity);
+        }
+        this.capacity = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Claims the position of the tail to write to.
+     *
+     * @return the position, or <tt>-1</tt> if the queue is full
+     */
+    protected abstract long claimTail();
+
+    /**
+     * Claims the position of the head to read from.
+     *
+     * @return the position, or <tt>-1</tt> if the queue is empty
+     */
+    protected abstract long claimHead();
+
+    /**
+     * Gets the sequence of the slot at the given position.
+     */
+    protected final long sequence(long position) {
+        return sequences.get((int) position & mask);
+    }
+
+    /**
+     * The capacity of the queue
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        long position = claimTail();
+        if (position < 0) {
+            return false;
+        }
+        int index = (int) position & mask;
+        buffer.lazySet(index, e);
+        // publish the element to the consumers
+        sequences.set(index, position + 1);
+        notEmpty.signal();
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        while (true) {
+            long position = claimHead();
+            if (position < 0) {
+                return null;
+            }
+            int index = (int) position & mask;
+            // use get and set so the element cannot be removed concurrently
+            Object answer = buffer.getAndSet(index, null);
+            // release the slot to the producers
+            sequences.set(index, position + capacity);
+            notFull.signal();
+            if (answer != REMOVED) {
+                return cast(answer);
+            }
+        }
+    }
+
+    @Override
+    public E peek() {
+        return peekFrom(head.get());
+    }
+
+    private E peekFrom(long position) {
+        long last = tail.get();
+        for (long i = position; i < last; i++) {
+            if (sequence(i) != i + 1) {
+                return null;
+            }
+            Object answer = buffer.get((int) i & mask);
+            if (answer != null && answer != REMOVED) {
+                return cast(answer);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        offer(e, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        ObjectHelper.notNull(e, "element");
+        long deadline = deadline(unit.toNanos(timeout));
+        int idle = 0;
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            idle = notFull.idle(idle, remaining, full);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = deadline(unit.toNanos(timeout));
+        int idle = 0;
+        while (true) {
+            E answer = poll();
+            if (answer != null) {
+                return answer;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            idle = notEmpty.idle(idle, remaining, empty);
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue to itself");
+        }
+        int answer = 0;
+        E e;
+        while (answer < maxElements && (e = poll()) != null) {
+            c.add(e);
+            answer++;
+        }
+        return answer;
+    }
+
+    @Override
+    public int size() {
+        // read the head first so the size is never negative
+        long first = head.get();
+        long last = tail.get();
+        return (int) Math.max(0, Math.min(capacity, last - first));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return isEmptySlot();
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null) {
+            // noop
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long last = tail.get();
+        for (long position = head.get(); position < last; position++) {
+            int index = (int) position & mask;
+            if (sequences.get(index) == position + 1 && buffer.compareAndSet(index, o, REMOVED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (o == null) {
+            return false;
+        }
+        for (E e : this) {
+            if (o.equals(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList(snapshot()).iterator();
+    }
+
+    private List<E> snapshot() {
+        List<E> answer = new ArrayList<>();
+        long last = tail.get();
+        for (long position = head.get(); position < last; position++) {
+            int index = (int) position & mask;
+            Object e = buffer.get(index);
+            if (sequences.get(index) == position + 1 && e != null && e != REMOVED) {
+                answer.add(cast(e));
+            }
+        }
+        return answer;
+    }
+
+    private boolean isEmptySlot() {
+        long position = head.get();
+        return sequence(position) != position + 1;
+    }
+
+    private boolean isFullSlot() {
+        long position = tail.get();
+        return sequence(position) != position;
+    }
+
+    private static long deadline(long timeout) {
+        long now = System.nanoTime();
+        // avoid overflow for very large timeouts
+        return timeout >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E cast(Object e) {
+        return (E) e;
+    }
+
+    /**
+     * The threads waiting for the queue to be ready, which first spin, then yield
+     * and then park until they are signalled.
+     */
+    private static final class Waiters {
+
+        private final AtomicInteger parked = new AtomicInteger();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition ready = lock.newCondition();
+
+        /**
+         * Waits a bit for the queue to be ready.
+         *
+         * @param idle      how many times the thread has been waiting
+         * @param remaining the remaining timeout in nanos
+         * @param blocked   whether the queue is still not ready
+         * @return the number of times the thread has been waiting
+         */
+        int idle(int idle, long remaining, BooleanSupplier blocked) throws InterruptedException {
+            if (idle < SPINS) {
+                return idle + 1;
+            } else if (idle < YIELDS) {
+                Thread.yield();
+                return idle + 1;
+            }
+            lock.lockInterruptibly();
+            try {
+                parked.incrementAndGet();
+                try {
+                    // check again after being registered as parked so we do not miss the signal
+                    if (blocked.getAsBoolean()) {
+                        ready.awaitNanos(remaining);
+                    }
+                } finally {
+                    parked.decrementAndGet();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return idle;
+        }
+
+        void signal() {
+            if (parked.get() > 0) {
+                lock.lock();
+                try {
+                    ready.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Pads the counter so the head and tail are not on the same cache line.
+     */
+    @SuppressWarnings("unused")
+    private static final class PaddedAtomicLong extends AtomicLong {
+
+        private static final long serialVersionUID = 1L;
+
+        private long p1;
+        private long p2;
+        private long p3;
+        private long p4;
+        private long p5;
+        private long p6;
+        private long p7;
+    }
+}
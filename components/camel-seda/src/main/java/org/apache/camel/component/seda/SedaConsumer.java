@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
@@ -50,6 +51,8 @@ import org.apache.camel.util.ObjectHelper;
 public class SedaConsumer extends ServiceSupport implements Consumer, Runnable, ShutdownAware, Suspendable {
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // the exchanges which have been drained from the queue, but not yet processed
+    private final AtomicInteger drainedPending = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
@@ -58,11 +61,13 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
     private ExecutorService executor;
     private ExceptionHandler exceptionHandler;
     private final int pollTimeout;
+    private final int drainBatchSize;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         this.endpoint = endpoint;
         this.processor = AsyncProcessorConverterHelper.convert(processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.drainBatchSize = endpoint.getDrainBatchSize();
         this.exceptionHandler = new LoggingExceptionHandler(endpoint.getCamelContext(), getClass());
     }
 
@@ -99,7 +104,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         if (endpoint.isPurgeWhenStopping()) {
             endpoint.purgeQueue();
         }
-        return endpoint.getQueue().size();
+        return endpoint.getQueue().size() + drainedPending.get();
     }
 
     @Override
@@ -155,6 +160,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
+        List<Exchange> batch = drainBatchSize > 1 ? new ArrayList<>(drainBatchSize) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -196,24 +202,35 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
                     log.trace("Polled queue {} with timeout {} ms. -> {}", ObjectHelper.getIdentityHashCode(queue), pollTimeout, exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // send a new copied exchange with new camel context
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy the message back
-                        if (newExchange.hasOut()) {
-                            exchange.setOut(newExchange.getOut().copy());
-                        } else {
-                            exchange.setIn(newExchange.getIn());
+                    if (drainBatchSize > 1) {
+                        // take the exchanges which are already waiting on the queue as well,
+                        // so we do not contend on the queue for each of them
+                        batch.add(exchange);
+                        queue.drainTo(batch, drainBatchSize - 1);
+                        int size = batch.size();
+                        drainedPending.addAndGet(size);
+                        // the queue was empty if the batch is not full, so only get the size of the queue otherwise
+                        endpoint.onDrained(size, size < drainBatchSize ? 0 : queue.size());
+                        if (log.isTraceEnabled()) {
+                            log.trace("Drained {} exchanges from queue {}", size, ObjectHelper.getIdentityHashCode(queue));
                         }
-                        // log exception if an exception occurred and was not handled
-                        if (newExchange.getException() != null) {
-                            exchange.setException(newExchange.getException());
-                            getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+                        int next = 0;
+                        try {
+                            while (next < size && isRunAllowed()) {
+                                exchange = batch.get(next++);
+                                drainedPending.decrementAndGet();
+                                processExchange(exchange);
+                            }
+                        } finally {
+                            if (next < size) {
+                                // we are not allowed to run anymore, so put the rest of the batch back on the queue
+                                offerBack(queue, batch.subList(next, size));
+                                drainedPending.addAndGet(next - size);
+                            }
+                            batch.clear();
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    } else {
+                        processExchange(exchange);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     log.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -233,6 +250,42 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
         }
     }
 
+    private void offerBack(BlockingQueue<Exchange> queue, List<Exchange> exchanges) {
+        log.debug("Putting {} drained exchanges back on queue {} as the consumer is stopping", exchanges.size(), ObjectHelper.getIdentityHashCode(queue));
+        for (Exchange exchange : exchanges) {
+            if (!queue.offer(exchange)) {
+                log.warn("Cannot put exchange back on queue {} as the queue is full, the exchange is discarded: {}", ObjectHelper.getIdentityHashCode(queue), exchange);
+            }
+        }
+    }
+
+    /**
+     * Processes the exchange taken from the queue, and copies the result back to the exchange
+     *
+     * @param exchange the exchange taken from the queue
+     */
+    protected void processExchange(Exchange exchange) {
+        try {
+            // send a new copied exchange with new camel context
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy the message back
+            if (newExchange.hasOut()) {
+                exchange.setOut(newExchange.getOut().copy());
+            } else {
+                exchange.setIn(newExchange.getIn());
+            }
+            // log exception if an exception occurred and was not handled
+            if (newExchange.getException() != null) {
+                exchange.setException(newExchange.getException());
+                getExceptionHandler().handleException("Error processing exchange", exchange, exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
@@ -345,7 +398,7 @@ public class SedaConsumer extends ServiceSupport implements Consumer, Runnable,
 
         // submit needed number of tasks
         int tasks = poolSize - taskCount.get();
-        log.debug("Creating {} consumer tasks with poll timeout {} ms.", tasks, pollTimeout);
+        log.debug("Creating {} consumer tasks with poll timeout {} ms and drain batch size {}.", tasks, pollTimeout, drainBatchSize);
         for (int i = 0; i < tasks; i++) {
             executor.execute(this);
         }
@@ -23,6 +23,8 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.AsyncEndpoint;
 import org.apache.camel.AsyncProcessor;
@@ -59,6 +61,10 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private volatile AsyncProcessor consumerMulticastProcessor;
     private volatile boolean multicastStarted;
     private volatile ExecutorService multicastExecutor;
+    private final LongAdder drainedBatches = new LongAdder();
+    private final LongAdder drainedExchanges = new LongAdder();
+    private final LongAccumulator maxDrainedBatchSize = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxPolledQueueSize = new LongAccumulator(Math::max, 0);
 
     @UriPath(description = "Name of queue") @Metadata(required = true)
     private String name;
@@ -77,6 +83,8 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
     private boolean purgeWhenStopping;
     @UriParam(label = "consumer,advanced", defaultValue = "1000")
     private int pollTimeout = 1000;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int drainBatchSize = 1;
 
     @UriParam(label = "producer", defaultValue = "IfReplyExpected")
     private WaitForTaskToComplete waitForTaskToComplete = WaitForTaskToComplete.IfReplyExpected;
@@ -402,6 +410,72 @@ public class SedaEndpoint extends DefaultEndpoint implements AsyncEndpoint, Brow
         this.pollTimeout = pollTimeout;
     }
 
+    @ManagedAttribute(description = "Maximum number of exchanges taken from the queue at once by a consumer")
+    public int getDrainBatchSize() {
+        return drainBatchSize;
+    }
+
+    /**
+     * The maximum number of exchanges a consumer takes from the queue at once.
+     * When set higher than 1, then the consumer takes all the exchanges available on the queue
+     * (up to this number) after each poll, and process them one after the other without polling the queue in between.
+     * This reduces the contention on the queue when the queue is busy.
+     * The statistics of the batches taken from the queue are only gathered when set higher than 1.
+     */
+    public void setDrainBatchSize(int drainBatchSize) {
+        this.drainBatchSize = drainBatchSize;
+    }
+
+    @ManagedAttribute(description = "Number of batches of exchanges taken from the queue by the consumers")
+    public long getDrainedBatches() {
+        return drainedBatches.sum();
+    }
+
+    @ManagedAttribute(description = "Number of exchanges taken from the queue by the consumers")
+    public long getDrainedExchanges() {
+        return drainedExchanges.sum();
+    }
+
+    @ManagedAttribute(description = "Mean number of exchanges taken from the queue at once by the consumers")
+    public double getMeanDrainedBatchSize() {
+        long batches = drainedBatches.sum();
+        return batches > 0 ? (double) drainedExchanges.sum() / batches : 0;
+    }
+
+    @ManagedAttribute(description = "Maximum number of exchanges taken from the queue at once by the consumers")
+    public long getMaxDrainedBatchSize() {
+        return maxDrainedBatchSize.get();
+    }
+
+    @ManagedAttribute(description = "Maximum queue size seen by the consumers when taking exchanges from the queue")
+    public long getMaxPolledQueueSize() {
+        return maxPolledQueueSize.get();
+    }
+
+    /**
+     * Resets the statistics of the batches of exchanges taken from the queue by the consumers.
+     */
+    @ManagedOperation(description = "Resets the statistics of the batches taken from the queue")
+    public void resetDrainStatistics() {
+        drainedBatches.reset();
+        drainedExchanges.reset();
+        maxDrainedBatchSize.reset();
+        maxPolledQueueSize.reset();
+    }
+
+    /**
+     * Updates the statistics when a consumer has taken exchanges from the queue.
+     *
+     * @param batchSize the number of exchanges taken from the queue
+     * @param remaining the number of exchanges left on the queue
+     */
+    void onDrained(int batchSize, int remaining) {
+        drainedBatches.increment();
+        drainedExchanges.add(batchSize);
+        maxDrainedBatchSize.accumulate(batchSize);
+        maxPolledQueueSize.accumulate(batchSize + remaining);
+    }
+
     @ManagedAttribute
     public boolean isPurgeWhenStopping() {
         return purgeWhenStopping;
@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+/**
+ * A bounded lock-free {@link java.util.concurrent.BlockingQueue} for a single producer and multiple consumers.
+ * <p/>
+ * The producer advances the tail using ordered writes only, and the consumers claim the head using compare and set.
+ * Only a single thread must add elements to the queue at any time, such as a SEDA endpoint which is only
+ * sent to from a route with a single thread, and consumed by concurrent consumers. Any thread can take elements
+ * from the queue, such as when the queue is cleared.
+ *
+ * @see RingBufferBlockingQueue
+ */
+public class SpmcBlockingQueue<E> extends RingBufferBlockingQueue<E> {
+
+    public SpmcBlockingQueue(int capacity) {
+        super(capacity);
+    }
+
+    @Override
+    protected long claimTail() {
+        long position = tail.get();
+        if (sequence(position) != position) {
+            return -1;
+        }
+        tail.lazySet(position + 1);
+        return position;
+    }
+
+    @Override
+    protected long claimHead() {
+        while (true) {
+            long position = head.get();
+            long diff = sequence(position) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+            } else if (diff < 0) {
+                // the slot has not been published by the producer so the queue is empty
+                return -1;
+            }
+        }
+    }
+}
@@ -249,6 +249,12 @@ public class SjmsMessage extends DefaultMessage {
         }
     }
 
+    @Override
+    protected boolean isMessageIdShareable() {
+        // the id is created from the JMS message
+        return false;
+    }
+
     @Override
     protected String createMessageId() {
         if (jmsMessage == null) {
@@ -203,6 +203,9 @@ public class CamelAutoConfiguration {
         camelContext.setUseDataType(config.isUseDataType());
         camelContext.setUseMDCLogging(config.isUseMdcLogging());
         camelContext.setLoadTypeConverters(config.isLoadTypeConverters());
+        camelContext.setRouteStartupParallelism(config.getRouteStartupParallelism());
+        camelContext.setInflightRepositoryBrowseEnabled(config.isInflightRepositoryBrowseEnabled());
+        camelContext.setInflightRepositoryBrowseSampleRate(config.getInflightRepositoryBrowseSampleRate());
 
         if (camelContext.getManagementStrategy().getManagementAgent() != null) {
             camelContext.getManagementStrategy().getManagementAgent().setEndpointRuntimeStatisticsEnabled(config.isEndpointRuntimeStatisticsEnabled());
@@ -93,6 +93,24 @@ public class CamelConfigurationProperties {
      */
     private boolean loadTypeConverters = true;
 
+    /**
+     * Sets the number of threads used for creating the routes in parallel when starting Camel.
+     * The default value is 1, which creates the routes one by one.
+     */
+    private int routeStartupParallelism = 1;
+
+    /**
+     * Sets whether the inflight exchanges are tracked so they can be browsed.
+     * When disabled the inflight exchanges are only counted, which avoids the cost of tracking each exchange.
+     */
+    private boolean inflightRepositoryBrowseEnabled = true;
+
+    /**
+     * Sets the fraction (between 0 and 1) of the inflight exchanges which are tracked so they can be browsed.
+     * The default value is 1, which tracks every exchange.
+     */
+    private double inflightRepositoryBrowseSampleRate = 1.0d;
+
     /**
      * Used for inclusive filtering component scanning of RouteBuilder classes with @Component annotation.
      * The exclusive filtering takes precedence over inclusive filtering.
@@ -560,6 +578,30 @@ public class CamelConfigurationProperties {
         this.loadTypeConverters = loadTypeConverters;
     }
 
+    public int getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    public void setRouteStartupParallelism(int routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
+    public boolean isInflightRepositoryBrowseEnabled() {
+        return inflightRepositoryBrowseEnabled;
+    }
+
+    public void setInflightRepositoryBrowseEnabled(boolean inflightRepositoryBrowseEnabled) {
+        this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
+    }
+
+    public double getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    public void setInflightRepositoryBrowseSampleRate(double inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public String getJavaRoutesIncludePattern() {
         return javaRoutesIncludePattern;
     }
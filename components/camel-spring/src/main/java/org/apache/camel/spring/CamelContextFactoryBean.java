@@ -114,6 +114,12 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Spr
     private String streamCache;
     @XmlAttribute
     private String delayer;
+    @XmlAttribute @Metadata(defaultValue = "1")
+    private String routeStartupParallelism;
+    @XmlAttribute @Metadata(defaultValue = "true")
+    private String inflightRepositoryBrowseEnabled;
+    @XmlAttribute @Metadata(defaultValue = "1")
+    private String inflightRepositoryBrowseSampleRate;
     @XmlAttribute
     private String handleFault;
     @XmlAttribute
@@ -717,6 +723,46 @@ public class CamelContextFactoryBean extends AbstractCamelContextFactoryBean<Spr
         this.delayer = delayer;
     }
 
+    public String getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    /**
+     * Sets the number of threads used for creating the routes in parallel when starting Camel.
+     * <p/>
+     * The default value is 1, which creates the routes one by one.
+     */
+    public void setRouteStartupParallelism(String routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
+    public String getInflightRepositoryBrowseEnabled() {
+        return inflightRepositoryBrowseEnabled;
+    }
+
+    /**
+     * Sets whether the inflight exchanges are tracked so they can be browsed.
+     * <p/>
+     * When disabled the inflight exchanges are only counted, which avoids the cost of tracking each exchange.
+     * The default value is true.
+     */
+    public void setInflightRepositoryBrowseEnabled(String inflightRepositoryBrowseEnabled) {
+        this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
+    }
+
+    public String getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    /**
+     * Sets the fraction (between 0 and 1) of the inflight exchanges which are tracked so they can be browsed.
+     * <p/>
+     * The default value is 1, which tracks every exchange.
+     */
+    public void setInflightRepositoryBrowseSampleRate(String inflightRepositoryBrowseSampleRate) {
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public String getHandleFault() {
         return handleFault;
     }
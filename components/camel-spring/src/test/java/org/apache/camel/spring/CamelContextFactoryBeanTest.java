@@ -19,8 +19,8 @@ import java.net.URL;
 import java.util.LinkedList;
 import java.util.List;
 
+import org.apache.camel.impl.CompactUuidGenerator;
 import org.apache.camel.impl.DefaultModelJAXBContextFactory;
-import org.apache.camel.impl.DefaultUuidGenerator;
 import org.apache.camel.spi.ModelJAXBContextFactory;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.support.SimpleUuidGenerator;
@@ -51,7 +51,7 @@ public class CamelContextFactoryBeanTest extends Assert {
         
         UuidGenerator uuidGenerator = factory.getContext().getUuidGenerator();
         
-        assertTrue(uuidGenerator instanceof DefaultUuidGenerator);
+        assertTrue(uuidGenerator instanceof CompactUuidGenerator);
     }
     
     @Test
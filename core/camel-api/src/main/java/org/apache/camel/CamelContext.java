@@ -214,6 +214,16 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     long getUptimeMillis();
 
+    /**
+     * Gets the time taken in millis for each of the phases of starting the routes, when this CamelContext was started.
+     * <p/>
+     * The phases are <tt>createRoutes</tt> (creating the routes from the route definitions), <tt>warmUpRoutes</tt>
+     * (starting the services of the routes) and <tt>startConsumers</tt> (starting the route consumers).
+     *
+     * @return the time taken in millis by phase, or an empty map if not started
+     */
+    Map<String, Long> getRouteStartupTimings();
+
     // Service Methods
     //-----------------------------------------------------------------------
 
@@ -1126,6 +1136,38 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setInflightRepository(InflightRepository repository);
 
+    /**
+     * Whether the inflight exchanges are tracked so they can be browsed.
+     */
+    boolean isInflightRepositoryBrowseEnabled();
+
+    /**
+     * Sets whether the inflight exchanges are tracked so they can be browsed.
+     * <p/>
+     * Tracking the inflight exchanges costs hash map operations per exchange. When disabled, the
+     * default inflight repository only counts the inflight exchanges, and browsing returns no exchanges.
+     * <p/>
+     * Is by default <tt>true</tt>. This option must be configured before Camel is started.
+     *
+     * @param inflightRepositoryBrowseEnabled whether the inflight exchanges can be browsed
+     */
+    void setInflightRepositoryBrowseEnabled(boolean inflightRepositoryBrowseEnabled);
+
+    /**
+     * Gets the fraction of the inflight exchanges which are tracked so they can be browsed.
+     */
+    double getInflightRepositoryBrowseSampleRate();
+
+    /**
+     * Sets the fraction (between 0 and 1) of the inflight exchanges which are tracked so they can be browsed
+     * by the default inflight repository. For example 0.01 tracks about one in every hundred exchanges.
+     * <p/>
+     * Is by default <tt>1</tt> which tracks every exchange. This option must be configured before Camel is started.
+     *
+     * @param inflightRepositoryBrowseSampleRate the fraction of the exchanges to track
+     */
+    void setInflightRepositoryBrowseSampleRate(double inflightRepositoryBrowseSampleRate);
+
     /**
      * Gets the {@link org.apache.camel.AsyncProcessor} await manager.
      *
@@ -1258,6 +1300,25 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setLoadTypeConverters(Boolean loadTypeConverters);
 
+    /**
+     * Gets the number of threads used for creating the routes in parallel when starting Camel.
+     */
+    int getRouteStartupParallelism();
+
+    /**
+     * Sets the number of threads used for creating the routes in parallel when starting Camel.
+     * <p/>
+     * Creating the routes (such as resolving endpoints and creating processors) can take a while with many routes,
+     * and is independent for each route, so it can be done in parallel. The routes are still warmed up and
+     * their consumers started one at a time, according to their startup order. This requires the components,
+     * processors and lifecycle strategies in use to be thread safe while the routes are being created.
+     * <p/>
+     * Is by default <tt>1</tt> which creates the routes one at a time.
+     *
+     * @param routeStartupParallelism the number of threads
+     */
+    void setRouteStartupParallelism(int routeStartupParallelism);
+
     /**
      * Whether or not type converter statistics is enabled.
      * <p/>
@@ -172,6 +172,7 @@ public interface Exchange {
     // to be propagated to any remote system supporting the LRA framework
     String SAGA_LONG_RUNNING_ACTION = "Long-Running-Action";
 
+    String CACHE_POOL_IDLE_TIMEOUT     = "CamelCachePoolIdleTimeout";
     String MAXIMUM_CACHE_POOL_SIZE     = "CamelMaximumCachePoolSize";
     String MAXIMUM_ENDPOINT_CACHE_SIZE = "CamelMaximumEndpointCacheSize";
     String MAXIMUM_SIMPLE_CACHE_SIZE = "CamelMaximumSimpleCacheSize";
@@ -211,6 +212,7 @@ public interface Exchange {
 
     String SCHEDULER_POLLED_MESSAGES = "CamelSchedulerPolledMessages";
     String SOAP_ACTION        = "CamelSoapAction";
+    String SIMPLE_COMPILED    = "CamelSimpleCompiled";
     String SKIP_GZIP_ENCODING = "CamelSkipGzipEncoding";
     String SKIP_WWW_FORM_URLENCODED = "CamelSkipWwwFormUrlEncoding"; 
     String SLIP_ENDPOINT      = "CamelSlipEndpoint";
@@ -263,6 +265,67 @@ public interface Exchange {
      */
     void setPattern(ExchangePattern pattern);
 
+    /**
+     * Returns a well-known property associated with this exchange by its key
+     * <p/>
+     * The methods using {@link ExchangePropertyKey} by default use the name of the key,
+     * and implementations can override them to store the well-known properties more efficiently.
+     *
+     * @param key the key of the property
+     * @return the value of the given property or <tt>null</tt> if there is no property for
+     *         the given key
+     */
+    default Object getProperty(ExchangePropertyKey key) {
+        return getProperty(key.getName());
+    }
+
+    /**
+     * Returns a well-known property associated with this exchange by its key and specifying
+     * the type required
+     *
+     * @param key the key of the property
+     * @param type the type of the property
+     * @return the value of the given property or <tt>null</tt> if there is no property for
+     *         the given key or <tt>null</tt> if it cannot be converted to the given type
+     */
+    default <T> T getProperty(ExchangePropertyKey key, Class<T> type) {
+        return getProperty(key.getName(), type);
+    }
+
+    /**
+     * Returns a well-known property associated with this exchange by its key and specifying
+     * the type required
+     *
+     * @param key the key of the property
+     * @param defaultValue the default value to return if property was absent
+     * @param type the type of the property
+     * @return the value of the given property or <tt>defaultValue</tt> if there is no property for
+     *         the given key or <tt>null</tt> if it cannot be converted to the given type
+     */
+    default <T> T getProperty(ExchangePropertyKey key, Object defaultValue, Class<T> type) {
+        return getProperty(key.getName(), defaultValue, type);
+    }
+
+    /**
+     * Sets a well-known property on the exchange
+     *
+     * @param key   of the property
+     * @param value to associate with the key
+     */
+    default void setProperty(ExchangePropertyKey key, Object value) {
+        setProperty(key.getName(), value);
+    }
+
+    /**
+     * Removes the given well-known property on the exchange
+     *
+     * @param key of the property
+     * @return the old value of the property
+     */
+    default Object removeProperty(ExchangePropertyKey key) {
+        return removeProperty(key.getName());
+    }
+
     /**
      * Returns a property associated with this exchange by name
      *
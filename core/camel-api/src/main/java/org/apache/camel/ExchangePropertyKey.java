@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+/**
+ * The well-known exchange properties which are used by Camel itself.
+ * <p/>
+ * These properties are stored in fixed slots of the exchange instead of in a map, which makes them cheaper to access.
+ * The properties can still be accessed by their names using {@link Exchange#getProperty(String)} and
+ * {@link Exchange#getProperties()}, but Camel accesses them using {@link Exchange#getProperty(ExchangePropertyKey)}
+ * which avoids looking up the slot by the name.
+ */
+public enum ExchangePropertyKey {
+
+    AGGREGATED_COMPLETED_BY(Exchange.AGGREGATED_COMPLETED_BY),
+    AGGREGATED_CORRELATION_KEY(Exchange.AGGREGATED_CORRELATION_KEY),
+    AGGREGATED_SIZE(Exchange.AGGREGATED_SIZE),
+    AGGREGATED_TIMEOUT(Exchange.AGGREGATED_TIMEOUT),
+    AGGREGATION_STRATEGY(Exchange.AGGREGATION_STRATEGY),
+    BATCH_COMPLETE(Exchange.BATCH_COMPLETE),
+    BATCH_INDEX(Exchange.BATCH_INDEX),
+    BATCH_SIZE(Exchange.BATCH_SIZE),
+    CHARSET_NAME(Exchange.CHARSET_NAME),
+    CORRELATION_ID(Exchange.CORRELATION_ID),
+    CREATED_TIMESTAMP(Exchange.CREATED_TIMESTAMP),
+    ERRORHANDLER_CIRCUIT_DETECTED(Exchange.ERRORHANDLER_CIRCUIT_DETECTED),
+    ERRORHANDLER_HANDLED(Exchange.ERRORHANDLER_HANDLED),
+    EXCEPTION_CAUGHT(Exchange.EXCEPTION_CAUGHT),
+    EXCEPTION_HANDLED(Exchange.EXCEPTION_HANDLED),
+    EXTERNAL_REDELIVERED(Exchange.EXTERNAL_REDELIVERED),
+    FAILURE_ENDPOINT(Exchange.FAILURE_ENDPOINT),
+    FAILURE_HANDLED(Exchange.FAILURE_HANDLED),
+    FAILURE_ROUTE_ID(Exchange.FAILURE_ROUTE_ID),
+    FATAL_FALLBACK_ERROR_HANDLER(Exchange.FATAL_FALLBACK_ERROR_HANDLER),
+    FILTER_MATCHED(Exchange.FILTER_MATCHED),
+    GROUPED_EXCHANGE(Exchange.GROUPED_EXCHANGE),
+    INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED(Exchange.INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED),
+    INTERRUPTED(Exchange.INTERRUPTED),
+    LOOP_INDEX(Exchange.LOOP_INDEX),
+    LOOP_SIZE(Exchange.LOOP_SIZE),
+    MESSAGE_HISTORY(Exchange.MESSAGE_HISTORY),
+    MULTICAST_COMPLETE(Exchange.MULTICAST_COMPLETE),
+    MULTICAST_INDEX(Exchange.MULTICAST_INDEX),
+    ON_COMPLETION(Exchange.ON_COMPLETION),
+    PARENT_UNIT_OF_WORK(Exchange.PARENT_UNIT_OF_WORK),
+    RECEIVED_TIMESTAMP(Exchange.RECEIVED_TIMESTAMP),
+    RECIPIENT_LIST_ENDPOINT(Exchange.RECIPIENT_LIST_ENDPOINT),
+    REDELIVERY_EXHAUSTED(Exchange.REDELIVERY_EXHAUSTED),
+    ROLLBACK_ONLY(Exchange.ROLLBACK_ONLY),
+    ROLLBACK_ONLY_LAST(Exchange.ROLLBACK_ONLY_LAST),
+    ROUTE_STOP(Exchange.ROUTE_STOP),
+    SLIP_ENDPOINT(Exchange.SLIP_ENDPOINT),
+    SLIP_PRODUCER(Exchange.SLIP_PRODUCER),
+    SPLIT_COMPLETE(Exchange.SPLIT_COMPLETE),
+    SPLIT_INDEX(Exchange.SPLIT_INDEX),
+    SPLIT_SIZE(Exchange.SPLIT_SIZE),
+    STREAM_CACHE_UNIT_OF_WORK(Exchange.STREAM_CACHE_UNIT_OF_WORK),
+    TO_ENDPOINT(Exchange.TO_ENDPOINT),
+    TRY_ROUTE_BLOCK(Exchange.TRY_ROUTE_BLOCK),
+    UNIT_OF_WORK_EXHAUSTED(Exchange.UNIT_OF_WORK_EXHAUSTED);
+
+    private final String name;
+
+    ExchangePropertyKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The name of the exchange property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the key of the well-known exchange property with the given name
+     *
+     * @param name the name of the exchange property
+     * @return the key, or <tt>null</tt> if the property is not a well-known property
+     */
+    public static ExchangePropertyKey asExchangeProperty(String name) {
+        if (name == null) {
+            return null;
+        }
+        switch (name) {
+        case Exchange.AGGREGATED_COMPLETED_BY:
+            return AGGREGATED_COMPLETED_BY;
+        case Exchange.AGGREGATED_CORRELATION_KEY:
+            return AGGREGATED_CORRELATION_KEY;
+        case Exchange.AGGREGATED_SIZE:
+            return AGGREGATED_SIZE;
+        case Exchange.AGGREGATED_TIMEOUT:
+            return AGGREGATED_TIMEOUT;
+        case Exchange.AGGREGATION_STRATEGY:
+            return AGGREGATION_STRATEGY;
+        case Exchange.BATCH_COMPLETE:
+            return BATCH_COMPLETE;
+        case Exchange.BATCH_INDEX:
+            return BATCH_INDEX;
+        case Exchange.BATCH_SIZE:
+            return BATCH_SIZE;
+        case Exchange.CHARSET_NAME:
+            return CHARSET_NAME;
+        case Exchange.CORRELATION_ID:
+            return CORRELATION_ID;
+        case Exchange.CREATED_TIMESTAMP:
+            return CREATED_TIMESTAMP;
+        case Exchange.ERRORHANDLER_CIRCUIT_DETECTED:
+            return ERRORHANDLER_CIRCUIT_DETECTED;
+        case Exchange.ERRORHANDLER_HANDLED:
+            return ERRORHANDLER_HANDLED;
+        case Exchange.EXCEPTION_CAUGHT:
+            return EXCEPTION_CAUGHT;
+        case Exchange.EXCEPTION_HANDLED:
+            return EXCEPTION_HANDLED;
+        case Exchange.EXTERNAL_REDELIVERED:
+            return EXTERNAL_REDELIVERED;
+        case Exchange.FAILURE_ENDPOINT:
+            return FAILURE_ENDPOINT;
+        case Exchange.FAILURE_HANDLED:
+            return FAILURE_HANDLED;
+        case Exchange.FAILURE_ROUTE_ID:
+            return FAILURE_ROUTE_ID;
+        case Exchange.FATAL_FALLBACK_ERROR_HANDLER:
+            return FATAL_FALLBACK_ERROR_HANDLER;
+        case Exchange.FILTER_MATCHED:
+            return FILTER_MATCHED;
+        case Exchange.GROUPED_EXCHANGE:
+            return GROUPED_EXCHANGE;
+        case Exchange.INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED:
+            return INTERCEPT_SEND_TO_ENDPOINT_WHEN_MATCHED;
+        case Exchange.INTERRUPTED:
+            return INTERRUPTED;
+        case Exchange.LOOP_INDEX:
+            return LOOP_INDEX;
+        case Exchange.LOOP_SIZE:
+            return LOOP_SIZE;
+        case Exchange.MESSAGE_HISTORY:
+            return MESSAGE_HISTORY;
+        case Exchange.MULTICAST_COMPLETE:
+            return MULTICAST_COMPLETE;
+        case Exchange.MULTICAST_INDEX:
+            return MULTICAST_INDEX;
+        case Exchange.ON_COMPLETION:
+            return ON_COMPLETION;
+        case Exchange.PARENT_UNIT_OF_WORK:
+            return PARENT_UNIT_OF_WORK;
+        case Exchange.RECEIVED_TIMESTAMP:
+            return RECEIVED_TIMESTAMP;
+        case Exchange.RECIPIENT_LIST_ENDPOINT:
+            return RECIPIENT_LIST_ENDPOINT;
+        case Exchange.REDELIVERY_EXHAUSTED:
+            return REDELIVERY_EXHAUSTED;
+        case Exchange.ROLLBACK_ONLY:
+            return ROLLBACK_ONLY;
+        case Exchange.ROLLBACK_ONLY_LAST:
+            return ROLLBACK_ONLY_LAST;
+        case Exchange.ROUTE_STOP:
+            return ROUTE_STOP;
+        case Exchange.SLIP_ENDPOINT:
+            return SLIP_ENDPOINT;
+        case Exchange.SLIP_PRODUCER:
+            return SLIP_PRODUCER;
+        case Exchange.SPLIT_COMPLETE:
+            return SPLIT_COMPLETE;
+        case Exchange.SPLIT_INDEX:
+            return SPLIT_INDEX;
+        case Exchange.SPLIT_SIZE:
+            return SPLIT_SIZE;
+        case Exchange.STREAM_CACHE_UNIT_OF_WORK:
+            return STREAM_CACHE_UNIT_OF_WORK;
+        case Exchange.TO_ENDPOINT:
+            return TO_ENDPOINT;
+        case Exchange.TRY_ROUTE_BLOCK:
+            return TRY_ROUTE_BLOCK;
+        case Exchange.UNIT_OF_WORK_EXHAUSTED:
+            return UNIT_OF_WORK_EXHAUSTED;
+        default:
+            return null;
+        }
+    }
+
+}
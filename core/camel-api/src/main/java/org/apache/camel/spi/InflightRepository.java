@@ -135,6 +135,18 @@ public interface InflightRepository extends StaticService {
      */
     int size(String routeId);
 
+    /**
+     * Whether the inflight exchanges are tracked so they can be browsed.
+     * <p/>
+     * Implementations may only keep counters of the inflight exchanges, in which case
+     * the browse operations return no exchanges.
+     *
+     * @return <tt>true</tt> if the inflight exchanges can be browsed
+     */
+    default boolean isInflightBrowseEnabled() {
+        return true;
+    }
+
     /**
      * A <i>read-only</i> browser of the {@link InflightExchange}s that are currently inflight.
      */
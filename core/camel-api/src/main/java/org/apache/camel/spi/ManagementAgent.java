@@ -318,6 +318,39 @@ public interface ManagementAgent extends Service {
      */
     Boolean getLoadStatisticsEnabled();
 
+    /**
+     * Sets whether processing time percentiles is enabled (records the distribution of the processing times of
+     * each route and processor in a histogram, which uses a few kilobytes of memory per route and processor).
+     * <p/>
+     * The default value is <tt>false</tt>
+     *
+     * @param flag <tt>true</tt> to enable processing time percentiles
+     */
+    void setPercentilesEnabled(Boolean flag);
+
+    /**
+     * Gets whether processing time percentiles is enabled
+     *
+     * @return <tt>true</tt> if enabled
+     */
+    Boolean getPercentilesEnabled();
+
+    /**
+     * Sets the processing time percentiles to expose, as a comma separated list of percentiles between 0 and 100.
+     * <p/>
+     * The default value is <tt>50,90,99,99.9</tt>
+     *
+     * @param percentiles the percentiles
+     */
+    void setPercentiles(String percentiles);
+
+    /**
+     * Gets the processing time percentiles to expose.
+     *
+     * @return the percentiles as a comma separated list
+     */
+    String getPercentiles();
+
     /**
      * Sets whether endpoint runtime statistics is enabled (gathers runtime usage of each incoming and outgoing endpoints).
      * <p/>
@@ -50,6 +50,25 @@ public interface ProducerCache extends Service {
 
     long getEvicted();
 
+    /**
+     * Gets the mean time in nanos it has taken to acquire a producer from the cache,
+     * which includes creating and starting the producer if not cached.
+     *
+     * @return the mean time, or <tt>-1</tt> if not supported by the cache
+     */
+    default long getAcquireMeanTime() {
+        return -1;
+    }
+
+    /**
+     * Gets the maximum time in nanos it has taken to acquire a producer from the cache.
+     *
+     * @return the maximum time, or <tt>-1</tt> if not supported by the cache
+     */
+    default long getAcquireMaxTime() {
+        return -1;
+    }
+
     void resetCacheStatistics();
 
     void purge();
@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.AsyncCallback;
+
+/**
+ * SPI to plugin different reactive engines in the Camel routing engine.
+ * <p/>
+ * The executor schedules the steps of routing an exchange on the current thread, and implementations
+ * should avoid allocating per scheduled task as this is invoked for every step of every exchange.
+ * The description of a task is only meant for tracing and may be <tt>null</tt>, in which case
+ * the <tt>toString</tt> of the task is used on demand.
+ *
+ * @see org.apache.camel.support.ReactiveHelper
+ */
+public interface ReactiveExecutor {
+
+    /**
+     * Schedules the task to be run as the main task, which runs before any pending tasks.
+     *
+     * @param runnable    the task
+     * @param description an optional description of the task, for tracing only
+     */
+    void scheduleMain(Runnable runnable, String description);
+
+    /**
+     * Schedules the task to be run next.
+     *
+     * @param runnable    the task
+     * @param description an optional description of the task, for tracing only
+     */
+    void schedule(Runnable runnable, String description);
+
+    /**
+     * Schedules the task to be run after all the pending tasks.
+     *
+     * @param runnable    the task
+     * @param description an optional description of the task, for tracing only
+     */
+    void scheduleLast(Runnable runnable, String description);
+
+    /**
+     * Schedules the task as the main task and runs it synchronously on the current thread,
+     * even if the current thread is already running tasks.
+     *
+     * @param runnable    the task
+     * @param description an optional description of the task, for tracing only
+     */
+    void scheduleSync(Runnable runnable, String description);
+
+    /**
+     * Schedules the callback to be invoked next with <tt>doneSync=false</tt>.
+     *
+     * @param callback the callback
+     */
+    void callback(AsyncCallback callback);
+
+    /**
+     * Executes the next pending task from the queue of the current thread, if any.
+     *
+     * @return <tt>true</tt> if a task was executed, <tt>false</tt> if there were no pending tasks
+     */
+    boolean executeFromQueue();
+
+}
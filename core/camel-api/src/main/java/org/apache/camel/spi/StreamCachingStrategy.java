@@ -194,6 +194,21 @@ public interface StreamCachingStrategy extends StaticService {
 
     boolean isAnySpoolRules();
 
+    /**
+     * Sets whether to keep the cached data off the heap.
+     * <p/>
+     * When enabled the in-memory part of the cache is kept in pooled direct {@link java.nio.ByteBuffer}
+     * segments, and data spooled to disk is read back as a read-only memory-mapped file which is shared
+     * by copies of the cache (for example when using multicast or recipient list), instead of each copy
+     * reading the file on its own. Spooling to disk with a {@link #setSpoolChiper(String) chiper} is not
+     * memory-mapped.
+     * <p/>
+     * This option is default <tt>false</tt>
+     */
+    void setOffHeap(boolean offHeap);
+
+    boolean isOffHeap();
+
     /**
      * Gets the utilization statistics.
      */
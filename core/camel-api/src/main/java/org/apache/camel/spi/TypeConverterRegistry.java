@@ -62,6 +62,24 @@ public interface TypeConverterRegistry extends StaticService {
          */
         long getFailedCounter();
 
+        /**
+         * Number of type converter lookups which was found in the lookup cache, which includes lookups that
+         * previously did not find any type converter
+         */
+        long getLookupHitCounter();
+
+        /**
+         * Number of type converter lookups which was not in the lookup cache, and therefore had to
+         * look in the type hierarchy
+         */
+        long getLookupMissCounter();
+
+        /**
+         * Number of type converter lookups which was not in the lookup cache, but found a type converter
+         * in the type hierarchy
+         */
+        long getLookupMissResolvedCounter();
+
         /**
          * Reset the counters
          */
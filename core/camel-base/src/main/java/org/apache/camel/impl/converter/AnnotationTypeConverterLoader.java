@@ -25,8 +25,11 @@ import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 
@@ -37,8 +40,12 @@ import static java.lang.reflect.Modifier.isStatic;
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
 import org.apache.camel.FallbackConverter;
+import org.apache.camel.LoggingLevel;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.TypeConverterExists;
 import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.TypeConverters;
+import org.apache.camel.spi.Injector;
 import org.apache.camel.spi.PackageScanClassResolver;
 import org.apache.camel.spi.TypeConverterLoader;
 import org.apache.camel.spi.TypeConverterRegistry;
@@ -62,9 +69,18 @@ import org.slf4j.LoggerFactory;
  * Therefore its recommended to specify FQN class names in the {@link #META_INF_SERVICES} file.
  * Likewise the procedure for scanning using {@link PackageScanClassResolver} may require custom implementations
  * to work in various containers such as JBoss, OSGi, etc.
+ * <p/>
+ * The camel annotation processor generates a {@link TypeConverterLoader} for each {@link Converter} class at
+ * build time, which are listed in the {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER} file. These loaders
+ * are used instead of reflection to load the type converters of their {@link Converter} class. The {@link Converter}
+ * classes are loaded in the order they are listed (and found by scanning), whether using their generated loader
+ * or reflection, so when several classes have a type converter for the same types, then the class loaded last
+ * wins (when the registry is configured to override existing type converters, which is the default).
  */
 public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public static final String META_INF_SERVICES = "META-INF/services/org/apache/camel/TypeConverter";
+    public static final String META_INF_SERVICES_TYPE_CONVERTER_LOADER = "META-INF/services/org/apache/camel/TypeConverterLoader";
+    private static final String LOADER_SUFFIX = "Loader";
     private static final Logger LOG = LoggerFactory.getLogger(AnnotationTypeConverterLoader.class);
     private static final Charset UTF8 = Charset.forName("UTF-8");
     protected PackageScanClassResolver resolver;
@@ -79,6 +95,9 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
         String[] packageNames;
 
+        // the generated type converter loaders to use instead of reflection for their @Converter classes
+        Map<String, String> loaderNames = findTypeConverterLoaderNames();
+
         LOG.trace("Searching for {} services", META_INF_SERVICES);
         try {
             packageNames = findPackageNames();
@@ -104,7 +123,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
 
         // filter out package names which can be loaded as a class directly so we avoid package scanning which
         // is much slower and does not work 100% in all runtime containers
-        Set<Class<?>> classes = new HashSet<>();
+        Set<Class<?>> classes = new LinkedHashSet<>();
         packageNames = filterPackageNamesOnly(resolver, packageNames, classes);
         if (!classes.isEmpty()) {
             LOG.debug("Loaded {} @Converter classes", classes.size());
@@ -124,11 +143,22 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         }
 
         // load all the found classes into the type converter registry
+        int generated = 0;
         for (Class<?> type : classes) {
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Loading converter class: {}", ObjectHelper.name(type));
             }
-            loadConverterMethods(registry, type);
+            // use the generated loader in place of reflection, so the type converters are added in the same order
+            String loaderName = loaderNames.get(type.getName());
+            if (loaderName != null && !visitedClasses.contains(type) && loadTypeConverterLoader(registry, loaderName)) {
+                visitedClasses.add(type);
+                generated++;
+            } else {
+                loadConverterMethods(registry, type);
+            }
+        }
+        if (generated > 0) {
+            LOG.debug("Loaded {} @Converter classes using generated type converter loaders", generated);
         }
 
         // now clear the maps so we do not hold references
@@ -136,6 +166,63 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         visitedURIs.clear();
     }
 
+    /**
+     * Finds the generated type converter loaders listed in the {@link #META_INF_SERVICES_TYPE_CONVERTER_LOADER} files.
+     *
+     * @return the names of the loaders by the name of their {@link Converter} class
+     * @throws TypeConverterLoaderException is thrown if the files cannot be read
+     */
+    protected Map<String, String> findTypeConverterLoaderNames() throws TypeConverterLoaderException {
+        Set<String> loaderNames = new LinkedHashSet<>();
+        try {
+            ClassLoader ccl = Thread.currentThread().getContextClassLoader();
+            if (ccl != null) {
+                findServices(loaderNames, ccl, META_INF_SERVICES_TYPE_CONVERTER_LOADER);
+            }
+            findServices(loaderNames, getClass().getClassLoader(), META_INF_SERVICES_TYPE_CONVERTER_LOADER);
+        } catch (IOException e) {
+            throw new TypeConverterLoaderException("Cannot find type converter loaders.", e);
+        }
+
+        Map<String, String> answer = new HashMap<>();
+        for (String name : loaderNames) {
+            if (name.endsWith(LOADER_SUFFIX)) {
+                answer.put(name.substring(0, name.length() - LOADER_SUFFIX.length()), name);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Loads the type converters using the given generated type converter loader.
+     * <p/>
+     * The type converters are only added to the registry when the loader has loaded all of them. A loader
+     * which fails, such as when a class a converter depends on is not on the classpath, adds no type converters,
+     * so its {@link Converter} class can be loaded using reflection instead.
+     *
+     * @param registry the registry to add the type converters to
+     * @param name     the name of the loader
+     * @return <tt>true</tt> if the type converters has been loaded, <tt>false</tt> if the loader failed
+     */
+    protected boolean loadTypeConverterLoader(TypeConverterRegistry registry, String name) {
+        try {
+            Class<?> type = ObjectHelper.loadClass(name, getClass().getClassLoader());
+            if (type == null) {
+                LOG.debug("Cannot load type converter loader: {}", name);
+                return false;
+            }
+            TypeConverterLoader loader = (TypeConverterLoader) type.getDeclaredConstructor().newInstance();
+            PendingTypeConverterRegistry pending = new PendingTypeConverterRegistry(registry);
+            loader.load(pending);
+            pending.commit();
+            return true;
+        } catch (Exception | LinkageError e) {
+            // the converter class will then be loaded using reflection
+            LOG.debug("Cannot load type converters using loader: " + name + " due to: " + e.getMessage() + ". The converter class will be loaded using reflection.", e);
+            return false;
+        }
+    }
+
     /**
      * Filters the given list of packages and returns an array of <b>only</b> package names.
      * <p/>
@@ -199,7 +286,7 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
      * @throws IOException is thrown for IO related errors
      */
     protected String[] findPackageNames() throws IOException {
-        Set<String> packages = new HashSet<>();
+        Set<String> packages = new LinkedHashSet<>();
         ClassLoader ccl = Thread.currentThread().getContextClassLoader();
         if (ccl != null) {
             findPackages(packages, ccl);
@@ -209,14 +296,18 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
     }
 
     protected void findPackages(Set<String> packages, ClassLoader classLoader) throws IOException {
-        Enumeration<URL> resources = classLoader.getResources(META_INF_SERVICES);
+        findServices(packages, classLoader, META_INF_SERVICES);
+    }
+
+    private void findServices(Set<String> packages, ClassLoader classLoader, String resource) throws IOException {
+        Enumeration<URL> resources = classLoader.getResources(resource);
         while (resources.hasMoreElements()) {
             URL url = resources.nextElement();
             String path = url.getPath();
             if (!visitedURIs.contains(path)) {
                 // remember we have visited this uri so we wont read it twice
                 visitedURIs.add(path);
-                LOG.debug("Loading file {} to retrieve list of packages, from url: {}", META_INF_SERVICES, url);
+                LOG.debug("Loading file {} to retrieve list of packages, from url: {}", resource, url);
                 BufferedReader reader = IOHelper.buffered(new InputStreamReader(url.openStream(), UTF8));
                 try {
                     while (true) {
@@ -412,4 +503,126 @@ public class AnnotationTypeConverterLoader implements TypeConverterLoader {
         return packages.toArray(new String[packages.size()]);
     }
 
+    /**
+     * A registry which keeps the type converters added by a generated loader until the loader has loaded
+     * all of them, and delegates to the given registry otherwise.
+     */
+    private static final class PendingTypeConverterRegistry implements TypeConverterRegistry {
+
+        private final TypeConverterRegistry registry;
+        private final List<Runnable> pending = new ArrayList<>();
+        private volatile boolean committed;
+
+        PendingTypeConverterRegistry(TypeConverterRegistry registry) {
+            this.registry = registry;
+        }
+
+        /**
+         * Adds the pending type converters to the registry, and any type converters added afterwards
+         * (such as by a fallback type converter) are added to the registry right away.
+         */
+        synchronized void commit() {
+            pending.forEach(Runnable::run);
+            pending.clear();
+            committed = true;
+        }
+
+        private synchronized boolean addPending(Runnable add) {
+            if (committed) {
+                return false;
+            }
+            pending.add(add);
+            return true;
+        }
+
+        @Override
+        public void addTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter typeConverter) {
+            Runnable add = () -> registry.addTypeConverter(toType, fromType, typeConverter);
+            if (!addPending(add)) {
+                add.run();
+            }
+        }
+
+        @Override
+        public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
+            return registry.removeTypeConverter(toType, fromType);
+        }
+
+        @Override
+        public void addTypeConverters(TypeConverters typeConverters) {
+            Runnable add = () -> registry.addTypeConverters(typeConverters);
+            if (!addPending(add)) {
+                add.run();
+            }
+        }
+
+        @Override
+        public void addFallbackTypeConverter(TypeConverter typeConverter, boolean canPromote) {
+            Runnable add = () -> registry.addFallbackTypeConverter(typeConverter, canPromote);
+            if (!addPending(add)) {
+                add.run();
+            }
+        }
+
+        @Override
+        public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
+            return registry.lookup(toType, fromType);
+        }
+
+        @Override
+        public List<Class<?>[]> listAllTypeConvertersFromTo() {
+            return registry.listAllTypeConvertersFromTo();
+        }
+
+        @Override
+        public void setInjector(Injector injector) {
+            registry.setInjector(injector);
+        }
+
+        @Override
+        public Injector getInjector() {
+            return registry.getInjector();
+        }
+
+        @Override
+        public Statistics getStatistics() {
+            return registry.getStatistics();
+        }
+
+        @Override
+        public int size() {
+            return registry.size();
+        }
+
+        @Override
+        public LoggingLevel getTypeConverterExistsLoggingLevel() {
+            return registry.getTypeConverterExistsLoggingLevel();
+        }
+
+        @Override
+        public void setTypeConverterExistsLoggingLevel(LoggingLevel typeConverterExistsLoggingLevel) {
+            registry.setTypeConverterExistsLoggingLevel(typeConverterExistsLoggingLevel);
+        }
+
+        @Override
+        public TypeConverterExists getTypeConverterExists() {
+            return registry.getTypeConverterExists();
+        }
+
+        @Override
+        public void setTypeConverterExists(TypeConverterExists typeConverterExists) {
+            registry.setTypeConverterExists(typeConverterExists);
+        }
+
+        @Override
+        public void start() throws Exception {
+            registry.start();
+        }
+
+        @Override
+        public void stop() throws Exception {
+            registry.stop();
+        }
+    }
+
 }
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.impl.converter;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -38,6 +40,8 @@ import org.apache.camel.TypeConverterExists;
 import org.apache.camel.TypeConverterExistsException;
 import org.apache.camel.TypeConverterLoaderException;
 import org.apache.camel.TypeConverters;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.converter.ObjectConverter;
 import org.apache.camel.spi.CamelLogger;
 import org.apache.camel.spi.FactoryFinder;
 import org.apache.camel.spi.Injector;
@@ -64,6 +68,8 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     };
 
     protected final DoubleMap<Class<?>, Class<?>, TypeConverter> typeMappings = new DoubleMap<>(200);
+    // the (to, from) pairs which the lookup could not find a type converter for
+    protected final DoubleMap<Class<?>, Class<?>, Boolean> lookupMisses = new DoubleMap<>(64);
     protected final List<TypeConverterLoader> typeConverterLoaders = new ArrayList<>();
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     protected final PackageScanClassResolver resolver;
@@ -79,6 +85,15 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     protected final LongAdder baseHitCounter = new LongAdder();
     protected final LongAdder hitCounter = new LongAdder();
     protected final LongAdder failedCounter = new LongAdder();
+    protected final LongAdder lookupHitCounter = new LongAdder();
+    protected final LongAdder lookupMissCounter = new LongAdder();
+    protected final LongAdder lookupMissResolvedCounter = new LongAdder();
+    protected volatile int typeMappingsVersion;
+    protected volatile boolean coreTypeConvertersLoaded;
+    // the (to, from) pairs for which a custom type converter was added, which the fast path must not bypass
+    protected final DoubleMap<Class<?>, Class<?>, Boolean> fastPathDisabled = new DoubleMap<>(16);
+    protected volatile boolean fastPathOverridden;
+    private volatile boolean loadingTypeConverters;
 
     public BaseTypeConverterRegistry(PackageScanClassResolver resolver, Injector injector, FactoryFinder factoryFinder) {
         this.resolver = resolver;
@@ -252,6 +267,21 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             attemptCounter.increment();
         }
 
+        // try the fast path for the most common conversions
+        if (!fastPathOverridden || !isFastPathDisabled(type, value.getClass())) {
+            try {
+                Object rc = doConvertToFastPath(type, exchange, value);
+                if (rc != null) {
+                    return rc;
+                }
+            } catch (NumberFormatException e) {
+                if (!tryConvert) {
+                    throw e;
+                }
+                // let the type converters try as well
+            }
+        }
+
         // try to find a suitable type converter
         TypeConverter converter = getOrFindTypeConverter(type, value.getClass());
         if (converter != null) {
@@ -279,7 +309,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                 TypeConverter tc = getOrFindTypeConverter(primitiveType, fromType);
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
-                    addTypeConverter(type, fromType, tc);
+                    doAddTypeConverter(type, fromType, tc, false);
                     Object rc;
                     if (tryConvert) {
                         rc = tc.tryConvertTo(primitiveType, exchange, value);
@@ -321,7 +351,7 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
                         log.debug("Promoting fallback type converter as a known type converter to convert from: {} to: {} for the fallback converter: {}",
                                 type.getCanonicalName(), value.getClass().getCanonicalName(), fallback.getFallbackTypeConverter());
                     }
-                    addTypeConverter(type, value.getClass(), fallback.getFallbackTypeConverter());
+                    doAddTypeConverter(type, value.getClass(), fallback.getFallbackTypeConverter(), false);
                 }
 
                 if (log.isTraceEnabled()) {
@@ -344,8 +374,95 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         return MISS_VALUE;
     }
 
+    /**
+     * Converts the most common types between <tt>String</tt>, <tt>byte[]</tt>, <tt>InputStream</tt>
+     * and the primitive wrapper types, directly with the core type converters, without looking up the type converter.
+     *
+     * @return the converted value, or <tt>null</tt> if there is no fast path for the types
+     */
+    protected Object doConvertToFastPath(final Class<?> type, final Exchange exchange, final Object value) throws Exception {
+        Class<?> fromType = value.getClass();
+        if (type == String.class) {
+            if (fromType == Integer.class || fromType == Long.class || fromType == Boolean.class
+                    || fromType == StringBuilder.class || fromType == StringBuffer.class) {
+                return value.toString();
+            } else if (fromType == byte[].class) {
+                return IOConverter.toString((byte[]) value, exchange);
+            }
+        } else if (fromType == String.class) {
+            String text = (String) value;
+            if (type == Integer.class || type == int.class) {
+                return ObjectConverter.toInteger(text);
+            } else if (type == Long.class || type == long.class) {
+                return ObjectConverter.toLong(text);
+            } else if (type == Boolean.class || type == boolean.class) {
+                return ObjectConverter.toBoolean(text);
+            } else if (type == Double.class || type == double.class) {
+                return ObjectConverter.toDouble(text);
+            } else if (type == Float.class || type == float.class) {
+                return ObjectConverter.toFloat(text);
+            } else if (type == Short.class || type == short.class) {
+                return ObjectConverter.toShort(text);
+            } else if (type == Byte.class || type == byte.class) {
+                return ObjectConverter.toByte(text);
+            } else if (type == byte[].class) {
+                return IOConverter.toByteArray(text, exchange);
+            } else if (type == InputStream.class) {
+                return IOConverter.toInputStream(text, exchange);
+            }
+        } else if (fromType == byte[].class) {
+            if (type == InputStream.class) {
+                return IOConverter.toInputStream((byte[]) value);
+            }
+        } else if (fromType == ByteArrayInputStream.class) {
+            // only the plain stream as stream caches and other sub classes may have their own type converters
+            if (type == byte[].class) {
+                return IOConverter.toBytes((InputStream) value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether the fast path converts from the given type to the given type, which is the case unless a custom
+     * type converter has been added for the types
+     */
+    public boolean isFastPathEnabled(Class<?> toType, Class<?> fromType) {
+        return isFastPath(toType, fromType) && !isFastPathDisabled(toType, fromType);
+    }
+
+    private boolean isFastPathDisabled(Class<?> toType, Class<?> fromType) {
+        // the primitive types are converted with the type converters of their wrapper types
+        return fastPathDisabled.containsKey(ObjectHelper.convertPrimitiveTypeToWrapperType(toType), fromType);
+    }
+
+    /**
+     * Whether the fast path converts from the given type to the given type
+     */
+    protected boolean isFastPath(Class<?> toType, Class<?> fromType) {
+        if (toType == String.class) {
+            return fromType == Integer.class || fromType == Long.class || fromType == Boolean.class
+                || fromType == StringBuilder.class || fromType == StringBuffer.class || fromType == byte[].class;
+        } else if (fromType == String.class) {
+            Class<?> type = ObjectHelper.convertPrimitiveTypeToWrapperType(toType);
+            return type == Integer.class || type == Long.class || type == Boolean.class || type == Double.class
+                || type == Float.class || type == Short.class || type == Byte.class
+                || type == byte[].class || type == InputStream.class;
+        } else if (fromType == byte[].class) {
+            return toType == InputStream.class;
+        } else if (fromType == ByteArrayInputStream.class) {
+            return toType == byte[].class;
+        }
+        return false;
+    }
+
     @Override
     public void addTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter typeConverter) {
+        // the type converters from the loaders are not custom, only the ones added afterwards by the user
+        doAddTypeConverter(toType, fromType, typeConverter, coreTypeConvertersLoaded && !loadingTypeConverters);
+    }
+
+    protected void doAddTypeConverter(Class<?> toType, Class<?> fromType, TypeConverter typeConverter, boolean custom) {
         log.trace("Adding type converter: {}", typeConverter);
         TypeConverter converter = typeMappings.get(toType, fromType);
         // only override it if its different
@@ -373,6 +490,13 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                // a previous lookup may now be able to find a type converter
+                typeMappingsVersion++;
+                lookupMisses.clear();
+                // the fast path must not bypass custom type converters
+                if (custom && isFastPath(toType, fromType)) {
+                    disableFastPath(toType, fromType);
+                }
             }
         }
     }
@@ -392,7 +516,18 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     @Override
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         log.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean answer = typeMappings.remove(toType, fromType);
+        if (answer && isFastPath(toType, fromType)) {
+            // the fast path must not convert types which no longer have a type converter
+            disableFastPath(toType, fromType);
+        }
+        return answer;
+    }
+
+    private void disableFastPath(Class<?> toType, Class<?> fromType) {
+        log.debug("Disabling type converter fast path from: {} to: {}", fromType.getCanonicalName(), toType.getCanonicalName());
+        fastPathDisabled.put(ObjectHelper.convertPrimitiveTypeToWrapperType(toType), fromType, Boolean.TRUE);
+        fastPathOverridden = true;
     }
 
     @Override
@@ -447,12 +582,32 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
     }
 
     protected <T> TypeConverter getOrFindTypeConverter(Class<?> toType, Class<?> fromType) {
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
         TypeConverter converter = typeMappings.get(toType, fromType);
-        if (converter == null) {
-            // converter not found, try to lookup then
-            converter = lookup(toType, fromType);
-            if (converter != null) {
-                typeMappings.put(toType, fromType, converter);
+        if (converter != null || lookupMisses.containsKey(toType, fromType)) {
+            if (statisticsEnabled) {
+                lookupHitCounter.increment();
+            }
+            return converter;
+        }
+
+        if (statisticsEnabled) {
+            lookupMissCounter.increment();
+        }
+        // converter not found, try to lookup then
+        int version = typeMappingsVersion;
+        converter = lookup(toType, fromType);
+        if (converter != null) {
+            if (statisticsEnabled) {
+                lookupMissResolvedCounter.increment();
+            }
+            typeMappings.put(toType, fromType, converter);
+        } else {
+            // remember the miss so the type hierarchy is not walked again for these types
+            lookupMisses.put(toType, fromType, Boolean.TRUE);
+            if (version != typeMappingsVersion) {
+                // a type converter was added meanwhile
+                lookupMisses.remove(toType, fromType);
             }
         }
         return converter;
@@ -526,15 +681,26 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
      */
     public void loadCoreTypeConverters() throws Exception {
         // load all the type converters from camel-core
-        CoreStaticTypeConverterLoader.INSTANCE.load(this);
+        loadingTypeConverters = true;
+        try {
+            CoreStaticTypeConverterLoader.INSTANCE.load(this);
+        } finally {
+            loadingTypeConverters = false;
+        }
+        coreTypeConvertersLoaded = true;
     }
 
     /**
      * Checks if the registry is loaded and if not lazily load it
      */
     protected void loadTypeConverters() throws Exception {
-        for (TypeConverterLoader typeConverterLoader : getTypeConverterLoaders()) {
-            typeConverterLoader.load(this);
+        loadingTypeConverters = true;
+        try {
+            for (TypeConverterLoader typeConverterLoader : getTypeConverterLoaders()) {
+                typeConverterLoader.load(this);
+            }
+        } finally {
+            loadingTypeConverters = false;
         }
 
         // lets try load any other fallback converters
@@ -616,6 +782,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
         }
 
         typeMappings.clear();
+        lookupMisses.clear();
+        fastPathDisabled.clear();
+        fastPathOverridden = false;
         statistics.reset();
     }
 
@@ -651,6 +820,21 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             return failedCounter.longValue();
         }
 
+        @Override
+        public long getLookupHitCounter() {
+            return lookupHitCounter.longValue();
+        }
+
+        @Override
+        public long getLookupMissCounter() {
+            return lookupMissCounter.longValue();
+        }
+
+        @Override
+        public long getLookupMissResolvedCounter() {
+            return lookupMissResolvedCounter.longValue();
+        }
+
         @Override
         public void reset() {
             noopCounter.reset();
@@ -658,6 +842,9 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
             hitCounter.reset();
             missCounter.reset();
             failedCounter.reset();
+            lookupHitCounter.reset();
+            lookupMissCounter.reset();
+            lookupMissResolvedCounter.reset();
         }
 
         @Override
@@ -672,8 +859,10 @@ public abstract class BaseTypeConverterRegistry extends ServiceSupport implement
 
         @Override
         public String toString() {
-            return String.format("TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s]",
-                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter());
+            return String.format("TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s,"
+                    + " lookupHits=%s, lookupMisses=%s, lookupMissesResolved=%s]",
+                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter(),
+                    getLookupHitCounter(), getLookupMissCounter(), getLookupMissResolvedCounter());
         }
     }
 
@@ -16,9 +16,9 @@
  */
 package org.apache.camel.builder;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.ErrorHandlerFactory;
 import org.apache.camel.Processor;
@@ -34,7 +34,7 @@ import org.apache.camel.util.ObjectHelper;
 public class ErrorHandlerBuilderRef extends ErrorHandlerBuilderSupport {
     public static final String DEFAULT_ERROR_HANDLER_BUILDER = "CamelDefaultErrorHandlerBuilder";
     private final String ref;
-    private final Map<RouteContext, ErrorHandlerBuilder> handlers = new HashMap<>();
+    private final Map<RouteContext, ErrorHandlerBuilder> handlers = new ConcurrentHashMap<>();
     private boolean supportTransacted;
 
     public ErrorHandlerBuilderRef(String ref) {
@@ -17,9 +17,9 @@
 package org.apache.camel.builder;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.model.OnExceptionDefinition;
@@ -35,16 +35,13 @@ import org.apache.camel.util.ObjectHelper;
  * Base class for builders of error handling.
  */
 public abstract class ErrorHandlerBuilderSupport implements ErrorHandlerBuilder {
-    private Map<RouteContext, List<OnExceptionDefinition>> onExceptions = new HashMap<>();
+    // routes can be created in parallel so use a concurrent map
+    private Map<RouteContext, List<OnExceptionDefinition>> onExceptions = new ConcurrentHashMap<>();
     private ExceptionPolicyStrategy exceptionPolicyStrategy;
 
     public void addErrorHandlers(RouteContext routeContext, OnExceptionDefinition exception) {
         // only add if we not already have it
-        List<OnExceptionDefinition> list = onExceptions.get(routeContext);
-        if (list == null) {
-            list = new ArrayList<>();
-            onExceptions.put(routeContext, list);
-        }
+        List<OnExceptionDefinition> list = onExceptions.computeIfAbsent(routeContext, k -> new ArrayList<>());
         if (!list.contains(exception)) {
             list.add(exception);
         }
@@ -52,7 +49,7 @@ public abstract class ErrorHandlerBuilderSupport implements ErrorHandlerBuilder
 
     protected void cloneBuilder(ErrorHandlerBuilderSupport other) {
         if (!onExceptions.isEmpty()) {
-            Map<RouteContext, List<OnExceptionDefinition>> copy = new HashMap<>(onExceptions);
+            Map<RouteContext, List<OnExceptionDefinition>> copy = new ConcurrentHashMap<>(onExceptions);
             other.onExceptions = copy;
         }
         other.exceptionPolicyStrategy = exceptionPolicyStrategy;
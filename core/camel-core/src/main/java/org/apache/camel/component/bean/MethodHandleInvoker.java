@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * Invokes a bean method using a {@link MethodHandle} which is adapted to the fixed arity of the method,
+ * so the JVM can call the method directly, instead of using reflection on every invocation.
+ * <p/>
+ * The arguments are checked to match the parameter types of the method before the method handle is invoked, and
+ * if they do not match (such as a <tt>null</tt> value for a primitive parameter), or the method is not accessible via
+ * a method handle, then the method is invoked using reflection, so the errors are the same as when using reflection.
+ * Exceptions thrown by the method are wrapped in {@link InvocationTargetException} like reflection does.
+ */
+public final class MethodHandleInvoker {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Method method;
+    private final Class<?>[] parameterTypes;
+    private final boolean[] primitives;
+    private final boolean staticMethod;
+    private final MethodHandle handle;
+
+    private MethodHandleInvoker(Method method, MethodHandle handle) {
+        this.method = method;
+        this.parameterTypes = method.getParameterTypes();
+        this.staticMethod = Modifier.isStatic(method.getModifiers());
+        this.handle = handle;
+        this.primitives = new boolean[parameterTypes.length];
+        // use the wrapper types so primitive parameters can be checked using isInstance
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                primitives[i] = true;
+                parameterTypes[i] = ObjectHelper.convertPrimitiveTypeToWrapperType(parameterTypes[i]);
+            }
+        }
+    }
+
+    /**
+     * Creates an invoker for the given method.
+     *
+     * @param method the method
+     * @return the invoker, which uses reflection if the method cannot be invoked using a method handle
+     */
+    public static MethodHandleInvoker create(Method method) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                // add the pojo as parameter which is ignored, so all methods has the same signature
+                handle = MethodHandles.dropArguments(handle, 0, method.getDeclaringClass());
+            }
+            handle = handle.asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            handle = null;
+        }
+        return new MethodHandleInvoker(method, handle);
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Invokes the method.
+     *
+     * @param pojo      the bean, or <tt>null</tt> for static methods
+     * @param arguments the arguments, which can be <tt>null</tt> if the method has no parameters
+     * @return the result of the method, which is <tt>null</tt> for void methods
+     * @throws InvocationTargetException is thrown if the method threw an exception
+     * @throws IllegalAccessException is thrown if the method is not accessible
+     * @throws IllegalArgumentException is thrown if the arguments does not match the method
+     */
+    public Object invoke(Object pojo, Object[] arguments) throws InvocationTargetException, IllegalAccessException {
+        Object[] args = arguments != null ? arguments : NO_ARGUMENTS;
+        if (handle == null || !matches(pojo, args)) {
+            return method.invoke(pojo, arguments);
+        }
+        try {
+            return (Object) handle.invokeExact(pojo, args);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private boolean matches(Object pojo, Object[] args) {
+        if (!staticMethod && !method.getDeclaringClass().isInstance(pojo)) {
+            return false;
+        }
+        if (args.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null ? primitives[i] : !parameterTypes[i].isInstance(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+}
@@ -80,6 +80,8 @@ public class MethodInfo {
     private RecipientList recipientList;
     private RoutingSlip routingSlip;
     private DynamicRouter dynamicRouter;
+    // created at first use, as most of the methods of a bean are never invoked
+    private volatile MethodHandleInvoker invoker;
 
     /**
      * Adapter to invoke the method which has been annotated with the @DynamicRouter
@@ -476,6 +478,9 @@ public class MethodInfo {
 
     protected Object invoke(Method mth, Object pojo, Object[] arguments, Exchange exchange) throws InvocationTargetException {
         try {
+            if (mth == method) {
+                return getInvoker().invoke(pojo, arguments);
+            }
             return mth.invoke(pojo, arguments);
         } catch (IllegalAccessException e) {
             throw new RuntimeExchangeException("IllegalAccessException occurred invoking method: " + mth + " using arguments: " + Arrays.asList(arguments), exchange, e);
@@ -484,6 +489,16 @@ public class MethodInfo {
         }
     }
 
+    private MethodHandleInvoker getInvoker() {
+        MethodHandleInvoker answer = invoker;
+        if (answer == null) {
+            // its okay if concurrent threads create the invoker at the same time
+            answer = MethodHandleInvoker.create(method);
+            invoker = answer;
+        }
+        return answer;
+    }
+
     protected Expression[] createParameterExpressions() {
         final int size = parameters.size();
         LOG.trace("Creating parameters expression for {} parameters", size);
@@ -631,9 +646,15 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        private final Class<?>[] parameterTypes;
 
         ParameterExpression(Expression[] expressions) {
             this.expressions = expressions;
+            // pre compute the parameter types so they are not looked up for every invocation
+            this.parameterTypes = new Class<?>[expressions.length];
+            for (int i = 0; i < expressions.length; i++) {
+                parameterTypes[i] = parameters.get(i).getType();
+            }
         }
 
         @SuppressWarnings("unchecked")
@@ -681,7 +702,7 @@ public class MethodInfo {
                 // grab the parameter value for the given index
                 Object parameterValue = it != null && it.hasNext() ? it.next() : null;
                 // and the expected parameter type
-                Class<?> parameterType = parameters.get(i).getType();
+                Class<?> parameterType = parameterTypes[i];
                 // the value for the parameter to use
                 Object value = null;
 
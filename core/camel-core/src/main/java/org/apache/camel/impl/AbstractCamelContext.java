@@ -27,6 +27,7 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -37,7 +38,10 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -270,6 +274,8 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
     private volatile FactoryFinder defaultFactoryFinder;
     private volatile StreamCachingStrategy streamCachingStrategy;
     private volatile InflightRepository inflightRepository;
+    private boolean inflightRepositoryBrowseEnabled = true;
+    private double inflightRepositoryBrowseSampleRate = 1.0d;
     private volatile AsyncProcessorAwaitManager asyncProcessorAwaitManager;
     private volatile ShutdownStrategy shutdownStrategy;
     private volatile ModelJAXBContextFactory modelJAXBContextFactory;
@@ -288,6 +294,8 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
     private final List<RouteStartupOrder> routeStartupOrder = new ArrayList<>();
     // start auto assigning route ids using numbering 1000 and upwards
     private int defaultRouteStartupOrder = 1000;
+    private int routeStartupParallelism = 1;
+    private final Map<String, Long> routeStartupTimings = new ConcurrentHashMap<>();
     private ShutdownRoute shutdownRoute = ShutdownRoute.Default;
     private ShutdownRunningTask shutdownRunningTask = ShutdownRunningTask.CompleteCurrentTaskOnly;
     private Debugger debugger;
@@ -2966,6 +2974,10 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
         return new Date().getTime() - startDate.getTime();
     }
 
+    public Map<String, Long> getRouteStartupTimings() {
+        return Collections.unmodifiableMap(routeStartupTimings);
+    }
+
     public String getVersion() {
         if (version == null) {
             synchronized (lock) {
@@ -3325,6 +3337,18 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
 
         forceLazyInitialization();
 
+        // configure the inflight repository before any exchange is routed, but only change the options which
+        // differ from their defaults, so a repository configured directly is not reset
+        if (getInflightRepository() instanceof DefaultInflightRepository) {
+            DefaultInflightRepository repository = (DefaultInflightRepository) getInflightRepository();
+            if (!inflightRepositoryBrowseEnabled) {
+                repository.setInflightBrowseEnabled(false);
+            }
+            if (inflightRepositoryBrowseSampleRate < 1.0d) {
+                repository.setBrowseSampleRate(inflightRepositoryBrowseSampleRate);
+            }
+        }
+
         if (reloadStrategy != null) {
             log.info("Using ReloadStrategy: {}", reloadStrategy);
             addService(reloadStrategy, true, true);
@@ -3370,7 +3394,10 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
         startServices(components.values());
 
         // start the route definitions before the routes is started
+        routeStartupTimings.clear();
+        StopWatch watch = new StopWatch();
         startRouteDefinitions(routeDefinitions);
+        routeStartupTimings.put("createRoutes", watch.taken());
 
         if (isUseDataType()) {
             // log if DataType has been enabled
@@ -3648,12 +3675,132 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
 
     protected void startRouteDefinitions(Collection<RouteDefinition> list) throws Exception {
         if (list != null) {
+            if (routeStartupParallelism > 1 && list.size() > 1 && !shouldStartRoutes()) {
+                // the routes are only created now and started later, so they can be created in parallel
+                doCreateRoutesInParallel(new ArrayList<>(list));
+            } else {
+                for (RouteDefinition route : list) {
+                    startRoute(route);
+                }
+            }
+        }
+    }
+
+    private void doCreateRoutesInParallel(List<RouteDefinition> list) throws Exception {
+        // assign ids to the routes and validate that the id's is all unique
+        RouteDefinitionHelper.forceAssignIds(this, routeDefinitions);
+        Map<String, Integer> endpointUris = new HashMap<>();
+        for (RouteDefinition route : list) {
+            String duplicate = RouteDefinitionHelper.validateUniqueIds(route, routeDefinitions);
+            if (duplicate != null) {
+                throw new FailedToStartRouteException(route.getId(), "duplicate id detected: " + duplicate + ". Please correct ids to be unique among all your routes.");
+            }
+            // must ensure route is prepared, before we can create it
+            route.prepare(this);
+            // assign the node ids up front so they do not depend on the order the routes are created in
+            for (ProcessorDefinition<?> output : route.getOutputs()) {
+                RouteDefinitionHelper.forceAssignIds(this, output);
+            }
+            for (String uri : RouteDefinitionHelper.gatherAllStaticEndpointUris(this, route, true, true)) {
+                endpointUris.merge(uri, 1, Integer::sum);
+            }
+        }
+
+        // the endpoints which are used by multiple routes are resolved up front
+        // so the routes do not race creating the same endpoint
+        for (Map.Entry<String, Integer> entry : endpointUris.entrySet()) {
+            if (entry.getValue() > 1) {
+                try {
+                    getEndpoint(entry.getKey());
+                } catch (Exception e) {
+                    // ignore as the route will fail with the error when its created
+                    log.trace("Cannot resolve endpoint: {} due to: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+
+        // the context scoped onException, onCompletion and intercept definitions are shared by the routes,
+        // and are changed when the routes are created, so the routes which share definitions are created
+        // one by one by this thread, and only the other routes are created in parallel
+        Set<RouteDefinition> sharing = findRoutesSharingOutputs(list);
+
+        int threads = Math.min(routeStartupParallelism, list.size());
+        log.debug("Creating {} routes in parallel using {} threads ({} routes sharing definitions are created one by one)",
+                list.size() - sharing.size(), threads, sharing.size());
+        ExecutorService executor = getExecutorServiceManager().newFixedThreadPool(this, "RouteStartup", threads);
+        try {
+            List<Future<RouteService>> futures = new ArrayList<>(list.size());
+            for (RouteDefinition route : list) {
+                if (!sharing.contains(route)) {
+                    futures.add(executor.submit(() -> createRouteService(route)));
+                }
+            }
+            // create the routes sharing definitions while the other routes are created, and keep any failure
+            // in its future so the failure reported is the same as when creating the routes one by one
+            int index = 0;
             for (RouteDefinition route : list) {
-                startRoute(route);
+                if (sharing.contains(route)) {
+                    FutureTask<RouteService> task = new FutureTask<>(() -> createRouteService(route));
+                    task.run();
+                    futures.add(index, task);
+                }
+                index++;
+            }
+            // add the route services in the same order as the route definitions, so the default startup order is the same
+            for (Future<RouteService> future : futures) {
+                RouteService routeService;
+                try {
+                    routeService = future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw new RuntimeCamelException(e.getCause());
+                }
+                isStartingRoutes.set(true);
+                try {
+                    startRouteService(routeService, true);
+                } finally {
+                    isStartingRoutes.remove();
+                }
             }
+        } finally {
+            getExecutorServiceManager().shutdownNow(executor);
         }
     }
 
+    private RouteService createRouteService(RouteDefinition route) throws Exception {
+        // the route may be created by the thread which is already starting routes
+        boolean alreadyStartingRoutes = isStartingRoutes();
+        if (!alreadyStartingRoutes) {
+            isStartingRoutes.set(true);
+        }
+        try {
+            List<Route> routes = new ArrayList<>();
+            List<RouteContext> routeContexts = new RouteReifier(route).addRoutes(this, routes);
+            return new RouteService(this, route, routeContexts, routes);
+        } finally {
+            if (!alreadyStartingRoutes) {
+                isStartingRoutes.remove();
+            }
+        }
+    }
+
+    private static Set<RouteDefinition> findRoutesSharingOutputs(List<RouteDefinition> list) {
+        Map<ProcessorDefinition<?>, RouteDefinition> owners = new IdentityHashMap<>();
+        Set<RouteDefinition> answer = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RouteDefinition route : list) {
+            for (ProcessorDefinition<?> output : route.getOutputs()) {
+                RouteDefinition owner = owners.putIfAbsent(output, route);
+                if (owner != null && owner != route) {
+                    answer.add(owner);
+                    answer.add(route);
+                }
+            }
+        }
+        return answer;
+    }
+
     /**
      * Starts the given route service
      */
@@ -3774,7 +3921,11 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
         }
 
         // warm up routes before we start them
+        StopWatch watch = new StopWatch();
         doWarmUpRoutes(inputs, startConsumer);
+        if (isStarting()) {
+            routeStartupTimings.put("warmUpRoutes", watch.taken());
+        }
 
         // sort the startup listeners so they are started in the right order
         startupListeners.sort(OrderedComparator.get());
@@ -3790,6 +3941,7 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
 
         // now start the consumers
         if (startConsumer) {
+            watch.restart();
             if (resumeConsumer) {
                 // and now resume the routes
                 doResumeRouteConsumers(inputs, addingRoutes);
@@ -3798,6 +3950,9 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
                 // and check for clash with multiple consumers of the same endpoints which is not allowed
                 doStartRouteConsumers(inputs, addingRoutes);
             }
+            if (isStarting()) {
+                routeStartupTimings.put("startConsumers", watch.taken());
+            }
         }
 
         // sort the startup listeners so they are started in the right order
@@ -3882,6 +4037,16 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
     private void doStartOrResumeRouteConsumers(Map<Integer, DefaultRouteStartupOrder> inputs, boolean resumeOnly, boolean addingRoute) throws Exception {
         List<Endpoint> routeInputs = new ArrayList<>();
 
+        // the existing routes which have already been started, or is currently starting
+        // (the routes started in the loop below are checked using the route inputs)
+        Map<String, Endpoint> startedRoutes = new LinkedHashMap<>();
+        for (Route existingRoute : getRoutes()) {
+            ServiceStatus status = getRouteStatus(existingRoute.getId());
+            if (status != null && (status.isStarted() || status.isStarting())) {
+                startedRoutes.put(existingRoute.getId(), existingRoute.getEndpoint());
+            }
+        }
+
         for (Map.Entry<Integer, DefaultRouteStartupOrder> entry : inputs.entrySet()) {
             Integer order = entry.getKey();
             Route route = entry.getValue().getRoute();
@@ -3906,16 +4071,11 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
 
                 // check for multiple consumer violations with existing routes which
                 // have already been started, or is currently starting
-                List<Endpoint> existingEndpoints = new ArrayList<>();
-                for (Route existingRoute : getRoutes()) {
-                    if (route.getId().equals(existingRoute.getId())) {
-                        // skip ourselves
-                        continue;
-                    }
-                    Endpoint existing = existingRoute.getEndpoint();
-                    ServiceStatus status = getRouteStatus(existingRoute.getId());
-                    if (status != null && (status.isStarted() || status.isStarting())) {
-                        existingEndpoints.add(existing);
+                List<Endpoint> existingEndpoints = new ArrayList<>(startedRoutes.size());
+                for (Map.Entry<String, Endpoint> existing : startedRoutes.entrySet()) {
+                    // skip ourselves
+                    if (!route.getId().equals(existing.getKey())) {
+                        existingEndpoints.add(existing.getValue());
                     }
                 }
                 if (!doCheckMultipleConsumerSupportClash(endpoint, existingEndpoints)) {
@@ -4300,6 +4460,25 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
         this.inflightRepository = doAddService(repository);
     }
 
+    public boolean isInflightRepositoryBrowseEnabled() {
+        return inflightRepositoryBrowseEnabled;
+    }
+
+    public void setInflightRepositoryBrowseEnabled(boolean inflightRepositoryBrowseEnabled) {
+        this.inflightRepositoryBrowseEnabled = inflightRepositoryBrowseEnabled;
+    }
+
+    public double getInflightRepositoryBrowseSampleRate() {
+        return inflightRepositoryBrowseSampleRate;
+    }
+
+    public void setInflightRepositoryBrowseSampleRate(double inflightRepositoryBrowseSampleRate) {
+        if (inflightRepositoryBrowseSampleRate < 0 || inflightRepositoryBrowseSampleRate > 1) {
+            throw new IllegalArgumentException("InflightRepositoryBrowseSampleRate must be between 0 and 1, was " + inflightRepositoryBrowseSampleRate);
+        }
+        this.inflightRepositoryBrowseSampleRate = inflightRepositoryBrowseSampleRate;
+    }
+
     public AsyncProcessorAwaitManager getAsyncProcessorAwaitManager() {
         if (asyncProcessorAwaitManager == null) {
             synchronized (lock) {
@@ -4331,6 +4510,14 @@ public abstract class AbstractCamelContext extends ServiceSupport implements Mod
         this.loadTypeConverters = loadTypeConverters;
     }
 
+    public int getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    public void setRouteStartupParallelism(int routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
     public Boolean isTypeConverterStatisticsEnabled() {
         return typeConverterStatisticsEnabled != null && typeConverterStatisticsEnabled;
     }
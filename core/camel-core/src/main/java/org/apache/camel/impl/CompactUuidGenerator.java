@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.spi.UuidGenerator;
+
+/**
+ * {@link UuidGenerator} which avoids contention between threads by letting each thread
+ * claim a block of sequence numbers at a time, and then generate the ids of the block
+ * on its own.
+ * <p/>
+ * The ids are a seed (unique per host, JVM and generator instance) followed by the sequence number
+ * encoded as a fixed length base 32 number, so all the ids have the same length, and the ids generated
+ * by the same thread sort in the order they were generated. Each thread builds its ids in its own
+ * buffer which already contains the seed.
+ */
+public class CompactUuidGenerator implements UuidGenerator {
+
+    static final int BLOCK_SIZE = 1024;
+    // the number of base 32 digits for a long
+    static final int SEQUENCE_LENGTH = 13;
+
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuv".toCharArray();
+    private static final AtomicInteger INSTANCE_COUNT = new AtomicInteger();
+
+    private final String seed;
+    private final AtomicLong sequence = new AtomicLong();
+    // the blocks must not refer to this generator, so the thread local values can be removed
+    // from the threads when the generator is no longer in use
+    private final ThreadLocal<Block> blocks;
+
+    public CompactUuidGenerator(String prefix) {
+        String id = prefix + "-" + Long.toString(System.currentTimeMillis(), 32) + "-" + Integer.toString(INSTANCE_COUNT.getAndIncrement(), 32) + "-";
+        // let the ID be friendly for URL and file systems
+        this.seed = DefaultUuidGenerator.generateSanitizedId(id);
+        final String blockSeed = seed;
+        final AtomicLong blockSequence = sequence;
+        this.blocks = ThreadLocal.withInitial(() -> new Block(blockSeed, blockSequence));
+    }
+
+    public CompactUuidGenerator() {
+        this("ID-" + DefaultUuidGenerator.getHostName());
+    }
+
+    public String generateUuid() {
+        return blocks.get().next();
+    }
+
+    /**
+     * The block of sequence numbers claimed by a thread, and the buffer to build the ids in.
+     */
+    private static final class Block {
+
+        private final AtomicLong sequence;
+        private final int seedLength;
+        private final char[] buffer;
+        private long next;
+        private long limit;
+
+        Block(String seed, AtomicLong sequence) {
+            this.sequence = sequence;
+            this.seedLength = seed.length();
+            this.buffer = new char[seedLength + SEQUENCE_LENGTH];
+            seed.getChars(0, seedLength, buffer, 0);
+        }
+
+        String next() {
+            if (next == limit) {
+                next = sequence.getAndAdd(BLOCK_SIZE);
+                limit = next + BLOCK_SIZE;
+            }
+            long value = next++;
+            for (int i = buffer.length - 1; i >= seedLength; i--) {
+                buffer[i] = DIGITS[(int) value & 31];
+                value >>>= 5;
+            }
+            return new String(buffer);
+        }
+    }
+}
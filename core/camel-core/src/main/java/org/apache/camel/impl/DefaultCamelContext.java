@@ -183,7 +183,7 @@ public class DefaultCamelContext extends AbstractCamelContext {
             // either "Production" or "Development"
             return new JavaUuidGenerator();
         } else {
-            return new DefaultUuidGenerator();
+            return new CompactUuidGenerator();
         }
     }
 
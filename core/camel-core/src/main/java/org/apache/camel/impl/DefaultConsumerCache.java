@@ -45,6 +45,7 @@ public class DefaultConsumerCache extends ServiceSupport implements ConsumerCach
         this.camelContext = camelContext;
         this.maxCacheSize = cacheSize == 0 ? CamelContextHelper.getMaximumCachePoolSize(camelContext) : cacheSize;
         this.consumers = new ServicePool<>(Endpoint::createPollingConsumer, PollingConsumer::getEndpoint, maxCacheSize);
+        this.consumers.setIdleTimeout(CamelContextHelper.getCachePoolIdleTimeout(camelContext));
         // only if JMX is enabled
         if (camelContext.getManagementStrategy().getManagementAgent() != null) {
             this.extendedStatistics = camelContext.getManagementStrategy().getManagementAgent().getStatisticsLevel().isExtended();
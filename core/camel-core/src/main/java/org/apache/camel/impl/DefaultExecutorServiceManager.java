@@ -186,7 +186,8 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         profile.addDefaults(defaultProfile);
 
-        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true);
+        boolean virtual = profile.getVirtualThreads() != null && profile.getVirtualThreads();
+        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true, virtual);
         ExecutorService executorService = threadPoolFactory.newThreadPool(profile, threadFactory);
         onThreadPoolCreated(executorService, source, profile.getId());
         if (LOG.isDebugEnabled()) {
@@ -547,7 +548,11 @@ public class DefaultExecutorServiceManager extends ServiceSupport implements Exe
     }
 
     private ThreadFactory createThreadFactory(String name, boolean isDaemon) {
-        return new CamelThreadFactory(threadNamePattern, name, isDaemon);
+        return createThreadFactory(name, isDaemon, false);
+    }
+
+    private ThreadFactory createThreadFactory(String name, boolean isDaemon, boolean isVirtual) {
+        return new CamelThreadFactory(threadNamePattern, name, isDaemon, isVirtual);
     }
 
 }
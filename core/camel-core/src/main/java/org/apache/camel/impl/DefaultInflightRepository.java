@@ -22,9 +22,11 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,41 +37,66 @@ import org.apache.camel.support.service.ServiceSupport;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * By default every inflight exchange is tracked so they can be browsed. As tracking the exchanges costs
+ * hash map operations per exchange, then browsing can be turned off with {@link #setInflightBrowseEnabled(boolean)}
+ * to only keep striped counters, or {@link #setBrowseSampleRate(double)} can be used to only track a fraction
+ * of the exchanges for browsing. The sizes are accurate in all modes. These options should be configured
+ * before Camel is started, for example with {@link org.apache.camel.CamelContext#setInflightRepositoryBrowseEnabled(boolean)}
+ * and {@link org.apache.camel.CamelContext#setInflightRepositoryBrowseSampleRate(double)}.
+ * <p/>
+ * When not every exchange is tracked, the sizes are counted from the calls to add and remove, so adding the same
+ * exchange twice counts it twice until it has been removed twice. Camel adds and removes each exchange once,
+ * so this only matters when calling the repository directly. When every exchange is tracked, adding the same
+ * exchange again is ignored.
  */
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
-    private final ConcurrentMap<String, AtomicInteger> routeCount = new ConcurrentHashMap<>();
+    // the exchanges are tracked by identity, so their ids are not created only to track them
+    private final Set<Exchange> inflight = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final LongAdder count = new LongAdder();
+    private volatile boolean inflightBrowseEnabled = true;
+    private volatile double browseSampleRate = 1.0d;
 
     public void add(Exchange exchange) {
-        inflight.put(exchange.getExchangeId(), exchange);
+        count.increment();
+        if (inflightBrowseEnabled && isSampled()) {
+            inflight.add(exchange);
+        }
     }
 
     public void remove(Exchange exchange) {
-        inflight.remove(exchange.getExchangeId());
+        count.decrement();
+        if (inflightBrowseEnabled && !inflight.isEmpty()) {
+            inflight.remove(exchange);
+        }
     }
 
     public void add(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.incrementAndGet();
+            existing.increment();
         }
     }
 
     public void remove(Exchange exchange, String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
+        LongAdder existing = routeCount.get(routeId);
         if (existing != null) {
-            existing.decrementAndGet();
+            existing.decrement();
         }
     }
 
     public int size() {
-        return inflight.size();
+        if (isTrackingAll()) {
+            return inflight.size();
+        }
+        return (int) Math.max(0, count.sum());
     }
 
     @Override
     public void addRoute(String routeId) {
-        routeCount.putIfAbsent(routeId, new AtomicInteger(0));
+        routeCount.putIfAbsent(routeId, new LongAdder());
     }
 
     @Override
@@ -79,8 +106,51 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
     @Override
     public int size(String routeId) {
-        AtomicInteger existing = routeCount.get(routeId);
-        return existing != null ? existing.get() : 0;
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? (int) Math.max(0, existing.sum()) : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightBrowseEnabled;
+    }
+
+    /**
+     * Whether the inflight exchanges are tracked so they can be browsed.
+     * <p/>
+     * When disabled only the counters are kept, and browsing returns no exchanges.
+     * Is by default <tt>true</tt>.
+     */
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightBrowseEnabled = inflightBrowseEnabled;
+        if (!inflightBrowseEnabled) {
+            inflight.clear();
+        }
+    }
+
+    public double getBrowseSampleRate() {
+        return browseSampleRate;
+    }
+
+    /**
+     * The fraction (between 0 and 1) of the inflight exchanges which are tracked so they can be browsed.
+     * <p/>
+     * For example 0.01 tracks about one in every hundred exchanges. Is by default <tt>1</tt> to track every exchange.
+     */
+    public void setBrowseSampleRate(double browseSampleRate) {
+        if (browseSampleRate < 0 || browseSampleRate > 1) {
+            throw new IllegalArgumentException("BrowseSampleRate must be between 0 and 1, was " + browseSampleRate);
+        }
+        this.browseSampleRate = browseSampleRate;
+    }
+
+    private boolean isTrackingAll() {
+        return inflightBrowseEnabled && browseSampleRate >= 1.0d;
+    }
+
+    private boolean isSampled() {
+        double rate = browseSampleRate;
+        return rate >= 1.0d || ThreadLocalRandom.current().nextDouble() < rate;
     }
 
     @Override
@@ -103,10 +173,10 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         Stream<Exchange> values;
         if (fromRouteId == null) {
             // all values
-            values = inflight.values().stream();
+            values = inflight.stream();
         } else {
             // only if route match
-            values = inflight.values().stream()
+            values = inflight.stream()
                 .filter(e -> fromRouteId.equals(e.getFromRouteId()));
         }
 
@@ -137,10 +207,10 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
 
         if (fromRouteId == null) {
             // all values
-            values = inflight.values().stream();
+            values = inflight.stream();
         } else {
             // only if route match
-            values = inflight.values().stream()
+            values = inflight.stream()
                 .filter(e -> fromRouteId.equals(e.getFromRouteId()));
         }
 
@@ -58,6 +58,7 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         this.camelContext = camelContext;
         this.maxCacheSize = cacheSize == 0 ? CamelContextHelper.getMaximumCachePoolSize(camelContext) : cacheSize;
         this.producers = new ServicePool<>(Endpoint::createAsyncProducer, AsyncProducer::getEndpoint, maxCacheSize);
+        this.producers.setIdleTimeout(CamelContextHelper.getCachePoolIdleTimeout(camelContext));
 
         // only if JMX is enabled
         if (camelContext.getManagementStrategy().getManagementAgent() != null) {
@@ -435,6 +436,14 @@ public class DefaultProducerCache extends ServiceSupport implements ProducerCach
         return producers.getEvicted();
     }
 
+    public long getAcquireMeanTime() {
+        return producers.getAcquireMeanTime();
+    }
+
+    public long getAcquireMaxTime() {
+        return producers.getAcquireMaxTime();
+    }
+
     /**
      * Resets the cache statistics
      */
@@ -52,6 +52,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
+    private boolean offHeap;
 
     public CamelContext getCamelContext() {
         return camelContext;
@@ -137,6 +138,14 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.anySpoolRules = anySpoolTasks;
     }
 
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
     public Statistics getStatistics() {
         return statistics;
     }
@@ -303,7 +312,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             + ", spoolThreshold=" + spoolThreshold
             + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
             + ", bufferSize=" + bufferSize
-            + ", anySpoolRules=" + anySpoolRules + "]";
+            + ", anySpoolRules=" + anySpoolRules
+            + ", offHeap=" + offHeap + "]";
     }
 
     private final class FixedThresholdSpoolRule implements SpoolRule {
@@ -226,7 +226,9 @@ public class DefaultUnitOfWork implements UnitOfWork, Service {
     }
 
     public void done(Exchange exchange) {
-        log.trace("UnitOfWork done for ExchangeId: {} with {}", exchange.getExchangeId(), exchange);
+        if (log.isTraceEnabled()) {
+            log.trace("UnitOfWork done for ExchangeId: {} with {}", exchange.getExchangeId(), exchange);
+        }
 
         boolean failed = exchange.isFailed();
 
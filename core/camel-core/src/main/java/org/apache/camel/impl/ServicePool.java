@@ -16,18 +16,21 @@
  */
 package org.apache.camel.impl;
 
-import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.IsSingleton;
 import org.apache.camel.NonManagedService;
 import org.apache.camel.Service;
-import org.apache.camel.support.LRUCache;
-import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.function.ThrowingFunction;
 import org.slf4j.Logger;
@@ -36,8 +39,19 @@ import org.slf4j.LoggerFactory;
 /**
  * A service pool is like a connection pool but can pool any kind of objects.
  * <p/>
- * Notice the capacity is <b>per key</b> which means that each key can contain at most
- * (the capacity) services. The pool can contain an unbounded number of keys.
+ * The number of services in the pool is bounded by the capacity, which counts the singleton services
+ * and the idle non singleton services of all the keys.
+ * Singleton services are kept one per key, where the least recently used services are evicted
+ * when the pool is full. This is approximated using the clock (second chance) algorithm,
+ * so using a service only sets a flag.
+ * Non singleton services are pooled per key, where each key keeps at most {@link #getMaxIdle() max idle}
+ * services, and a released service is stopped instead when the pool is full.
+ * <p/>
+ * Acquiring and releasing services does not lock, as the services of a key are kept in
+ * lock-free slots, which are striped by the calling thread.
+ * <p/>
+ * Services which has not been used for the {@link #setIdleTimeout(long) idle timeout} are evicted,
+ * which is checked while acquiring services and when {@link #cleanUp()} is called.
  * <p/>
  * By default the capacity is set to 100.
  */
@@ -45,48 +59,47 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
 
     static final Logger LOG = LoggerFactory.getLogger(ServicePool.class);
 
+    // only update the last used time of a service when its older than this, to avoid writing on every acquire
+    static final long LAST_USED_GRANULARITY = TimeUnit.MILLISECONDS.toNanos(1);
+
     final ThrowingFunction<Endpoint, S, Exception> producer;
     final Function<S, Endpoint> getEndpoint;
     final ConcurrentHashMap<Endpoint, Pool<S>> pool = new ConcurrentHashMap<>();
     int capacity;
-    Map<Key<S>, S> cache;
+    int maxIdle;
+    long idleTimeout;
+
+    // the singleton services and the idle non singleton services, which are bounded by the capacity
+    final AtomicInteger services = new AtomicInteger();
+    // the singleton pools in the order their service was created, which the eviction goes round like a clock
+    final ConcurrentLinkedQueue<SinglePool> clock = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean evicting = new AtomicBoolean();
+    final AtomicBoolean cleaning = new AtomicBoolean();
+    volatile long lastCleanUp = System.nanoTime();
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evicted = new LongAdder();
+    final LongAdder acquireCount = new LongAdder();
+    final LongAdder acquireTime = new LongAdder();
+    final AtomicLong acquireMaxTime = new AtomicLong();
 
     interface Pool<S> {
-        S acquire() throws Exception;
-        void release(S s);
+        /**
+         * Acquires a service, or returns <tt>null</tt> if this pool has been evicted
+         */
+        S acquire(long now) throws Exception;
+        void release(S s, long now);
         int size();
         void stop();
-        void evict(S s);
-    }
-
-    static class Key<S> {
-        private final S s;
-        public Key(S s) {
-            this.s = Objects.requireNonNull(s);
-        }
-        @Override
-        public boolean equals(Object o) {
-            return o instanceof Key && ((Key) o).s == s;
-        }
-        @Override
-        public int hashCode() {
-            return s.hashCode();
-        }
+        int evictIdle(long idleSince);
     }
 
     public ServicePool(ThrowingFunction<Endpoint, S, Exception> producer, Function<S, Endpoint> getEndpoint, int capacity) {
         this.producer = producer;
         this.getEndpoint = getEndpoint;
         this.capacity = capacity;
-        this.cache = capacity > 0 ? LRUCacheFactory.newLRUCache(capacity, this::onEvict) : null;
-    }
-
-    protected void onEvict(S s) {
-        Endpoint e = getEndpoint.apply(s);
-        Pool<S> p = pool.get(e);
-        if (p != null) {
-            p.evict(s);
-        }
+        this.maxIdle = Math.min(capacity, Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
     }
 
     /**
@@ -99,9 +112,22 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
         if (!isStarted()) {
             return null;
         }
-        S s = getPool(endpoint).acquire();
-        if (s != null && cache != null) {
-            cache.putIfAbsent(new Key<>(s), s);
+        long start = System.nanoTime();
+        S s = getPool(endpoint).acquire(start);
+        while (s == null) {
+            // the pool has been evicted concurrently, so get the pool again (which is a new pool
+            // once the evicted pool has been removed)
+            s = getPool(endpoint).acquire(start);
+        }
+        long time = System.nanoTime() - start;
+        acquireCount.increment();
+        acquireTime.add(time);
+        long max = acquireMaxTime.get();
+        while (time > max && !acquireMaxTime.compareAndSet(max, time)) {
+            max = acquireMaxTime.get();
+        }
+        if (idleTimeout > 0 && start - lastCleanUp > TimeUnit.MILLISECONDS.toNanos(idleTimeout) / 2) {
+            evictIdle(start);
         }
         return s;
     }
@@ -113,11 +139,15 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
      * @param s the service
      */
     public void release(Endpoint endpoint, S s) {
-        getPool(endpoint).release(s);
+        getPool(endpoint).release(s, idleTimeout > 0 ? System.nanoTime() : 0);
     }
 
     protected Pool<S> getPool(Endpoint endpoint) {
-        return pool.computeIfAbsent(endpoint, this::createPool);
+        Pool<S> answer = pool.get(endpoint);
+        if (answer == null) {
+            answer = pool.computeIfAbsent(endpoint, this::createPool);
+        }
+        return answer;
     }
 
     private Pool<S> createPool(Endpoint endpoint) {
@@ -154,50 +184,151 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
     protected void doStop() throws Exception {
         pool.values().forEach(Pool::stop);
         pool.clear();
+        clock.clear();
     }
 
+    /**
+     * Evicts the services which has been idle for longer than the idle timeout.
+     */
     public void cleanUp() {
-        if (cache instanceof LRUCache) {
-            ((LRUCache) cache).cleanUp();
+        if (idleTimeout > 0) {
+            evictIdle(System.nanoTime());
         }
     }
 
-    public void resetStatistics() {
-        if (cache instanceof LRUCache) {
-            ((LRUCache) cache).resetStatistics();
+    /**
+     * Evicts the least recently used singleton services until there are no more than the capacity.
+     * <p/>
+     * The pools are visited in turn, where a pool whose service has been used since it was last visited
+     * gets a second chance and is moved to the end, so only a few pools are visited per eviction.
+     * If the pool is still full, as it is full of idle non singleton services, then these are evicted.
+     *
+     * @param exclude the pool which should not be evicted as its service has just been acquired
+     */
+    void evictLeastRecentlyUsed(Pool<S> exclude) {
+        // only one thread needs to evict, as the others would evict the same services
+        if (services.get() <= capacity || !evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // all the pools may be in use, so go round at most twice
+            int visits = 2 * services.get() + 1;
+            while (services.get() > capacity && visits-- > 0) {
+                SinglePool sp = clock.poll();
+                if (sp == null) {
+                    break;
+                }
+                if (sp.s == null) {
+                    // the pool has already been evicted
+                    continue;
+                }
+                if (sp == exclude || sp.used) {
+                    sp.used = false;
+                    clock.offer(sp);
+                } else {
+                    sp.evict();
+                }
+            }
+            for (Pool<S> p : pool.values()) {
+                if (services.get() <= capacity) {
+                    break;
+                }
+                if (p instanceof ServicePool.MultiplePool) {
+                    ((MultiplePool) p).evictIdleServices(services.get() - capacity);
+                }
+            }
+        } finally {
+            evicting.set(false);
         }
     }
 
-    public long getEvicted() {
-        if (cache instanceof LRUCache) {
-            return ((LRUCache) cache).getEvicted();
-        } else {
-            return -1;
+    private void evictIdle(long now) {
+        if (!cleaning.compareAndSet(false, true)) {
+            return;
         }
+        try {
+            lastCleanUp = now;
+            long idleSince = now - TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+            int count = 0;
+            for (Pool<S> p : pool.values()) {
+                count += p.evictIdle(idleSince);
+            }
+            if (count > 0) {
+                // so the endpoints of the evicted pools are not kept by the clock
+                clock.removeIf(sp -> sp.s == null);
+                LOG.debug("Evicted {} services which has been idle for more than {} millis", count, idleTimeout);
+            }
+        } finally {
+            cleaning.set(false);
+        }
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evicted.reset();
+        acquireCount.reset();
+        acquireTime.reset();
+        acquireMaxTime.set(0);
+    }
+
+    public long getEvicted() {
+        return evicted.sum();
     }
 
     public long getMisses() {
-        if (cache instanceof LRUCache) {
-            return ((LRUCache) cache).getMisses();
-        } else {
-            return -1;
-        }
+        return misses.sum();
     }
 
     public long getHits() {
-        if (cache instanceof LRUCache) {
-            return ((LRUCache) cache).getHits();
-        } else {
-            return -1;
-        }
+        return hits.sum();
     }
 
     public int getMaxCacheSize() {
-        if (cache instanceof LRUCache) {
-            return ((LRUCache) cache).getMaxCacheSize();
-        } else {
-            return -1;
-        }
+        return capacity;
+    }
+
+    /**
+     * Gets the mean time in nanos it has taken to acquire a service, which includes creating
+     * and starting the service when there is no idle service to reuse.
+     */
+    public long getAcquireMeanTime() {
+        long count = acquireCount.sum();
+        return count > 0 ? acquireTime.sum() / count : 0;
+    }
+
+    /**
+     * Gets the maximum time in nanos it has taken to acquire a service.
+     */
+    public long getAcquireMaxTime() {
+        return acquireMaxTime.get();
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * Sets the maximum number of idle non singleton services to keep per key.
+     * <p/>
+     * The default is the capacity, but no more than 4 times the number of processors (at least 16).
+     * This option must be set before the pool is used.
+     */
+    public void setMaxIdle(int maxIdle) {
+        this.maxIdle = Math.min(capacity, maxIdle);
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Sets the time in millis a service can be unused before its evicted from the pool.
+     * <p/>
+     * The default is 0 which means services are not evicted because of being idle.
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
     }
 
     static <S extends Service> void stop(S s) {
@@ -211,26 +342,53 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
     private class SinglePool implements Pool<S> {
         private final Endpoint endpoint;
         private volatile S s;
+        private volatile long lastUsed;
+        // whether the service has been used since the eviction has visited this pool
+        private volatile boolean used;
+        private boolean removed;
 
         public SinglePool(Endpoint endpoint) {
             this.endpoint = endpoint;
         }
 
         @Override
-        public S acquire() throws Exception {
-            if (s == null) {
+        public S acquire(long now) throws Exception {
+            S answer = s;
+            boolean created = false;
+            if (answer == null) {
                 synchronized (this) {
-                    if (s == null) {
-                        s = producer.apply(endpoint);
-                        endpoint.getCamelContext().addService(s, true, true);
+                    if (removed) {
+                        return null;
+                    }
+                    answer = s;
+                    if (answer == null) {
+                        answer = producer.apply(endpoint);
+                        endpoint.getCamelContext().addService(answer, true, true);
+                        lastUsed = now;
+                        s = answer;
+                        created = true;
                     }
                 }
             }
-            return s;
+            if (created) {
+                misses.increment();
+                clock.offer(this);
+                services.incrementAndGet();
+                evictLeastRecentlyUsed(this);
+            } else {
+                hits.increment();
+                if (!used) {
+                    used = true;
+                }
+                if (now - lastUsed > LAST_USED_GRANULARITY) {
+                    lastUsed = now;
+                }
+            }
+            return answer;
         }
 
         @Override
-        public void release(S s) {
+        public void release(S s, long now) {
         }
 
         @Override
@@ -245,17 +403,36 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
                 toStop = s;
                 s = null;
             }
+            if (toStop != null) {
+                services.decrementAndGet();
+            }
             doStop(toStop);
         }
 
         @Override
-        public void evict(S s) {
+        public int evictIdle(long idleSince) {
+            if (s != null && lastUsed - idleSince < 0) {
+                return evict() ? 1 : 0;
+            }
+            return 0;
+        }
+
+        boolean evict() {
+            S toStop;
             synchronized (this) {
-                if (this.s == s) {
-                    this.s = null;
-                }
+                toStop = s;
+                s = null;
+                removed = true;
             }
-            doStop(s);
+            // the pool is removed so the endpoint is not kept, and a new pool is used if the endpoint is used again
+            pool.remove(endpoint, this);
+            if (toStop != null) {
+                services.decrementAndGet();
+                evicted.increment();
+                doStop(toStop);
+                return true;
+            }
+            return false;
         }
 
         void doStop(S s) {
@@ -272,46 +449,117 @@ public class ServicePool<S extends Service> extends ServiceSupport implements No
 
     private class MultiplePool implements Pool<S> {
         private final Endpoint endpoint;
-        private final ConcurrentLinkedQueue<S> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicReferenceArray<S> slots;
+        private final AtomicLongArray releasedAt;
+        private final AtomicInteger idle = new AtomicInteger();
 
         public MultiplePool(Endpoint endpoint) {
             this.endpoint = endpoint;
+            int size = Math.max(0, maxIdle);
+            this.slots = new AtomicReferenceArray<>(size);
+            this.releasedAt = new AtomicLongArray(size);
         }
 
         @Override
-        public S acquire() throws Exception {
-            S s = queue.poll();
-            if (s == null) {
-                s = producer.apply(endpoint);
-                s.start();
+        public S acquire(long now) throws Exception {
+            if (idle.get() > 0) {
+                int size = slots.length();
+                int start = stripe(size);
+                for (int i = 0; i < size; i++) {
+                    int index = (start + i) % size;
+                    S s = slots.get(index);
+                    if (s != null && slots.compareAndSet(index, s, null)) {
+                        idle.decrementAndGet();
+                        services.decrementAndGet();
+                        hits.increment();
+                        return s;
+                    }
+                }
             }
+            S s = producer.apply(endpoint);
+            s.start();
+            misses.increment();
             return s;
         }
 
         @Override
-        public void release(S s) {
-            if (queue.size() < capacity) {
-                queue.add(s);
-            } else {
-                ServicePool.stop(s);
+        public void release(S s, long now) {
+            int size = slots.length();
+            if (idle.get() < size) {
+                // the service is only kept if there is room in the service pool as well
+                if (services.incrementAndGet() <= capacity) {
+                    int start = stripe(size);
+                    for (int i = 0; i < size; i++) {
+                        int index = (start + i) % size;
+                        if (slots.get(index) == null) {
+                            releasedAt.set(index, now);
+                            if (slots.compareAndSet(index, null, s)) {
+                                idle.incrementAndGet();
+                                return;
+                            }
+                        }
+                    }
+                }
+                services.decrementAndGet();
+            }
+            if (size > 0) {
+                evicted.increment();
             }
+            ServicePool.stop(s);
         }
 
         @Override
         public int size() {
-            return queue.size();
+            return idle.get();
         }
 
         @Override
         public void stop() {
-            queue.forEach(ServicePool::stop);
-            queue.clear();
+            for (int i = 0; i < slots.length(); i++) {
+                S s = slots.getAndSet(i, null);
+                if (s != null) {
+                    idle.decrementAndGet();
+                    services.decrementAndGet();
+                    ServicePool.stop(s);
+                }
+            }
         }
 
         @Override
-        public void evict(S s) {
-            queue.remove(s);
-            ServicePool.stop(s);
+        public int evictIdle(long idleSince) {
+            int count = 0;
+            for (int i = 0; i < slots.length() && idle.get() > 0; i++) {
+                S s = slots.get(i);
+                if (s != null && releasedAt.get(i) - idleSince < 0 && slots.compareAndSet(i, s, null)) {
+                    idle.decrementAndGet();
+                    services.decrementAndGet();
+                    evicted.increment();
+                    ServicePool.stop(s);
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Evicts up to the given number of idle services, to make room in the pool.
+         */
+        void evictIdleServices(int max) {
+            for (int i = 0; i < slots.length() && max > 0 && idle.get() > 0; i++) {
+                S s = slots.getAndSet(i, null);
+                if (s != null) {
+                    idle.decrementAndGet();
+                    services.decrementAndGet();
+                    evicted.increment();
+                    ServicePool.stop(s);
+                    max--;
+                }
+            }
+        }
+
+        private int stripe(int size) {
+            // threads start at different slots to not contend on the same slots
+            return (int) (Thread.currentThread().getId() % size);
         }
     }
 
@@ -0,0 +1,621 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.builder.ExpressionBuilder;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralExpression;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.NullExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.ExpressionToPredicateAdapter;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.util.OgnlHelper;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Compiles the AST of a parsed simple expression or predicate into specialized
+ * {@link Expression}s and {@link Predicate}s.
+ * <p/>
+ * The interpreted AST resolves functions such as <tt>${header.foo}</tt> by their name on every evaluation,
+ * and creates new predicates per evaluation for the logical operators and some of the binary operators.
+ * The compiler resolves header and property names, constants, regular expression patterns and the values
+ * of the <tt>in</tt> and <tt>range</tt> operators once, and uses type specialized comparisons
+ * for numeric and <tt>String</tt> values. Nodes that cannot be compiled fall back to the interpreted model,
+ * so a compiled expression or predicate evaluates to the same result as the interpreted one.
+ */
+public final class SimpleCompiler {
+
+    // this is special for the range operator where you define the range as from..to (where from and to are numbers)
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^(\\d+)(\\.\\.)(\\d+)$");
+
+    private SimpleCompiler() {
+    }
+
+    /**
+     * Compiles the nodes of a simple expression (template) into a single {@link Expression}.
+     *
+     * @param nodes      the AST nodes
+     * @param expression the input string
+     * @return the compiled expression, or <tt>null</tt> if there was nothing to compile
+     */
+    public static Expression compileExpression(List<SimpleNode> nodes, String expression) {
+        List<Expression> parts = new ArrayList<>(nodes.size());
+        for (SimpleNode node : nodes) {
+            Expression exp = compileOperand(node, expression);
+            if (exp != null) {
+                parts.add(exp);
+            }
+        }
+        if (parts.isEmpty()) {
+            return null;
+        } else if (parts.size() == 1) {
+            return parts.get(0);
+        } else {
+            return new ConcatExpression(parts.toArray(new Expression[parts.size()]), expression);
+        }
+    }
+
+    /**
+     * Compiles the node of a simple predicate into a {@link Predicate}.
+     *
+     * @param node       the AST node
+     * @param expression the input string
+     * @return the compiled predicate, or <tt>null</tt> if there was nothing to compile
+     */
+    public static Predicate compilePredicate(SimpleNode node, String expression) {
+        if (node instanceof LogicalExpression) {
+            Predicate answer = compileLogical((LogicalExpression) node, expression);
+            if (answer != null) {
+                return answer;
+            }
+        } else if (node instanceof BinaryExpression) {
+            Predicate answer = compileBinary((BinaryExpression) node, expression);
+            if (answer != null) {
+                return answer;
+            }
+        }
+
+        Expression exp = compileOperand(node, expression);
+        if (exp == null) {
+            return null;
+        } else if (exp instanceof Predicate) {
+            return (Predicate) exp;
+        } else {
+            return ExpressionToPredicateAdapter.toPredicate(exp);
+        }
+    }
+
+    private static Predicate compileLogical(LogicalExpression node, String expression) {
+        if (node.getLeft() == null || node.getRight() == null) {
+            // let the interpreted model report the syntax error
+            return null;
+        }
+
+        final Predicate left = compilePredicate(node.getLeft(), expression);
+        final Predicate right = compilePredicate(node.getRight(), expression);
+        if (left == null || right == null) {
+            return null;
+        }
+
+        if (node.getOperator() == LogicalOperatorType.AND) {
+            return new CompiledPredicate(node.toString()) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    return left.matches(exchange) && right.matches(exchange);
+                }
+            };
+        } else if (node.getOperator() == LogicalOperatorType.OR) {
+            return new CompiledPredicate(node.toString()) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    return left.matches(exchange) || right.matches(exchange);
+                }
+            };
+        }
+        return null;
+    }
+
+    private static Predicate compileBinary(BinaryExpression node, String expression) {
+        if (node.getLeft() == null || node.getRight() == null) {
+            // let the interpreted model report the syntax error
+            return null;
+        }
+
+        final BinaryOperatorType operator = node.getOperator();
+        final String text = node.toString();
+        final Expression left = compileOperand(node.getLeft(), expression);
+        final boolean constant = isConstant(node.getRight());
+        final Object value = constant ? constantValue(node.getRight()) : null;
+
+        if (operator == BinaryOperatorType.REGEX || operator == BinaryOperatorType.NOT_REGEX) {
+            if (!constant || value == null) {
+                return null;
+            }
+            final Pattern pattern = Pattern.compile(value.toString());
+            final boolean not = operator == BinaryOperatorType.NOT_REGEX;
+            return new CompiledPredicate(text) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    String leftValue = left.evaluate(exchange, String.class);
+                    boolean answer = leftValue != null && pattern.matcher(leftValue).matches();
+                    return not != answer;
+                }
+            };
+        } else if (operator == BinaryOperatorType.IN || operator == BinaryOperatorType.NOT_IN) {
+            if (!constant) {
+                return null;
+            }
+            List<Object> list = new ArrayList<>();
+            Iterator<?> it = ObjectHelper.createIterator(value);
+            while (it.hasNext()) {
+                list.add(it.next());
+            }
+            final Object[] values = list.toArray();
+            final boolean not = operator == BinaryOperatorType.NOT_IN;
+            return new CompiledPredicate(text) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    Object leftValue = left.evaluate(exchange, Object.class);
+                    return not != in(exchange.getContext().getTypeConverter(), leftValue, values);
+                }
+            };
+        } else if (operator == BinaryOperatorType.RANGE || operator == BinaryOperatorType.NOT_RANGE) {
+            Matcher matcher = constant && value != null ? RANGE_PATTERN.matcher(value.toString()) : null;
+            if (matcher == null || !matcher.matches()) {
+                // let the interpreted model report the invalid range when evaluated
+                return null;
+            }
+            final Constant from = new Constant(matcher.group(1));
+            final Constant to = new Constant(matcher.group(3));
+            final boolean not = operator == BinaryOperatorType.NOT_RANGE;
+            return new CompiledPredicate(text) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    Object leftValue = left.evaluate(exchange, Object.class);
+                    boolean answer = leftValue != null
+                        && compare(exchange, leftValue, from) >= 0 && compare(exchange, leftValue, to) <= 0;
+                    return not != answer;
+                }
+            };
+        } else if (!isComparison(operator)) {
+            // the is operator needs the class resolver at runtime
+            return null;
+        }
+
+        if (constant) {
+            final Constant right = new Constant(value);
+            return new CompiledPredicate(text) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    Object leftValue = left.evaluate(exchange, Object.class);
+                    if (right.number != null && isIntegral(leftValue) && isNumericComparison(operator)) {
+                        return matchesCompare(operator, Long.compare(((Number) leftValue).longValue(), right.number));
+                    }
+                    return SimpleCompiler.matches(exchange, operator, leftValue, right.value);
+                }
+            };
+        } else {
+            final Expression right = compileOperand(node.getRight(), expression);
+            return new CompiledPredicate(text) {
+                @Override
+                public boolean matches(Exchange exchange) {
+                    Object leftValue = left.evaluate(exchange, Object.class);
+                    Object rightValue = right.evaluate(exchange, Object.class);
+                    return SimpleCompiler.matches(exchange, operator, leftValue, rightValue);
+                }
+            };
+        }
+    }
+
+    /**
+     * Compiles a node which is used as an operand, or as a part of a template.
+     */
+    private static Expression compileOperand(SimpleNode node, String expression) {
+        if (isConstant(node)) {
+            return ExpressionBuilder.constantExpression(constantValue(node));
+        }
+        if (node instanceof SimpleFunctionStart) {
+            List<SimpleNode> children = ((SimpleFunctionStart) node).getBlock().getChildren();
+            if (children.size() == 1 && children.get(0) instanceof LiteralNode) {
+                Expression answer = compileFunction(((LiteralNode) children.get(0)).getText());
+                if (answer != null) {
+                    return answer;
+                }
+            }
+        } else if (node instanceof SingleQuoteStart || node instanceof DoubleQuoteStart) {
+            CompositeNodes block = node instanceof SingleQuoteStart
+                ? ((SingleQuoteStart) node).getBlock() : ((DoubleQuoteStart) node).getBlock();
+            Expression answer = compileExpression(block.getChildren(), expression);
+            return answer != null ? answer : ExpressionBuilder.constantExpression("");
+        }
+        // fallback to the interpreted model
+        return node.createExpression(expression);
+    }
+
+    /**
+     * Compiles the functions which can be resolved up front, which is the message body,
+     * and the headers and exchange properties with a plain name.
+     */
+    private static Expression compileFunction(String function) {
+        if ("body".equals(function) || "in.body".equals(function)) {
+            return new ExpressionAdapter() {
+                @Override
+                public Object evaluate(Exchange exchange) {
+                    return exchange.getIn().getBody();
+                }
+
+                @Override
+                public String toString() {
+                    return "body";
+                }
+            };
+        }
+
+        final String header = plainName(function, "in.headers", "in.header", "headers", "header");
+        if (header != null) {
+            return new ExpressionAdapter() {
+                @Override
+                public Object evaluate(Exchange exchange) {
+                    Object answer = exchange.getIn().getHeader(header);
+                    if (answer == null) {
+                        // fall back on a property
+                        answer = exchange.getProperty(header);
+                    }
+                    return answer;
+                }
+
+                @Override
+                public String toString() {
+                    return "header(" + header + ")";
+                }
+            };
+        }
+
+        final String property = plainName(function, "exchangeProperty", "property");
+        if (property != null) {
+            return new ExpressionAdapter() {
+                @Override
+                public Object evaluate(Exchange exchange) {
+                    return exchange.getProperty(property);
+                }
+
+                @Override
+                public String toString() {
+                    return "exchangeProperty(" + property + ")";
+                }
+            };
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the name following the first matching prefix if the name is a plain name, which is not
+     * using OGNL and not containing nested functions, otherwise <tt>null</tt> is returned.
+     */
+    private static String plainName(String function, String... prefixes) {
+        for (String prefix : prefixes) {
+            if (function.startsWith(prefix)) {
+                String remainder = function.substring(prefix.length());
+                if (remainder.startsWith(".")) {
+                    remainder = remainder.substring(1);
+                } else if (remainder.startsWith("[") && remainder.endsWith("]")) {
+                    remainder = remainder.substring(1, remainder.length() - 1);
+                } else {
+                    return null;
+                }
+                String name = StringHelper.removeLeadingAndEndingQuotes(remainder);
+                if (name.isEmpty() || OgnlHelper.isInvalidValidOgnlExpression(name) || OgnlHelper.isValidOgnlExpression(name)
+                        || SimpleLanguage.hasSimpleFunction(name)) {
+                    return null;
+                }
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isConstant(SimpleNode node) {
+        if (node instanceof NullExpression) {
+            return true;
+        } else if (node instanceof LiteralExpression) {
+            return true;
+        } else if (node instanceof SingleQuoteStart || node instanceof DoubleQuoteStart) {
+            CompositeNodes block = node instanceof SingleQuoteStart
+                ? ((SingleQuoteStart) node).getBlock() : ((DoubleQuoteStart) node).getBlock();
+            for (SimpleNode child : block.getChildren()) {
+                if (!(child instanceof LiteralExpression)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static Object constantValue(SimpleNode node) {
+        if (node instanceof NullExpression) {
+            return null;
+        } else if (node instanceof LiteralExpression) {
+            return ((LiteralExpression) node).getText();
+        }
+        CompositeNodes block = node instanceof SingleQuoteStart
+            ? ((SingleQuoteStart) node).getBlock() : ((DoubleQuoteStart) node).getBlock();
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            sb.append(((LiteralExpression) child).getText());
+        }
+        return sb.toString();
+    }
+
+    private static boolean isComparison(BinaryOperatorType operator) {
+        switch (operator) {
+        case EQ:
+        case EQ_IGNORE:
+        case NOT_EQ:
+        case GT:
+        case GTE:
+        case LT:
+        case LTE:
+        case CONTAINS:
+        case NOT_CONTAINS:
+        case CONTAINS_IGNORECASE:
+        case STARTS_WITH:
+        case ENDS_WITH:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isNumericComparison(BinaryOperatorType operator) {
+        switch (operator) {
+        case EQ:
+        case NOT_EQ:
+        case GT:
+        case GTE:
+        case LT:
+        case LTE:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean matchesCompare(BinaryOperatorType operator, int compare) {
+        switch (operator) {
+        case EQ:
+            return compare == 0;
+        case NOT_EQ:
+            return compare != 0;
+        case GT:
+            return compare > 0;
+        case GTE:
+            return compare >= 0;
+        case LT:
+            return compare < 0;
+        case LTE:
+            return compare <= 0;
+        default:
+            throw new IllegalArgumentException("Not a numeric comparison: " + operator);
+        }
+    }
+
+    /**
+     * Matches the values using the same rules as the predicates from {@link org.apache.camel.builder.PredicateBuilder}
+     * but without creating a failure message, and with fast paths for <tt>String</tt> values.
+     */
+    private static boolean matches(Exchange exchange, BinaryOperatorType operator, Object leftValue, Object rightValue) {
+        if (leftValue == null || rightValue == null) {
+            boolean both = leftValue == null && rightValue == null;
+            switch (operator) {
+            case NOT_EQ:
+            case NOT_CONTAINS:
+                return !both;
+            case GT:
+                return false;
+            default:
+                return both;
+            }
+        }
+
+        if (leftValue instanceof String && rightValue instanceof String) {
+            String left = (String) leftValue;
+            String right = (String) rightValue;
+            switch (operator) {
+            case EQ:
+                return left.equals(right);
+            case EQ_IGNORE:
+                return left.equalsIgnoreCase(right);
+            case NOT_EQ:
+                return !left.equals(right);
+            case CONTAINS:
+                return left.contains(right);
+            case NOT_CONTAINS:
+                return !left.contains(right);
+            case STARTS_WITH:
+                return left.startsWith(right);
+            case ENDS_WITH:
+                return left.endsWith(right);
+            default:
+                // comparing strings may coerce to numbers so use the general rules
+                break;
+            }
+        }
+
+        TypeConverter converter = exchange.getContext().getTypeConverter();
+        switch (operator) {
+        case EQ:
+            return ObjectHelper.typeCoerceEquals(converter, leftValue, rightValue);
+        case EQ_IGNORE:
+            return ObjectHelper.typeCoerceEquals(converter, leftValue, rightValue, true);
+        case NOT_EQ:
+            return ObjectHelper.typeCoerceNotEquals(converter, leftValue, rightValue);
+        case GT:
+            return ObjectHelper.typeCoerceCompare(converter, leftValue, rightValue) > 0;
+        case GTE:
+            return ObjectHelper.typeCoerceCompare(converter, leftValue, rightValue) >= 0;
+        case LT:
+            return ObjectHelper.typeCoerceCompare(converter, leftValue, rightValue) < 0;
+        case LTE:
+            return ObjectHelper.typeCoerceCompare(converter, leftValue, rightValue) <= 0;
+        case CONTAINS:
+            return ObjectHelper.contains(leftValue, rightValue);
+        case NOT_CONTAINS:
+            return !ObjectHelper.contains(leftValue, rightValue);
+        case CONTAINS_IGNORECASE:
+            return ObjectHelper.containsIgnoreCase(leftValue, rightValue);
+        case STARTS_WITH:
+        case ENDS_WITH:
+            String left = converter.convertTo(String.class, leftValue);
+            String right = converter.convertTo(String.class, rightValue);
+            if (left == null || right == null) {
+                return false;
+            }
+            return operator == BinaryOperatorType.STARTS_WITH ? left.startsWith(right) : left.endsWith(right);
+        default:
+            throw new IllegalArgumentException("Not a comparison: " + operator);
+        }
+    }
+
+    private static int compare(Exchange exchange, Object leftValue, Constant right) {
+        if (right.number != null && isIntegral(leftValue)) {
+            return Long.compare(((Number) leftValue).longValue(), right.number);
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), leftValue, right.value);
+    }
+
+    private static boolean in(TypeConverter converter, Object leftValue, Object[] values) {
+        if (leftValue == null) {
+            return false;
+        }
+        for (Object value : values) {
+            // the values are converted to the type of the left value before comparing,
+            // and values which cannot be converted do not match (as with the interpreted operator)
+            Object rightValue = leftValue instanceof String && value instanceof String
+                ? value : converter.tryConvertTo(leftValue.getClass(), value);
+            if (rightValue != null && ObjectHelper.typeCoerceEquals(converter, leftValue, rightValue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A constant operand, which is parsed as a number up front if possible.
+     */
+    private static final class Constant {
+        private final Object value;
+        private final Long number;
+
+        Constant(Object value) {
+            this.value = value;
+            Long parsed = null;
+            if (value instanceof String) {
+                try {
+                    parsed = Long.valueOf((String) value);
+                } catch (NumberFormatException e) {
+                    // not a number
+                }
+            }
+            this.number = parsed;
+        }
+    }
+
+    /**
+     * A compiled predicate which can also be used as an expression returning a boolean.
+     */
+    private abstract static class CompiledPredicate implements Predicate, Expression {
+
+        private final String text;
+
+        CompiledPredicate(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public <T> T evaluate(Exchange exchange, Class<T> type) {
+            boolean answer = matches(exchange);
+            if (type == Object.class || type == Boolean.class) {
+                return type.cast(answer);
+            }
+            return exchange.getContext().getTypeConverter().convertTo(type, answer);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Concatenates the compiled parts of a template.
+     */
+    private static final class ConcatExpression extends ExpressionAdapter {
+
+        private final Expression[] parts;
+        private final String text;
+        private final int capacity;
+
+        ConcatExpression(Expression[] parts, String text) {
+            this.parts = parts;
+            this.text = text;
+            this.capacity = text != null ? text.length() + 16 : 16;
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            StringBuilder sb = new StringBuilder(capacity);
+            for (Expression part : parts) {
+                String value = part.evaluate(exchange, String.class);
+                if (value != null) {
+                    sb.append(value);
+                }
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+}
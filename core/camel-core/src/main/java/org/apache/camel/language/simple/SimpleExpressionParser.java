@@ -41,11 +41,18 @@ public class SimpleExpressionParser extends BaseSimpleParser {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
+    private final boolean compiled;
 
     public SimpleExpressionParser(String expression, boolean allowEscape,
                                   Map<String, Expression> cacheExpression) {
+        this(expression, allowEscape, cacheExpression, false);
+    }
+
+    public SimpleExpressionParser(String expression, boolean allowEscape,
+                                  Map<String, Expression> cacheExpression, boolean compiled) {
         super(expression, allowEscape);
         this.cacheExpression = cacheExpression;
+        this.compiled = compiled;
     }
 
     public Expression parseExpression() {
@@ -83,6 +90,12 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         // compact and stack unary operators
         prepareUnaryExpressions();
 
+        if (compiled) {
+            Expression answer = SimpleCompiler.compileExpression(nodes, expression);
+            // return an empty string as response as there was nothing to parse
+            return answer != null ? answer : ExpressionBuilder.constantExpression("");
+        }
+
         // create and return as a Camel expression
         List<Expression> expressions = createExpressions();
         if (expressions.isEmpty()) {
@@ -18,6 +18,7 @@ package org.apache.camel.language.simple;
 
 import java.util.Map;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Predicate;
 import org.apache.camel.StaticService;
@@ -106,6 +107,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     private static final SimpleLanguage SIMPLE = new SimpleLanguage();
 
     boolean allowEscape = true;
+    boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -120,6 +122,9 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     @Override
     @SuppressWarnings("unchecked")
     public void start() throws Exception {
+        if (!compiled && getCamelContext() != null) {
+            compiled = "true".equalsIgnoreCase(getCamelContext().getGlobalOption(Exchange.SIMPLE_COMPILED));
+        }
         // setup cache which requires CamelContext to be set first
         if (cacheExpression == null && cachePredicate == null && getCamelContext() != null) {
             int maxSize = CamelContextHelper.getMaximumSimpleCacheSize(getCamelContext());
@@ -151,6 +156,23 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         }
     }
 
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Whether to compile the parsed expressions and predicates, instead of interpreting the AST.
+     * <p/>
+     * A compiled expression resolves header and property names, constants and operands up front,
+     * and uses type specialized operators when evaluated, see {@link SimpleCompiler}.
+     * This can also be turned on with the global option {@link Exchange#SIMPLE_COMPILED}.
+     * <p/>
+     * The default is <tt>false</tt>.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     public Predicate createPredicate(String expression) {
         ObjectHelper.notNull(expression, "expression");
 
@@ -159,7 +181,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression);
+            SimplePredicateParser parser = new SimplePredicateParser(expression, allowEscape, cacheExpression, compiled);
             answer = parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
@@ -178,7 +200,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
 
             expression = loadResource(expression);
 
-            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression);
+            SimpleExpressionParser parser = new SimpleExpressionParser(expression, allowEscape, cacheExpression, compiled);
             answer = parser.parseExpression();
 
             if (cacheExpression != null && answer != null) {
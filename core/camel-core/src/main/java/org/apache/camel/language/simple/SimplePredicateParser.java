@@ -56,10 +56,16 @@ public class SimplePredicateParser extends BaseSimpleParser {
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
+    private final boolean compiled;
 
     public SimplePredicateParser(String expression, boolean allowEscape, Map<String, Expression> cacheExpression) {
+        this(expression, allowEscape, cacheExpression, false);
+    }
+
+    public SimplePredicateParser(String expression, boolean allowEscape, Map<String, Expression> cacheExpression, boolean compiled) {
         super(expression, allowEscape);
         this.cacheExpression = cacheExpression;
+        this.compiled = compiled;
     }
 
     public Predicate parsePredicate() {
@@ -441,6 +447,13 @@ public class SimplePredicateParser extends BaseSimpleParser {
     private List<Predicate> createPredicates() {
         List<Predicate> answer = new ArrayList<>();
         for (SimpleNode node : nodes) {
+            if (compiled) {
+                Predicate predicate = SimpleCompiler.compilePredicate(node, expression);
+                if (predicate != null) {
+                    answer.add(predicate);
+                }
+                continue;
+            }
             Expression exp = node.createExpression(expression);
             if (exp != null) {
                 Predicate predicate = ExpressionToPredicateAdapter.toPredicate(exp);
@@ -59,6 +59,14 @@ public class LogicalExpression extends BaseSimpleNode {
         return operator;
     }
 
+    public SimpleNode getLeft() {
+        return left;
+    }
+
+    public SimpleNode getRight() {
+        return right;
+    }
+
     @Override
     public Expression createExpression(String expression) {
         ObjectHelper.notNull(left, "left node", this);
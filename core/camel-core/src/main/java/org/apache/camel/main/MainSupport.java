@@ -71,6 +71,7 @@ public abstract class MainSupport extends ServiceSupport {
     protected int durationHitExitCode = DEFAULT_EXIT_CODE;
     protected ReloadStrategy reloadStrategy;
     protected String propertyPlaceholderLocations;
+    protected int routeStartupParallelism = 1;
 
     /**
      * A class for intercepting the hang up signal and do a graceful shutdown of the Camel.
@@ -158,6 +159,14 @@ public abstract class MainSupport extends ServiceSupport {
                 setFileWatchDirectory(parameter);
             }
         });
+        addOption(new ParameterOption("rsp", "routeStartupParallelism",
+                "Sets the number of threads used for creating the routes in parallel when starting Camel",
+                "routeStartupParallelism") {
+            @Override
+            protected void doProcess(String arg, String parameter, LinkedList<String> remainingArgs) {
+                setRouteStartupParallelism(Integer.parseInt(parameter));
+            }
+        });
     }
 
     /**
@@ -458,6 +467,18 @@ public abstract class MainSupport extends ServiceSupport {
         this.propertyPlaceholderLocations = location;
     }
 
+    public int getRouteStartupParallelism() {
+        return routeStartupParallelism;
+    }
+
+    /**
+     * Sets the number of threads used for creating the routes in parallel when starting Camel.
+     * Defaults to 1, which creates the routes one by one.
+     */
+    public void setRouteStartupParallelism(int routeStartupParallelism) {
+        this.routeStartupParallelism = routeStartupParallelism;
+    }
+
     public boolean isTrace() {
         return trace;
     }
@@ -585,6 +606,9 @@ public abstract class MainSupport extends ServiceSupport {
         if (trace) {
             camelContext.setTracing(true);
         }
+        if (routeStartupParallelism > 1) {
+            camelContext.setRouteStartupParallelism(routeStartupParallelism);
+        }
         if (fileWatchDirectory != null) {
             ReloadStrategy reload = new FileWatcherReloadStrategy(fileWatchDirectory, fileWatchDirectoryRecursively);
             camelContext.setReloadStrategy(reload);
@@ -77,6 +77,8 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
     @XmlAttribute
     private Boolean optimisticLocking;
     @XmlAttribute
+    private Integer shards;
+    @XmlAttribute
     private String executorServiceRef;
     @XmlAttribute
     private String timeoutCheckerExecutorServiceRef;
@@ -378,6 +380,14 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         this.optimisticLocking = optimisticLocking;
     }
 
+    public Integer getShards() {
+        return shards;
+    }
+
+    public void setShards(Integer shards) {
+        this.shards = shards;
+    }
+
     public Boolean getParallelProcessing() {
         return parallelProcessing;
     }
@@ -853,6 +863,21 @@ public class AggregateDefinition extends ProcessorDefinition<AggregateDefinition
         return this;
     }
 
+    /**
+     * Sets the number of shards the correlation keys are hashed onto, where each shard has its own lock.
+     * This allows exchanges with different correlation keys to be aggregated concurrently, while exchanges
+     * with the same correlation key are still aggregated in order. By default a single lock is used.
+     * <p/>
+     * Cannot be used together with optimistic locking or completion from batch consumer.
+     *
+     * @param shards  the number of shards
+     * @return builder
+     */
+    public AggregateDefinition shards(int shards) {
+        setShards(shards);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -52,6 +52,8 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     private String allowCoreThreadTimeOut;
     @XmlAttribute
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    @XmlAttribute
+    private String virtualThreads;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -117,6 +119,11 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition virtualThreads(boolean virtualThreads) {
+        setVirtualThreads("" + virtualThreads);
+        return this;
+    }
+
     public Boolean getDefaultProfile() {
         return defaultProfile;
     }
@@ -221,4 +228,20 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public String getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether to use a virtual thread per task instead of a pool of platform threads.
+     * <p/>
+     * When enabled the pool and queue sizes are not used. If the JVM does not support virtual threads
+     * then a thread pool of platform threads with the configured pool and queue sizes is used instead.
+     * <p/>
+     * Is by default <tt>false</tt>
+     */
+    public void setVirtualThreads(String virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
 }
@@ -60,6 +60,8 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
     private ThreadPoolRejectedPolicy rejectedPolicy;
     @XmlAttribute @Metadata(defaultValue = "true")
     private Boolean callerRunsWhenRejected;
+    @XmlAttribute @Metadata(defaultValue = "false")
+    private Boolean virtualThreads;
     
     public ThreadsDefinition() {
         this.threadName =  "Threads";
@@ -203,6 +205,23 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
         return this;
     }
 
+    /**
+     * Whether to use a virtual thread per task instead of a pool of platform threads.
+     * <p/>
+     * When enabled the pool and queue sizes are not used, which allows I/O bound routes to scale
+     * without tuning the pool sizes. If the JVM does not support virtual threads then a thread pool of platform threads
+     * with the configured pool and queue sizes is used instead.
+     * <p/>
+     * Is by default <tt>false</tt>
+     *
+     * @param virtualThreads <tt>true</tt> to use virtual threads
+     * @return the builder
+     */
+    public ThreadsDefinition virtualThreads(boolean virtualThreads) {
+        setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     public ExecutorService getExecutorService() {
         return executorService;
     }
@@ -290,4 +309,12 @@ public class ThreadsDefinition extends NoOutputDefinition<ThreadsDefinition> imp
     public void setAllowCoreThreadTimeOut(Boolean allowCoreThreadTimeOut) {
         this.allowCoreThreadTimeOut = allowCoreThreadTimeOut;
     }
+
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
 }
@@ -56,6 +56,8 @@ public class ThrottleDefinition extends NoOutputExpressionNode implements Execut
     private Boolean callerRunsWhenRejected;
     @XmlAttribute
     private Boolean rejectExecution;
+    @XmlAttribute
+    private Boolean tokenBucket;
 
     public ThrottleDefinition() {
     }
@@ -155,6 +157,21 @@ public class ThrottleDefinition extends NoOutputExpressionNode implements Execut
         return this;
     }
 
+    /**
+     * Whether to throttle using a token bucket per correlation key, which allows a burst of up to the maximum
+     * requests per period, and then lets the exchanges through evenly spread over the time period.
+     * The token bucket does not use locks, which scales better with high throughput per correlation key,
+     * than the default rolling window which ensures no more than the maximum requests in any time period.
+     * <p/>
+     * Is by default <tt>false</tt>
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        setTokenBucket(true);
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -237,6 +254,14 @@ public class ThrottleDefinition extends NoOutputExpressionNode implements Execut
         this.rejectExecution = rejectExecution;
     }
 
+    public Boolean getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(Boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping.
      * The Exchange which has the same correlation key is throttled together.
@@ -25,6 +25,7 @@ import java.util.concurrent.RejectedExecutionException;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.Ordered;
 import org.apache.camel.Processor;
@@ -83,6 +84,8 @@ import org.slf4j.LoggerFactory;
 public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
     private final List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
+    // the sorted advices as an array which is used during routing
+    private CamelInternalProcessorAdvice[] sortedAdvices = new CamelInternalProcessorAdvice[0];
 
     public CamelInternalProcessor() {
     }
@@ -100,6 +103,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
         advices.add(advice);
         // ensure advices are sorted so they are in the order we want
         advices.sort(OrderedComparator.get());
+        sortedAdvices = advices.toArray(new CamelInternalProcessorAdvice[0]);
     }
 
     /**
@@ -140,27 +144,34 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             return true;
         }
 
-        // optimise to use object array for states
-        final Object[] states = new Object[advices.size()];
-        // optimise for loop using index access to avoid creating iterator object
-        for (int i = 0; i < advices.size(); i++) {
-            CamelInternalProcessorAdvice task = advices.get(i);
+        final CamelInternalProcessorAdvice[] tasks = sortedAdvices;
+        // optimise to use object array for states, which is only created when an advice returns any state
+        // so disabled advices such as the tracer and debugger do not cost an array per exchange
+        Object[] array = null;
+        for (int i = 0; i < tasks.length; i++) {
+            CamelInternalProcessorAdvice task = tasks[i];
             try {
                 Object state = task.before(exchange);
-                states[i] = state;
+                if (state != null) {
+                    if (array == null) {
+                        array = new Object[tasks.length];
+                    }
+                    array[i] = state;
+                }
             } catch (Throwable e) {
                 exchange.setException(e);
                 ocallback.done(true);
                 return true;
             }
         }
+        final Object[] states = array;
 
         // create internal callback which will execute the advices in reverse order when done
         AsyncCallback callback = doneSync -> {
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states[i];
+                for (int i = tasks.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = tasks[i];
+                    Object state = states != null ? states[i] : null;
                     try {
                         task.after(exchange, state);
                     } catch (Throwable e) {
@@ -223,17 +234,26 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
             // CAMEL END USER - DEBUG ME HERE +++ END +++
             // ----------------------------------------------------------
 
-            ReactiveHelper.schedule(() -> {
-                // execute any after processor work (in current thread, not in the callback)
-                if (uow != null) {
-                    uow.afterProcess(processor, exchange, callback, false);
+            // the description is only built when needed, so the exchange id is not created eagerly
+            ReactiveHelper.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // execute any after processor work (in current thread, not in the callback)
+                    if (uow != null) {
+                        uow.afterProcess(processor, exchange, callback, false);
+                    }
+
+                    if (log.isTraceEnabled()) {
+                        log.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
+                                 exchange.getExchangeId(), exchange);
+                    }
                 }
 
-                if (log.isTraceEnabled()) {
-                    log.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
-                             exchange.getExchangeId(), exchange);
+                @Override
+                public String toString() {
+                    return "CamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId();
                 }
-            }, "CamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId());
+            });
             return false;
         }
     }
@@ -247,7 +267,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
      * Strategy to determine if we should continue processing the {@link Exchange}.
      */
     protected boolean continueProcessing(Exchange exchange) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
@@ -431,7 +451,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
                 // if first we should add a pseudo trace message as well, so we have a starting message (eg from the route)
                 String routeId = routeDefinition != null ? routeDefinition.getId() : null;
                 if (first) {
-                    Date created = exchange.getProperty(Exchange.CREATED_TIMESTAMP, timestamp, Date.class);
+                    Date created = exchange.getProperty(ExchangePropertyKey.CREATED_TIMESTAMP, timestamp, Date.class);
                     DefaultBacklogTracerEventMessage pseudo = new DefaultBacklogTracerEventMessage(backlogTracer.incrementTraceCounter(), created, routeId, null, exchangeId, messageAsXml);
                     backlogTracer.traceEvent(pseudo);
                 }
@@ -626,10 +646,10 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor {
 
         @Override
         public MessageHistory before(Exchange exchange) throws Exception {
-            List<MessageHistory> list = exchange.getProperty(Exchange.MESSAGE_HISTORY, List.class);
+            List<MessageHistory> list = exchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class);
             if (list == null) {
                 list = new LinkedList<>();
-                exchange.setProperty(Exchange.MESSAGE_HISTORY, list);
+                exchange.setProperty(ExchangePropertyKey.MESSAGE_HISTORY, list);
             }
 
             // we may be routing outside a route in an onException or interceptor and if so then grab
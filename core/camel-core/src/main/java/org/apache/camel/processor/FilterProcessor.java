@@ -18,6 +18,7 @@ package org.apache.camel.processor;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
@@ -64,7 +65,7 @@ public class FilterProcessor extends DelegateAsyncProcessor implements Traceable
         log.debug("Filter matches: {} for exchange: {}", matches, exchange);
 
         // set property whether the filter matches or not
-        exchange.setProperty(Exchange.FILTER_MATCHED, matches);
+        exchange.setProperty(ExchangePropertyKey.FILTER_MATCHED, matches);
 
         if (matches) {
             filtered++;
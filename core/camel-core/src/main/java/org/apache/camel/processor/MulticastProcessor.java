@@ -43,6 +43,7 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.ErrorHandlerFactory;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Producer;
@@ -522,7 +523,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
             // multicast uses error handling on its output processors and they have tried to redeliver
             // so we shall signal back to the other error handlers that we are exhausted and they should not
             // also try to redeliver as we would then do that twice
-            original.setProperty(Exchange.REDELIVERY_EXHAUSTED, exhaust);
+            original.setProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, exhaust);
         }
 
         ReactiveHelper.callback(callback);
@@ -578,16 +579,16 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     }
 
     protected void updateNewExchange(Exchange exchange, int index, Iterable<ProcessorExchangePair> allPairs, boolean hasNext) {
-        exchange.setProperty(Exchange.MULTICAST_INDEX, index);
+        exchange.setProperty(ExchangePropertyKey.MULTICAST_INDEX, index);
         if (hasNext) {
-            exchange.setProperty(Exchange.MULTICAST_COMPLETE, Boolean.FALSE);
+            exchange.setProperty(ExchangePropertyKey.MULTICAST_COMPLETE, Boolean.FALSE);
         } else {
-            exchange.setProperty(Exchange.MULTICAST_COMPLETE, Boolean.TRUE);
+            exchange.setProperty(ExchangePropertyKey.MULTICAST_COMPLETE, Boolean.TRUE);
         }
     }
 
     protected Integer getExchangeIndex(Exchange exchange) {
-        return exchange.getProperty(Exchange.MULTICAST_INDEX, Integer.class);
+        return exchange.getProperty(ExchangePropertyKey.MULTICAST_INDEX, Integer.class);
     }
 
     protected Iterable<ProcessorExchangePair> createProcessorExchangePairs(Exchange exchange) throws Exception {
@@ -621,8 +622,8 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
             // work of the parent route or grand parent route or grand grand parent route ...(in case of nesting).
             // Set therefore the unit of work of the  parent route as stream cache unit of work, 
             // if it is not already set.
-            if (copy.getProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK) == null) {
-                copy.setProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK, exchange.getUnitOfWork());
+            if (copy.getProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK) == null) {
+                copy.setProperty(ExchangePropertyKey.STREAM_CACHE_UNIT_OF_WORK, exchange.getUnitOfWork());
             }
             // if we share unit of work, we need to prepare the child exchange
             if (isShareUnitOfWork()) {
@@ -679,7 +680,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     protected Processor createErrorHandler(RouteContext routeContext, Exchange exchange, Processor processor) {
         Processor answer;
 
-        boolean tryBlock = exchange.getProperty(Exchange.TRY_ROUTE_BLOCK, false, boolean.class);
+        boolean tryBlock = exchange.getProperty(ExchangePropertyKey.TRY_ROUTE_BLOCK, false, boolean.class);
 
         // do not wrap in error handler if we are inside a try block
         if (!tryBlock && routeContext != null) {
@@ -709,7 +710,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
                 // and wrap in unit of work processor so the copy exchange also can run under UoW
                 answer = createUnitOfWorkProcessor(routeContext, processor, exchange);
 
-                boolean child = exchange.getProperty(Exchange.PARENT_UNIT_OF_WORK, UnitOfWork.class) != null;
+                boolean child = exchange.getProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, UnitOfWork.class) != null;
 
                 // must start the error handler
                 ServiceHelper.startService(answer);
@@ -743,7 +744,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         CamelInternalProcessor internal = new CamelInternalProcessor(processor);
 
         // and wrap it in a unit of work so the UoW is on the top, so the entire route will be in the same UoW
-        UnitOfWork parent = exchange.getProperty(Exchange.PARENT_UNIT_OF_WORK, UnitOfWork.class);
+        UnitOfWork parent = exchange.getProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, UnitOfWork.class);
         if (parent != null) {
             internal.addAdvice(new CamelInternalProcessor.ChildUnitOfWorkProcessorAdvice(routeContext, parent));
         } else {
@@ -763,7 +764,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
      * @param parentExchange the parent exchange
      */
     protected void prepareSharedUnitOfWork(Exchange childExchange, Exchange parentExchange) {
-        childExchange.setProperty(Exchange.PARENT_UNIT_OF_WORK, parentExchange.getUnitOfWork());
+        childExchange.setProperty(ExchangePropertyKey.PARENT_UNIT_OF_WORK, parentExchange.getUnitOfWork());
     }
 
     protected void doStart() throws Exception {
@@ -818,7 +819,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
     protected static void setToEndpoint(Exchange exchange, Processor processor) {
         if (processor instanceof Producer) {
             Producer producer = (Producer) processor;
-            exchange.setProperty(Exchange.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
+            exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, producer.getEndpoint().getEndpointUri());
         }
     }
 
@@ -827,7 +828,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
 
         // prefer to use per Exchange aggregation strategy over a global strategy
         if (exchange != null) {
-            Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+            Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
             Map<Object, AggregationStrategy> map = CastUtils.cast(property);
             if (map != null) {
                 answer = map.get(this);
@@ -847,7 +848,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
      * @param aggregationStrategy the strategy
      */
     protected void setAggregationStrategyOnExchange(Exchange exchange, AggregationStrategy aggregationStrategy) {
-        Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+        Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
         Map<Object, AggregationStrategy> map = CastUtils.cast(property);
         if (map == null) {
             map = new ConcurrentHashMap<>();
@@ -859,7 +860,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
         // store the strategy using this processor as the key
         // (so we can store multiple strategies on the same exchange)
         map.put(this, aggregationStrategy);
-        exchange.setProperty(Exchange.AGGREGATION_STRATEGY, map);
+        exchange.setProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, map);
     }
 
     /**
@@ -869,7 +870,7 @@ public class MulticastProcessor extends AsyncProcessorSupport implements Navigat
      * @param exchange the current exchange
      */
     protected void removeAggregationStrategyFromExchange(Exchange exchange) {
-        Map<?, ?> property = exchange.getProperty(Exchange.AGGREGATION_STRATEGY, Map.class);
+        Map<?, ?> property = exchange.getProperty(ExchangePropertyKey.AGGREGATION_STRATEGY, Map.class);
         Map<Object, AggregationStrategy> map = CastUtils.cast(property);
         if (map == null) {
             return;
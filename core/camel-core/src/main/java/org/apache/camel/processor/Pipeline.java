@@ -18,7 +18,6 @@ package org.apache.camel.processor;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +25,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
@@ -81,46 +81,19 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
 
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
+        // use a single task per exchange which is rescheduled for each step, so routing
+        // through the pipeline does not allocate a new runnable and description per step
+        PipelineTask task = new PipelineTask(exchange, callback);
         if (exchange.isTransacted()) {
-            ReactiveHelper.scheduleSync(() -> Pipeline.this.doProcess(exchange, callback, processors.iterator(), true),
-                    "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]");
+            ReactiveHelper.scheduleSync(task);
         } else {
-            ReactiveHelper.scheduleMain(() -> Pipeline.this.doProcess(exchange, callback, processors.iterator(), true),
-                    "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]");
+            ReactiveHelper.scheduleMain(task);
         }
         return false;
     }
 
-    protected void doProcess(Exchange exchange, AsyncCallback callback, Iterator<AsyncProcessor> processors, boolean first) {
-        if (continueRouting(processors, exchange)
-                && (first || continueProcessing(exchange, "so breaking out of pipeline", log))) {
-
-            // prepare for next run
-            if (exchange.hasOut()) {
-                exchange.setIn(exchange.getOut());
-                exchange.setOut(null);
-            }
-
-            // get the next processor
-            AsyncProcessor processor = processors.next();
-
-            processor.process(exchange, doneSync ->
-                    ReactiveHelper.schedule(() -> doProcess(exchange, callback, processors, false),
-                            "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]"));
-        } else {
-            ExchangeHelper.copyResults(exchange, exchange);
-
-            // logging nextExchange as it contains the exchange that might have altered the payload and since
-            // we are logging the completion if will be confusing if we log the original instead
-            // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
-            log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
-
-            ReactiveHelper.callback(callback);
-        }
-    }
-
-    protected boolean continueRouting(Iterator<AsyncProcessor> it, Exchange exchange) {
-        Object stop = exchange.getProperty(Exchange.ROUTE_STOP);
+    protected boolean continueRouting(boolean hasNext, Exchange exchange) {
+        Object stop = exchange.getProperty(ExchangePropertyKey.ROUTE_STOP);
         if (stop != null) {
             boolean doStop = exchange.getContext().getTypeConverter().convertTo(Boolean.class, stop);
             if (doStop) {
@@ -129,7 +102,7 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
             }
         }
         // continue if there are more processors to route
-        boolean answer = it.hasNext();
+        boolean answer = hasNext;
         log.trace("ExchangeId: {} should continue routing: {}", exchange.getExchangeId(), answer);
         return answer;
     }
@@ -178,4 +151,58 @@ public class Pipeline extends AsyncProcessorSupport implements Navigate<Processo
     public boolean hasNext() {
         return processors != null && !processors.isEmpty();
     }
+
+    /**
+     * The task routing a single exchange through the pipeline, which is rescheduled
+     * as both the runnable and the callback for every step.
+     */
+    private final class PipelineTask implements Runnable, AsyncCallback {
+
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private int index;
+
+        PipelineTask(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            if (continueRouting(index < processors.size(), exchange)
+                    && (index == 0 || continueProcessing(exchange, "so breaking out of pipeline", log))) {
+
+                // prepare for next run
+                if (exchange.hasOut()) {
+                    exchange.setIn(exchange.getOut());
+                    exchange.setOut(null);
+                }
+
+                // get the next processor
+                AsyncProcessor processor = processors.get(index++);
+
+                processor.process(exchange, this);
+            } else {
+                ExchangeHelper.copyResults(exchange, exchange);
+
+                // logging nextExchange as it contains the exchange that might have altered the payload and since
+                // we are logging the completion if will be confusing if we log the original instead
+                // we could also consider logging the original and the nextExchange then we have *before* and *after* snapshots
+                log.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+
+                ReactiveHelper.callback(callback);
+            }
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            ReactiveHelper.schedule(this);
+        }
+
+        @Override
+        public String toString() {
+            // only built when the reactive executor is tracing
+            return "Step[" + exchange.getExchangeId() + "," + Pipeline.this + "]";
+        }
+    }
 }
@@ -29,6 +29,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.LoggingLevel;
 import org.apache.camel.Message;
 import org.apache.camel.Navigate;
@@ -286,7 +287,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         if (ExchangeHelper.isInterrupted(exchange)) {
             // mark the exchange to stop continue routing when interrupted
             // as we do not want to continue routing (for example a task has been cancelled)
-            exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+            exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, Boolean.TRUE);
             answer = true;
         }
 
@@ -457,7 +458,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                                 // the task was rejected
                                 exchange.setException(new RejectedExecutionException("Redelivery not allowed while stopping"));
                                 // mark the exchange as redelivery exhausted so the failure processor / dead letter channel can process the exchange
-                                exchange.setProperty(Exchange.REDELIVERY_EXHAUSTED, Boolean.TRUE);
+                                exchange.setProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, Boolean.TRUE);
                                 // jump to start of loop which then detects that we are failed and exhausted
                                 ReactiveHelper.schedule(this);
                             } else {
@@ -469,7 +470,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                             exchange.setException(e);
                             // mark the exchange to stop continue routing when interrupted
                             // as we do not want to continue routing (for example a task has been cancelled)
-                            exchange.setProperty(Exchange.ROUTE_STOP, Boolean.TRUE);
+                            exchange.setProperty(ExchangePropertyKey.ROUTE_STOP, Boolean.TRUE);
                             ReactiveHelper.callback(callback);
                         }
                     }
@@ -579,7 +580,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             // we continue so clear any exceptions
             exchange.setException(null);
             // clear rollback flags
-            exchange.setProperty(Exchange.ROLLBACK_ONLY, null);
+            exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY, null);
             // reset cached streams so they can be read again
             MessageHelper.resetStreamCache(exchange.getIn());
 
@@ -587,7 +588,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             exchange.getIn().removeHeader(Exchange.REDELIVERED);
             exchange.getIn().removeHeader(Exchange.REDELIVERY_COUNTER);
             exchange.getIn().removeHeader(Exchange.REDELIVERY_MAX_COUNTER);
-            exchange.removeProperty(Exchange.FAILURE_HANDLED);
+            exchange.removeProperty(ExchangePropertyKey.FAILURE_HANDLED);
             // keep the Exchange.EXCEPTION_CAUGHT as property so end user knows the caused exception
 
             // create log message
@@ -610,7 +611,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             exchange.setException(null);
 
             // clear rollback flags
-            exchange.setProperty(Exchange.ROLLBACK_ONLY, null);
+            exchange.setProperty(ExchangePropertyKey.ROLLBACK_ONLY, null);
 
             // TODO: We may want to store these as state on RedeliveryData so we keep them in case end user messes with Exchange
             // and then put these on the exchange when doing a redelivery / fault processor
@@ -642,7 +643,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             Exception e = exchange.getException();
             // e is never null
 
-            Throwable previous = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Throwable.class);
+            Throwable previous = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Throwable.class);
             if (previous != null && previous != e) {
                 // a 2nd exception was thrown while handling a previous exception
                 // so we need to add the previous as suppressed by the new exception
@@ -660,7 +661,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             }
 
             // store the original caused exception in a property, so we can restore it later
-            exchange.setProperty(Exchange.EXCEPTION_CAUGHT, e);
+            exchange.setProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, e);
 
             // find the error handler to use (if any)
             OnExceptionDefinition exceptionPolicy = getExceptionPolicy(exchange, e);
@@ -777,11 +778,11 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 exchange.getIn().removeHeader(Exchange.REDELIVERED);
                 exchange.getIn().removeHeader(Exchange.REDELIVERY_COUNTER);
                 exchange.getIn().removeHeader(Exchange.REDELIVERY_MAX_COUNTER);
-                exchange.removeProperty(Exchange.REDELIVERY_EXHAUSTED);
+                exchange.removeProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED);
 
                 // and remove traces of rollback only and uow exhausted markers
-                exchange.removeProperty(Exchange.ROLLBACK_ONLY);
-                exchange.removeProperty(Exchange.UNIT_OF_WORK_EXHAUSTED);
+                exchange.removeProperty(ExchangePropertyKey.ROLLBACK_ONLY);
+                exchange.removeProperty(ExchangePropertyKey.UNIT_OF_WORK_EXHAUSTED);
 
                 handled = true;
             } else {
@@ -826,11 +827,11 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 log.trace("Failure processor {} is processing Exchange: {}", processor, exchange);
 
                 // store the last to endpoint as the failure endpoint
-                exchange.setProperty(Exchange.FAILURE_ENDPOINT, exchange.getProperty(Exchange.TO_ENDPOINT));
+                exchange.setProperty(ExchangePropertyKey.FAILURE_ENDPOINT, exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
                 // and store the route id so we know in which route we failed
                 UnitOfWork uow = exchange.getUnitOfWork();
                 if (uow != null && uow.getRouteContext() != null) {
-                    exchange.setProperty(Exchange.FAILURE_ROUTE_ID, uow.getRouteContext().getRoute().getId());
+                    exchange.setProperty(ExchangePropertyKey.FAILURE_ROUTE_ID, uow.getRouteContext().getRoute().getId());
                 }
 
                 // fire event as we had a failure processor to handle it, which there is a event for
@@ -895,15 +896,15 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
             ExchangeHelper.setFailureHandled(exchange);
 
             // honor if already set a handling
-            boolean alreadySet = exchange.getProperty(Exchange.ERRORHANDLER_HANDLED) != null;
+            boolean alreadySet = exchange.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED) != null;
             if (alreadySet) {
-                boolean handled = exchange.getProperty(Exchange.ERRORHANDLER_HANDLED, Boolean.class);
+                boolean handled = exchange.getProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, Boolean.class);
                 log.trace("This exchange has already been marked for handling: {}", handled);
                 if (!handled) {
                     // exception not handled, put exception back in the exchange
-                    exchange.setException(exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class));
+                    exchange.setException(exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class));
                     // and put failure endpoint back as well
-                    exchange.setProperty(Exchange.FAILURE_ENDPOINT, exchange.getProperty(Exchange.TO_ENDPOINT));
+                    exchange.setProperty(ExchangePropertyKey.FAILURE_ENDPOINT, exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
                 }
                 return;
             }
@@ -915,7 +916,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 prepareExchangeForContinue(exchange, isDeadLetterChannel);
             } else if (shouldHandle) {
                 log.trace("This exchange is handled so its marked as not failed: {}", exchange);
-                exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, Boolean.TRUE);
+                exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, Boolean.TRUE);
             } else {
                 // okay the redelivery policy are not explicit set to true, so we should allow to check for some
                 // special situations when using dead letter channel
@@ -941,7 +942,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
 
                     if (handled) {
                         log.trace("This exchange is handled so its marked as not failed: {}", exchange);
-                        exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, Boolean.TRUE);
+                        exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, Boolean.TRUE);
                         return;
                     }
                 }
@@ -954,14 +955,14 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         private void prepareExchangeAfterFailureNotHandled(Exchange exchange) {
             log.trace("This exchange is not handled or continued so its marked as failed: {}", exchange);
             // exception not handled, put exception back in the exchange
-            exchange.setProperty(Exchange.ERRORHANDLER_HANDLED, Boolean.FALSE);
-            exchange.setException(exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class));
+            exchange.setProperty(ExchangePropertyKey.ERRORHANDLER_HANDLED, Boolean.FALSE);
+            exchange.setException(exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class));
             // and put failure endpoint back as well
-            exchange.setProperty(Exchange.FAILURE_ENDPOINT, exchange.getProperty(Exchange.TO_ENDPOINT));
+            exchange.setProperty(ExchangePropertyKey.FAILURE_ENDPOINT, exchange.getProperty(ExchangePropertyKey.TO_ENDPOINT));
             // and store the route id so we know in which route we failed
             UnitOfWork uow = exchange.getUnitOfWork();
             if (uow != null && uow.getRouteContext() != null) {
-                exchange.setProperty(Exchange.FAILURE_ROUTE_ID, uow.getRouteContext().getRoute().getId());
+                exchange.setProperty(ExchangePropertyKey.FAILURE_ROUTE_ID, uow.getRouteContext().getRoute().getId());
             }
         }
 
@@ -1025,7 +1026,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 logStackTrace = currentRedeliveryPolicy.isLogStackTrace();
             }
             if (e == null) {
-                e = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+                e = exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Exception.class);
             }
 
             if (newException) {
@@ -1050,7 +1051,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 }
             } else if (exchange.isRollbackOnly()) {
                 String msg = "Rollback " + ExchangeHelper.logIds(exchange);
-                Throwable cause = exchange.getException() != null ? exchange.getException() : exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Throwable.class);
+                Throwable cause = exchange.getException() != null ? exchange.getException() : exchange.getProperty(ExchangePropertyKey.EXCEPTION_CAUGHT, Throwable.class);
                 if (cause != null) {
                     msg = msg + " due: " + cause.getMessage();
                 }
@@ -1105,14 +1106,14 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
          */
         private boolean isExhausted(Exchange exchange) {
             // if marked as rollback only then do not continue/redeliver
-            boolean exhausted = exchange.getProperty(Exchange.REDELIVERY_EXHAUSTED, false, Boolean.class);
+            boolean exhausted = exchange.getProperty(ExchangePropertyKey.REDELIVERY_EXHAUSTED, false, Boolean.class);
             if (exhausted) {
                 log.trace("This exchange is marked as redelivery exhausted: {}", exchange);
                 return true;
             }
 
             // if marked as rollback only then do not continue/redeliver
-            boolean rollbackOnly = exchange.getProperty(Exchange.ROLLBACK_ONLY, false, Boolean.class);
+            boolean rollbackOnly = exchange.getProperty(ExchangePropertyKey.ROLLBACK_ONLY, false, Boolean.class);
             if (rollbackOnly) {
                 log.trace("This exchange is marked as rollback only, so forcing it to be exhausted: {}", exchange);
                 return true;
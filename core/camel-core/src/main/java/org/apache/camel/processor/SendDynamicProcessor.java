@@ -22,6 +22,7 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.Processor;
@@ -235,7 +236,7 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
             exchange.setPattern(pattern);
         }
         // set property which endpoint we send to
-        exchange.setProperty(Exchange.TO_ENDPOINT, endpoint.getEndpointUri());
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, endpoint.getEndpointUri());
         return exchange;
     }
 
@@ -25,6 +25,7 @@ import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.Traceable;
 import org.apache.camel.impl.DefaultProducerCache;
@@ -179,7 +180,7 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
             exchange.setPattern(pattern);
         }
         // set property which endpoint we send to
-        exchange.setProperty(Exchange.TO_ENDPOINT, destination.getEndpointUri());
+        exchange.setProperty(ExchangePropertyKey.TO_ENDPOINT, destination.getEndpointUri());
         return exchange;
     }
 
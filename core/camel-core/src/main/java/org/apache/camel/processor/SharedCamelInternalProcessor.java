@@ -68,14 +68,16 @@ import org.slf4j.LoggerFactory;
 public class SharedCamelInternalProcessor {
 
     private static final Logger LOG = LoggerFactory.getLogger(SharedCamelInternalProcessor.class);
-    private final List<CamelInternalProcessorAdvice> advices = new ArrayList<>();
+    private final CamelInternalProcessorAdvice[] advices;
 
     public SharedCamelInternalProcessor(CamelInternalProcessorAdvice... advices) {
+        List<CamelInternalProcessorAdvice> list = new ArrayList<>();
         if (advices != null) {
-            this.advices.addAll(Arrays.asList(advices));
+            list.addAll(Arrays.asList(advices));
             // ensure advices are sorted so they are in the order we want
-            this.advices.sort(OrderedComparator.get());
+            list.sort(OrderedComparator.get());
         }
+        this.advices = list.toArray(new CamelInternalProcessorAdvice[0]);
     }
 
     /**
@@ -127,14 +129,18 @@ public class SharedCamelInternalProcessor {
             return true;
         }
 
-        // optimise to use object array for states
-        final Object[] states = new Object[advices.size()];
-        // optimise for loop using index access to avoid creating iterator object
-        for (int i = 0; i < advices.size(); i++) {
-            CamelInternalProcessorAdvice task = advices.get(i);
+        // optimise to use object array for states, which is only created when an advice returns any state
+        Object[] states = null;
+        for (int i = 0; i < advices.length; i++) {
+            CamelInternalProcessorAdvice task = advices[i];
             try {
                 Object state = task.before(exchange);
-                states[i] = state;
+                if (state != null) {
+                    if (states == null) {
+                        states = new Object[advices.length];
+                    }
+                    states[i] = state;
+                }
             } catch (Throwable e) {
                 exchange.setException(e);
                 ocallback.done(true);
@@ -190,17 +196,26 @@ public class SharedCamelInternalProcessor {
             // CAMEL END USER - DEBUG ME HERE +++ END +++
             // ----------------------------------------------------------
 
-            ReactiveHelper.schedule(() -> {
-                // execute any after processor work (in current thread, not in the callback)
-                if (uow != null) {
-                    uow.afterProcess(processor, exchange, callback, sync);
+            // the description is only built when needed, so the exchange id is not created eagerly
+            ReactiveHelper.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    // execute any after processor work (in current thread, not in the callback)
+                    if (uow != null) {
+                        uow.afterProcess(processor, exchange, callback, sync);
+                    }
+
+                    if (LOG.isTraceEnabled()) {
+                        LOG.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
+                                exchange.getExchangeId(), exchange);
+                    }
                 }
 
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Exchange processed and is continued routed asynchronously for exchangeId: {} -> {}",
-                            exchange.getExchangeId(), exchange);
+                @Override
+                public String toString() {
+                    return "SharedCamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId();
                 }
-            }, "SharedCamelInternalProcessor - UnitOfWork - afterProcess - " + processor + " - " + exchange.getExchangeId());
+            });
             return sync;
         }
     }
@@ -238,9 +253,9 @@ public class SharedCamelInternalProcessor {
 
             // we should call after in reverse order
             try {
-                for (int i = advices.size() - 1; i >= 0; i--) {
-                    CamelInternalProcessorAdvice task = advices.get(i);
-                    Object state = states[i];
+                for (int i = advices.length - 1; i >= 0; i--) {
+                    CamelInternalProcessorAdvice task = advices[i];
+                    Object state = states != null ? states[i] : null;
                     try {
                         task.after(exchange, state);
                     } catch (Throwable e) {
@@ -31,6 +31,8 @@ import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
+import org.apache.camel.processor.resequencer.IndexedResequencerEngine;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
 import org.apache.camel.processor.resequencer.SequenceSender;
@@ -58,7 +60,9 @@ import org.apache.camel.util.ObjectHelper;
  * Instances of this class poll for {@link Exchange}s from a given
  * <code>endpoint</code>. Resequencing work and the delivery of messages to
  * the next <code>processor</code> is done within the single polling thread.
- * 
+ * <p>
+ * When using the {@link DefaultExchangeComparator} the {@link IndexedResequencerEngine} is used, which indexes
+ * the pending exchanges by their sequence number and does not schedule a timer task for each out-of-sequence exchange.
  *
  * @see ResequencerEngine
  */
@@ -84,13 +88,22 @@ public class StreamResequencer extends AsyncProcessorSupport implements Sequence
     public StreamResequencer(CamelContext camelContext, Processor processor, SequenceElementComparator<Exchange> comparator, Expression expression) {
         ObjectHelper.notNull(camelContext, "CamelContext");
         this.camelContext = camelContext;
-        this.engine = new ResequencerEngine<>(comparator);
+        this.engine = createEngine(comparator);
         this.engine.setSequenceSender(this);
         this.processor = processor;
         this.expression = expression;
         this.exceptionHandler = new LoggingExceptionHandler(camelContext, getClass());
     }
 
+    private static ResequencerEngine<Exchange> createEngine(SequenceElementComparator<Exchange> comparator) {
+        if (comparator.getClass() == DefaultExchangeComparator.class) {
+            // the sequence numbers are longs so we can use the engine which indexes them directly
+            DefaultExchangeComparator defaultComparator = (DefaultExchangeComparator) comparator;
+            return new IndexedResequencerEngine<>(comparator, defaultComparator::getSequenceNumber);
+        }
+        return new ResequencerEngine<>(comparator);
+    }
+
     public Expression getExpression() {
         return expression;
     }
@@ -24,7 +24,9 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
@@ -55,6 +57,13 @@ import org.apache.camel.util.ObjectHelper;
  * block if necessary. The end result is a rolling window of time. Where from the
  * callers point of view in the last timePeriodMillis no more than
  * maxRequestsPerPeriod have been allowed to be acquired.
+ *
+ * When token bucket is enabled, then each correlation key has a lock-free token bucket
+ * (implemented using the generic cell rate algorithm) instead, which allows a burst of up to
+ * maxRequestsPerPeriod exchanges, and then refills evenly at one exchange per
+ * timePeriodMillis / maxRequestsPerPeriod. Exchanges over the limit reserve their time slot
+ * in the bucket, and are either delayed on the scheduled thread pool (asyncDelayed)
+ * or by parking the caller thread, without taking any locks.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware {
 
@@ -76,8 +85,11 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean rejectExecution;
     private boolean asyncDelayed;
     private boolean callerRunsWhenRejected = true;
+    private boolean tokenBucket;
     private Expression correlationExpression;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
+    private Map<String, TokenBucketState> buckets = new ConcurrentHashMap<>();
+    private volatile ScheduledFuture<?> cleanTask;
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression, final long timePeriodMillis,
                      final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor, final boolean rejectExecution, Expression correlation) {
@@ -99,6 +111,10 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
 
     @Override
     public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (tokenBucket) {
+            return processTokenBucket(exchange, callback);
+        }
+
         long queuedStart = 0;
         if (log.isTraceEnabled()) {
             queuedStart = exchange.getProperty(PROPERTY_EXCHANGE_QUEUED_TIMESTAMP, 0L, Long.class);
@@ -213,15 +229,109 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Processes the exchange using the token bucket of its correlation key.
+     */
+    protected boolean processTokenBucket(final Exchange exchange, final AsyncCallback callback) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            TokenBucketState bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(key, TokenBucketState::new);
+            }
+            bucket.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+            if (isRejectExecution()) {
+                if (!bucket.tryAcquire()) {
+                    throw new ThrottlerRejectedExecutionException("Exceeded the max throttle rate of "
+                            + bucket.getThrottleRate() + " within " + timePeriodMillis + "ms");
+                }
+                log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                callback.done(true);
+                return true;
+            }
+
+            // reserve the next slot in the bucket, which we then wait for
+            long delay = bucket.reserve();
+            if (delay <= 0) {
+                log.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                callback.done(true);
+                return true;
+            }
+
+            if (isAsyncDelayed() && !exchange.isTransacted()) {
+                log.debug("Throttle rate exceeded but AsyncDelayed enabled, so scheduling for async processing, exchangeId: {}", exchange.getExchangeId());
+                try {
+                    asyncExecutor.schedule(() -> callback.done(false), delay, TimeUnit.NANOSECONDS);
+                    return false;
+                } catch (final RejectedExecutionException e) {
+                    if (!isCallerRunsWhenRejected()) {
+                        throw e;
+                    }
+                    log.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}", exchange.getExchangeId());
+                }
+            }
+
+            // block until our slot in the bucket is due
+            long throttled = delay;
+            long deadline = System.nanoTime() + delay;
+            while (delay > 0) {
+                LockSupport.parkNanos(this, delay);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                delay = deadline - System.nanoTime();
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Throttled for {}ms, exchangeId: {}", TimeUnit.NANOSECONDS.toMillis(throttled), exchange.getExchangeId());
+            }
+            callback.done(true);
+            return true;
+
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            boolean forceShutdown = exchange.getContext().getShutdownStrategy().forceShutdown(this);
+            if (forceShutdown) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: " + exchange;
+                log.debug(msg);
+                exchange.setException(new RejectedExecutionException(msg, e));
+            } else {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        } catch (final Throwable t) {
+            exchange.setException(t);
+            callback.done(true);
+            return true;
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        if (tokenBucket && asyncExecutor != null) {
+            // a single task removes the buckets which has been idle, instead of a task per bucket
+            cleanTask = asyncExecutor.scheduleWithFixedDelay(this::cleanTokenBuckets, cleanPeriodMillis, cleanPeriodMillis, TimeUnit.MILLISECONDS);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        ScheduledFuture<?> task = cleanTask;
+        if (task != null) {
+            task.cancel(false);
+            cleanTask = null;
+        }
     }
 
     @Override
@@ -230,9 +340,18 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
         }
         states.clear();
+        buckets.clear();
         super.doShutdown();
     }
 
+    private void cleanTokenBuckets() {
+        long now = System.nanoTime();
+        for (String key : buckets.keySet()) {
+            // a bucket which has been full for a while is the same as a new bucket
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.isIdle(now) ? null : bucket);
+        }
+    }
+
     private class ThrottlingState {
         private final String key;
         private final DelayQueue<ThrottlePermit> delayQueue = new DelayQueue<>();
@@ -334,6 +453,99 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         }
     }
 
+    /**
+     * Token bucket using the generic cell rate algorithm, which only keeps track of the theoretical
+     * arrival time of the next exchange, so acquiring a token is a single compare and set.
+     */
+    private class TokenBucketState {
+        private final String key;
+        private final AtomicLong arrival = new AtomicLong(System.nanoTime());
+        private volatile int throttleRate;
+
+        TokenBucketState(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getThrottleRate() {
+            return throttleRate;
+        }
+
+        /**
+         * Acquires a token if one is available now.
+         *
+         * @return <tt>true</tt> if acquired, <tt>false</tt> if the bucket is empty
+         */
+        public boolean tryAcquire() {
+            long period = TimeUnit.MILLISECONDS.toNanos(getTimePeriodMillis());
+            long interval = period / throttleRate;
+            while (true) {
+                long now = System.nanoTime();
+                long tat = arrival.get();
+                long next = Math.max(tat, now) + interval;
+                if (next - period > now) {
+                    return false;
+                }
+                if (arrival.compareAndSet(tat, next)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Reserves the next token, which may be in the future.
+         *
+         * @return the delay in nanos until the token is due, or <tt>0</tt> or less if its available now
+         */
+        public long reserve() {
+            long period = TimeUnit.MILLISECONDS.toNanos(getTimePeriodMillis());
+            long interval = period / throttleRate;
+            while (true) {
+                long now = System.nanoTime();
+                long tat = arrival.get();
+                long next = Math.max(tat, now) + interval;
+                if (arrival.compareAndSet(tat, next)) {
+                    return next - period - now;
+                }
+            }
+        }
+
+        /**
+         * Whether the bucket has been full for at least the clean period.
+         */
+        public boolean isIdle(long now) {
+            return now - arrival.get() > TimeUnit.MILLISECONDS.toNanos(cleanPeriodMillis);
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and sets the throttle rate, which only changes the
+         * refill rate of the bucket, so there are no permits to add or discard.
+         */
+        public void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+            Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle <= 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number when using token bucket, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException("The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression, exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                if (throttleRate == 0) {
+                    log.debug("Initial throttle rate set to {}, triggered by ExchangeId: {}", newThrottle, exchange.getExchangeId());
+                } else {
+                    log.debug("Throttle rate changed from {} to {}, triggered by ExchangeId: {}", throttleRate, newThrottle, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+            }
+        }
+    }
+
     /**
      * Permit that implements the Delayed interface needed by DelayQueue.
      */
@@ -383,6 +595,17 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.callerRunsWhenRejected = callerRunsWhenRejected;
     }
 
+    public boolean isTokenBucket() {
+        return tokenBucket;
+    }
+
+    /**
+     * Whether to use a lock-free token bucket per correlation key, instead of a rolling window of permits.
+     */
+    public void setTokenBucket(boolean tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
     public String getId() {
         return id;
     }
@@ -408,6 +631,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
      * than the max per period within the group will return
      */
     public int getCurrentMaximumRequestsPerPeriod() {
+        if (tokenBucket) {
+            return buckets.values().stream().mapToInt(TokenBucketState::getThrottleRate).max().orElse(0);
+        }
         return states.values().stream().mapToInt(ThrottlingState::getThrottleRate).max().orElse(0);
     }
 
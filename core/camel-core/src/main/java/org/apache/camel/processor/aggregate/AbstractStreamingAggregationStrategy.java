@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.SynchronizationAdapter;
+
+/**
+ * Aggregate the values defined by the {@link #getValue(Exchange)} call by writing them as chunks to a
+ * {@link CachedOutputStream}, instead of keeping the values (or the exchanges) in memory until the aggregation
+ * is complete. The memory used by the aggregation is therefore constant regardless of the number of aggregated
+ * exchanges, as the {@link CachedOutputStream} spools the content to a temporary file when stream caching is
+ * enabled and the spool threshold is exceeded.
+ * <p/>
+ * The combined Exchange will hold the stream in an exchange property with the key {@link #AGGREGATED_STREAM},
+ * and on completion the content is stored as a {@link StreamCache} in the message body. How the values are
+ * written as chunks is defined by the {@link #writeValue(Exchange, Object, OutputStream)} call.
+ * <p/>
+ * The temporary file is deleted when the completed exchange is done, or when the unit of work of the
+ * splitter or multicast is done. As the stream cannot be serialized, this strategy can only be used by the
+ * aggregator together with an in-memory aggregation repository.
+ */
+public abstract class AbstractStreamingAggregationStrategy<V> implements AggregationStrategy {
+
+    /**
+     * The exchange property holding the {@link CachedOutputStream} while aggregating.
+     */
+    public static final String AGGREGATED_STREAM = "CamelAggregatedStream";
+
+    /**
+     * This method is implemented by the sub-class and is called to retrieve
+     * an instance of the value that will be aggregated.
+     * <p/>
+     * If <tt>null</tt> is returned, then the value is <b>not</b> written to the stream.
+     *
+     * @param exchange  The exchange that is used to retrieve the value from
+     * @return An instance of V that is the associated value of the passed exchange
+     */
+    public abstract V getValue(Exchange exchange);
+
+    /**
+     * This method is implemented by the sub-class and is called to write the value as a chunk to the stream.
+     *
+     * @param exchange  The exchange the value was retrieved from
+     * @param value     The value to write
+     * @param out       The stream to write to
+     * @throws Exception is thrown if error writing the value
+     */
+    protected abstract void writeValue(Exchange exchange, V value, OutputStream out) throws Exception;
+
+    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+        Exchange answer = oldExchange != null ? oldExchange : newExchange;
+        if (answer == null) {
+            return null;
+        }
+
+        CachedOutputStream out = getStream(answer);
+        if (newExchange != null) {
+            V value = getValue(newExchange);
+            if (value != null) {
+                try {
+                    writeValue(newExchange, value, out);
+                } catch (Exception e) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(e);
+                }
+            }
+        }
+
+        return answer;
+    }
+
+    public void onCompletion(Exchange exchange) {
+        if (exchange == null) {
+            return;
+        }
+        CachedOutputStream out = (CachedOutputStream) exchange.removeProperty(AGGREGATED_STREAM);
+        if (out != null) {
+            try {
+                StreamCache cache = out.newStreamCache();
+                exchange.getIn().setBody(cache);
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
+    }
+
+    private CachedOutputStream getStream(Exchange exchange) {
+        CachedOutputStream out = exchange.getProperty(AGGREGATED_STREAM, CachedOutputStream.class);
+        if (out == null) {
+            // the stream must not be closed when the exchange it was created from is done,
+            // as that is only the first of the aggregated exchanges
+            out = new CachedOutputStream(exchange, false);
+            exchange.setProperty(AGGREGATED_STREAM, out);
+            addCloseOnCompletion(exchange, out);
+        }
+        return out;
+    }
+
+    private static void addCloseOnCompletion(Exchange exchange, final CachedOutputStream out) {
+        Synchronization onCompletion = new SynchronizationAdapter() {
+            @Override
+            public void onDone(Exchange exchange) {
+                try {
+                    // closing the stream deletes the temporary file
+                    out.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "OnCompletion[AggregatedStream]";
+            }
+        };
+        UnitOfWork streamCacheUnitOfWork = exchange.getProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK, UnitOfWork.class);
+        if (streamCacheUnitOfWork != null) {
+            // the splitter and multicast aggregates the sub exchanges in the unit of work of the main route
+            streamCacheUnitOfWork.addSynchronization(onCompletion);
+        } else {
+            exchange.addOnCompletion(onCompletion);
+        }
+    }
+
+}
@@ -84,6 +84,11 @@ import org.apache.camel.util.TimeUtils;
  * messages for the same stock are combined (or just the latest message is used
  * and older prices are discarded). Another idea is to combine line item messages
  * together into a single invoice message.
+ * <p/>
+ * By default all the aggregations are serialized using a single lock (unless optimistic locking is enabled).
+ * When {@link #setShards(int) shards} is configured, then the correlation keys are hashed onto the given number of
+ * shards which each has their own lock, so exchanges with different correlation keys can be aggregated concurrently,
+ * while exchanges with the same correlation key are still aggregated one at a time and in order.
  */
 public class AggregateProcessor extends AsyncProcessorSupport implements Navigate<Processor>, Traceable, ShutdownPrepared, ShutdownAware, IdAware {
 
@@ -124,16 +129,8 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private final Set<String> inProgressCompleteExchanges = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Map<String, RedeliveryData> redeliveryState = new ConcurrentHashMap<>();
 
-    private final AggregateProcessorStatistics statistics = new Statistics();
-    private final AtomicLong totalIn = new AtomicLong();
-    private final AtomicLong totalCompleted = new AtomicLong();
-    private final AtomicLong completedBySize = new AtomicLong();
-    private final AtomicLong completedByStrategy = new AtomicLong();
-    private final AtomicLong completedByInterval = new AtomicLong();
-    private final AtomicLong completedByTimeout = new AtomicLong();
-    private final AtomicLong completedByPredicate = new AtomicLong();
-    private final AtomicLong completedByBatchConsumer = new AtomicLong();
-    private final AtomicLong completedByForce = new AtomicLong();
+    private final Statistics statistics = new Statistics();
+    private Shard[] shardArray;
 
     // keep booking about redelivery
     private class RedeliveryData {
@@ -142,6 +139,15 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
     private class Statistics implements AggregateProcessorStatistics {
 
+        private final AtomicLong totalIn = new AtomicLong();
+        private final AtomicLong totalCompleted = new AtomicLong();
+        private final AtomicLong completedBySize = new AtomicLong();
+        private final AtomicLong completedByStrategy = new AtomicLong();
+        private final AtomicLong completedByInterval = new AtomicLong();
+        private final AtomicLong completedByTimeout = new AtomicLong();
+        private final AtomicLong completedByPredicate = new AtomicLong();
+        private final AtomicLong completedByBatchConsumer = new AtomicLong();
+        private final AtomicLong completedByForce = new AtomicLong();
         private boolean statisticsEnabled = true;
 
         public long getTotalIn() {
@@ -185,19 +191,66 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             totalCompleted.set(0);
             completedBySize.set(0);
             completedByStrategy.set(0);
+            completedByInterval.set(0);
             completedByTimeout.set(0);
             completedByPredicate.set(0);
             completedByBatchConsumer.set(0);
             completedByForce.set(0);
+            if (this == statistics && shardArray != null) {
+                for (Shard shard : shardArray) {
+                    shard.statistics.reset();
+                }
+            }
         }
 
         public boolean isStatisticsEnabled() {
-            return statisticsEnabled;
+            return statistics.statisticsEnabled;
         }
 
         public void setStatisticsEnabled(boolean statisticsEnabled) {
-            this.statisticsEnabled = statisticsEnabled;
+            statistics.statisticsEnabled = statisticsEnabled;
         }
+
+        void onCompleted(String completedBy, Exchange exchange) {
+            totalCompleted.incrementAndGet();
+            switch (completedBy) {
+            case COMPLETED_BY_INTERVAL:
+                completedByInterval.incrementAndGet();
+                break;
+            case COMPLETED_BY_TIMEOUT:
+                completedByTimeout.incrementAndGet();
+                break;
+            case COMPLETED_BY_FORCE:
+                completedByForce.incrementAndGet();
+                break;
+            case COMPLETED_BY_CONSUMER:
+                completedByBatchConsumer.incrementAndGet();
+                break;
+            case COMPLETED_BY_PREDICATE:
+                completedByPredicate.incrementAndGet();
+                break;
+            case COMPLETED_BY_SIZE:
+                completedBySize.incrementAndGet();
+                break;
+            case COMPLETED_BY_STRATEGY:
+                completedByStrategy.incrementAndGet();
+                break;
+            default:
+                log.error("Invalid value of {} property: {}", Exchange.AGGREGATED_COMPLETED_BY, exchange);
+                break;
+            }
+        }
+    }
+
+    /**
+     * A shard of the correlation keys, which has its own lock and statistics.
+     */
+    private final class Shard {
+
+        private final Lock lock = new ReentrantLock();
+        private final Statistics statistics = new Statistics();
+        // the keys of the groups in the other shards to force complete after the aggregation which holds the lock
+        private Set<String> forceCompletionKeys;
     }
 
     // options
@@ -205,6 +258,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int shards;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -283,8 +337,9 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
     protected void doProcess(Exchange exchange, AsyncCallback callback) throws Exception {
 
-        if (getStatistics().isStatisticsEnabled()) {
-            totalIn.incrementAndGet();
+        boolean statisticsEnabled = getStatistics().isStatisticsEnabled();
+        if (statisticsEnabled) {
+            statistics.totalIn.incrementAndGet();
         }
 
         //check for the special header to force completion of all groups (and ignore the exchange otherwise)
@@ -307,6 +362,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             return;
         }
 
+        if (statisticsEnabled && shardArray != null) {
+            shardOf(key).statistics.totalIn.incrementAndGet();
+        }
+
         // is the correlation key closed?
         if (closedCorrelationKeys != null && closedCorrelationKeys.containsKey(key)) {
             exchange.setException(new ClosedCorrelationKeyException(key, exchange));
@@ -355,14 +414,23 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_CURRENT_GROUP);
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS);
         copy.getIn().removeHeader(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE);
+        // and streams created while aggregating must not be closed when the unit of work of a splitter or multicast is done
+        copy.removeProperty(Exchange.STREAM_CACHE_UNIT_OF_WORK);
 
         List<Exchange> aggregated = null;
+        Set<String> forceCompletionKeys = null;
+        Shard shard = shardArray != null ? shardOf(key) : null;
+        Lock lock = shard != null ? shard.lock : this.lock;
         lock.lock();
         try {
-            aggregated = doAggregation(key, copy);
+            aggregated = doAggregation(key, copy, shard);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
+            if (shard != null) {
+                forceCompletionKeys = shard.forceCompletionKeys;
+                shard.forceCompletionKeys = null;
+            }
             lock.unlock();
         }
 
@@ -372,6 +440,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        // the groups in the other shards cannot be completed while holding the lock of this shard
+        if (forceCompletionKeys != null) {
+            forceCompletionOfGroups(forceCompletionKeys);
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (getAndRemoveBooleanHeader(exchange, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS_INCLUSIVE)) {
             forceCompletionOfAllGroups();
@@ -403,10 +476,11 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
      *
      * @param key      the correlation key
      * @param newExchange the exchange
+     * @param shard    the shard of the correlation key, or <tt>null</tt> if not using shards
      * @return the aggregated exchange(s) which is complete, or <tt>null</tt> if not yet complete
      * @throws org.apache.camel.CamelExchangeException is thrown if error aggregating
      */
-    private List<Exchange> doAggregation(String key, Exchange newExchange) throws CamelExchangeException {
+    private List<Exchange> doAggregation(String key, Exchange newExchange, Shard shard) throws CamelExchangeException {
         log.trace("onAggregation +++ start +++ with correlation key: {}", key);
 
         List<Exchange> list = new ArrayList<>();
@@ -484,11 +558,19 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         }
 
         // check for the special exchange property to force completion of all groups
+        boolean forceCompletion = false;
         if (getAndRemoveBooleanProperty(answer, Exchange.AGGREGATION_COMPLETE_ALL_GROUPS)) {
-            forceCompletionOfAllGroups();
+            forceCompletion = true;
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
-            forceCompletionOfAllGroups();
+            forceCompletion = true;
+        }
+        if (forceCompletion) {
+            if (shard != null) {
+                forceCompletionOfAllGroupsFromShard(shard);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         }
 
         // special for some repository implementations
@@ -731,34 +813,10 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         aggregationStrategy.onCompletion(exchange);
 
         if (getStatistics().isStatisticsEnabled()) {
-            totalCompleted.incrementAndGet();
-
             String completedBy = exchange.getProperty(Exchange.AGGREGATED_COMPLETED_BY, String.class);
-            switch (completedBy) {
-            case COMPLETED_BY_INTERVAL:
-                completedByInterval.incrementAndGet();
-                break;
-            case COMPLETED_BY_TIMEOUT:
-                completedByTimeout.incrementAndGet();
-                break;
-            case COMPLETED_BY_FORCE:
-                completedByForce.incrementAndGet();
-                break;
-            case COMPLETED_BY_CONSUMER:
-                completedByBatchConsumer.incrementAndGet();
-                break;
-            case COMPLETED_BY_PREDICATE:
-                completedByPredicate.incrementAndGet();
-                break;
-            case COMPLETED_BY_SIZE:
-                completedBySize.incrementAndGet();
-                break;
-            case COMPLETED_BY_STRATEGY:
-                completedByStrategy.incrementAndGet();
-                break;
-            default:
-                log.error("Invalid value of {} property: {}", Exchange.AGGREGATED_COMPLETED_BY, exchange);
-                break;
+            statistics.onCompleted(completedBy, exchange);
+            if (shardArray != null && key != null) {
+                shardOf(key).statistics.onCompleted(completedBy, exchange);
             }
         }
 
@@ -977,6 +1035,70 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets the number of shards the correlation keys are hashed onto, where each shard has its own lock,
+     * so exchanges with correlation keys in different shards can be aggregated concurrently.
+     * <p/>
+     * The default is 0 which uses a single lock for all the correlation keys.
+     */
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Gets the statistics of each of the shards, or an empty list if not using shards.
+     */
+    public List<AggregateProcessorStatistics> getShardStatistics() {
+        List<AggregateProcessorStatistics> answer = new ArrayList<>();
+        if (shardArray != null) {
+            for (Shard shard : shardArray) {
+                answer.add(shard.statistics);
+            }
+        }
+        return answer;
+    }
+
+    private Shard shardOf(String key) {
+        int hash = key.hashCode();
+        // spread the bits as the hash code of similar keys often only differs in the lower bits
+        hash ^= hash >>> 16;
+        return shardArray[(hash & Integer.MAX_VALUE) % shardArray.length];
+    }
+
+    /**
+     * Gets the lock to use for aggregating the given correlation key
+     */
+    private Lock lockOf(String key) {
+        return shardArray != null ? shardOf(key).lock : lock;
+    }
+
+    /**
+     * Acquires the shared aggregation lock, or the locks of all the shards (in order) when using shards
+     */
+    private void lockAll() {
+        if (shardArray != null) {
+            for (Shard shard : shardArray) {
+                shard.lock.lock();
+            }
+        } else {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        if (shardArray != null) {
+            for (int i = shardArray.length - 1; i >= 0; i--) {
+                shardArray[i].lock.unlock();
+            }
+        } else {
+            lock.unlock();
+        }
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1110,12 +1232,18 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     private final class AggregationTimeoutMap extends DefaultTimeoutMap<String, String> {
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
-            // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
+            // do NOT use locking on the timeout map as this aggregator has its own shared lock (or the locks of the shards)
+            // we will use instead
             super(executor, requestMapPollTimeMillis, optimisticLocking);
         }
 
         @Override
         public void purge() {
+            if (shardArray != null) {
+                // the lock of the shard is acquired for each eviction, see getEvictionLock
+                super.purge();
+                return;
+            }
             // must acquire the shared aggregation lock to be able to purge
             lock.lock();
             try {
@@ -1125,6 +1253,13 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             }
         }
 
+        @Override
+        protected Lock getEvictionLock(String key) {
+            // the entries of the keys in a shard are changed while holding the lock of the shard,
+            // so the purge must hold the lock as well while evicting the entry of the key
+            return shardArray != null ? shardOf(key).lock : super.getEvictionLock(key);
+        }
+
         @Override
         public boolean onEviction(String key, String exchangeId) {
             log.debug("Completion timeout triggered for correlation key: {}", key);
@@ -1179,38 +1314,53 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             Set<String> keys = aggregationRepository.getKeys();
 
             if (keys != null && !keys.isEmpty()) {
-                // must acquire the shared aggregation lock to be able to trigger interval completion
-                lock.lock();
-                try {
+                if (shardArray != null) {
+                    // acquire the lock of the shard of each key in turn so the other shards can continue aggregating
                     for (String key : keys) {
-                        boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            log.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                                stolenInterval = true;
-                            }
-                        }
-                        if (optimisticLocking && stolenInterval) {
-                            log.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+                        Lock lock = shardOf(key).lock;
+                        lock.lock();
+                        try {
+                            completeByInterval(key);
+                        } finally {
+                            lock.unlock();
                         }
                     }
-                } finally {
-                    lock.unlock();
+                } else {
+                    // must acquire the shared aggregation lock to be able to trigger interval completion
+                    lock.lock();
+                    try {
+                        keys.forEach(this::completeByInterval);
+                    } finally {
+                        lock.unlock();
+                    }
                 }
             }
 
             log.trace("Completion interval task complete");
         }
+
+        private void completeByInterval(String key) {
+            boolean stolenInterval = false;
+            Exchange exchange = aggregationRepository.get(camelContext, key);
+            if (exchange == null) {
+                stolenInterval = true;
+            } else {
+                log.trace("Completion interval triggered for correlation key: {}", key);
+                // indicate it was completed by interval
+                exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                try {
+                    Exchange answer = onCompletion(key, exchange, exchange, false);
+                    if (answer != null) {
+                        onSubmitCompletion(key, answer);
+                    }
+                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                    stolenInterval = true;
+                }
+            }
+            if (optimisticLocking && stolenInterval) {
+                log.debug("Another Camel instance has already processed this interval aggregation for exchange with correlation id: {}", key);
+            }
+        }
     }
 
     /**
@@ -1243,7 +1393,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                     log.info("We are shutting down so stop recovering");
                     return;
                 }
-                lock.lock();
+                lockAll();
                 try {
                     // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                     // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1307,7 +1457,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
                         }
                     }
                 } finally {
-                    lock.unlock();
+                    unlockAll();
                 }
             }
 
@@ -1351,6 +1501,15 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
             log.info("Defaulting to MemoryAggregationRepository");
         }
 
+        if (shards > 1) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Shards cannot be used together with optimistic locking");
+            }
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException("Shards cannot be used together with completionFromBatchConsumer");
+            }
+        }
+
         if (optimisticLocking) {
             if (!(aggregationRepository instanceof OptimisticLockingAggregationRepository)) {
                 throw new IllegalArgumentException("Optimistic locking cannot be enabled without using an AggregationRepository that implements OptimisticLockingAggregationRepository");
@@ -1435,6 +1594,17 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         } else {
             lock = new ReentrantLock();
         }
+
+        if (shards > 1) {
+            log.info("Using {} shards for aggregating the correlation keys", shards);
+            Shard[] array = new Shard[shards];
+            for (int i = 0; i < shards; i++) {
+                array[i] = new Shard();
+            }
+            shardArray = array;
+        } else {
+            shardArray = null;
+        }
     }
 
     @Override
@@ -1543,6 +1713,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
+        Lock lock = lockOf(key);
         lock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -1570,9 +1741,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
     public int forceCompletionOfAllGroups() {
 
         // only run if CamelContext has been fully started or is stopping
-        boolean allow = camelContext.getStatus().isStarted() || camelContext.getStatus().isStopping();
-        if (!allow) {
-            log.warn("Cannot start force completion of all groups because CamelContext({}) has not been started", camelContext.getName());
+        if (!isForceCompletionAllowed()) {
             return 0;
         }
 
@@ -1583,25 +1752,7 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
 
         int total = 0;
         if (keys != null && !keys.isEmpty()) {
-            // must acquire the shared aggregation lock to be able to trigger force completion
-            lock.lock();
-            total = keys.size();
-            try {
-                for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        log.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
-                        }
-                    }
-                }
-            } finally {
-                lock.unlock();
-            }
+            total = forceCompletionOfGroups(keys);
         }
         log.trace("Completed force completion of all groups task");
 
@@ -1611,4 +1762,79 @@ public class AggregateProcessor extends AsyncProcessorSupport implements Navigat
         return total;
     }
 
+    /**
+     * Forces completion of all groups from an aggregation which holds the lock of the given shard.
+     * <p/>
+     * The groups of the shard are completed right away, so the group the aggregation is about to add is not completed,
+     * and the existing groups of the other shards are completed after the lock of the shard has been released.
+     */
+    private void forceCompletionOfAllGroupsFromShard(Shard shard) {
+        if (!isForceCompletionAllowed()) {
+            return;
+        }
+
+        Set<String> keys = aggregationRepository.getKeys();
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        log.trace("Starting force completion of all groups from shard");
+        Set<String> others = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (shardOf(key) == shard) {
+                doForceCompletionOfGroup(key);
+            } else {
+                others.add(key);
+            }
+        }
+        if (!others.isEmpty()) {
+            shard.forceCompletionKeys = others;
+        }
+    }
+
+    private int forceCompletionOfGroups(Set<String> keys) {
+        // must acquire the shared aggregation lock to be able to trigger force completion
+        lock.lock();
+        try {
+            for (String key : keys) {
+                // when using shards then the lock of each shard is acquired in turn
+                Lock shardLock = shardArray != null ? shardOf(key).lock : null;
+                if (shardLock != null) {
+                    shardLock.lock();
+                }
+                try {
+                    doForceCompletionOfGroup(key);
+                } finally {
+                    if (shardLock != null) {
+                        shardLock.unlock();
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return keys.size();
+    }
+
+    private void doForceCompletionOfGroup(String key) {
+        Exchange exchange = aggregationRepository.get(camelContext, key);
+        if (exchange != null) {
+            log.trace("Force completion triggered for correlation key: {}", key);
+            // indicate it was completed by a force completion request
+            exchange.setProperty(Exchange.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+            Exchange answer = onCompletion(key, exchange, exchange, false);
+            if (answer != null) {
+                onSubmitCompletion(key, answer);
+            }
+        }
+    }
+
+    private boolean isForceCompletionAllowed() {
+        boolean allow = camelContext.getStatus().isStarted() || camelContext.getStatus().isStopping();
+        if (!allow) {
+            log.warn("Cannot start force completion of all groups because CamelContext({}) has not been started", camelContext.getName());
+        }
+        return allow;
+    }
+
 }
@@ -17,10 +17,10 @@
 package org.apache.camel.processor.aggregate;
 
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.component.bean.MethodHandleInvoker;
 import org.apache.camel.component.bean.ParameterInfo;
 
 /**
@@ -28,42 +28,37 @@ import org.apache.camel.component.bean.ParameterInfo;
  */
 public class AggregationStrategyMethodInfo {
 
-    private final Method method;
     private final List<ParameterInfo> oldParameters;
     private final List<ParameterInfo> newParameters;
-
+    private final MethodHandleInvoker invoker;
 
     public AggregationStrategyMethodInfo(Method method,
                                          List<ParameterInfo> oldParameters, 
                                          List<ParameterInfo> newParameters) {
-        this.method = method;
         this.oldParameters = oldParameters;
         this.newParameters = newParameters;
+        this.invoker = MethodHandleInvoker.create(method);
     }
 
     public Object invoke(Object pojo, Exchange oldExchange, Exchange newExchange) throws Exception {
         // evaluate the parameters
-        List<Object> list = new ArrayList<>(oldParameters.size() + newParameters.size());
+        Object[] args = new Object[oldParameters.size() + newParameters.size()];
+        int index = 0;
         for (ParameterInfo info : oldParameters) {
+            // use a null value if oldExchange is null
             if (oldExchange != null) {
-                Object value = info.getExpression().evaluate(oldExchange, info.getType());
-                list.add(value);
-            } else {
-                // use a null value as oldExchange is null
-                list.add(null);
+                args[index] = info.getExpression().evaluate(oldExchange, info.getType());
             }
+            index++;
         }
         for (ParameterInfo info : newParameters) {
+            // use a null value if newExchange is null
             if (newExchange != null) {
-                Object value = info.getExpression().evaluate(newExchange, info.getType());
-                list.add(value);
-            } else {
-                // use a null value as newExchange is null
-                list.add(null);
+                args[index] = info.getExpression().evaluate(newExchange, info.getType());
             }
+            index++;
         }
 
-        Object[] args = list.toArray();
-        return method.invoke(pojo, args);
+        return invoker.invoke(pojo, args);
     }
 }
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * Aggregate the bodies of the input messages by writing them to a stream, where each body is followed by
+ * a delimiter, which by default is a new line. The completed exchange holds the content as a
+ * {@link org.apache.camel.StreamCache} in the message body, which can be split again using a tokenizer.
+ * <p/>
+ * The bodies are written as bytes using the type converters, which for text uses the charset of the exchange.
+ *
+ * @see AbstractStreamingAggregationStrategy
+ */
+public class DelimitedBodyAggregationStrategy extends AbstractStreamingAggregationStrategy<Object> {
+
+    private byte[] delimiter = "\n".getBytes(StandardCharsets.UTF_8);
+
+    public DelimitedBodyAggregationStrategy() {
+    }
+
+    public DelimitedBodyAggregationStrategy(String delimiter) {
+        setDelimiter(delimiter);
+    }
+
+    public String getDelimiter() {
+        return new String(delimiter, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sets the delimiter to write after each body, the default is a new line.
+     */
+    public void setDelimiter(String delimiter) {
+        this.delimiter = delimiter.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Object getValue(Exchange exchange) {
+        return exchange.getIn().getBody();
+    }
+
+    @Override
+    protected void writeValue(Exchange exchange, Object value, OutputStream out) throws Exception {
+        if (value instanceof InputStream) {
+            // copy the stream instead of reading it into memory
+            InputStream is = (InputStream) value;
+            try {
+                IOHelper.copy(is, out);
+            } finally {
+                IOHelper.close(is);
+            }
+        } else {
+            out.write(exchange.getContext().getTypeConverter().mandatoryConvertTo(byte[].class, exchange, value));
+        }
+        out.write(delimiter);
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate;
+
+import java.io.OutputStream;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Aggregate the bodies of the input messages by writing them to a stream, where each body is prefixed with
+ * its length in bytes as a 4 byte big-endian integer (as written by {@link java.io.DataOutputStream#writeInt(int)}).
+ * The completed exchange holds the content as a {@link org.apache.camel.StreamCache} in the message body.
+ * <p/>
+ * This allows to aggregate binary bodies which may contain any delimiter. The bodies are written as bytes
+ * using the type converters.
+ *
+ * @see AbstractStreamingAggregationStrategy
+ */
+public class LengthPrefixedBodyAggregationStrategy extends AbstractStreamingAggregationStrategy<Object> {
+
+    public Object getValue(Exchange exchange) {
+        return exchange.getIn().getBody();
+    }
+
+    @Override
+    protected void writeValue(Exchange exchange, Object value, OutputStream out) throws Exception {
+        byte[] data = exchange.getContext().getTypeConverter().mandatoryConvertTo(byte[].class, exchange, value);
+        int length = data.length;
+        out.write((length >>> 24) & 0xFF);
+        out.write((length >>> 16) & 0xFF);
+        out.write((length >>> 8) & 0xFF);
+        out.write(length & 0xFF);
+        out.write(data);
+    }
+}
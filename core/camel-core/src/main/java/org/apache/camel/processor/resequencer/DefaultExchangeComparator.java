@@ -54,7 +54,10 @@ public class DefaultExchangeComparator implements ExpressionResultComparator {
         return n1.compareTo(n2);
     }
 
-    private Long getSequenceNumber(Exchange exchange) {
+    /**
+     * Gets the sequence number of the exchange by evaluating the expression.
+     */
+    public Long getSequenceNumber(Exchange exchange) {
         return expression.evaluate(exchange, Long.class);
     }
 
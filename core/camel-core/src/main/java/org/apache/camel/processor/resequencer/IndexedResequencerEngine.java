@@ -0,0 +1,263 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link ResequencerEngine} for elements which have a <code>long</code> sequence number, where the
+ * immediate predecessor and successor of an element have the sequence number minus and plus one.
+ * <p>
+ * The pending elements are kept in arrays sorted by their sequence numbers, instead of wrapping each element
+ * in a {@link Sequence} (a tree set) of {@link Element}s. Elements mostly arrive nearly in order, so they are
+ * inserted at (or close to) one of the ends of the arrays, and delivered from the head of the arrays.
+ * <p>
+ * Instead of scheduling a {@link Timeout} task on a {@link java.util.Timer} for every out-of-sequence element,
+ * the time when the element times out is kept together with the element. As elements are only delivered from the
+ * head of the sequence, the timeout only needs to be checked when the element at the head is about to be delivered.
+ * This engine therefore does not use a timer thread at all.
+ * <p>
+ * The behaviour is otherwise the same as the {@link ResequencerEngine}, including that an element with the same
+ * sequence number as a pending element is ignored.
+ */
+public class IndexedResequencerEngine<E> extends ResequencerEngine<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private final SequenceElementComparator<E> comparator;
+    private final ToLongFunction<E> sequenceNumber;
+
+    // the pending elements are in the range [head, tail) of the arrays sorted by their sequence number
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] deadlines = new long[INITIAL_CAPACITY];
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+    private int head;
+    private int tail;
+
+    private E lastDelivered;
+    private long lastDeliveredKey;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000
+     * milliseconds.
+     *
+     * @param comparator     a sequence element comparator, which is used to validate the elements.
+     * @param sequenceNumber to get the sequence number of an element.
+     */
+    public IndexedResequencerEngine(SequenceElementComparator<E> comparator, ToLongFunction<E> sequenceNumber) {
+        super(comparator);
+        this.comparator = comparator;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    @Override
+    public void start() {
+        // noop as there is no timer
+    }
+
+    @Override
+    public void stop() {
+        // noop as there is no timer
+    }
+
+    @Override
+    public synchronized int size() {
+        return tail - head;
+    }
+
+    @Override
+    E getLastDelivered() {
+        return lastDelivered;
+    }
+
+    @Override
+    void setLastDelivered(E o) {
+        lastDelivered = o;
+        lastDeliveredKey = sequenceNumber.applyAsLong(o);
+    }
+
+    @Override
+    public synchronized void insert(E o) {
+        // validate the exchange has no problem
+        if (!comparator.isValid(o)) {
+            throw new IllegalArgumentException("Element cannot be used in comparator: " + comparator);
+        }
+        long key = sequenceNumber.applyAsLong(o);
+
+        // validate the exchange shouldn't be 'rejected' (if applicable)
+        if (getRejectOld() != null && getRejectOld() && lastDelivered != null && key < lastDeliveredKey) {
+            throw new MessageRejectedException("rejecting message [" + o
+                    + "], it should have been sent before the last delivered message [" + lastDelivered + "]");
+        }
+
+        int index = indexOf(key);
+        boolean duplicate = index >= 0;
+        if (!duplicate) {
+            index = insertAt(-index - 1, key, o);
+        }
+
+        // check if there is an immediate successor and cancel
+        // its timeout (no need to wait any more for timeout)
+        if (index + 1 < tail && keys[index + 1] == key + 1) {
+            deadlines[index + 1] = NOT_SCHEDULED;
+        }
+
+        if (duplicate) {
+            // the pending element is kept
+            return;
+        }
+
+        // start delivery if current element is successor of last delivered element
+        if (lastDelivered != null && key == lastDeliveredKey + 1) {
+            // nothing to schedule
+        } else if (index > head && keys[index - 1] == key - 1) {
+            // nothing to schedule
+        } else {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(getTimeout());
+            deadlines[index] = deadline != NOT_SCHEDULED ? deadline : deadline + 1;
+        }
+    }
+
+    @Override
+    public synchronized void deliver() throws Exception {
+        while (deliverNext()) {
+            // do nothing here
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean deliverNext() throws Exception {
+        if (head == tail) {
+            return false;
+        }
+
+        // if element is scheduled and has not timed out yet do not deliver and return
+        long deadline = deadlines[head];
+        if (deadline != NOT_SCHEDULED && System.nanoTime() - deadline < 0) {
+            return false;
+        }
+
+        // remove deliverable element from the head
+        E element = (E) elements[head];
+        elements[head] = null;
+        lastDeliveredKey = keys[head];
+        lastDelivered = element;
+        head++;
+        if (head == tail) {
+            head = 0;
+            tail = 0;
+        }
+
+        // deliver the sequence element
+        getSequenceSender().sendElement(element);
+
+        // element has been delivered
+        return true;
+    }
+
+    /**
+     * Finds the index of the pending element with the given sequence number.
+     *
+     * @return the index, or <tt>(-(insertion point) - 1)</tt> if there is no such element.
+     */
+    private int indexOf(long key) {
+        // most elements are in sequence so check the tail first
+        if (head == tail || keys[tail - 1] < key) {
+            return -tail - 1;
+        }
+        int low = head;
+        int high = tail - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = keys[mid];
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Inserts the element at the given index, by moving the elements before the index towards the head,
+     * or the elements after the index towards the tail, whichever are fewer.
+     *
+     * @return the index of the inserted element, which may have been moved
+     */
+    private int insertAt(int index, long key, E element) {
+        if (head > 0 && index - head < tail - index) {
+            // move the elements before the index one position towards the head
+            int moved = index - head;
+            System.arraycopy(keys, head, keys, head - 1, moved);
+            System.arraycopy(deadlines, head, deadlines, head - 1, moved);
+            System.arraycopy(elements, head, elements, head - 1, moved);
+            head--;
+            index--;
+        } else {
+            if (tail == keys.length) {
+                index -= ensureCapacity();
+            }
+            // move the elements after the index one position towards the tail
+            int moved = tail - index;
+            System.arraycopy(keys, index, keys, index + 1, moved);
+            System.arraycopy(deadlines, index, deadlines, index + 1, moved);
+            System.arraycopy(elements, index, elements, index + 1, moved);
+            tail++;
+        }
+        keys[index] = key;
+        deadlines[index] = NOT_SCHEDULED;
+        elements[index] = element;
+        return index;
+    }
+
+    /**
+     * Makes room for one more element at the tail, by moving the elements to the start of the arrays,
+     * and growing the arrays if they are more than half full.
+     *
+     * @return the number of positions the elements has been moved towards the start of the arrays
+     */
+    private int ensureCapacity() {
+        int size = tail - head;
+        int length = size >= keys.length / 2 ? keys.length * 2 : keys.length;
+        long[] newKeys = length != keys.length ? new long[length] : keys;
+        long[] newDeadlines = length != keys.length ? new long[length] : deadlines;
+        Object[] newElements = length != keys.length ? new Object[length] : elements;
+        System.arraycopy(keys, head, newKeys, 0, size);
+        System.arraycopy(deadlines, head, newDeadlines, 0, size);
+        System.arraycopy(elements, head, newElements, 0, size);
+        if (newElements == elements) {
+            // clear the references which are no longer used
+            for (int i = size; i < tail; i++) {
+                elements[i] = null;
+            }
+        }
+        keys = newKeys;
+        deadlines = newDeadlines;
+        elements = newElements;
+        int moved = head;
+        head = 0;
+        tail = size;
+        return moved;
+    }
+
+}
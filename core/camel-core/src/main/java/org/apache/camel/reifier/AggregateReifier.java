@@ -103,6 +103,9 @@ class AggregateReifier extends ProcessorReifier<AggregateDefinition> {
         if (definition.getOptimisticLocking() != null) {
             answer.setOptimisticLocking(definition.getOptimisticLocking());
         }
+        if (definition.getShards() != null) {
+            answer.setShards(definition.getShards());
+        }
         if (definition.getCompletionPredicate() != null) {
             Predicate predicate = definition.getCompletionPredicate().createPredicate(routeContext);
             answer.setCompletionPredicate(predicate);
@@ -69,6 +69,7 @@ class ThreadsReifier extends ProcessorReifier<ThreadsDefinition> {
                     .maxQueueSize(definition.getMaxQueueSize())
                     .rejectedPolicy(policy)
                     .allowCoreThreadTimeOut(definition.getAllowCoreThreadTimeOut())
+                    .virtualThreads(definition.getVirtualThreads())
                     .build();
             threadPool = manager.newThreadPool(definition, name, profile);
             shutdownThreadPool = true;
@@ -97,6 +98,9 @@ class ThreadsReifier extends ProcessorReifier<ThreadsDefinition> {
             if (definition.getAllowCoreThreadTimeOut() != null) {
                 throw new IllegalArgumentException("AllowCoreThreadTimeOut and executorServiceRef options cannot be used together.");
             }
+            if (definition.getVirtualThreads() != null) {
+                throw new IllegalArgumentException("VirtualThreads and executorServiceRef options cannot be used together.");
+            }
         }
 
         return new ThreadsProcessor(routeContext.getCamelContext(), threadPool, shutdownThreadPool, policy);
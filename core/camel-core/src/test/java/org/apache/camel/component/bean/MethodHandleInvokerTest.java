@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.bean;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.camel.TestSupport;
+import org.junit.Test;
+
+public class MethodHandleInvokerTest extends TestSupport {
+
+    @Test
+    public void testInvoke() throws Exception {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("hello", String.class, int.class));
+        assertEquals("Hello World 2", invoker.invoke(new MyBean(), new Object[]{"World", 2}));
+    }
+
+    @Test
+    public void testInvokeStatic() throws Exception {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("bye", String.class));
+        assertEquals("Bye World", invoker.invoke(null, new Object[]{"World"}));
+    }
+
+    @Test
+    public void testInvokeVoid() throws Exception {
+        MyBean bean = new MyBean();
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("count"));
+        assertNull(invoker.invoke(bean, null));
+        assertNull(invoker.invoke(bean, new Object[0]));
+        assertEquals(2, bean.counter);
+    }
+
+    @Test
+    public void testInvokeVarArgs() throws Exception {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("join", String[].class));
+        assertEquals("a,b", invoker.invoke(new MyBean(), new Object[]{new String[]{"a", "b"}}));
+    }
+
+    @Test
+    public void testInvokeWidening() throws Exception {
+        // an int is widened to a long by reflection
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("increment", long.class));
+        assertEquals(3L, invoker.invoke(new MyBean(), new Object[]{2}));
+    }
+
+    @Test
+    public void testInvokeIllegalArguments() throws Exception {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("hello", String.class, int.class));
+        try {
+            invoker.invoke(new MyBean(), new Object[]{"World", null});
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            invoker.invoke(new MyBean(), new Object[]{"World"});
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            invoker.invoke("Not a bean", new Object[]{"World", 2});
+            fail("Should have thrown exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvokeException() throws Exception {
+        MethodHandleInvoker invoker = MethodHandleInvoker.create(MyBean.class.getMethod("kaboom"));
+        try {
+            invoker.invoke(new MyBean(), null);
+            fail("Should have thrown exception");
+        } catch (InvocationTargetException e) {
+            assertIsInstanceOf(IllegalStateException.class, e.getTargetException());
+            assertEquals("Forced", e.getTargetException().getMessage());
+        }
+    }
+
+    public static class MyBean {
+        private int counter;
+
+        public String hello(String name, int times) {
+            return "Hello " + name + " " + times;
+        }
+
+        public static String bye(String name) {
+            return "Bye " + name;
+        }
+
+        public void count() {
+            counter++;
+        }
+
+        public String join(String... values) {
+            return String.join(",", values);
+        }
+
+        public long increment(long value) {
+            return value + 1;
+        }
+
+        public void kaboom() {
+            throw new IllegalStateException("Forced");
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferBlockingQueueTest extends Assert {
+
+    @Test
+    public void testCapacity() throws Exception {
+        MpscBlockingQueue<String> queue = new MpscBlockingQueue<>(3);
+        assertEquals(4, queue.getCapacity());
+        assertEquals(4, queue.remainingCapacity());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer("" + i));
+        }
+        assertFalse(queue.offer("4"));
+        assertFalse(queue.offer("4", 10, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+
+        assertEquals("0", queue.poll());
+        assertTrue(queue.offer("4"));
+        assertEquals("1", queue.peek());
+    }
+
+    @Test
+    public void testPollAndDrain() throws Exception {
+        SpmcBlockingQueue<String> queue = new SpmcBlockingQueue<>(8);
+        assertNull(queue.poll());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertTrue(queue.isEmpty());
+
+        for (int i = 0; i < 20; i++) {
+            queue.put("" + i);
+            assertEquals("" + i, queue.take());
+        }
+
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+        List<String> list = new ArrayList<>();
+        assertEquals(2, queue.drainTo(list, 2));
+        assertEquals("[A, B]", list.toString());
+        assertEquals(1, queue.drainTo(list));
+        assertEquals("[A, B, C]", list.toString());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemoveAndIterate() throws Exception {
+        MpscBlockingQueue<String> queue = new MpscBlockingQueue<>(8);
+        queue.put("A");
+        queue.put("B");
+        queue.put("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertFalse(queue.contains("B"));
+        assertTrue(queue.contains("C"));
+        assertEquals("[A, C]", new ArrayList<>(queue).toString());
+
+        assertEquals("A", queue.poll());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll());
+
+        queue.put("D");
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testBlockingTakeIsSignalled() throws Exception {
+        final MpscBlockingQueue<String> queue = new MpscBlockingQueue<>(2);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                if ("A".equals(queue.take())) {
+                    latch.countDown();
+                }
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        consumer.start();
+
+        // let the consumer park before the element is added
+        Thread.sleep(100);
+        queue.put("A");
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        consumer.join(5000);
+    }
+
+    @Test
+    public void testMultipleProducers() throws Exception {
+        final MpscBlockingQueue<Integer> queue = new MpscBlockingQueue<>(16);
+        final int producers = 4;
+        final int count = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int offset = p * count;
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < count; i++) {
+                        queue.put(offset + i);
+                    }
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < producers * count; i++) {
+            Integer value = queue.poll(5, TimeUnit.SECONDS);
+            assertNotNull("Should receive all values", value);
+            assertTrue("Should not receive duplicates", received.add(value));
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDrainWhileConsuming() throws Exception {
+        final MpscBlockingQueue<Integer> queue = new MpscBlockingQueue<>(4);
+        final int count = 40000;
+        final List<Integer> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                while (done.getCount() > 0 || !queue.isEmpty()) {
+                    Integer value = queue.poll(10, TimeUnit.MILLISECONDS);
+                    if (value != null) {
+                        received.add(value);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        consumer.start();
+
+        // drain the queue from another thread than the consumer, such as when purging the queue
+        final List<Integer> drained = new ArrayList<>();
+        Thread drainer = new Thread(() -> {
+            while (done.getCount() > 0) {
+                queue.drainTo(drained, 1);
+            }
+        });
+        drainer.start();
+
+        for (int i = 0; i < count; i++) {
+            queue.put(i);
+        }
+        done.countDown();
+        drainer.join(5000);
+        consumer.join(5000);
+
+        Set<Integer> all = ConcurrentHashMap.newKeySet();
+        all.addAll(received);
+        all.addAll(drained);
+        assertEquals("Should not take values twice", received.size() + drained.size(), all.size());
+        assertEquals("Should take all values", count, all.size());
+    }
+
+    @Test
+    public void testMultipleConsumers() throws Exception {
+        final SpmcBlockingQueue<Integer> queue = new SpmcBlockingQueue<>(16);
+        final int consumers = 4;
+        final int count = 40000;
+        final Set<Integer> received = ConcurrentHashMap.newKeySet();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(count);
+        List<Thread> threads = new ArrayList<>();
+        for (int c = 0; c < consumers; c++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    while (latch.getCount() > 0) {
+                        Integer value = queue.poll(10, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            if (!received.add(value)) {
+                                duplicates.incrementAndGet();
+                            }
+                            latch.countDown();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (int i = 0; i < count; i++) {
+            queue.put(i);
+        }
+
+        assertTrue("Should receive all values", latch.await(10, TimeUnit.SECONDS));
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+        assertEquals(0, duplicates.get());
+        assertEquals(count, received.size());
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class SedaDrainBatchSizeTest extends ContextTestSupport {
+
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testDrainBatchSize() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+
+        SedaEndpoint seda = context.getEndpoint("seda:foo?drainBatchSize=5", SedaEndpoint.class);
+        assertEquals(5, seda.getDrainBatchSize());
+
+        // fill the queue before the consumer is started, so it can drain the queue in batches
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:foo", i);
+        }
+        assertEquals(10, seda.getCurrentQueueSize());
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(2, seda.getDrainedBatches());
+        assertEquals(10, seda.getDrainedExchanges());
+        assertEquals(5, seda.getMaxDrainedBatchSize());
+        assertEquals(5.0, seda.getMeanDrainedBatchSize(), 0.01);
+        assertEquals(10, seda.getMaxPolledQueueSize());
+
+        seda.resetDrainStatistics();
+        assertEquals(0, seda.getDrainedBatches());
+        assertEquals(0, seda.getMaxDrainedBatchSize());
+    }
+
+    @Test
+    public void testNoDrainBatchSize() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(0, 1, 2);
+
+        SedaEndpoint seda = context.getEndpoint("seda:bar", SedaEndpoint.class);
+        assertEquals(1, seda.getDrainBatchSize());
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:bar", i);
+        }
+
+        context.getRouteController().startRoute("bar");
+
+        assertMockEndpointsSatisfied();
+
+        // no statistics when not draining in batches, so polling the queue has no overhead
+        assertEquals(0, seda.getDrainedBatches());
+        assertEquals(0, seda.getDrainedExchanges());
+        assertEquals(0, seda.getMaxPolledQueueSize());
+    }
+
+    @Test
+    public void testPendingExchangesIncludeDrainedBatch() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(0, 1, 2, 3, 4);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:baz", i);
+        }
+
+        context.getRouteController().startRoute("baz");
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+
+        // the queue is empty, but the rest of the batch is still pending
+        SedaEndpoint seda = context.getEndpoint("seda:baz", SedaEndpoint.class);
+        assertEquals(0, seda.getCurrentQueueSize());
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("baz").getConsumer();
+        assertEquals(4, consumer.getPendingExchangesSize());
+
+        release.countDown();
+        assertMockEndpointsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?drainBatchSize=5").routeId("foo").noAutoStartup()
+                    .to("mock:result");
+
+                from("seda:bar").routeId("bar").noAutoStartup()
+                    .to("mock:result");
+
+                from("seda:baz?drainBatchSize=5").routeId("baz").noAutoStartup()
+                    .process(exchange -> {
+                        processing.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -23,6 +23,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import org.apache.camel.CamelContext;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.impl.SimpleRegistry;
 import org.apache.camel.util.SedaConstants;
@@ -33,11 +34,15 @@ import org.junit.Test;
  */
 public class SedaQueueFactoryTest extends ContextTestSupport {
     private final ArrayBlockingQueueFactory<Exchange> arrayQueueFactory = new ArrayBlockingQueueFactory<>();
+    private final MpscBlockingQueueFactory<Exchange> mpscQueueFactory = new MpscBlockingQueueFactory<>();
+    private final SpmcBlockingQueueFactory<Exchange> spmcQueueFactory = new SpmcBlockingQueueFactory<>();
 
     @Override
     protected CamelContext createCamelContext() throws Exception {
         SimpleRegistry simpleRegistry = new SimpleRegistry();
         simpleRegistry.put("arrayQueueFactory", arrayQueueFactory);
+        simpleRegistry.put("mpscQueueFactory", mpscQueueFactory);
+        simpleRegistry.put("spmcQueueFactory", spmcQueueFactory);
         return new DefaultCamelContext(simpleRegistry);
     }
 
@@ -67,4 +72,40 @@ public class SedaQueueFactoryTest extends ContextTestSupport {
         BlockingQueue<Exchange> queue = endpoint.getQueue();
         assertIsInstanceOf(LinkedBlockingQueue.class, queue);
     }
+
+    @Test
+    public void testMpscBlockingQueueFactoryAndSize() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:mpscQueue?queueFactory=#mpscQueueFactory&size=100", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        MpscBlockingQueue<Exchange> blockingQueue = assertIsInstanceOf(MpscBlockingQueue.class, queue);
+        // the capacity is rounded up to a power of two
+        assertEquals("remainingCapacity - custom", 128, blockingQueue.remainingCapacity());
+    }
+
+    @Test
+    public void testSpmcBlockingQueueFactory() throws Exception {
+        SedaEndpoint endpoint = resolveMandatoryEndpoint("seda:spmcQueue?queueFactory=#spmcQueueFactory", SedaEndpoint.class);
+
+        BlockingQueue<Exchange> queue = endpoint.getQueue();
+        SpmcBlockingQueue<Exchange> blockingQueue = assertIsInstanceOf(SpmcBlockingQueue.class, queue);
+        assertEquals("remainingCapacity - default", 1024, blockingQueue.remainingCapacity());
+    }
+
+    @Test
+    public void testMpscBlockingQueueFactoryRoute() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:mpscRoute?queueFactory=#mpscQueueFactory").to("mock:result");
+            }
+        });
+        getMockEndpoint("mock:result").expectedBodiesReceived("A", "B", "C");
+
+        template.sendBody("seda:mpscRoute?queueFactory=#mpscQueueFactory", "A");
+        template.sendBody("seda:mpscRoute?queueFactory=#mpscQueueFactory", "B");
+        template.sendBody("seda:mpscRoute?queueFactory=#mpscQueueFactory", "C");
+
+        assertMockEndpointsSatisfied();
+    }
 }
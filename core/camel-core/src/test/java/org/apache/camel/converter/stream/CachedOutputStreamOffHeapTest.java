@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+        + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory("target/data/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(64);
+        context.getStreamCachingStrategy().setBufferSize(16);
+        context.getStreamCachingStrategy().setOffHeap(true);
+        return context;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+
+        deleteDirectory("target/data/cachedir");
+        createDirectory("target/data/cachedir");
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testCacheStreamOffHeapInMemory() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write("Hello World".getBytes("UTF-8"));
+        cos.write('!');
+
+        File file = new File("target/data/cachedir");
+        assertEquals("we should have no temp file", 0, file.list().length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferStreamCache", cache instanceof ByteBufferStreamCache);
+        assertTrue(cache.inMemory());
+        assertEquals(12, cache.length());
+        assertEquals("Hello World!", IOConverter.toString((InputStream) cache, exchange));
+
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals("Hello World!", bos.toString("UTF-8"));
+
+        // the cache must not be read after it has been released
+        exchange.getUnitOfWork().done(exchange);
+        try {
+            ((InputStream) cache).read();
+            fail("Should have thrown exception");
+        } catch (IOException e) {
+            assertEquals("Stream cache has been released", e.getMessage());
+        }
+
+        cos.close();
+    }
+
+    @Test
+    public void testCacheStreamOffHeapInMemoryKeptWhenSpooled() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write("Hello World!".getBytes("UTF-8"));
+        StreamCache cache = cos.newStreamCache();
+        assertTrue(cache.inMemory());
+
+        // spooling releases the in-memory segments of the stream, but the cache still uses them
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        // so another stream must not reuse the segments
+        Exchange other = new DefaultExchange(context);
+        other.setUnitOfWork(new DefaultUnitOfWork(other));
+        CachedOutputStream otherCos = new CachedOutputStream(other);
+        otherCos.write("Bye World!!!".getBytes("UTF-8"));
+
+        assertEquals("Hello World!", IOConverter.toString((InputStream) cache, exchange));
+        assertEquals("Bye World!!!", IOConverter.toString((InputStream) otherCos.newStreamCache(), other));
+
+        exchange.getUnitOfWork().done(exchange);
+        other.getUnitOfWork().done(other);
+        cos.close();
+        otherCos.close();
+    }
+
+    @Test
+    public void testCacheStreamOffHeapSpoolMapped() throws Exception {
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("target/data/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", 1, files.length);
+        assertTrue("The file name should start with cos", files[0].startsWith("cos"));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the ByteBufferStreamCache", cache instanceof ByteBufferStreamCache);
+        assertFalse(cache.inMemory());
+        assertEquals(TEST_STRING.length() * 2, cache.length());
+        assertEquals(TEST_STRING + TEST_STRING, IOConverter.toString((InputStream) cache, exchange));
+
+        // a copy shares the mapping but reads from the start
+        Exchange copyExchange = exchange.copy();
+        copyExchange.setUnitOfWork(new DefaultUnitOfWork(copyExchange));
+        StreamCache copy = cache.copy(copyExchange);
+        assertEquals(TEST_STRING + TEST_STRING, IOConverter.toString((InputStream) copy, copyExchange));
+
+        cache.reset();
+        assertEquals(TEST_STRING + TEST_STRING, IOConverter.toString((InputStream) cache, exchange));
+
+        // the temp file is only deleted when both exchanges are done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals("we should have a temp file", 1, file.list().length);
+        copyExchange.getUnitOfWork().done(copyExchange);
+        assertEquals("we should have no temp file", 0, file.list().length);
+
+        cos.close();
+    }
+
+    @Test
+    public void testCacheStreamOffHeapSpoolWithCipher() throws Exception {
+        context.getStreamCachingStrategy().setSpoolChiper("RC4");
+        context.start();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        StreamCache cache = cos.newStreamCache();
+        assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+        assertEquals(TEST_STRING, IOConverter.toString((InputStream) cache, exchange));
+
+        exchange.getUnitOfWork().done(exchange);
+        cos.close();
+    }
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.util.StopWatch;
+import org.apache.camel.util.TimeUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class CompactUuidGeneratorTest extends Assert {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CompactUuidGeneratorTest.class);
+
+    @Test
+    public void testGenerateUUID() {
+        CompactUuidGenerator uuidGenerator = new CompactUuidGenerator();
+
+        String firstUUID = uuidGenerator.generateUuid();
+        String secondUUID = uuidGenerator.generateUuid();
+
+        assertNotEquals(firstUUID, secondUUID);
+        assertEquals(firstUUID.length(), secondUUID.length());
+        assertTrue(firstUUID.startsWith("ID-"));
+        assertTrue(firstUUID.compareTo(secondUUID) < 0);
+    }
+
+    @Test
+    public void testSortedAndFixedLength() {
+        CompactUuidGenerator uuidGenerator = new CompactUuidGenerator("foo");
+
+        String previous = uuidGenerator.generateUuid();
+        for (int i = 0; i < 3 * CompactUuidGenerator.BLOCK_SIZE; i++) {
+            String id = uuidGenerator.generateUuid();
+            assertEquals(previous.length(), id.length());
+            assertTrue(previous + " should be before " + id, previous.compareTo(id) < 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    public void testUniqueInstances() {
+        String first = new CompactUuidGenerator("foo").generateUuid();
+        String second = new CompactUuidGenerator("foo").generateUuid();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void testUniqueConcurrent() throws Exception {
+        CompactUuidGenerator uuidGenerator = new CompactUuidGenerator();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                Callable<List<String>> task = () -> {
+                    List<String> ids = new ArrayList<>();
+                    for (int j = 0; j < 5000; j++) {
+                        ids.add(uuidGenerator.generateUuid());
+                    }
+                    return ids;
+                };
+                futures.add(executor.submit(task));
+            }
+
+            Set<String> ids = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                ids.addAll(future.get());
+            }
+            assertEquals(8 * 5000, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPerformance() {
+        CompactUuidGenerator uuidGenerator = new CompactUuidGenerator();
+        StopWatch watch = new StopWatch();
+
+        LOG.info("First id: " + uuidGenerator.generateUuid());
+        for (int i = 0; i < 500000; i++) {
+            uuidGenerator.generateUuid();
+        }
+        LOG.info("Last id:  " + uuidGenerator.generateUuid());
+
+        LOG.info("Took " + TimeUtils.printDuration(watch.taken()));
+    }
+
+}
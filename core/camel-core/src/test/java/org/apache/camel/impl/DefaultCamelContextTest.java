@@ -87,7 +87,7 @@ public class DefaultCamelContextTest extends TestSupport {
         ctx.init();
         UuidGenerator uuidGenerator = ctx.getUuidGenerator();
         assertNotNull(uuidGenerator);
-        assertEquals(uuidGenerator.getClass(), DefaultUuidGenerator.class);
+        assertEquals(uuidGenerator.getClass(), CompactUuidGenerator.class);
     }
 
     @Test
@@ -18,9 +18,15 @@ package org.apache.camel.impl;
 
 import java.io.IOException;
 import java.net.ConnectException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.ExchangeTestSupport;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
@@ -28,6 +34,7 @@ import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.TypeConversionException;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultMessage;
+import org.apache.camel.util.CopyOnWriteMap;
 import org.junit.Test;
 
 public class DefaultExchangeTest extends ExchangeTestSupport {
@@ -247,6 +254,234 @@ public class DefaultExchangeTest extends ExchangeTestSupport {
                      sourceIn.getClass(), destIn.getClass());
     }
 
+    @Test
+    public void testCopyIsolatesHeadersAndProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.getIn().setHeader("foo", "123");
+        sourceExchange.getIn().setHeader("bar", "456");
+        sourceExchange.setProperty("beer", "Carlsberg");
+
+        Exchange copy = sourceExchange.copy();
+        Exchange copyOfCopy = copy.copy();
+        assertEquals("123", copy.getIn().getHeader("FOO"));
+        assertEquals("Carlsberg", copy.getProperty("beer"));
+
+        copy.getIn().setHeader("foo", "changed");
+        copy.getIn().removeHeader("bar");
+        copy.setProperty("beer", "Tuborg");
+        sourceExchange.getIn().setHeader("baz", "789");
+        sourceExchange.removeProperty("beer");
+
+        assertEquals("changed", copy.getIn().getHeader("foo"));
+        assertNull(copy.getIn().getHeader("bar"));
+        assertNull(copy.getIn().getHeader("baz"));
+        assertEquals(1, copy.getIn().getHeaders().size());
+        assertEquals("Tuborg", copy.getProperty("beer"));
+
+        assertEquals("123", sourceExchange.getIn().getHeader("foo"));
+        assertEquals("456", sourceExchange.getIn().getHeader("bar"));
+        assertEquals("789", sourceExchange.getIn().getHeader("baz"));
+        assertEquals(3, sourceExchange.getIn().getHeaders().size());
+        assertNull(sourceExchange.getProperty("beer"));
+
+        assertEquals("123", copyOfCopy.getIn().getHeader("foo"));
+        assertEquals("456", copyOfCopy.getIn().getHeader("bar"));
+        assertEquals(2, copyOfCopy.getIn().getHeaders().size());
+        assertEquals("Carlsberg", copyOfCopy.getProperty("beer"));
+    }
+
+    @Test
+    public void testCopyDoesNotChangeSource() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.getIn().setHeader("foo", "123");
+        sourceExchange.setProperty("beer", "Carlsberg");
+        Map<String, Object> headers = sourceExchange.getIn().getHeaders();
+
+        Exchange copy = sourceExchange.copy();
+        Exchange copyOfCopy = copy.copy();
+
+        // only the copies share their headers copy-on-write
+        assertSame(headers, sourceExchange.getIn().getHeaders());
+        assertFalse(headers instanceof CopyOnWriteMap);
+        assertTrue(copy.getIn().getHeaders() instanceof CopyOnWriteMap);
+        assertTrue(copyOfCopy.getIn().getHeaders() instanceof CopyOnWriteMap);
+
+        headers.put("bar", "456");
+        sourceExchange.setProperty("wine", "Merlot");
+        assertNull(copy.getIn().getHeader("bar"));
+        assertNull(copyOfCopy.getIn().getHeader("bar"));
+        assertNull(copy.getProperty("wine"));
+        assertEquals("123", copyOfCopy.getIn().getHeader("foo"));
+        assertEquals("Carlsberg", copyOfCopy.getProperty("beer"));
+    }
+
+    @Test
+    public void testWellKnownProperty() {
+        DefaultExchange exchange = new DefaultExchange(context);
+        exchange.setProperty(Exchange.SPLIT_INDEX, 2);
+        exchange.setProperty(ExchangePropertyKey.SPLIT_SIZE, 5);
+        exchange.setProperty("beer", "Carlsberg");
+
+        assertEquals(2, exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertEquals(5, exchange.getProperty(Exchange.SPLIT_SIZE));
+        assertEquals("5", exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE, String.class));
+        assertEquals(Boolean.FALSE, exchange.getProperty(ExchangePropertyKey.SPLIT_COMPLETE, false, Boolean.class));
+
+        Map<String, Object> properties = exchange.getProperties();
+        assertEquals(3, properties.size());
+        assertEquals(2, properties.get(Exchange.SPLIT_INDEX));
+        assertEquals("Carlsberg", properties.get("beer"));
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put(Exchange.SPLIT_INDEX, 2);
+        expected.put(Exchange.SPLIT_SIZE, 5);
+        expected.put("beer", "Carlsberg");
+        assertEquals(expected, new HashMap<>(properties));
+
+        properties.put(Exchange.SPLIT_INDEX, 3);
+        assertEquals(3, exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertEquals(5, exchange.removeProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertNull(exchange.getProperty(Exchange.SPLIT_SIZE));
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, null);
+        assertFalse(properties.containsKey(Exchange.SPLIT_INDEX));
+        assertEquals(1, properties.size());
+
+        properties.clear();
+        assertFalse(exchange.hasProperties());
+    }
+
+    @Test
+    public void testWellKnownPropertyIterator() {
+        DefaultExchange exchange = new DefaultExchange(context);
+        exchange.setProperty(Exchange.SPLIT_INDEX, 2);
+        exchange.setProperty(Exchange.SPLIT_SIZE, 5);
+        exchange.setProperty("beer", "Carlsberg");
+        exchange.setProperty("wine", "Merlot");
+
+        Iterator<Map.Entry<String, Object>> it = exchange.getProperties().entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (Exchange.SPLIT_INDEX.equals(entry.getKey()) || "wine".equals(entry.getKey())) {
+                it.remove();
+            } else if (Exchange.SPLIT_SIZE.equals(entry.getKey())) {
+                entry.setValue(6);
+            }
+        }
+
+        assertEquals(2, exchange.getProperties().size());
+        assertNull(exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertEquals(6, exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals("Carlsberg", exchange.getProperty("beer"));
+        assertNull(exchange.getProperty("wine"));
+
+        assertTrue(exchange.removeProperties("Camel*"));
+        assertNull(exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals(1, exchange.getProperties().size());
+    }
+
+    @Test
+    public void testCopyIsolatesWellKnownProperties() {
+        DefaultExchange sourceExchange = new DefaultExchange(context);
+        sourceExchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, 1);
+        sourceExchange.setProperty(ExchangePropertyKey.MESSAGE_HISTORY, new LinkedList<>());
+
+        Exchange copy = sourceExchange.copy();
+        copy.setProperty(ExchangePropertyKey.SPLIT_INDEX, 2);
+        copy.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class).add("history");
+
+        assertEquals(2, copy.getProperty(Exchange.SPLIT_INDEX));
+        assertEquals(1, sourceExchange.getProperty(Exchange.SPLIT_INDEX));
+        assertEquals(1, copy.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class).size());
+        assertEquals(0, sourceExchange.getProperty(ExchangePropertyKey.MESSAGE_HISTORY, List.class).size());
+    }
+
+    @Test
+    public void testWellKnownPropertyIterationWhileChanging() {
+        DefaultExchange exchange = new DefaultExchange(context);
+        exchange.setProperty(Exchange.SPLIT_INDEX, 2);
+        exchange.setProperty(Exchange.SPLIT_SIZE, 5);
+        exchange.setProperty("beer", "Carlsberg");
+
+        // the properties can be changed while iterating, the same as a concurrent map
+        Map<String, Object> properties = exchange.getProperties();
+        int count = 0;
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            assertNotNull(entry.getValue());
+            exchange.setProperty(ExchangePropertyKey.SPLIT_COMPLETE, true);
+            exchange.removeProperty(ExchangePropertyKey.SPLIT_SIZE);
+            properties.put("wine", "Merlot");
+            count++;
+        }
+        assertTrue(count >= 2);
+
+        assertEquals(4, properties.size());
+        assertEquals(2, exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertNull(exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals(Boolean.TRUE, exchange.getProperty(Exchange.SPLIT_COMPLETE));
+        assertEquals("Merlot", exchange.getProperty("wine"));
+    }
+
+    @Test
+    public void testWellKnownPropertyNotSet() {
+        DefaultExchange exchange = new DefaultExchange(context);
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, null);
+        assertNull(exchange.removeProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertFalse(exchange.hasProperties());
+        assertTrue(exchange.getProperties().isEmpty());
+        assertFalse(exchange.getProperties().entrySet().iterator().hasNext());
+        assertFalse(exchange.copy().hasProperties());
+    }
+
+    @Test
+    public void testWellKnownPropertiesSetConcurrently() throws Exception {
+        DefaultExchange exchange = new DefaultExchange(context);
+
+        // set and remove the same property from several threads
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, j);
+                    exchange.removeProperty(ExchangePropertyKey.SPLIT_INDEX);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        exchange.removeProperty(ExchangePropertyKey.SPLIT_INDEX);
+        assertFalse(exchange.hasProperties());
+        exchange.setProperty(ExchangePropertyKey.SPLIT_SIZE, 5);
+        assertTrue(exchange.hasProperties());
+        assertEquals(1, exchange.getProperties().size());
+        assertEquals(5, exchange.copy().getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals(5, exchange.removeProperty(Exchange.SPLIT_SIZE));
+        assertFalse(exchange.hasProperties());
+    }
+
+    @Test
+    public void testSetPropertiesSharesMap() {
+        DefaultExchange exchange = new DefaultExchange(context);
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, 1);
+
+        DefaultExchange other = new DefaultExchange(context);
+        other.setProperties(exchange.getProperties());
+        other.setProperty(ExchangePropertyKey.SPLIT_SIZE, 3);
+        other.setProperty("beer", "Carlsberg");
+
+        assertEquals(1, other.getProperty(ExchangePropertyKey.SPLIT_INDEX));
+        assertEquals(3, exchange.getProperty(ExchangePropertyKey.SPLIT_SIZE));
+        assertEquals("Carlsberg", exchange.getProperty("beer"));
+
+        Map<String, Object> map = new HashMap<>();
+        exchange.setProperties(map);
+        exchange.setProperty(ExchangePropertyKey.SPLIT_INDEX, 2);
+        assertEquals(2, map.get(Exchange.SPLIT_INDEX));
+        assertNull(exchange.getProperty("beer"));
+    }
+
     @Test
     public void testFaultSafeCopy() {
         testFaultCopy();
@@ -16,13 +16,17 @@
  */
 package org.apache.camel.impl;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
 import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
 import org.junit.Ignore;
@@ -379,6 +383,52 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertTrue(tp.isShutdown());
     }
 
+    @Test
+    public void testNewVirtualThreadPoolProfile() throws Exception {
+        ThreadPoolProfile foo = new ThreadPoolProfile("foo");
+        foo.setVirtualThreads(true);
+        foo.setRejectedPolicy(ThreadPoolRejectedPolicy.Abort);
+
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", foo);
+        assertNotNull(pool);
+
+        ThreadPoolExecutor tp = assertIsInstanceOf(ThreadPoolExecutor.class, pool);
+        if (CamelThreadFactory.isVirtualThreadsSupported()) {
+            // a thread per task so the pool sizes are not used
+            assertEquals(0, tp.getCorePoolSize());
+            assertEquals(Integer.MAX_VALUE, tp.getMaximumPoolSize());
+            assertEquals(0, tp.getKeepAliveTime(TimeUnit.SECONDS));
+        } else {
+            // the pool sizes of the default profile
+            assertEquals(10, tp.getCorePoolSize());
+            assertEquals(20, tp.getMaximumPoolSize());
+            assertEquals(60, tp.getKeepAliveTime(TimeUnit.SECONDS));
+        }
+
+        final CountDownLatch latch = new CountDownLatch(50);
+        final Set<String> names = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 50; i++) {
+            tp.execute(() -> {
+                names.add(Thread.currentThread().getName());
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (String name : names) {
+            assertTrue(name, name.endsWith("Cool"));
+        }
+
+        context.stop();
+
+        assertTrue(tp.isShutdown());
+        try {
+            tp.execute(() -> { });
+            fail("Should have been rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
     @Test
     public void testNewThreadPoolMinMax() throws Exception {
         ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", 5, 10);
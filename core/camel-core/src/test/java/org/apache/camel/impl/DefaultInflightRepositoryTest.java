@@ -16,6 +16,9 @@
  */
 package org.apache.camel.impl;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.CamelContext;
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.InflightRepository;
@@ -44,4 +47,127 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         repo.remove(e1);
         assertEquals(0, repo.size());
     }
+
+    @Test
+    public void testCounterOnlyInflightRepository() throws Exception {
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(false);
+        repo.addRoute("foo");
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1, "foo");
+        Exchange e2 = new DefaultExchange(context);
+        repo.add(e2);
+        repo.add(e2, "foo");
+        assertEquals(2, repo.size());
+        assertEquals(2, repo.size("foo"));
+        assertEquals(0, repo.browse().size());
+
+        repo.remove(e2, "foo");
+        repo.remove(e2);
+        assertEquals(1, repo.size());
+        assertEquals(1, repo.size("foo"));
+
+        repo.remove(e1, "foo");
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.size("foo"));
+    }
+
+    @Test
+    public void testCounterOnlyInflightRepositoryCountsDuplicateAdd() throws Exception {
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(false);
+
+        // only counting, so adding the same exchange twice counts it twice
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1);
+        assertEquals(2, repo.size());
+
+        repo.remove(e1);
+        assertEquals(1, repo.size());
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+    }
+
+    @Test
+    public void testTrackingInflightRepositoryIgnoresDuplicateAdd() throws Exception {
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        repo.add(e1);
+        assertEquals(1, repo.size());
+
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+    }
+
+    @Test
+    public void testSampledInflightRepository() throws Exception {
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+        repo.setBrowseSampleRate(0.5d);
+
+        Exchange[] exchanges = new Exchange[1000];
+        for (int i = 0; i < exchanges.length; i++) {
+            exchanges[i] = new DefaultExchange(context);
+            repo.add(exchanges[i]);
+        }
+
+        // the size is accurate, but only some are tracked for browsing
+        assertEquals(1000, repo.size());
+        int browsed = repo.browse().size();
+        assertTrue("Should sample some exchanges, was " + browsed, browsed > 0 && browsed < 1000);
+
+        for (Exchange exchange : exchanges) {
+            repo.remove(exchange);
+        }
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+    }
+
+    @Test
+    public void testInflightRepositoryDoesNotCreateExchangeId() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        context.setUuidGenerator(() -> "ID-" + counter.incrementAndGet());
+        DefaultInflightRepository repo = new DefaultInflightRepository();
+
+        Exchange e1 = new DefaultExchange(context);
+        repo.add(e1);
+        assertEquals(1, repo.browse().size());
+        assertEquals(0, counter.get());
+
+        // the exchange id can be changed while the exchange is inflight
+        e1.setExchangeId("changed");
+        repo.remove(e1);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+        assertEquals(0, counter.get());
+    }
+
+    @Test
+    public void testInflightRepositoryBrowseOptionsFromCamelContext() throws Exception {
+        CamelContext camel = new DefaultCamelContext();
+        camel.setInflightRepositoryBrowseEnabled(false);
+        camel.start();
+        try {
+            assertFalse(camel.getInflightRepository().isInflightBrowseEnabled());
+        } finally {
+            camel.stop();
+        }
+
+        camel = new DefaultCamelContext();
+        camel.setInflightRepositoryBrowseSampleRate(0.25d);
+        camel.start();
+        try {
+            DefaultInflightRepository repo = (DefaultInflightRepository) camel.getInflightRepository();
+            assertTrue(repo.isInflightBrowseEnabled());
+            assertEquals(0.25d, repo.getBrowseSampleRate(), 0.0d);
+        } finally {
+            camel.stop();
+        }
+    }
+
 }
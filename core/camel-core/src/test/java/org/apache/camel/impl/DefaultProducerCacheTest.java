@@ -16,6 +16,8 @@
  */
 package org.apache.camel.impl;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -143,6 +145,139 @@ public class DefaultProducerCacheTest extends ContextTestSupport {
         cache.stop();
     }
 
+    @Test
+    public void testCacheStatistics() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 5);
+        cache.start();
+
+        for (int i = 0; i < 7; i++) {
+            Endpoint e = newEndpoint(true, i);
+            e.setCamelContext(context);
+            AsyncProducer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+        assertEquals(0, cache.getHits());
+        assertEquals(7, cache.getMisses());
+        assertEquals(2, cache.getEvicted());
+        assertEquals(2, stopCounter.get());
+
+        // the most recently used is still cached
+        Endpoint e = newEndpoint(true, 6);
+        AsyncProducer p = cache.acquireProducer(e);
+        cache.releaseProducer(e, p);
+        assertEquals(1, cache.getHits());
+        assertEquals(7, cache.getMisses());
+        assertTrue(cache.getAcquireMeanTime() > 0);
+        assertTrue(cache.getAcquireMaxTime() >= cache.getAcquireMeanTime());
+
+        cache.resetCacheStatistics();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.getEvicted());
+        assertEquals(0, cache.getAcquireMaxTime());
+
+        cache.stop();
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 3);
+        cache.start();
+
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Endpoint e = newEndpoint(true, i);
+            e.setCamelContext(context);
+            endpoints.add(e);
+        }
+        for (int i = 0; i < 3; i++) {
+            cache.releaseProducer(endpoints.get(i), cache.acquireProducer(endpoints.get(i)));
+        }
+        // use the oldest so the next oldest is evicted instead
+        cache.releaseProducer(endpoints.get(0), cache.acquireProducer(endpoints.get(0)));
+        cache.releaseProducer(endpoints.get(3), cache.acquireProducer(endpoints.get(3)));
+        assertEquals(1, cache.getEvicted());
+        assertEquals(3, cache.size());
+
+        cache.resetCacheStatistics();
+        cache.releaseProducer(endpoints.get(0), cache.acquireProducer(endpoints.get(0)));
+        assertEquals(1, cache.getHits());
+        cache.releaseProducer(endpoints.get(1), cache.acquireProducer(endpoints.get(1)));
+        assertEquals(1, cache.getMisses());
+
+        cache.stop();
+    }
+
+    @Test
+    public void testCacheNonSingleton() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 5);
+        cache.start();
+
+        Endpoint e = newEndpoint(false, 1);
+        AsyncProducer p1 = cache.acquireProducer(e);
+        AsyncProducer p2 = cache.acquireProducer(e);
+        assertNotSame(p1, p2);
+        cache.releaseProducer(e, p1);
+        cache.releaseProducer(e, p2);
+        assertEquals("Size should be 2", 2, cache.size());
+        assertEquals(2, cache.getMisses());
+
+        AsyncProducer p3 = cache.acquireProducer(e);
+        assertTrue(p3 == p1 || p3 == p2);
+        assertEquals(1, cache.getHits());
+        assertEquals("Size should be 1", 1, cache.size());
+        cache.releaseProducer(e, p3);
+
+        cache.stop();
+        assertEquals(2, stopCounter.get());
+    }
+
+    @Test
+    public void testCacheNonSingletonCapacity() throws Exception {
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 3);
+        cache.start();
+
+        for (int i = 0; i < 4; i++) {
+            Endpoint e = newEndpoint(false, i);
+            AsyncProducer p1 = cache.acquireProducer(e);
+            AsyncProducer p2 = cache.acquireProducer(e);
+            cache.releaseProducer(e, p1);
+            cache.releaseProducer(e, p2);
+        }
+
+        // the capacity is for all the endpoints
+        assertEquals("Size should be 3", 3, cache.size());
+        assertEquals(5, cache.getEvicted());
+        assertEquals(5, stopCounter.get());
+
+        cache.stop();
+        assertEquals(8, stopCounter.get());
+    }
+
+    @Test
+    public void testCacheIdleTimeout() throws Exception {
+        context.getGlobalOptions().put(Exchange.CACHE_POOL_IDLE_TIMEOUT, "100");
+        DefaultProducerCache cache = new DefaultProducerCache(this, context, 5);
+        cache.start();
+
+        for (int i = 0; i < 3; i++) {
+            Endpoint e = newEndpoint(true, i);
+            e.setCamelContext(context);
+            AsyncProducer p = cache.acquireProducer(e);
+            cache.releaseProducer(e, p);
+        }
+        assertEquals("Size should be 3", 3, cache.size());
+
+        Thread.sleep(200);
+        cache.cleanUp();
+
+        assertEquals("Size should be 0", 0, cache.size());
+        assertEquals(3, cache.getEvicted());
+        assertEquals(3, stopCounter.get());
+
+        cache.stop();
+    }
+
     @Override
     public void setUp() throws Exception {
         super.setUp();
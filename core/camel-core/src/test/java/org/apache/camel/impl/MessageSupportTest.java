@@ -17,6 +17,7 @@
 package org.apache.camel.impl;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.Exchange;
@@ -104,4 +105,58 @@ public class MessageSupportTest extends ContextTestSupport {
         assertSame(exchange, three.getExchange());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCopyCreatesMessageIdLazily() {
+        AtomicInteger counter = new AtomicInteger();
+        context.setUuidGenerator(() -> "ID-" + counter.incrementAndGet());
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+
+        Exchange copy = exchange.copy();
+        Exchange copyOfCopy = copy.copy();
+        assertEquals(0, counter.get());
+
+        // the copies share the same id as the original message
+        assertEquals("ID-1", copyOfCopy.getIn().getMessageId());
+        assertEquals("ID-1", exchange.getIn().getMessageId());
+        assertEquals("ID-1", copy.getIn().getMessageId());
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testCopyCreatesCustomMessageIdEagerly() {
+        AtomicInteger counter = new AtomicInteger();
+        Exchange exchange = new DefaultExchange(context);
+        exchange.setIn(new DefaultMessage(context) {
+            @Override
+            protected String createMessageId() {
+                return "custom-" + counter.incrementAndGet();
+            }
+
+            @Override
+            protected boolean isMessageIdShareable() {
+                return false;
+            }
+        });
+
+        // the id is created from the message itself, so its created when copied
+        Exchange copy = exchange.copy();
+        assertEquals(1, counter.get());
+        assertEquals("custom-1", copy.getIn().getMessageId());
+        assertEquals("custom-1", exchange.getIn().getMessageId());
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void testCopyKeepsMessageId() {
+        Exchange exchange = new DefaultExchange(context);
+        String id = exchange.getIn().getMessageId();
+
+        Exchange copy = exchange.copy();
+        exchange.getIn().setMessageId("changed");
+
+        assertEquals(id, copy.getIn().getMessageId());
+        assertEquals("changed", exchange.getIn().getMessageId());
+    }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.NoSuchEndpointException;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class RouteStartupParallelismFailureTest extends ContextTestSupport {
+
+    private static final int ROUTES = 20;
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testFailedToCreateRouteInParallel() throws Exception {
+        // the first route in definition order which fails is reported, regardless of which thread fails first
+        for (int i = 0; i < 10; i++) {
+            CamelContext camel = createCamelContext();
+            camel.setRouteStartupParallelism(4);
+            camel.addRoutes(createFailingRouteBuilder());
+            try {
+                camel.start();
+                fail("Should throw exception");
+            } catch (FailedToCreateRouteException e) {
+                assertEquals("bad1", e.getRouteId());
+                NoSuchEndpointException nse = assertIsInstanceOf(NoSuchEndpointException.class, e.getCause());
+                assertEquals("bad1DoesNotExist", nse.getUri());
+                assertFalse(camel.getStatus().isStarted());
+            } finally {
+                camel.stop();
+            }
+        }
+    }
+
+    @Test
+    public void testFailedToCreateRouteSameAsNotInParallel() throws Exception {
+        context.addRoutes(createFailingRouteBuilder());
+        try {
+            context.start();
+            fail("Should throw exception");
+        } catch (FailedToCreateRouteException e) {
+            assertEquals("bad1", e.getRouteId());
+            NoSuchEndpointException nse = assertIsInstanceOf(NoSuchEndpointException.class, e.getCause());
+            assertEquals("bad1DoesNotExist", nse.getUri());
+        }
+    }
+
+    private RouteBuilder createFailingRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                for (int i = 0; i < ROUTES; i++) {
+                    from("direct:route" + i).routeId("route" + i).to("log:route" + i);
+                    if (i == 5) {
+                        from("direct:bad1").routeId("bad1").to("bad1DoesNotExist");
+                    }
+                }
+                // fails without having to create the routes before it
+                from("direct:bad2").routeId("bad2").to("bad2DoesNotExist");
+            }
+        };
+    }
+}
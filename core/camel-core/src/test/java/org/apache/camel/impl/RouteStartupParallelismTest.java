@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.spi.RouteStartupOrder;
+import org.junit.Test;
+
+public class RouteStartupParallelismTest extends ContextTestSupport {
+
+    private static final int ROUTES = 50;
+    private static final int SHARING_ROUTES = 20;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setRouteStartupParallelism(4);
+        return context;
+    }
+
+    @Test
+    public void testRoutesCreatedInParallel() throws Exception {
+        assertEquals(ROUTES + 2 + SHARING_ROUTES + 1, context.getRoutes().size());
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRouteStartupOrder() throws Exception {
+        List<RouteStartupOrder> order = context.getRouteStartupOrder();
+        assertEquals(ROUTES + 2 + SHARING_ROUTES + 1, order.size());
+        assertEquals("last", order.get(0).getRoute().getId());
+        assertEquals("start", order.get(1).getRoute().getId());
+        // the other routes are started in the order they are defined
+        for (int i = 0; i < ROUTES; i++) {
+            assertEquals("route" + i, order.get(i + 2).getRoute().getId());
+        }
+        // including the routes sharing definitions which are created one by one
+        for (int i = 0; i < SHARING_ROUTES; i++) {
+            assertEquals("sharing" + i, order.get(i + ROUTES + 2).getRoute().getId());
+        }
+        assertEquals("fail", order.get(ROUTES + SHARING_ROUTES + 2).getRoute().getId());
+    }
+
+    @Test
+    public void testContextScopedDefinitions() throws Exception {
+        // the onException, intercept and interceptFrom definitions are shared by all the routes of the route builder
+        getMockEndpoint("mock:error").expectedBodiesReceived("Bye World");
+        getMockEndpoint("mock:interceptFrom").expectedMessageCount(SHARING_ROUTES + 1);
+        getMockEndpoint("mock:intercept").expectedMinimumMessageCount(SHARING_ROUTES);
+        MockEndpoint mock = getMockEndpoint("mock:sharing");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:sharing0", "Hello World");
+        template.sendBody("direct:fail", "Bye World");
+        assertMockEndpointsSatisfied();
+
+        // the routes which are not created by the route builder are not intercepted
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+        assertEquals(SHARING_ROUTES + 1, getMockEndpoint("mock:interceptFrom").getReceivedCounter());
+    }
+
+    @Test
+    public void testRouteStartupTimings() throws Exception {
+        assertTrue(context.getRouteStartupTimings().containsKey("createRoutes"));
+        assertTrue(context.getRouteStartupTimings().containsKey("warmUpRoutes"));
+        assertTrue(context.getRouteStartupTimings().containsKey("startConsumers"));
+    }
+
+    @Override
+    protected RouteBuilder[] createRouteBuilders() throws Exception {
+        return new RouteBuilder[] {createRouteBuilder(), createSharingRouteBuilder()};
+    }
+
+    private RouteBuilder createSharingRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(IllegalArgumentException.class).handled(true).to("mock:error");
+                intercept().to("mock:intercept");
+                interceptFrom().to("mock:interceptFrom");
+
+                for (int i = 0; i < SHARING_ROUTES; i++) {
+                    String next = i < SHARING_ROUTES - 1 ? "direct:sharing" + (i + 1) : "mock:sharing";
+                    from("direct:sharing" + i).routeId("sharing" + i).to(next);
+                }
+
+                from("direct:fail").routeId("fail").throwException(new IllegalArgumentException("Forced"));
+            }
+        };
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start").startupOrder(2).to("direct:route0");
+
+                for (int i = 0; i < ROUTES; i++) {
+                    String next = i < ROUTES - 1 ? "direct:route" + (i + 1) : "direct:last";
+                    from("direct:route" + i).routeId("route" + i).to("log:route" + i).to(next);
+                }
+
+                from("direct:last").routeId("last").startupOrder(1).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.Test;
+
+public class TypeConverterRegistryLookupCacheTest extends ContextTestSupport {
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testLookupMissIsCached() throws Exception {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.getStatistics().setStatisticsEnabled(true);
+        reg.getStatistics().reset();
+
+        assertNull(context.getTypeConverter().tryConvertTo(MyOrder.class, "123"));
+        assertEquals(0, reg.getStatistics().getLookupHitCounter());
+        assertEquals(1, reg.getStatistics().getLookupMissCounter());
+        assertEquals(0, reg.getStatistics().getLookupMissResolvedCounter());
+
+        // the miss should now be known
+        assertNull(context.getTypeConverter().tryConvertTo(MyOrder.class, "123"));
+        assertEquals(1, reg.getStatistics().getLookupHitCounter());
+        assertEquals(1, reg.getStatistics().getLookupMissCounter());
+
+        // add missing type converter which should be used
+        reg.addTypeConverter(MyOrder.class, String.class, new MyOrderTypeConverter());
+        MyOrder order = context.getTypeConverter().tryConvertTo(MyOrder.class, "123");
+        assertNotNull(order);
+        assertEquals(123, order.getId());
+    }
+
+    @Test
+    public void testLookupMissResolved() throws Exception {
+        TypeConverterRegistry reg = context.getTypeConverterRegistry();
+        reg.getStatistics().setStatisticsEnabled(true);
+        reg.getStatistics().reset();
+
+        // there is only a type converter from the super type
+        assertEquals("Hello", context.getTypeConverter().convertTo(String.class, new MyInputStream("Hello")));
+        assertEquals(1, reg.getStatistics().getLookupMissCounter());
+        assertEquals(1, reg.getStatistics().getLookupMissResolvedCounter());
+
+        assertEquals("World", context.getTypeConverter().convertTo(String.class, new MyInputStream("World")));
+        assertEquals(1, reg.getStatistics().getLookupHitCounter());
+        assertEquals(1, reg.getStatistics().getLookupMissCounter());
+    }
+
+    @Test
+    public void testFastPath() throws Exception {
+        assertEquals(Integer.valueOf(123), context.getTypeConverter().convertTo(Integer.class, "123"));
+        assertEquals(Long.valueOf(123), context.getTypeConverter().convertTo(long.class, "123"));
+        assertEquals(Boolean.TRUE, context.getTypeConverter().convertTo(Boolean.class, "true"));
+        assertEquals("123", context.getTypeConverter().convertTo(String.class, 123));
+        assertEquals("Hello", context.getTypeConverter().convertTo(String.class, "Hello".getBytes()));
+        assertNull(context.getTypeConverter().tryConvertTo(Integer.class, "foo"));
+        try {
+            context.getTypeConverter().mandatoryConvertTo(Integer.class, "foo");
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCustomTypeConverterDisablesFastPath() throws Exception {
+        context.getTypeConverterRegistry().addTypeConverter(Integer.class, String.class, new TypeConverterSupport() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                return (T) Integer.valueOf(42);
+            }
+        });
+
+        assertEquals(Integer.valueOf(42), context.getTypeConverter().convertTo(Integer.class, "123"));
+        assertEquals(Integer.valueOf(42), context.getTypeConverter().convertTo(int.class, "123"));
+
+        // only the fast path for the type converter is disabled
+        BaseTypeConverterRegistry reg = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+        assertFalse(reg.isFastPathEnabled(Integer.class, String.class));
+        assertFalse(reg.isFastPathEnabled(int.class, String.class));
+        assertTrue(reg.isFastPathEnabled(Long.class, String.class));
+        assertEquals(Long.valueOf(123), context.getTypeConverter().convertTo(Long.class, "123"));
+    }
+
+    @Test
+    public void testFailedPrimitiveConversionKeepsFastPath() throws Exception {
+        BaseTypeConverterRegistry reg = (BaseTypeConverterRegistry) context.getTypeConverterRegistry();
+
+        assertNull(context.getTypeConverter().tryConvertTo(int.class, "abc"));
+        assertNull(context.getTypeConverter().tryConvertTo(Integer.class, "abc"));
+
+        // the type converters registered while converting are not custom type converters
+        assertTrue(reg.isFastPathEnabled(int.class, String.class));
+        assertTrue(reg.isFastPathEnabled(Integer.class, String.class));
+        assertEquals(Integer.valueOf(123), context.getTypeConverter().convertTo(int.class, "123"));
+    }
+
+    private static class MyInputStream extends ByteArrayInputStream {
+
+        MyInputStream(String text) {
+            super(text.getBytes());
+        }
+    }
+
+    private static class MyOrder {
+        private int id;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+    }
+
+    private static class MyOrderTypeConverter extends TypeConverterSupport {
+
+        @SuppressWarnings("unchecked")
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            MyOrder order = new MyOrder();
+            order.setId(Integer.parseInt(value.toString()));
+            return (T) order;
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.camel.Converter;
+import org.apache.camel.TypeConverterLoaderException;
+import org.apache.camel.impl.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterLoader;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.SimpleTypeConverter;
+import org.apache.camel.util.ReflectionInjector;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GeneratedTypeConverterLoaderTest extends Assert {
+
+    private DefaultTypeConverter registry;
+
+    @Before
+    public void setUp() throws Exception {
+        registry = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(), null, false);
+    }
+
+    @Test
+    public void testLoadUsingGeneratedLoader() throws Exception {
+        load(new String[]{MyConverter.class.getName()}, MyConverter.class, MyConverterLoader.class);
+
+        assertTrue(registry.lookup(Country.class, String.class) instanceof SimpleTypeConverter);
+        assertEquals("MyConverterLoader", convert("en"));
+    }
+
+    @Test
+    public void testLoadUsingReflectionWhenGeneratedLoaderFails() throws Exception {
+        load(new String[]{MyConverter.class.getName()}, MyConverter.class, MyFailingConverterLoader.class);
+
+        // the converter added before the loader failed must not be registered
+        assertFalse(registry.lookup(Country.class, String.class) instanceof SimpleTypeConverter);
+        assertEquals("MyConverter", convert("en"));
+        assertNull(registry.lookup(Country.class, Integer.class));
+    }
+
+    @Test
+    public void testDuplicateConverterLoadedLastWins() throws Exception {
+        load(new String[]{MyConverter.class.getName(), MyOtherConverter.class.getName()}, MyConverter.class, MyConverterLoader.class);
+        assertEquals("MyOtherConverter", convert("en"));
+
+        registry = new DefaultTypeConverter(new DefaultPackageScanClassResolver(), new ReflectionInjector(), null, false);
+        load(new String[]{MyOtherConverter.class.getName(), MyConverter.class.getName()}, MyConverter.class, MyConverterLoader.class);
+        assertEquals("MyConverterLoader", convert("en"));
+    }
+
+    private void load(String[] packageNames, Class<?> converter, Class<?> loader) throws TypeConverterLoaderException {
+        new AnnotationTypeConverterLoader(new DefaultPackageScanClassResolver()) {
+            @Override
+            protected String[] findPackageNames() {
+                return packageNames;
+            }
+
+            @Override
+            protected Map<String, String> findTypeConverterLoaderNames() {
+                Map<String, String> answer = new HashMap<>();
+                answer.put(converter.getName(), loader.getName());
+                return answer;
+            }
+        }.load(registry);
+    }
+
+    private String convert(String iso) {
+        return registry.lookup(Country.class, String.class).convertTo(Country.class, iso).getName();
+    }
+
+    private static Country newCountry(String iso, String name) {
+        Country country = new Country();
+        country.setIso(iso);
+        country.setName(name);
+        return country;
+    }
+
+    @Converter
+    public static final class MyConverter {
+
+        @Converter
+        public static Country toCountry(String iso) {
+            return newCountry(iso, "MyConverter");
+        }
+    }
+
+    @Converter
+    public static final class MyOtherConverter {
+
+        @Converter
+        public static Country toCountry(String iso) {
+            return newCountry(iso, "MyOtherConverter");
+        }
+    }
+
+    public static final class MyConverterLoader implements TypeConverterLoader {
+
+        @Override
+        public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+            registry.addTypeConverter(Country.class, String.class,
+                new SimpleTypeConverter(false, (type, exchange, value) -> newCountry((String) value, "MyConverterLoader")));
+        }
+    }
+
+    public static final class MyFailingConverterLoader implements TypeConverterLoader {
+
+        @Override
+        public void load(TypeConverterRegistry registry) throws TypeConverterLoaderException {
+            registry.addTypeConverter(Country.class, String.class,
+                new SimpleTypeConverter(false, (type, exchange, value) -> newCountry((String) value, "MyFailingConverterLoader")));
+            // such as when a converter depends on a class which is not on the classpath
+            throw new NoClassDefFoundError("org/apache/camel/Unknown");
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.junit.Test;
+
+/**
+ * Runs the operator tests with the compiled simple language.
+ */
+public class SimpleCompiledOperatorTest extends SimpleOperatorTest {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILED, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isCompiled());
+    }
+
+    @Test
+    public void testCompiledTemplate() throws Exception {
+        exchange.getIn().setBody("World");
+        exchange.getIn().setHeader("greeting", "Hello");
+        assertExpression("${header.greeting} ${body}", "Hello World");
+        assertExpression("${in.header[greeting]} ${in.body}!", "Hello World!");
+        assertExpression("${header.unknown}", null);
+    }
+
+    @Test
+    public void testCompiledNumericConstant() throws Exception {
+        exchange.getIn().setHeader("num", 123);
+        exchange.getIn().setHeader("big", 123456789012L);
+        assertPredicate("${header.num} == 123", true);
+        assertPredicate("${header.num} == '123'", true);
+        assertPredicate("${header.num} != 123", false);
+        assertPredicate("${header.num} > 122 && ${header.num} < 124", true);
+        assertPredicate("${header.big} >= 123456789012", true);
+        assertPredicate("${header.num} range '100..200'", true);
+        assertPredicate("${header.num} not range '100..200'", false);
+        assertPredicate("${header.num} in '1,123,5'", true);
+        assertPredicate("${header.num} not in '1,123,5'", false);
+    }
+
+    @Test
+    public void testCompiledInWithValueNotConvertible() throws Exception {
+        exchange.getIn().setHeader("num", 123);
+        assertPredicate("${header.num} in 'foo,123'", true);
+        assertPredicate("${header.num} in 'foo,bar'", false);
+        assertPredicate("${header.num} not in 'foo,bar'", true);
+    }
+
+}
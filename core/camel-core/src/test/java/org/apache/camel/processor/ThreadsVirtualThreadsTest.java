@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.junit.Test;
+
+public class ThreadsVirtualThreadsTest extends ContextTestSupport {
+
+    @Test
+    public void testThreadsVirtualThreads() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(100);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        String name = getMockEndpoint("mock:result").getReceivedExchanges().get(0).getIn().getHeader("threadName", String.class);
+        assertTrue(name, name.endsWith("myVirtualPool"));
+    }
+
+    @Test
+    public void testThreadsVirtualThreadsPool() throws Exception {
+        ThreadsProcessor processor = context.getProcessor("threads", ThreadsProcessor.class);
+        ThreadPoolExecutor pool = assertIsInstanceOf(ThreadPoolExecutor.class, processor.getExecutorService());
+        if (CamelThreadFactory.isVirtualThreadsSupported()) {
+            // a thread per task so the pool sizes are not used
+            assertEquals(0, pool.getCorePoolSize());
+            assertEquals(Integer.MAX_VALUE, pool.getMaximumPoolSize());
+        } else {
+            // platform threads must be bounded by the pool sizes
+            assertEquals(2, pool.getCorePoolSize());
+            assertEquals(5, pool.getMaximumPoolSize());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    // will run each exchange on its own virtual thread
+                    .threads().virtualThreads(true).threadName("myVirtualPool").poolSize(2).maxPoolSize(5).id("threads")
+                    .process(e -> e.getIn().setHeader("threadName", Thread.currentThread().getName()))
+                    .to("mock:result");
+            }
+        };
+    }
+}
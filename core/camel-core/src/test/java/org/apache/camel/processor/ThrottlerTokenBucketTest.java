@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class ThrottlerTokenBucketTest extends ContextTestSupport {
+    private static final int INTERVAL = 500;
+    private static final int TOLERANCE = 50;
+    private static final int MESSAGE_COUNT = 9;
+
+    @Test
+    public void testBurstThenEvenRate() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(MESSAGE_COUNT);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            template.sendBody("direct:a", "<message>" + i + "</message>");
+        }
+        resultEndpoint.assertIsSatisfied();
+        long elapsed = System.currentTimeMillis() - start;
+
+        // the first 3 messages are a burst, and then the remainder is let through at one message per 1/3 period
+        long expected = (MESSAGE_COUNT - 3) * INTERVAL / 3;
+        assertTrue("Should take at least " + expected + "ms, was: " + elapsed, elapsed >= expected - TOLERANCE);
+    }
+
+    @Test
+    public void testAsyncDelayed() throws Exception {
+        MockEndpoint resultEndpoint = getMockEndpoint("mock:result");
+        resultEndpoint.expectedMessageCount(MESSAGE_COUNT);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            template.sendBody("seda:b", "<message>" + i + "</message>");
+        }
+        resultEndpoint.assertIsSatisfied();
+        long elapsed = System.currentTimeMillis() - start;
+
+        long expected = (MESSAGE_COUNT - 3) * INTERVAL / 3;
+        assertTrue("Should take at least " + expected + "ms, was: " + elapsed, elapsed >= expected - TOLERANCE);
+    }
+
+    @Test
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:error").expectedBodiesReceived("Bye World");
+
+        template.sendBody("direct:c", "Hello World");
+        template.sendBody("direct:c", "Bye World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testGrouping() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World", "Hi World");
+        getMockEndpoint("mock:error").expectedBodiesReceived("Bye World");
+
+        template.sendBodyAndHeader("direct:d", "Hello World", "key", "a");
+        template.sendBodyAndHeader("direct:d", "Bye World", "key", "a");
+        template.sendBodyAndHeader("direct:d", "Hi World", "key", "b");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class)
+                    .handled(true)
+                    .to("mock:error");
+
+                from("direct:a").throttle(3).timePeriodMillis(INTERVAL).tokenBucket().to("log:result", "mock:result");
+
+                from("seda:b").throttle(3).timePeriodMillis(INTERVAL).tokenBucket().asyncDelayed().to("log:result", "mock:result");
+
+                from("direct:c").throttle(1).timePeriodMillis(10000).tokenBucket().rejectExecution(true).to("mock:result");
+
+                from("direct:d").throttle(constant(1), header("key")).timePeriodMillis(10000).tokenBucket().rejectExecution(true).to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+import org.apache.camel.processor.aggregate.AggregateProcessorStatistics;
+import org.junit.Test;
+
+public class AggregateShardsTest extends ContextTestSupport {
+
+    @Test
+    public void testAggregateConcurrentWithShards() throws Exception {
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int id = i % 50;
+            final int count = i;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:start", "" + count, "id", id);
+                return null;
+            });
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+
+        AggregateProcessor processor = context.getProcessor("aggregator", AggregateProcessor.class);
+        assertEquals(8, processor.getShards());
+        assertEquals(1000, processor.getStatistics().getTotalIn());
+        assertEquals(50, processor.getStatistics().getCompletedBySize());
+
+        List<AggregateProcessorStatistics> shards = processor.getShardStatistics();
+        assertEquals(8, shards.size());
+        long totalIn = 0;
+        long totalCompleted = 0;
+        for (AggregateProcessorStatistics shard : shards) {
+            totalIn += shard.getTotalIn();
+            totalCompleted += shard.getTotalCompleted();
+        }
+        assertEquals(1000, totalIn);
+        assertEquals(50, totalCompleted);
+
+        processor.getStatistics().reset();
+        for (AggregateProcessorStatistics shard : processor.getShardStatistics()) {
+            assertEquals(0, shard.getTotalIn());
+        }
+    }
+
+    @Test
+    public void testKeepOrderPerCorrelationKey() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBodyAndHeader("direct:start", "" + i, "id", i % 2);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            String body = exchange.getIn().getBody(String.class);
+            int id = exchange.getIn().getHeader("id", Integer.class);
+            StringBuilder expected = new StringBuilder();
+            for (int i = id; i < 20; i += 2) {
+                if (expected.length() > 0) {
+                    expected.append("+");
+                }
+                expected.append(i);
+            }
+            assertEquals(expected.toString(), body);
+        }
+    }
+
+    @Test
+    public void testForceCompletionOfAllGroups() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "B", "id", 2);
+        template.sendBodyAndHeader("direct:start", "C", "id", 3);
+        template.sendBodyAndHeader("direct:start", "D", Exchange.AGGREGATION_COMPLETE_ALL_GROUPS, true);
+
+        assertMockEndpointsSatisfied();
+
+        AggregateProcessor processor = context.getProcessor("aggregator", AggregateProcessor.class);
+        assertEquals(3, processor.getStatistics().getCompletedByForce());
+    }
+
+    @Test
+    public void testCompletionOnNewCorrelationGroupWithShards() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:newGroup")
+                    .aggregate(header("id"), new AggregateCompletionOnNewCorrelationGroupTest.MyAggregationStrategy()).id("newGroup")
+                        .completionOnNewCorrelationGroup().completionSize(3).shards(4)
+                        .to("mock:newGroup");
+            }
+        });
+
+        MockEndpoint mock = getMockEndpoint("mock:newGroup");
+        mock.expectedBodiesReceived("AA", "BB", "CCC");
+
+        template.sendBodyAndHeader("direct:newGroup", "A", "id", "1");
+        template.sendBodyAndHeader("direct:newGroup", "A", "id", "1");
+        template.sendBodyAndHeader("direct:newGroup", "B", "id", "2");
+        template.sendBodyAndHeader("direct:newGroup", "B", "id", "2");
+        template.sendBodyAndHeader("direct:newGroup", "C", "id", "3");
+        template.sendBodyAndHeader("direct:newGroup", "C", "id", "3");
+        template.sendBodyAndHeader("direct:newGroup", "C", "id", "3");
+        template.sendBodyAndHeader("direct:newGroup", "D", "id", "4");
+
+        assertMockEndpointsSatisfied();
+
+        // the new group must not be completed by itself
+        mock.reset();
+        mock.expectedBodiesReceived("D");
+        AggregateProcessor processor = context.getProcessor("newGroup", AggregateProcessor.class);
+        assertEquals(1, processor.forceCompletionOfAllGroups());
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testShardsWithOptimisticLocking() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:optimistic")
+                        .aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10)
+                            .shards(4).optimisticLocking()
+                            .to("mock:optimistic");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            IllegalArgumentException iae = assertIsInstanceOf(IllegalArgumentException.class, e.getCause() != null ? e.getCause() : e);
+            assertEquals("Shards cannot be used together with optimistic locking", iae.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .aggregate(header("id"), new BodyInAggregatingStrategy()).id("aggregator")
+                        .completionSize(20).shards(8)
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.aggregate.DelimitedBodyAggregationStrategy;
+import org.apache.camel.processor.aggregate.LengthPrefixedBodyAggregationStrategy;
+import org.junit.Test;
+
+/**
+ * Unit test for the streaming aggregation strategies
+ */
+public class AggregateStreamingAggregationStrategyTest extends ContextTestSupport {
+
+    @Test
+    public void testAggregateDelimited() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:delimited");
+        result.expectedMessageCount(1);
+
+        template.sendBody("direct:delimited", "A");
+        template.sendBody("direct:delimited", "B");
+        template.sendBody("direct:delimited", "C");
+
+        assertMockEndpointsSatisfied();
+
+        Object body = result.getReceivedExchanges().get(0).getIn().getBody();
+        assertIsInstanceOf(StreamCache.class, body);
+        ((StreamCache) body).reset();
+        assertEquals("A\nB\nC\n", context.getTypeConverter().convertTo(String.class, body));
+    }
+
+    @Test
+    public void testAggregateLengthPrefixed() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:prefixed");
+        result.expectedMessageCount(1);
+
+        template.sendBody("direct:prefixed", "Hello");
+        template.sendBody("direct:prefixed", "Camel\nWorld");
+
+        assertMockEndpointsSatisfied();
+
+        StreamCache body = (StreamCache) result.getReceivedExchanges().get(0).getIn().getBody();
+        body.reset();
+        DataInputStream in = new DataInputStream((InputStream) body);
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        assertEquals("Hello", new String(data, "UTF-8"));
+        data = new byte[in.readInt()];
+        in.readFully(data);
+        assertEquals("Camel\nWorld", new String(data, "UTF-8"));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testSplitDelimited() throws Exception {
+        String out = template.requestBody("direct:split", "A,B,C,D", String.class);
+        assertEquals("A;B;C;D;", out);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:delimited")
+                    .aggregate(new DelimitedBodyAggregationStrategy()).constant(true).completionSize(3)
+                        .to("mock:delimited")
+                    .end();
+
+                from("direct:prefixed")
+                    .aggregate(new LengthPrefixedBodyAggregationStrategy()).constant(true).completionSize(2)
+                        .to("mock:prefixed")
+                    .end();
+
+                from("direct:split")
+                    .split(body().tokenize(","), new DelimitedBodyAggregationStrategy(";"))
+                        .to("mock:line")
+                    .end();
+            }
+        };
+    }
+}
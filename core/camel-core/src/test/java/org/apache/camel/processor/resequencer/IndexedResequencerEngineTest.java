@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.camel.TestSupport;
+import org.junit.After;
+import org.junit.Test;
+
+public class IndexedResequencerEngineTest extends TestSupport {
+
+    private ResequencerEngine<Integer> engine;
+    private SequenceBuffer<Integer> buffer;
+
+    @After
+    public void tearDown() throws Exception {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        initResequencer(500);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(0, buffer.size());
+
+        Thread.sleep(600);
+        engine.deliver();
+        assertEquals((Integer) 4, buffer.poll(0));
+        assertEquals((Integer) 4, engine.getLastDelivered());
+    }
+
+    @Test
+    public void testSuccessorOfLastDelivered() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(3);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals((Integer) 4, buffer.poll(0));
+        assertEquals((Integer) 4, engine.getLastDelivered());
+    }
+
+    @Test
+    public void testPredecessorCancelsTimeout() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(2);
+        engine.insert(5);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(0, buffer.size());
+
+        engine.insert(3);
+        engine.deliver();
+        assertEquals((Integer) 3, buffer.poll(0));
+        assertEquals((Integer) 4, buffer.poll(0));
+        assertEquals((Integer) 5, buffer.poll(0));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testDuplicateIgnored() throws Exception {
+        initResequencer(500);
+        engine.setLastDelivered(0);
+        engine.insert(2);
+        engine.insert(2);
+        assertEquals(1, engine.size());
+
+        engine.insert(1);
+        engine.deliver();
+        assertEquals((Integer) 1, buffer.poll(0));
+        assertEquals((Integer) 2, buffer.poll(0));
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    public void testRejectOld() throws Exception {
+        initResequencer(500);
+        engine.setRejectOld(true);
+        engine.setLastDelivered(5);
+        try {
+            engine.insert(4);
+            fail("Should have thrown exception");
+        } catch (MessageRejectedException e) {
+            // expected
+        }
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testReverse() throws Exception {
+        initResequencer(10000);
+        engine.setLastDelivered(-1);
+        for (int i = 999; i >= 0; i--) {
+            engine.insert(i);
+        }
+        assertEquals(1000, engine.size());
+        engine.deliver();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals((Integer) i, buffer.poll(0));
+        }
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    public void testRandom() throws Exception {
+        initResequencer(10000);
+        engine.setLastDelivered(-1);
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            list.add(i);
+        }
+        Collections.shuffle(list, new Random(42));
+
+        int expected = 0;
+        for (Integer i : list) {
+            engine.insert(i);
+            engine.deliver();
+            Integer delivered;
+            while ((delivered = buffer.poll(0)) != null) {
+                assertEquals((Integer) expected++, delivered);
+            }
+        }
+        assertEquals(5000, expected);
+        assertEquals(0, engine.size());
+    }
+
+    private void initResequencer(long timeout) {
+        buffer = new SequenceBuffer<>();
+        engine = new IndexedResequencerEngine<>(new IntegerComparator(), Integer::longValue);
+        engine.setSequenceSender(buffer);
+        engine.setTimeout(timeout);
+        engine.start();
+    }
+
+}
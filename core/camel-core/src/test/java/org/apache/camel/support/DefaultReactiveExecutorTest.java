@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DefaultReactiveExecutorTest extends Assert {
+
+    private final DefaultReactiveExecutor executor = new DefaultReactiveExecutor();
+
+    @Test
+    public void testScheduleOrder() throws Exception {
+        List<String> order = new ArrayList<>();
+
+        executor.scheduleMain(() -> {
+            order.add("main");
+            executor.scheduleLast(() -> order.add("last"), null);
+            executor.schedule(() -> order.add("second"), "second step");
+            executor.schedule(() -> order.add("first"), null);
+            executor.callback(doneSync -> order.add("callback-" + doneSync));
+        }, null);
+
+        assertEquals("[main, callback-false, first, second, last]", order.toString());
+    }
+
+    @Test
+    public void testScheduleMainRunsBeforePending() throws Exception {
+        List<String> order = new ArrayList<>();
+
+        executor.scheduleMain(() -> {
+            executor.schedule(() -> order.add("pending"), null);
+            executor.scheduleMain(() -> order.add("main"), null);
+        }, null);
+
+        assertEquals("[main, pending]", order.toString());
+    }
+
+    @Test
+    public void testManyTasksGrowsQueue() throws Exception {
+        List<Integer> order = new ArrayList<>();
+
+        executor.scheduleMain(() -> {
+            for (int i = 0; i < 1000; i++) {
+                final int n = i;
+                executor.scheduleLast(() -> order.add(n), null);
+            }
+        }, null);
+
+        assertEquals(1000, order.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testScheduleNullTask() throws Exception {
+        try {
+            executor.schedule(null, null);
+            fail("Should have thrown exception");
+        } catch (NullPointerException e) {
+            // expected
+        }
+
+        // the executor should still work
+        List<String> order = new ArrayList<>();
+        executor.schedule(() -> order.add("task"), null);
+        assertEquals("[task]", order.toString());
+        assertFalse(executor.executeFromQueue());
+    }
+
+    @Test
+    public void testExecuteFromQueueWhenEmpty() throws Exception {
+        assertFalse(executor.executeFromQueue());
+    }
+
+}
@@ -17,11 +17,16 @@
 package org.apache.camel.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -266,4 +271,102 @@ public class DefaultTimeoutMapTest extends Assert {
         map.stop();
     }
 
+    @Test
+    public void testTimeoutLongerThanWheel() throws Exception {
+        final AtomicLong clock = new AtomicLong(1000000);
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            protected long currentTime() {
+                return clock.get();
+            }
+        };
+
+        // expires after more than one revolution of the timing wheel
+        long timeout = 100L * DefaultTimeoutMap.WHEEL_SIZE + 250;
+        map.put("A", 1, timeout);
+        map.put("B", 2, 150);
+
+        for (long time = 100; time <= timeout; time += 100) {
+            clock.addAndGet(100);
+            map.purge();
+            assertEquals(time > 150 ? 1 : 2, map.size());
+        }
+
+        clock.addAndGet(100);
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testGetRefreshesTimeout() throws Exception {
+        final AtomicLong clock = new AtomicLong(1000000);
+        DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100) {
+            @Override
+            protected long currentTime() {
+                return clock.get();
+            }
+        };
+
+        map.put("A", 1, 200);
+        clock.addAndGet(150);
+        map.purge();
+        // get will update the expire time
+        assertEquals(Integer.valueOf(1), map.get("A"));
+
+        clock.addAndGet(150);
+        map.purge();
+        assertEquals(1, map.size());
+
+        clock.addAndGet(100);
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRemovedWhileWaitingForEvictionLock() throws Exception {
+        final AtomicLong clock = new AtomicLong(1000000);
+        final ReentrantLock evictionLock = new ReentrantLock();
+        final List<Integer> evicted = new CopyOnWriteArrayList<>();
+        final DefaultTimeoutMap<String, Integer> map = new DefaultTimeoutMap<String, Integer>(executor, 100, false) {
+            @Override
+            protected long currentTime() {
+                return clock.get();
+            }
+
+            @Override
+            protected Lock getEvictionLock(String key) {
+                return evictionLock;
+            }
+
+            @Override
+            public boolean onEviction(String key, Integer value) {
+                evicted.add(value);
+                return true;
+            }
+        };
+
+        map.put("A", 1, 100);
+        clock.addAndGet(150);
+
+        // the key is removed and added again while the purge waits for the lock of the key
+        evictionLock.lock();
+        Thread purge = new Thread(map::purge);
+        purge.start();
+        await().atMost(5, TimeUnit.SECONDS).until(evictionLock::hasQueuedThreads);
+        map.remove("A");
+        map.put("A", 2, 100);
+        evictionLock.unlock();
+        purge.join(5000);
+
+        // the removed entry is not evicted nor kept
+        assertTrue(evicted.isEmpty());
+        assertEquals(1, map.size());
+
+        clock.addAndGet(150);
+        map.purge();
+        map.purge();
+        assertEquals(Collections.singletonList(2), evicted);
+        assertEquals(0, map.size());
+    }
+
 }
@@ -0,0 +1,229 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.camel.TestSupport.createDirectory;
+import static org.apache.camel.TestSupport.deleteDirectory;
+
+public class BloomFilterIdempotentRepositoryTest extends Assert {
+
+    private File filterFile = new File("target/data/bloomfilter/filter.dat");
+    private CountingRepository repository;
+
+    @Before
+    public void setup() {
+        deleteDirectory("target/data/bloomfilter");
+        createDirectory("target/data/bloomfilter");
+        repository = new CountingRepository();
+    }
+
+    @Test
+    public void testSkipLookupOfNewKeys() throws Exception {
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.setTrustNewFilter(true);
+        bloom.start();
+
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(bloom.contains("key" + i));
+            assertTrue(bloom.add("key" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bloom.contains("key" + i));
+            assertFalse(bloom.add("key" + i));
+        }
+
+        // the lookups of the new keys are skipped except for the false positives
+        assertEquals(1000 + bloom.getFalsePositiveCount(), repository.lookups);
+        assertEquals(1000, bloom.getSkippedLookupCount() + bloom.getFalsePositiveCount());
+        assertTrue("False positive rate: " + bloom.getFalsePositiveRate(), bloom.getFalsePositiveRate() < 0.02);
+        assertEquals(1000, bloom.getFilterSize());
+
+        bloom.stop();
+    }
+
+    @Test
+    public void testNewFilterIsNotTrusted() throws Exception {
+        repository.add("existing");
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.start();
+
+        assertFalse(bloom.isTrusted());
+        assertTrue(bloom.contains("existing"));
+        assertFalse(bloom.contains("new"));
+        assertEquals(0, bloom.getSkippedLookupCount());
+
+        // the repository is empty after clear so the filter can be trusted
+        bloom.clear();
+        assertTrue(bloom.isTrusted());
+        assertFalse(bloom.contains("existing"));
+        assertEquals(1, bloom.getSkippedLookupCount());
+
+        bloom.stop();
+    }
+
+    @Test
+    public void testGrow() throws Exception {
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.setTrustNewFilter(true);
+        bloom.setExpectedInsertions(100);
+        bloom.start();
+
+        for (int i = 0; i < 1000; i++) {
+            bloom.add("key" + i);
+        }
+        assertEquals(4, bloom.getFilterCount());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bloom.mightContain("key" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 1000; i < 11000; i++) {
+            if (bloom.mightContain("key" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue("False positives: " + falsePositives, falsePositives < 200);
+
+        bloom.stop();
+    }
+
+    @Test
+    public void testCountingRemove() throws Exception {
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.setTrustNewFilter(true);
+        bloom.setCounting(true);
+        bloom.start();
+
+        bloom.add("A");
+        bloom.add("B");
+        assertTrue(bloom.remove("A"));
+        assertFalse(bloom.mightContain("A"));
+        assertTrue(bloom.mightContain("B"));
+        assertEquals(1, bloom.getFilterSize());
+
+        bloom.stop();
+    }
+
+    @Test
+    public void testClearWhileAdding() throws Exception {
+        MemoryIdempotentRepository memory = new MemoryIdempotentRepository(new HashMap<>());
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(memory);
+        bloom.setTrustNewFilter(true);
+        bloom.setExpectedInsertions(100);
+        bloom.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(3);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                try {
+                    for (int i = 0; i < 5000; i++) {
+                        bloom.add("key" + thread + "-" + i);
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }));
+        }
+        futures.add(executor.submit(() -> {
+            while (done.getCount() > 0) {
+                bloom.clear();
+            }
+            return null;
+        }));
+        for (Future<?> future : futures) {
+            // no exception while the filters are replaced
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        // the keys which the repository has must not be skipped
+        assertTrue(bloom.isTrusted());
+        for (String key : memory.getCache().keySet()) {
+            assertTrue("Key: " + key, bloom.contains(key));
+        }
+
+        bloom.stop();
+    }
+
+    @Test
+    public void testFilterFile() throws Exception {
+        BloomFilterIdempotentRepository bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.setFilterFile(filterFile);
+        bloom.start();
+        // no filter file so the repository must be cleared before the filter is used
+        bloom.clear();
+        bloom.add("A");
+        bloom.stop();
+        assertTrue(filterFile.exists());
+
+        bloom = new BloomFilterIdempotentRepository(repository);
+        bloom.setFilterFile(filterFile);
+        bloom.start();
+        assertTrue(bloom.isTrusted());
+        assertTrue(bloom.mightContain("A"));
+        assertFalse(bloom.mightContain("B"));
+        // the file is deleted while running so a crash does not leave a stale filter
+        assertFalse(filterFile.exists());
+        bloom.stop();
+    }
+
+    private static class CountingRepository extends MemoryIdempotentRepository {
+
+        private final Set<String> keys = new HashSet<>();
+        private int lookups;
+
+        @Override
+        public boolean add(String key) {
+            return keys.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            lookups++;
+            return keys.contains(key);
+        }
+
+        @Override
+        public boolean remove(String key) {
+            return keys.remove(key);
+        }
+
+        @Override
+        public void clear() {
+            keys.clear();
+        }
+    }
+
+}
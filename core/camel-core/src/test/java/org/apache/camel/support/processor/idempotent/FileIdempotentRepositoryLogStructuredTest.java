@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.apache.camel.TestSupport.createDirectory;
+import static org.apache.camel.TestSupport.deleteDirectory;
+
+public class FileIdempotentRepositoryLogStructuredTest extends Assert {
+
+    private File fileStore = new File("target/data/logstore/data.dat");
+    private File logFile = new File("target/data/logstore/data.dat.log");
+
+    @Before
+    public void setup() {
+        deleteDirectory("target/data/logstore");
+        createDirectory("target/data/logstore");
+    }
+
+    private FileIdempotentRepository createRepository() {
+        FileIdempotentRepository repository = new FileIdempotentRepository();
+        repository.setFileStore(fileStore);
+        repository.setLogStructured(true);
+        return repository;
+    }
+
+    @Test
+    public void testAddRemoveContains() throws Exception {
+        FileIdempotentRepository repository = createRepository();
+        repository.setLogSyncInterval(0);
+        repository.start();
+
+        assertTrue(repository.add("A"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.add("B"));
+        assertTrue(repository.contains("A"));
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertEquals(1, repository.getCacheSize());
+        assertEquals(3, repository.getLogRecords());
+
+        // the records are synced to the log on each write
+        assertEquals(3, Files.readAllLines(logFile.toPath()).size());
+        assertEquals(0, fileStore.length());
+
+        repository.stop();
+    }
+
+    @Test
+    public void testRecoverFromStoreAndLog() throws Exception {
+        Files.write(fileStore.toPath(), "A\nB\nC\n".getBytes());
+        Files.write(logFile.toPath(), "-B\n+D\n".getBytes());
+
+        FileIdempotentRepository repository = createRepository();
+        repository.start();
+
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertTrue(repository.contains("C"));
+        assertTrue(repository.contains("D"));
+        assertEquals(2, repository.getLogRecords());
+
+        repository.add("E");
+        repository.stop();
+
+        repository = createRepository();
+        repository.start();
+        assertTrue(repository.contains("E"));
+        assertEquals(4, repository.getCacheSize());
+        repository.stop();
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        Files.write(fileStore.toPath(), "A\nB\nC\n".getBytes());
+
+        FileIdempotentRepository repository = createRepository();
+        repository.start();
+        repository.remove("B");
+        repository.add("D");
+        repository.add("B");
+        repository.compact();
+
+        List<String> lines = Files.readAllLines(fileStore.toPath());
+        assertEquals(4, lines.size());
+        assertEquals("A", lines.get(0));
+        assertEquals("B", lines.get(1));
+        assertEquals("C", lines.get(2));
+        assertEquals("D", lines.get(3));
+        assertEquals(0, repository.getLogRecords());
+        assertEquals(0, logFile.length());
+
+        repository.add("E");
+        repository.stop();
+        assertEquals(1, Files.readAllLines(logFile.toPath()).size());
+    }
+
+    @Test
+    public void testCompactionThreshold() throws Exception {
+        FileIdempotentRepository repository = createRepository();
+        repository.setLogCompactionThreshold(10);
+        repository.start();
+
+        for (int i = 0; i < 10; i++) {
+            repository.add("key" + i);
+        }
+
+        // the log is compacted in the background
+        long timeout = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(fileStore.toPath()).size() < 10 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(10, Files.readAllLines(fileStore.toPath()).size());
+        assertTrue(repository.contains("key9"));
+        repository.stop();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        FileIdempotentRepository repository = createRepository();
+        repository.start();
+        repository.add("A");
+        repository.add("B");
+        repository.compact();
+        repository.add("C");
+
+        repository.clear();
+        assertFalse(repository.contains("A"));
+        assertFalse(repository.contains("C"));
+        assertEquals(0, fileStore.length());
+
+        repository.add("D");
+        repository.stop();
+
+        repository = createRepository();
+        repository.start();
+        assertEquals(1, repository.getCacheSize());
+        assertTrue(repository.contains("D"));
+        repository.stop();
+    }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CopyOnWriteMapTest extends Assert {
+
+    private static CopyOnWriteMap<String, Object> newMap() {
+        Map<String, Object> base = new CaseInsensitiveMap();
+        base.put("Foo", 123);
+        base.put("bar", 456);
+        return new CopyOnWriteMap<>(base, CaseInsensitiveMap::new, CaseInsensitiveMap::new);
+    }
+
+    @Test
+    public void testCopyIsIsolated() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        CopyOnWriteMap<String, Object> copy = map.copy();
+
+        copy.put("foo", 789);
+        copy.remove("bar");
+        copy.put("baz", "Hello");
+        map.put("cheese", "Gauda");
+
+        assertEquals(789, copy.get("FOO"));
+        assertNull(copy.get("bar"));
+        assertFalse(copy.containsKey("bar"));
+        assertEquals("Hello", copy.get("baz"));
+        assertFalse(copy.containsKey("cheese"));
+        assertEquals(2, copy.size());
+
+        assertEquals(123, map.get("foo"));
+        assertEquals(456, map.get("bar"));
+        assertEquals("Gauda", map.get("Cheese"));
+        assertFalse(map.containsKey("baz"));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testCopyOfCopy() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        CopyOnWriteMap<String, Object> copy = map.copy();
+        copy.put("baz", "Hello");
+
+        CopyOnWriteMap<String, Object> copyOfCopy = copy.copy();
+        copy.remove("baz");
+        copyOfCopy.put("foo", 0);
+
+        assertEquals("Hello", copyOfCopy.get("baz"));
+        assertEquals(0, copyOfCopy.get("foo"));
+        assertEquals(3, copyOfCopy.size());
+        assertFalse(copy.containsKey("baz"));
+        assertEquals(123, copy.get("foo"));
+        assertEquals(2, copy.size());
+    }
+
+    @Test
+    public void testNullValue() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        map.put("foo", null);
+
+        assertTrue(map.containsKey("foo"));
+        assertNull(map.get("foo"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testIterate() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        map.put("bar", 789);
+        map.put("baz", "Hello");
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("Foo", 123);
+        expected.put("bar", 789);
+        expected.put("baz", "Hello");
+        assertEquals(expected, new HashMap<>(map));
+        assertEquals(expected, map);
+    }
+
+    @Test
+    public void testIteratorRemoveAndSetValue() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        map.put("baz", "Hello");
+        CopyOnWriteMap<String, Object> copy = map.copy();
+
+        Iterator<Map.Entry<String, Object>> it = copy.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ("baz".equals(entry.getKey())) {
+                it.remove();
+            } else if ("bar".equals(entry.getKey())) {
+                entry.setValue(0);
+            }
+        }
+
+        assertEquals(2, copy.size());
+        assertEquals(0, copy.get("bar"));
+        assertFalse(copy.containsKey("baz"));
+
+        assertEquals(3, map.size());
+        assertEquals(456, map.get("bar"));
+        assertEquals("Hello", map.get("baz"));
+
+        copy.keySet().removeIf(k -> k.equalsIgnoreCase("foo"));
+        assertEquals(1, copy.size());
+        assertEquals(123, map.get("foo"));
+    }
+
+    @Test
+    public void testClear() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        CopyOnWriteMap<String, Object> copy = map.copy();
+
+        copy.clear();
+        assertTrue(copy.isEmpty());
+        assertNull(copy.get("foo"));
+        assertEquals(2, map.size());
+
+        copy.put("foo", "Bye");
+        assertEquals("Bye", copy.get("FOO"));
+        assertEquals(123, map.get("foo"));
+    }
+
+    @Test
+    public void testClearDoesNotChangeOtherCopies() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        map.put("baz", "Hello");
+        CopyOnWriteMap<String, Object> copy = map.copy();
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+        assertEquals(3, copy.size());
+        assertEquals("Hello", copy.get("baz"));
+
+        CopyOnWriteMap<String, Object> copyOfCleared = map.copy();
+        copyOfCleared.put("FOO", 1);
+        assertEquals(1, copyOfCleared.size());
+        assertEquals(1, copyOfCleared.get("foo"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testIsBackedBy() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        assertTrue(map.isBackedBy(m -> m instanceof CaseInsensitiveMap));
+        assertTrue(map.copy().isBackedBy(m -> m instanceof CaseInsensitiveMap));
+
+        CopyOnWriteMap<String, Object> other = new CopyOnWriteMap<>(new HashMap<>(), HashMap::new, HashMap::new);
+        assertFalse(other.isBackedBy(m -> m instanceof CaseInsensitiveMap));
+    }
+
+    @Test
+    public void testCompactOnCopy() {
+        CopyOnWriteMap<String, Object> map = newMap();
+        for (int i = 0; i < CopyOnWriteMap.COMPACT_THRESHOLD + 1; i++) {
+            map.put("key" + i, i);
+        }
+        CopyOnWriteMap<String, Object> copy = map.copy();
+        map.remove("key0");
+
+        assertEquals(CopyOnWriteMap.COMPACT_THRESHOLD + 3, copy.size());
+        assertEquals(0, copy.get("KEY0"));
+        assertEquals(CopyOnWriteMap.COMPACT_THRESHOLD + 2, map.size());
+    }
+
+}
@@ -264,4 +264,16 @@ public final class CamelOpenMBeanTypes {
         CompositeType ct = camelRoutePropertiesCompositeType();
         return new TabularType("routeProperties", "Route Properties", ct, new String[]{"key"});
     }
+
+    public static CompositeType processingTimePercentilesCompositeType() throws OpenDataException {
+        return new CompositeType("percentiles", "Processing Time Percentiles",
+            new String[]{"percentile", "value"},
+            new String[]{"Percentile", "Value"},
+            new OpenType[]{SimpleType.DOUBLE, SimpleType.LONG});
+    }
+
+    public static TabularType processingTimePercentilesTabularType() throws OpenDataException {
+        CompositeType ct = processingTimePercentilesCompositeType();
+        return new TabularType("percentiles", "Processing Time Percentiles", ct, new String[]{"percentile"});
+    }
 }
@@ -46,6 +46,18 @@ public interface ManagedCamelContextMBean extends ManagedPerformanceCounterMBean
     @ManagedAttribute(description = "Uptime [milliseconds]")
     long getUptimeMillis();
 
+    @ManagedAttribute(description = "Time taken to create the routes on startup [milliseconds]")
+    long getStartupCreateRoutesMillis();
+
+    @ManagedAttribute(description = "Time taken to warm up the routes on startup [milliseconds]")
+    long getStartupWarmUpRoutesMillis();
+
+    @ManagedAttribute(description = "Time taken to start the route consumers on startup [milliseconds]")
+    long getStartupStartConsumersMillis();
+
+    @ManagedAttribute(description = "Number of threads used to create the routes on startup")
+    int getRouteStartupParallelism();
+
     @ManagedAttribute(description = "Camel Management StatisticsLevel")
     String getManagementStatisticsLevel();
 
@@ -44,6 +44,15 @@ public interface ManagedIdempotentConsumerMBean extends ManagedProcessorMBean {
 
     @ManagedOperation(description = "Reset the current count of duplicate Messages")
     void resetDuplicateMessageCount();
+
+    @ManagedAttribute(description = "Number of lookups in the repository skipped by its Bloom filter (null if the repository has no Bloom filter)")
+    Long getBloomFilterSkippedLookupCount();
+
+    @ManagedAttribute(description = "Number of lookups in the repository for new keys which passed its Bloom filter (null if the repository has no Bloom filter)")
+    Long getBloomFilterFalsePositiveCount();
+
+    @ManagedAttribute(description = "Rate of new keys which passed the Bloom filter of the repository (null if the repository has no Bloom filter)")
+    Double getBloomFilterFalsePositiveRate();
     
     @ManagedOperation(description = "Clear the repository containing Messages")
     void clear();
@@ -26,6 +26,9 @@ public interface ManagedInflightRepositoryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Current size of inflight exchanges.")
     int getSize();
 
+    @ManagedAttribute(description = "Whether the inflight exchanges are tracked so they can be browsed.")
+    boolean isInflightBrowseEnabled();
+
     @ManagedOperation(description = "Current size of inflight exchanges which are from the given route.")
     int size(String routeId);
 
@@ -18,6 +18,8 @@ package org.apache.camel.api.management.mbean;
 
 import java.util.Date;
 
+import javax.management.openmbean.TabularData;
+
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
 
@@ -59,6 +61,18 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime() throws Exception;
 
+    @ManagedAttribute(description = "Whether processing time percentiles is enabled")
+    boolean isPercentilesEnabled();
+
+    @ManagedAttribute(description = "Processing Time Percentiles [milliseconds]")
+    TabularData getProcessingTimePercentiles();
+
+    @ManagedOperation(description = "Processing Time Percentiles [milliseconds] of the exchanges completed since the last time this operation was invoked")
+    TabularData intervalProcessingTimePercentiles();
+
+    @ManagedOperation(description = "Processing Time [milliseconds] at the given percentile")
+    long processingTimePercentile(double percentile);
+
     @ManagedAttribute(description = "Last Exchange Completed Timestamp")
     Date getLastExchangeCompletedTimestamp();
 
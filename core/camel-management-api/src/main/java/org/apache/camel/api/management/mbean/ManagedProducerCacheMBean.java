@@ -39,6 +39,12 @@ public interface ManagedProducerCacheMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Cache evicted")
     Long getEvicted();
 
+    @ManagedAttribute(description = "Mean time in nanos to acquire a producer from the cache")
+    Long getAcquireMeanTime();
+
+    @ManagedAttribute(description = "Maximum time in nanos to acquire a producer from the cache")
+    Long getAcquireMaxTime();
+
     @ManagedOperation(description = "Reset cache statistics")
     void resetStatistics();
 
@@ -73,6 +73,9 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether any or all spool rules determines whether to spool")
     boolean isAnySpoolRules();
 
+    @ManagedAttribute(description = "Whether the cached data is kept off the heap")
+    boolean isOffHeap();
+
     @ManagedAttribute(description = "Number of in-memory StreamCache created")
     long getCacheMemoryCounter();
 
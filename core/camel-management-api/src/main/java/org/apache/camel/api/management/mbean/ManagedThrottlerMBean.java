@@ -41,4 +41,7 @@ public interface ManagedThrottlerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "Whether or not throttler throws the ThrottlerRejectedExecutionException when the exchange exceeds the request limit")
     Boolean isRejectExecution();
 
+    @ManagedAttribute(description = "Whether to throttle using a lock-free token bucket per correlation key")
+    Boolean isTokenBucket();
+
 }
\ No newline at end of file
@@ -38,6 +38,15 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Number of type conversion failures (failed conversions)")
     long getFailedCounter();
 
+    @ManagedAttribute(description = "Number of type converter lookups found in the lookup cache (including known misses)")
+    long getLookupHitCounter();
+
+    @ManagedAttribute(description = "Number of type converter lookups not in the lookup cache")
+    long getLookupMissCounter();
+
+    @ManagedAttribute(description = "Number of type converter lookups not in the lookup cache but resolved from the type hierarchy")
+    long getLookupMissResolvedCounter();
+
     @ManagedOperation(description = "Resets the type conversion counters")
     void resetTypeConversionCounters();
 
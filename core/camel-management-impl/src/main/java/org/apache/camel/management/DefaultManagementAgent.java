@@ -65,6 +65,7 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
     public static final int DEFAULT_REGISTRY_PORT = 1099;
     public static final int DEFAULT_CONNECTION_PORT = -1;
     public static final String DEFAULT_SERVICE_URL_PATH = "/jmxrmi/camel";
+    public static final String DEFAULT_PERCENTILES = "50,90,99,99.9";
     private static final Logger LOG = LoggerFactory.getLogger(DefaultManagementAgent.class);
 
     private CamelContext camelContext;
@@ -85,6 +86,8 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
     private Boolean createConnector = false;
     private Boolean onlyRegisterProcessorWithCustomId = false;
     private Boolean loadStatisticsEnabled = false;
+    private Boolean percentilesEnabled = false;
+    private String percentiles = DEFAULT_PERCENTILES;
     private Boolean endpointRuntimeStatisticsEnabled;
     private Boolean registerAlways = false;
     private Boolean registerNewRoutes = true;
@@ -161,6 +164,14 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
             loadStatisticsEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.LOAD_STATISTICS_ENABLED);
             values.put(JmxSystemPropertyKeys.LOAD_STATISTICS_ENABLED, loadStatisticsEnabled);
         }
+        if (System.getProperty(JmxSystemPropertyKeys.PERCENTILES_ENABLED) != null) {
+            percentilesEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.PERCENTILES_ENABLED);
+            values.put(JmxSystemPropertyKeys.PERCENTILES_ENABLED, percentilesEnabled);
+        }
+        if (System.getProperty(JmxSystemPropertyKeys.PERCENTILES) != null) {
+            percentiles = System.getProperty(JmxSystemPropertyKeys.PERCENTILES);
+            values.put(JmxSystemPropertyKeys.PERCENTILES, percentiles);
+        }
         if (System.getProperty(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED) != null) {
             endpointRuntimeStatisticsEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED);
             values.put(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED, endpointRuntimeStatisticsEnabled);
@@ -311,6 +322,22 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    public Boolean getPercentilesEnabled() {
+        return percentilesEnabled;
+    }
+
+    public void setPercentilesEnabled(Boolean percentilesEnabled) {
+        this.percentilesEnabled = percentilesEnabled;
+    }
+
+    public String getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(String percentiles) {
+        this.percentiles = percentiles;
+    }
+
     public Boolean getEndpointRuntimeStatisticsEnabled() {
         return endpointRuntimeStatisticsEnabled;
     }
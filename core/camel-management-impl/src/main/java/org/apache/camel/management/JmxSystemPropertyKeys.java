@@ -51,6 +51,12 @@ public final class JmxSystemPropertyKeys {
     // whether to enable gathering load statistics in the background
     public static final String LOAD_STATISTICS_ENABLED = "org.apache.camel.jmx.loadStatisticsEnabled";
 
+    // whether to enable gathering processing time percentiles
+    public static final String PERCENTILES_ENABLED = "org.apache.camel.jmx.percentilesEnabled";
+
+    // the processing time percentiles to expose
+    public static final String PERCENTILES = "org.apache.camel.jmx.percentiles";
+
     // whether to enable gathering endpoint runtime statistics
     public static final String ENDPOINT_RUNTIME_STATISTICS_ENABLED = "org.apache.camel.jmx.endpointRuntimeStatisticsEnabled";
 
@@ -135,6 +135,10 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    public int getShards() {
+        return processor.getShards();
+    }
+
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
     }
@@ -113,6 +113,27 @@ public class ManagedCamelContext extends ManagedPerformanceCounter implements Ti
         return context.getUptimeMillis();
     }
 
+    public long getStartupCreateRoutesMillis() {
+        return getRouteStartupTiming("createRoutes");
+    }
+
+    public long getStartupWarmUpRoutesMillis() {
+        return getRouteStartupTiming("warmUpRoutes");
+    }
+
+    public long getStartupStartConsumersMillis() {
+        return getRouteStartupTiming("startConsumers");
+    }
+
+    public int getRouteStartupParallelism() {
+        return context.getRouteStartupParallelism();
+    }
+
+    private long getRouteStartupTiming(String phase) {
+        Long answer = context.getRouteStartupTimings().get(phase);
+        return answer != null ? answer : 0;
+    }
+
     public String getManagementStatisticsLevel() {
         if (context.getManagementStrategy().getManagementAgent() != null) {
             return context.getManagementStrategy().getManagementAgent().getStatisticsLevel().name();
@@ -21,6 +21,7 @@ import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedIdempotentConsumerMBean;
 import org.apache.camel.model.IdempotentConsumerDefinition;
 import org.apache.camel.processor.idempotent.IdempotentConsumer;
+import org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository;
 
 @ManagedResource(description = "Managed Idempotent Consumer")
 public class ManagedIdempotentConsumer extends ManagedProcessor implements ManagedIdempotentConsumerMBean {
@@ -79,6 +80,31 @@ public class ManagedIdempotentConsumer extends ManagedProcessor implements Manag
         getProcessor().resetDuplicateMessageCount();
     }
 
+    @Override
+    public Long getBloomFilterSkippedLookupCount() {
+        BloomFilterIdempotentRepository repository = getBloomFilterRepository();
+        return repository != null ? repository.getSkippedLookupCount() : null;
+    }
+
+    @Override
+    public Long getBloomFilterFalsePositiveCount() {
+        BloomFilterIdempotentRepository repository = getBloomFilterRepository();
+        return repository != null ? repository.getFalsePositiveCount() : null;
+    }
+
+    @Override
+    public Double getBloomFilterFalsePositiveRate() {
+        BloomFilterIdempotentRepository repository = getBloomFilterRepository();
+        return repository != null ? repository.getFalsePositiveRate() : null;
+    }
+
+    private BloomFilterIdempotentRepository getBloomFilterRepository() {
+        if (getProcessor().getIdempotentRepository() instanceof BloomFilterIdempotentRepository) {
+            return (BloomFilterIdempotentRepository) getProcessor().getIdempotentRepository();
+        }
+        return null;
+    }
+
     @Override
     public void clear() {
         getProcessor().clear();
@@ -19,10 +19,20 @@ package org.apache.camel.management.mbean;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
 import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedPerformanceCounterMBean;
+import org.apache.camel.management.DefaultManagementAgent;
 import org.apache.camel.management.PerformanceCounter;
+import org.apache.camel.spi.ManagementAgent;
 import org.apache.camel.spi.ManagementStrategy;
 import org.apache.camel.support.ExchangeHelper;
 
@@ -43,6 +53,8 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
     private Statistic meanProcessingTime;
+    private StatisticHistogram processingTimeHistogram;
+    private double[] percentiles;
     private Statistic firstExchangeCompletedTimestamp;
     private String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
@@ -70,6 +82,12 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         this.deltaProcessingTime = new StatisticDelta();
         this.meanProcessingTime = new StatisticValue();
 
+        ManagementAgent agent = strategy != null ? strategy.getManagementAgent() : null;
+        if (agent != null && agent.getPercentilesEnabled() != null && agent.getPercentilesEnabled()) {
+            this.processingTimeHistogram = new StatisticHistogram();
+            this.percentiles = parsePercentiles(agent.getPercentiles() != null ? agent.getPercentiles() : DefaultManagementAgent.DEFAULT_PERCENTILES);
+        }
+
         this.firstExchangeCompletedTimestamp = new StatisticValue();
         this.firstExchangeFailureTimestamp = new StatisticValue();
         this.lastExchangeCompletedTimestamp = new StatisticValue();
@@ -91,6 +109,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
         meanProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -149,6 +170,22 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return deltaProcessingTime.getValue();
     }
 
+    public boolean isPercentilesEnabled() {
+        return processingTimeHistogram != null;
+    }
+
+    public TabularData getProcessingTimePercentiles() {
+        return percentilesAsTabularData(processingTimeHistogram != null ? processingTimeHistogram.snapshot() : null);
+    }
+
+    public TabularData intervalProcessingTimePercentiles() {
+        return percentilesAsTabularData(processingTimeHistogram != null ? processingTimeHistogram.intervalSnapshot() : null);
+    }
+
+    public long processingTimePercentile(double percentile) {
+        return processingTimeHistogram != null ? processingTimeHistogram.snapshot().getValueAtPercentile(percentile) : 0;
+    }
+
     public Date getLastExchangeCompletedTimestamp() {
         long value = lastExchangeCompletedTimestamp.getValue();
         return value > 0 ? new Date(value) : null;
@@ -215,6 +252,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time);
+        }
 
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
@@ -292,6 +332,36 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter implement
         return sb.toString();
     }
 
+    private TabularData percentilesAsTabularData(StatisticHistogram.Snapshot snapshot) {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.processingTimePercentilesTabularType());
+            if (snapshot != null) {
+                CompositeType ct = CamelOpenMBeanTypes.processingTimePercentilesCompositeType();
+                for (double percentile : percentiles) {
+                    CompositeData data = new CompositeDataSupport(ct, new String[]{"percentile", "value"},
+                            new Object[]{percentile, snapshot.getValueAtPercentile(percentile)});
+                    answer.put(data);
+                }
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    static double[] parsePercentiles(String text) {
+        String[] parts = text.split(",");
+        double[] answer = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            double percentile = Double.parseDouble(parts[i].trim());
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100, was: " + parts[i].trim());
+            }
+            answer[i] = percentile;
+        }
+        return answer;
+    }
+
     private static String dateAsString(long value) {
         if (value == 0) {
             return "";
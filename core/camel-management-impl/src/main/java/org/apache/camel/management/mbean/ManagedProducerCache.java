@@ -61,6 +61,14 @@ public class ManagedProducerCache extends ManagedService implements ManagedProdu
         return producerCache.getEvicted();
     }
 
+    public Long getAcquireMeanTime() {
+        return producerCache.getAcquireMeanTime();
+    }
+
+    public Long getAcquireMaxTime() {
+        return producerCache.getAcquireMaxTime();
+    }
+
     public void resetStatistics() {
         producerCache.resetCacheStatistics();
     }
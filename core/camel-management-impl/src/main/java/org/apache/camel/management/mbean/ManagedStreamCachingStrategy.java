@@ -128,6 +128,10 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.isAnySpoolRules();
     }
 
+    public boolean isOffHeap() {
+        return streamCachingStrategy.isOffHeap();
+    }
+
     public long getCacheMemoryCounter() {
         return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
     }
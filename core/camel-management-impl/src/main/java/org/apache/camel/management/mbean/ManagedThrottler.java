@@ -64,4 +64,8 @@ public class ManagedThrottler extends ManagedProcessor implements ManagedThrottl
     public Boolean isRejectExecution() {
         return throttler.isRejectExecution();
     }
+
+    public Boolean isTokenBucket() {
+        return throttler.isTokenBucket();
+    }
 }
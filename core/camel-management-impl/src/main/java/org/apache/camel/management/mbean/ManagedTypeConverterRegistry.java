@@ -68,6 +68,18 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
         return registry.getStatistics().getFailedCounter();
     }
 
+    public long getLookupHitCounter() {
+        return registry.getStatistics().getLookupHitCounter();
+    }
+
+    public long getLookupMissCounter() {
+        return registry.getStatistics().getLookupMissCounter();
+    }
+
+    public long getLookupMissResolvedCounter() {
+        return registry.getStatistics().getLookupMissResolvedCounter();
+    }
+
     public void resetTypeConversionCounters() {
         registry.getStatistics().reset();
     }
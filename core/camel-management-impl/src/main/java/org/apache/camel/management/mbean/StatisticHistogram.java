@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A statistic which records the distribution of the updated values, so the values at given percentiles can be calculated.
+ * <p/>
+ * The values are recorded in a fixed number of buckets, where the values below 64 have their own bucket,
+ * and the higher values share buckets which are at most about 3% apart (similar to a HDR histogram with 2 significant
+ * digits). Values are tracked up till {@link Integer#MAX_VALUE}, and higher values are recorded as this value.
+ * <p/>
+ * Recording a value is lock-free and does not allocate any objects. The histogram can be read as a whole,
+ * or as interval snapshots which only contains the values recorded since the previous interval snapshot.
+ */
+public class StatisticHistogram extends Statistic {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final int MAX_SHIFT = 31 - SUB_BUCKET_BITS - 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS;
+
+    // the values recorded since the last interval snapshot
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    // the values recorded before the last interval snapshot
+    private final long[] totals = new long[BUCKETS];
+
+    public void updateValue(long newValue) {
+        counts.incrementAndGet(bucket(newValue));
+    }
+
+    /**
+     * The number of recorded values
+     */
+    public long getValue() {
+        return snapshot().getCount();
+    }
+
+    @Override
+    public boolean isUpdated() {
+        return getValue() > 0;
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+            totals[i] = 0;
+        }
+    }
+
+    /**
+     * Takes a snapshot of all the recorded values.
+     */
+    public synchronized Snapshot snapshot() {
+        long[] answer = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            answer[i] = totals[i] + counts.get(i);
+        }
+        return new Snapshot(answer);
+    }
+
+    /**
+     * Takes a snapshot of the values recorded since the previous interval snapshot was taken.
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long[] answer = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.getAndSet(i, 0);
+            totals[i] += count;
+            answer[i] = count;
+        }
+        return new Snapshot(answer);
+    }
+
+    static int bucket(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            value = Integer.MAX_VALUE;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    static long highestValue(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int index = bucket - LINEAR_BUCKETS;
+        int shift = index / SUB_BUCKETS + 1;
+        long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * A snapshot of the recorded values.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+        }
+
+        /**
+         * The number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the value at the given percentile, which is the highest value that is equivalent
+         * to the recorded values at the percentile.
+         *
+         * @param percentile the percentile between 0 and 100, such as 99.9
+         * @return the value, or <tt>0</tt> if no values has been recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            double p = Math.min(Math.max(percentile, 0), 100);
+            long target = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                sum += counts[i];
+                if (sum >= target) {
+                    return highestValue(i);
+                }
+            }
+            return highestValue(counts.length - 1);
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.support.processor.idempotent.BloomFilterIdempotentRepository;
+import org.apache.camel.support.processor.idempotent.MemoryIdempotentRepository;
+import org.junit.Test;
+
+public class ManagedBloomFilterIdempotentConsumerTest extends ManagementTestSupport {
+
+    @Test
+    public void testBloomFilterStatistics() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("org.apache.camel" + ":type=processors,*"), null);
+        ObjectName on = null;
+        for (ObjectName name : names) {
+            if (name.toString().contains("idempotentConsumer")) {
+                on = name;
+                break;
+            }
+        }
+        assertTrue("Should be registered", mbeanServer.isRegistered(on));
+
+        getMockEndpoint("mock:result").expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        Long skipped = (Long) mbeanServer.getAttribute(on, "BloomFilterSkippedLookupCount");
+        Long falsePositives = (Long) mbeanServer.getAttribute(on, "BloomFilterFalsePositiveCount");
+        Double rate = (Double) mbeanServer.getAttribute(on, "BloomFilterFalsePositiveRate");
+        assertEquals(3L, skipped + falsePositives);
+        assertTrue(rate >= 0 && rate <= 1);
+
+        Long count = (Long) mbeanServer.getAttribute(on, "DuplicateMessageCount");
+        assertEquals(1L, count.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        final BloomFilterIdempotentRepository repo = new BloomFilterIdempotentRepository(new MemoryIdempotentRepository());
+        repo.setTrustNewFilter(true);
+
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .idempotentConsumer(header("messageId"), repo).eager(false)
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.Test;
+
+public class ManagedRoutePercentilesTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.init();
+        context.getManagementStrategy().getManagementAgent().setPercentilesEnabled(true);
+        context.getManagementStrategy().getManagementAgent().setPercentiles("50,99");
+        return context;
+    }
+
+    @Test
+    public void testPercentiles() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=routes,name=\"route1\"");
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "PercentilesEnabled"));
+
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        TabularData data = (TabularData) mbeanServer.getAttribute(on, "ProcessingTimePercentiles");
+        assertEquals(2, data.size());
+        CompositeData p99 = data.get(new Object[]{99.0});
+        assertNotNull(p99);
+        long value = (Long) p99.get("value");
+        assertTrue("Should take around 100 millis: was " + value, value >= 90);
+
+        Long p50 = (Long) mbeanServer.invoke(on, "processingTimePercentile", new Object[]{50.0}, new String[]{"double"});
+        assertTrue("Should take around 100 millis: was " + p50, p50 >= 90);
+
+        // the interval is reset when read
+        data = (TabularData) mbeanServer.invoke(on, "intervalProcessingTimePercentiles", null, null);
+        assertTrue((Long) data.get(new Object[]{99.0}).get("value") >= 90);
+        data = (TabularData) mbeanServer.invoke(on, "intervalProcessingTimePercentiles", null, null);
+        assertEquals(0L, data.get(new Object[]{99.0}).get("value"));
+
+        // but not the total
+        data = (TabularData) mbeanServer.getAttribute(on, "ProcessingTimePercentiles");
+        assertTrue((Long) data.get(new Object[]{99.0}).get("value") >= 90);
+
+        mbeanServer.invoke(on, "reset", null, null);
+        data = (TabularData) mbeanServer.getAttribute(on, "ProcessingTimePercentiles");
+        assertEquals(0L, data.get(new Object[]{99.0}).get("value"));
+    }
+
+    @Test
+    public void testProcessorPercentiles() throws Exception {
+        // JMX tests dont work well on AIX CI servers (hangs them)
+        if (isPlatform("aix")) {
+            return;
+        }
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=camel-1,type=processors,name=\"delay\"");
+
+        assertEquals(Boolean.TRUE, mbeanServer.getAttribute(on, "PercentilesEnabled"));
+
+        template.sendBody("direct:start", "Hello World");
+
+        Long p99 = (Long) mbeanServer.invoke(on, "processingTimePercentile", new Object[]{99.0}, new String[]{"double"});
+        assertTrue("Should take around 100 millis: was " + p99, p99 >= 90);
+    }
+
+    @Test
+    public void testPercentilesDisabledByDefault() throws Exception {
+        assertFalse(new DefaultManagementAgent().getPercentilesEnabled());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").delay(100).id("delay").to("mock:result");
+            }
+        };
+    }
+
+}
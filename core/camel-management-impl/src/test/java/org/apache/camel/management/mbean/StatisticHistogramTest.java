@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StatisticHistogramTest extends Assert {
+
+    @Test
+    public void testBuckets() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = StatisticHistogram.bucket(value);
+            long highest = StatisticHistogram.highestValue(bucket);
+            assertTrue("value " + value + " should be in bucket up till " + highest, value <= highest);
+            // the buckets should be at most about 3% apart
+            assertTrue("value " + value + " bucket up till " + highest, highest - value <= Math.max(0, value / 32));
+            if (bucket > 0) {
+                assertTrue(value > StatisticHistogram.highestValue(bucket - 1));
+            }
+        }
+        assertEquals(0, StatisticHistogram.bucket(-1));
+        assertEquals(StatisticHistogram.bucket(Integer.MAX_VALUE), StatisticHistogram.bucket(Long.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, StatisticHistogram.highestValue(StatisticHistogram.bucket(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        assertFalse(histogram.isUpdated());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+
+        for (int i = 1; i <= 1000; i++) {
+            histogram.updateValue(i);
+        }
+        assertTrue(histogram.isUpdated());
+        assertEquals(1000, histogram.getValue());
+
+        StatisticHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1, snapshot.getValueAtPercentile(0));
+        assertEquals(50, snapshot.getValueAtPercentile(5));
+        assertEquals(503, snapshot.getValueAtPercentile(50));
+        assertEquals(991, snapshot.getValueAtPercentile(99));
+        assertEquals(1007, snapshot.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertFalse(histogram.isUpdated());
+        assertEquals(0, histogram.snapshot().getCount());
+    }
+
+    @Test
+    public void testIntervalSnapshot() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        histogram.updateValue(10);
+        histogram.updateValue(20);
+
+        StatisticHistogram.Snapshot interval = histogram.intervalSnapshot();
+        assertEquals(2, interval.getCount());
+        assertEquals(20, interval.getValueAtPercentile(100));
+
+        histogram.updateValue(5);
+        interval = histogram.intervalSnapshot();
+        assertEquals(1, interval.getCount());
+        assertEquals(5, interval.getValueAtPercentile(100));
+
+        assertEquals(0, histogram.intervalSnapshot().getCount());
+
+        // the interval snapshots does not affect the total
+        StatisticHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(3, snapshot.getCount());
+        assertEquals(10, snapshot.getValueAtPercentile(50));
+        assertEquals(20, snapshot.getValueAtPercentile(100));
+    }
+
+}
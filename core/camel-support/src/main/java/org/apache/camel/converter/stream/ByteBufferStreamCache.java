@@ -0,0 +1,234 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.StreamCache;
+
+/**
+ * A {@link StreamCache} for read-only {@link ByteBuffer}s, such as pooled direct buffers
+ * or a memory-mapped file.
+ * <p/>
+ * Copies of this cache share the same buffers, and only keep their own read position. Pooled buffers are
+ * {@link References reference counted}, so they are only reused when the last cache using them has been released.
+ * Reading and releasing a cache are synchronized, so a cache never reads buffers after it has been released,
+ * and reading a released cache fails with an {@link IOException}.
+ */
+public final class ByteBufferStreamCache extends InputStream implements StreamCache {
+
+    // guarded by this
+    private ByteBuffer[] buffers;
+    private final long length;
+    private final boolean inMemory;
+    private final FileInputStreamCache.TempFileManager tempFileManager;
+    private final References references;
+    private int index;
+
+    /**
+     * Creates a new cache over the given buffers, which takes over a reference which has already been retained.
+     */
+    ByteBufferStreamCache(ByteBuffer[] source, long length, boolean inMemory, FileInputStreamCache.TempFileManager tempFileManager,
+                          References references) {
+        this.buffers = duplicate(source);
+        this.length = length;
+        this.inMemory = inMemory;
+        this.tempFileManager = tempFileManager;
+        this.references = references;
+        if (tempFileManager != null) {
+            tempFileManager.add(this);
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        ByteBuffer[] current = buffers;
+        if (current == null) {
+            throw new RuntimeCamelException("Cannot reset stream cache which has been released");
+        }
+        for (ByteBuffer buffer : current) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    public synchronized void writeTo(OutputStream os) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(os);
+        ByteBuffer[] current = getBuffers();
+        for (int i = index; i < current.length; i++) {
+            ByteBuffer data = current[i].duplicate();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    public StreamCache copy(Exchange exchange) throws IOException {
+        if (tempFileManager != null) {
+            tempFileManager.addExchange(exchange);
+        }
+        ByteBuffer[] current;
+        synchronized (this) {
+            // retain while not released, the copy is created outside the lock as it registers with the temp file manager
+            current = getBuffers();
+            if (references != null) {
+                references.retain();
+            }
+        }
+        ByteBufferStreamCache copy = new ByteBufferStreamCache(current, length, inMemory, tempFileManager, references);
+        copy.reset();
+        return copy;
+    }
+
+    public boolean inMemory() {
+        return inMemory;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        long remaining = 0;
+        ByteBuffer[] current = getBuffers();
+        for (int i = index; i < current.length && remaining < Integer.MAX_VALUE; i++) {
+            remaining += current[i].remaining();
+        }
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        ByteBuffer buffer = nextBuffer(getBuffers());
+        return buffer != null ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer[] current = getBuffers();
+        int total = 0;
+        while (total < len) {
+            ByteBuffer buffer = nextBuffer(current);
+            if (buffer == null) {
+                break;
+            }
+            int chunk = Math.min(len - total, buffer.remaining());
+            buffer.get(b, off + total, chunk);
+            total += chunk;
+        }
+        return total > 0 ? total : -1;
+    }
+
+    @Override
+    public synchronized long skip(long n) throws IOException {
+        ByteBuffer[] current = getBuffers();
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer buffer = nextBuffer(current);
+            if (buffer == null) {
+                break;
+            }
+            int chunk = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + chunk);
+            skipped += chunk;
+        }
+        return skipped;
+    }
+
+    /**
+     * Detaches this cache from the underlying buffers, which may be reused afterwards when no other cache uses them.
+     * <p/>
+     * This waits for a read which is in progress, so the buffers are not reused while being read.
+     */
+    synchronized void release() {
+        ByteBuffer[] current = buffers;
+        buffers = null;
+        if (current != null && references != null) {
+            references.release();
+        }
+    }
+
+    private ByteBuffer[] getBuffers() throws IOException {
+        ByteBuffer[] current = buffers;
+        if (current == null) {
+            throw new IOException("Stream cache has been released");
+        }
+        return current;
+    }
+
+    private ByteBuffer nextBuffer(ByteBuffer[] current) {
+        while (index < current.length) {
+            ByteBuffer buffer = current[index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private static ByteBuffer[] duplicate(ByteBuffer[] source) {
+        ByteBuffer[] answer = new ByteBuffer[source.length];
+        for (int i = 0; i < source.length; i++) {
+            answer[i] = source[i].duplicate();
+        }
+        return answer;
+    }
+
+    /**
+     * The reference count of buffers which are shared by stream caches, and by the owner of the buffers.
+     * The given action is run when the last reference has been released.
+     */
+    static final class References {
+
+        private final AtomicInteger count = new AtomicInteger(1);
+        private final Runnable onReleased;
+
+        References(Runnable onReleased) {
+            this.onReleased = onReleased;
+        }
+
+        /**
+         * Adds a reference, which must only be done while holding a reference.
+         */
+        void retain() {
+            count.incrementAndGet();
+        }
+
+        void release() {
+            if (count.decrementAndGet() == 0) {
+                onReleased.run();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link OutputStream} which stores the data off the heap in direct {@link ByteBuffer} segments,
+ * and is capable of returning a {@link ByteBufferStreamCache} view of the segments.
+ * <p/>
+ * The segments are taken from a pool which is shared by all the streams, and are returned to the pool
+ * when the stream and all the stream caches created from it have been released. The pool is bounded so direct
+ * memory is not held on to by idle segments.
+ */
+public final class CachedByteBufferOutputStream extends OutputStream {
+
+    /**
+     * The maximum number of bytes kept in idle pooled segments.
+     */
+    static final long MAX_POOLED_BYTES = 16 * 1024 * 1024;
+
+    private static final ConcurrentMap<Integer, Queue<ByteBuffer>> POOL = new ConcurrentHashMap<>();
+    private static final AtomicLong POOLED_BYTES = new AtomicLong();
+
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final ByteBufferStreamCache.References references = new ByteBufferStreamCache.References(this::recycle);
+    private ByteBuffer current;
+    private long count;
+    private boolean released;
+
+    public CachedByteBufferOutputStream(int segmentSize) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive, was: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        nextSegment().put((byte) b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            ByteBuffer segment = nextSegment();
+            int chunk = Math.min(len, segment.remaining());
+            segment.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+            count += chunk;
+        }
+    }
+
+    /**
+     * The number of bytes written to this stream.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Writes the content of this stream to the given output stream.
+     */
+    public synchronized void writeTo(OutputStream os) throws IOException {
+        WritableByteChannel channel = Channels.newChannel(os);
+        for (ByteBuffer segment : segments) {
+            ByteBuffer data = segment.duplicate();
+            data.flip();
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Creates a new {@link ByteBufferStreamCache} view of the segments.
+     * <p/>
+     * The segments are only returned to the pool if the stream cache is released as well, which is done when it is
+     * managed by a {@link CachedOutputStream}, otherwise the segments are left to be garbage collected.
+     */
+    public ByteBufferStreamCache newStreamCache() {
+        return newStreamCache(null);
+    }
+
+    synchronized ByteBufferStreamCache newStreamCache(FileInputStreamCache.TempFileManager tempFileManager) {
+        ByteBuffer[] buffers = getBuffers();
+        references.retain();
+        return new ByteBufferStreamCache(buffers, count, true, tempFileManager, references);
+    }
+
+    /**
+     * Releases the stream, which must not be written to afterwards. The segments are returned to the pool
+     * when the stream caches created from the stream have been released as well.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        current = null;
+        references.release();
+    }
+
+    private synchronized void recycle() {
+        for (ByteBuffer segment : segments) {
+            offer(segment);
+        }
+        segments.clear();
+    }
+
+    private ByteBuffer[] getBuffers() {
+        if (released) {
+            throw new IllegalStateException("The stream has been released");
+        }
+        ByteBuffer[] answer = new ByteBuffer[segments.size()];
+        for (int i = 0; i < answer.length; i++) {
+            ByteBuffer data = segments.get(i).asReadOnlyBuffer();
+            data.flip();
+            answer[i] = data;
+        }
+        return answer;
+    }
+
+    private ByteBuffer nextSegment() throws IOException {
+        if (released) {
+            throw new IOException("The stream has been released");
+        }
+        if (current == null || !current.hasRemaining()) {
+            current = poll(segmentSize);
+            segments.add(current);
+        }
+        return current;
+    }
+
+    private static ByteBuffer poll(int segmentSize) {
+        Queue<ByteBuffer> queue = POOL.get(segmentSize);
+        ByteBuffer answer = queue != null ? queue.poll() : null;
+        if (answer != null) {
+            POOLED_BYTES.addAndGet(-segmentSize);
+            answer.clear();
+            return answer;
+        }
+        return ByteBuffer.allocateDirect(segmentSize);
+    }
+
+    private static void offer(ByteBuffer segment) {
+        int size = segment.capacity();
+        if (POOLED_BYTES.addAndGet(size) > MAX_POOLED_BYTES) {
+            // the pool is full so let the segment be garbage collected
+            POOLED_BYTES.addAndGet(-size);
+            return;
+        }
+        POOL.computeIfAbsent(size, k -> new ConcurrentLinkedQueue<>()).offer(segment);
+    }
+
+}
@@ -37,6 +37,9 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the cached 
  * fileInputStream(s) is/are closed after all the exchanges using the temp file are completed.
+ * <p/>
+ * If {@link StreamCachingStrategy#isOffHeap()} is enabled, the in-memory content is kept in pooled direct
+ * buffers, and the temp file is read back as a memory-mapped {@link ByteBufferStreamCache}.
  */
 public class CachedOutputStream extends OutputStream {
 
@@ -46,6 +49,7 @@ public class CachedOutputStream extends OutputStream {
     private int totalLength;
     private final TempFileManager tempFileManager;
     private final boolean closedOnCompletion;
+    private final boolean offHeap;
 
     public CachedOutputStream(Exchange exchange) {
         this(exchange, true);
@@ -56,7 +60,14 @@ public class CachedOutputStream extends OutputStream {
         tempFileManager = new TempFileManager(closedOnCompletion);
         tempFileManager.addExchange(exchange);
         this.strategy = exchange.getContext().getStreamCachingStrategy();
-        currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        this.offHeap = strategy.isOffHeap();
+        if (offHeap) {
+            CachedByteBufferOutputStream bout = new CachedByteBufferOutputStream(strategy.getBufferSize());
+            tempFileManager.setByteBufferOutputStream(bout);
+            currentStream = bout;
+        } else {
+            currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
+        }
     }
 
     public void flush() throws IOException {
@@ -90,7 +101,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
@@ -98,7 +109,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -106,7 +117,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
+        if (inMemory && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -130,9 +141,14 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof CachedByteArrayOutputStream) {
                 return ((CachedByteArrayOutputStream) currentStream).newInputStreamCache();
+            } else if (currentStream instanceof CachedByteBufferOutputStream) {
+                return tempFileManager.newByteBufferStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of CachedByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
+        } else if (offHeap && tempFileManager.getCiphers() == null) {
+            // share a read-only mapping of the file instead of reading it with a stream
+            return tempFileManager.newMappedStreamCache();
         } else {
             return tempFileManager.newStreamCache();
         }
@@ -141,11 +157,19 @@ public class CachedOutputStream extends OutputStream {
 
     private void pageToFileStream() throws IOException {
         flush();
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream bout = currentStream;
         try {
             // creates an tmp file and a file output stream
             currentStream = tempFileManager.createOutputStream(strategy);
-            bout.writeTo(currentStream);
+            if (bout instanceof CachedByteBufferOutputStream) {
+                CachedByteBufferOutputStream bbout = (CachedByteBufferOutputStream) bout;
+                bbout.writeTo(currentStream);
+                // the direct buffers are no longer needed so they can be reused
+                tempFileManager.setByteBufferOutputStream(null);
+                bbout.release();
+            } else {
+                ((ByteArrayOutputStream) bout).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
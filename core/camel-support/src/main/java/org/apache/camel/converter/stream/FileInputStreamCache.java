@@ -23,6 +23,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.security.GeneralSecurityException;
@@ -165,6 +167,11 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
+        private List<ByteBufferStreamCache> byteBufferStreamCaches;
+        // off-heap in-memory data, and the read-only mapping of the temporary file shared by the caches
+        private CachedByteBufferOutputStream byteBufferOutputStream;
+        private ByteBuffer[] mappedBuffers;
+        private long mappedLength = -1;
 
         /** Only for testing.*/
         private TempFileManager(File file, boolean closedOnCompletion) {
@@ -186,6 +193,17 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
             fileInputStreamCaches.add(fileInputStreamCache);
         }
+
+        /** Adds a ByteBufferStreamCache instance to the closer.
+         * <p>
+         * Must be synchronized, because can be accessed by several threads.
+         */
+        synchronized void add(ByteBufferStreamCache byteBufferStreamCache) {
+            if (byteBufferStreamCaches == null) {
+                byteBufferStreamCaches = new ArrayList<>(3);
+            }
+            byteBufferStreamCaches.add(byteBufferStreamCache);
+        }
         
         void addExchange(Exchange exchange) {
             if (closedOnCompletion) {
@@ -271,6 +289,73 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             }
         }
         
+        /**
+         * Sets the stream holding the off-heap in-memory data, which is released together with the caches.
+         */
+        synchronized void setByteBufferOutputStream(CachedByteBufferOutputStream out) {
+            byteBufferOutputStream = out;
+        }
+
+        /**
+         * Creates a new {@link ByteBufferStreamCache} over the off-heap in-memory data.
+         */
+        ByteBufferStreamCache newByteBufferStreamCache() {
+            CachedByteBufferOutputStream out;
+            synchronized (this) {
+                out = byteBufferOutputStream;
+            }
+            if (out == null) {
+                throw new IllegalStateException("There is no off-heap in-memory data");
+            }
+            return out.newStreamCache(this);
+        }
+
+        /**
+         * Creates a new {@link ByteBufferStreamCache} over a read-only memory-mapping of the temporary file.
+         * <p/>
+         * The mapping is shared by all the caches of the temporary file, and is only re-created if more data
+         * has been written to the file since. A mapping is unmapped by the garbage collector when it is not used
+         * anymore, as unmapping it explicitly would crash a thread which is still reading it. Notice on Windows
+         * the temporary file can only be deleted after the mapping has been unmapped.
+         */
+        ByteBufferStreamCache newMappedStreamCache() throws IOException {
+            ByteBuffer[] buffers;
+            long length;
+            synchronized (this) {
+                if (tempFile == null) {
+                    throw new IOException("Cached file was deleted");
+                }
+                length = tempFile.length();
+                if (mappedBuffers == null || mappedLength != length) {
+                    mappedBuffers = map(tempFile, length);
+                    mappedLength = length;
+                }
+                buffers = mappedBuffers;
+            }
+            return new ByteBufferStreamCache(buffers, length, false, this, null);
+        }
+
+        private synchronized void releaseMappedBuffers() {
+            // the caches which still use the mapping keep it from being unmapped
+            mappedBuffers = null;
+            mappedLength = -1;
+        }
+
+        private static ByteBuffer[] map(File file, long length) throws IOException {
+            // a single mapping cannot be larger than 2gb
+            int count = (int) ((length + Integer.MAX_VALUE - 1) / Integer.MAX_VALUE);
+            ByteBuffer[] answer = new ByteBuffer[count];
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                long position = 0;
+                for (int i = 0; i < count; i++) {
+                    long size = Math.min(Integer.MAX_VALUE, length - position);
+                    answer[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                    position += size;
+                }
+            }
+            return answer;
+        }
+
         void closeFileInputStreams() {
             if (fileInputStreamCaches != null) {
                 for (FileInputStreamCache fileInputStreamCache : fileInputStreamCaches) {
@@ -278,6 +363,18 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
                 }
                 fileInputStreamCaches.clear();
             }
+            // detach the caches before their buffers can be reused
+            if (byteBufferStreamCaches != null) {
+                for (ByteBufferStreamCache byteBufferStreamCache : byteBufferStreamCaches) {
+                    byteBufferStreamCache.release();
+                }
+                byteBufferStreamCaches.clear();
+            }
+            releaseMappedBuffers();
+            if (byteBufferOutputStream != null) {
+                byteBufferOutputStream.release();
+                byteBufferOutputStream = null;
+            }
         } 
 
         void cleanUpTempFile() {
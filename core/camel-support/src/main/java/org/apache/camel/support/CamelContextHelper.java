@@ -227,6 +227,36 @@ public final class CamelContextHelper {
         return endpoint;
     }
 
+    /**
+     * Gets the time in millis a pooled producer or consumer can be idle before it is evicted from the cache pool.
+     * <p/>
+     * Will use the property set on CamelContext with the key {@link Exchange#CACHE_POOL_IDLE_TIMEOUT}.
+     * If no property has been set, then it will fallback to return 0, which means idle services are not evicted.
+     *
+     * @param camelContext the camel context
+     * @return the idle timeout in millis
+     * @throws IllegalArgumentException is thrown if the property is illegal
+     */
+    public static long getCachePoolIdleTimeout(CamelContext camelContext) throws IllegalArgumentException {
+        if (camelContext != null) {
+            String s = camelContext.getGlobalOption(Exchange.CACHE_POOL_IDLE_TIMEOUT);
+            if (s != null) {
+                try {
+                    // we cannot use Camel type converters as they may not be ready this early
+                    long timeout = Long.parseLong(s);
+                    if (timeout < 0) {
+                        throw new IllegalArgumentException("Property " + Exchange.CACHE_POOL_IDLE_TIMEOUT + " must not be a negative number, was: " + s);
+                    }
+                    return timeout;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Property " + Exchange.CACHE_POOL_IDLE_TIMEOUT + " must not be a negative number, was: " + s, e);
+                }
+            }
+        }
+
+        return 0;
+    }
+
     /**
      * Gets the maximum cache pool size.
      * <p/>
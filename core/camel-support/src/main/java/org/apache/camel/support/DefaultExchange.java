@@ -16,33 +16,76 @@
  */
 package org.apache.camel.support;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelExecutionException;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
 import org.apache.camel.MessageHistory;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.Synchronization;
 import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.util.CopyOnWriteMap;
 import org.apache.camel.util.ObjectHelper;
 
 /**
  * A default implementation of {@link Exchange}
+ * <p/>
+ * The well-known properties from {@link ExchangePropertyKey} are stored in fixed slots, which are allocated
+ * when the first of these properties is set, and the other properties in a map. When the properties are set
+ * using {@link #setProperties(Map)} then all the properties are stored in the given map instead, so the map
+ * can be shared with other exchanges.
+ * <p/>
+ * As long as the properties are stored in the slots, {@link #getProperties()} returns a live view of all the
+ * properties. Like a {@link ConcurrentHashMap} its iterators are weakly consistent: the properties can be
+ * changed while iterating, and the iterators never throw {@link java.util.ConcurrentModificationException}.
  */
 public final class DefaultExchange implements Exchange {
 
+    private static final Supplier<Map<String, Object>> PROPERTIES_FACTORY = ConcurrentHashMap::new;
+    private static final Function<Map<String, Object>, Map<String, Object>> PROPERTIES_COPIER = ConcurrentHashMap::new;
+    private static final ExchangePropertyKey[] KEYS = ExchangePropertyKey.values();
+    // marks that all the properties are stored in the map
+    private static final Object[] PROPERTIES_IN_MAP = new Object[0];
+    private static final AtomicReferenceFieldUpdater<DefaultExchange, Object[]> INTERNAL_PROPERTIES
+        = AtomicReferenceFieldUpdater.newUpdater(DefaultExchange.class, Object[].class, "internalProperties");
+    private static final AtomicLongFieldUpdater<DefaultExchange> INTERNAL_PROPERTIES_MASK
+        = AtomicLongFieldUpdater.newUpdater(DefaultExchange.class, "internalPropertiesMask");
+
+    static {
+        // a bit per well-known property in the mask
+        if (KEYS.length > Long.SIZE) {
+            throw new ExceptionInInitializerError("There are more than " + Long.SIZE + " well-known exchange properties");
+        }
+    }
+
     protected final CamelContext context;
+    // the well-known properties, or null if none has been set yet, or PROPERTIES_IN_MAP if all the properties are
+    // stored in the map (the field is read once into a local, as it can be changed by other threads)
+    private volatile Object[] internalProperties;
+    // a bit for each slot which may have a property, so the slots are not scanned
+    private volatile long internalPropertiesMask;
     private Map<String, Object> properties;
+    private PropertiesView propertiesView;
     private Message in;
     private Message out;
     private Exception exception;
@@ -86,11 +129,7 @@ public final class DefaultExchange implements Exchange {
 
     @Override
     public Date getCreated() {
-        if (hasProperties()) {
-            return getProperty(Exchange.CREATED_TIMESTAMP, Date.class);
-        } else {
-            return null;
-        }
+        return getProperty(ExchangePropertyKey.CREATED_TIMESTAMP, Date.class);
     }
 
     public Exchange copy() {
@@ -100,7 +139,7 @@ public final class DefaultExchange implements Exchange {
         exchange.getIn().setBody(getIn().getBody());
         exchange.getIn().setFault(getIn().isFault());
         if (getIn().hasHeaders()) {
-            exchange.getIn().setHeaders(safeCopyHeaders(getIn().getHeaders()));
+            shareHeaders(getIn(), exchange.getIn());
             // just copy the attachments here
             exchange.getIn().copyAttachments(getIn());
         }
@@ -109,7 +148,7 @@ public final class DefaultExchange implements Exchange {
             exchange.getOut().setBody(getOut().getBody());
             exchange.getOut().setFault(getOut().isFault());
             if (getOut().hasHeaders()) {
-                exchange.getOut().setHeaders(safeCopyHeaders(getOut().getHeaders()));
+                shareHeaders(getOut(), exchange.getOut());
             }
             // Just copy the attachments here
             exchange.getOut().copyAttachments(getOut());
@@ -119,16 +158,65 @@ public final class DefaultExchange implements Exchange {
 
         // copy properties after body as body may trigger lazy init
         if (hasProperties()) {
-            exchange.setProperties(safeCopyProperties(getProperties()));
+            Object[] slots = internalProperties;
+            if (slots != PROPERTIES_IN_MAP) {
+                copyInternalProperties(exchange, slots);
+            } else {
+                exchange.setProperties(safeCopyProperties(getPropertiesMap()));
+            }
         }
 
         return exchange;
     }
 
+    @SuppressWarnings("unchecked")
+    private void copyInternalProperties(DefaultExchange exchange, Object[] slots) {
+        if (slots != null) {
+            // read the mask before the slots, so the copy has a bit for each slot it has a property in
+            long mask = internalPropertiesMask;
+            Object[] copy = slots.clone();
+
+            // safe copy message history using a defensive copy
+            int index = ExchangePropertyKey.MESSAGE_HISTORY.ordinal();
+            List<MessageHistory> history = (List<MessageHistory>) copy[index];
+            if (history != null) {
+                copy[index] = new LinkedList<>(history);
+            }
+
+            exchange.internalPropertiesMask = mask;
+            exchange.internalProperties = copy;
+        }
+
+        Map<String, Object> map = properties;
+        if (map != null && !map.isEmpty()) {
+            exchange.properties = safeCopyProperties(map);
+        }
+    }
+
+    private void shareHeaders(Message source, Message copy) {
+        Map<String, Object> headers = copy.getHeaders();
+        if (headers instanceof CopyOnWriteMap) {
+            // the copy already shares the headers of the source
+            return;
+        }
+        if (copy.getClass() == DefaultMessage.class) {
+            // the default message has copied the headers into its own map, which can be shared copy-on-write
+            // by the copies of the copy (the source is not changed as others may use its headers as-is)
+            HeadersMapFactory factory = context.getHeadersMapFactory();
+            copy.setHeaders(new CopyOnWriteMap<>(headers, factory::newMap, factory::newMap));
+        } else {
+            copy.setHeaders(safeCopyHeaders(source.getHeaders()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
     private Map<String, Object> safeCopyHeaders(Map<String, Object> headers) {
         if (headers == null) {
             return null;
         }
+        if (headers instanceof CopyOnWriteMap) {
+            return ((CopyOnWriteMap<String, Object>) headers).copy();
+        }
 
         return context.getHeadersMapFactory().newMap(headers);
     }
@@ -139,10 +227,18 @@ public final class DefaultExchange implements Exchange {
             return null;
         }
 
-        Map<String, Object> answer = createProperties(properties);
+        // share the properties copy-on-write so the copy only pays for the properties it changes,
+        // and otherwise copy the properties into a map which the copies of the copy can share
+        // (the source is not changed as others may use its properties as-is)
+        Map<String, Object> answer;
+        if (properties instanceof CopyOnWriteMap) {
+            answer = ((CopyOnWriteMap<String, Object>) properties).copy();
+        } else {
+            answer = new CopyOnWriteMap<>(PROPERTIES_COPIER.apply(properties), PROPERTIES_FACTORY, PROPERTIES_COPIER);
+        }
 
         // safe copy message history using a defensive copy
-        List<MessageHistory> history = (List<MessageHistory>) answer.remove(Exchange.MESSAGE_HISTORY);
+        List<MessageHistory> history = (List<MessageHistory>) answer.get(Exchange.MESSAGE_HISTORY);
         if (history != null) {
             answer.put(Exchange.MESSAGE_HISTORY, new LinkedList<>(history));
         }
@@ -154,11 +250,55 @@ public final class DefaultExchange implements Exchange {
         return context;
     }
 
+    public Object getProperty(ExchangePropertyKey key) {
+        Object[] slots = internalProperties;
+        if (slots == PROPERTIES_IN_MAP) {
+            return getMapProperty(key.getName());
+        }
+        return slots != null ? slots[key.ordinal()] : null;
+    }
+
+    public <T> T getProperty(ExchangePropertyKey key, Class<T> type) {
+        return convertProperty(getProperty(key), type);
+    }
+
+    public <T> T getProperty(ExchangePropertyKey key, Object defaultValue, Class<T> type) {
+        Object value = getProperty(key);
+        return convertProperty(value != null ? value : defaultValue, type);
+    }
+
+    public void setProperty(ExchangePropertyKey key, Object value) {
+        // only allocate the slots when there is a property to store
+        Object[] slots = value != null ? getInternalProperties() : internalProperties;
+        if (slots == PROPERTIES_IN_MAP) {
+            setMapProperty(key.getName(), value);
+        } else if (slots != null) {
+            setInternalProperty(slots, key.ordinal(), value);
+        }
+    }
+
+    public Object removeProperty(ExchangePropertyKey key) {
+        Object[] slots = internalProperties;
+        if (slots == PROPERTIES_IN_MAP) {
+            Map<String, Object> map = properties;
+            return map != null ? map.remove(key.getName()) : null;
+        }
+        return slots != null ? setInternalProperty(slots, key.ordinal(), null) : null;
+    }
+
     public Object getProperty(String name) {
-        if (properties != null) {
-            return properties.get(name);
+        if (internalProperties != PROPERTIES_IN_MAP) {
+            ExchangePropertyKey key = ExchangePropertyKey.asExchangeProperty(name);
+            if (key != null) {
+                return getProperty(key);
+            }
         }
-        return null;
+        return getMapProperty(name);
+    }
+
+    private Object getMapProperty(String name) {
+        Map<String, Object> map = properties;
+        return map != null ? map.get(name) : null;
     }
 
     public Object getProperty(String name, Object defaultValue) {
@@ -166,29 +306,16 @@ public final class DefaultExchange implements Exchange {
         return answer != null ? answer : defaultValue;
     }
 
-    @SuppressWarnings("unchecked")
     public <T> T getProperty(String name, Class<T> type) {
-        Object value = getProperty(name);
-        if (value == null) {
-            // lets avoid NullPointerException when converting to boolean for null values
-            if (boolean.class == type) {
-                return (T) Boolean.FALSE;
-            }
-            return null;
-        }
-
-        // eager same instance type test to avoid the overhead of invoking the type converter
-        // if already same type
-        if (type.isInstance(value)) {
-            return (T) value;
-        }
+        return convertProperty(getProperty(name), type);
+    }
 
-        return ExchangeHelper.convertToType(this, type, value);
+    public <T> T getProperty(String name, Object defaultValue, Class<T> type) {
+        return convertProperty(getProperty(name, defaultValue), type);
     }
 
     @SuppressWarnings("unchecked")
-    public <T> T getProperty(String name, Object defaultValue, Class<T> type) {
-        Object value = getProperty(name, defaultValue);
+    private <T> T convertProperty(Object value, Class<T> type) {
         if (value == null) {
             // lets avoid NullPointerException when converting to boolean for null values
             if (boolean.class == type) {
@@ -207,13 +334,24 @@ public final class DefaultExchange implements Exchange {
     }
 
     public void setProperty(String name, Object value) {
+        if (internalProperties != PROPERTIES_IN_MAP) {
+            ExchangePropertyKey key = ExchangePropertyKey.asExchangeProperty(name);
+            if (key != null) {
+                setProperty(key, value);
+                return;
+            }
+        }
+        setMapProperty(name, value);
+    }
+
+    private void setMapProperty(String name, Object value) {
         if (value != null) {
             // avoid the NullPointException
-            getProperties().put(name, value);
+            getPropertiesMap().put(name, value);
         } else {
             // if the value is null, we just remove the key from the map
             if (name != null) {
-                getProperties().remove(name);
+                getPropertiesMap().remove(name);
             }
         }
     }
@@ -222,7 +360,14 @@ public final class DefaultExchange implements Exchange {
         if (!hasProperties()) {
             return null;
         }
-        return getProperties().remove(name);
+        if (internalProperties != PROPERTIES_IN_MAP) {
+            ExchangePropertyKey key = ExchangePropertyKey.asExchangeProperty(name);
+            if (key != null) {
+                return removeProperty(key);
+            }
+        }
+        Map<String, Object> map = properties;
+        return map != null ? map.remove(name) : null;
     }
 
     public boolean removeProperties(String pattern) {
@@ -234,10 +379,11 @@ public final class DefaultExchange implements Exchange {
             return false;
         }
 
+        Map<String, Object> map = getProperties();
         // store keys to be removed as we cannot loop and remove at the same time in implementations such as HashMap
         Set<String> toBeRemoved = new HashSet<>();
         boolean matches = false;
-        for (String key : properties.keySet()) {
+        for (String key : map.keySet()) {
             if (PatternHelper.matchPattern(key, pattern)) {
                 if (excludePatterns != null && PatternHelper.isExcludePatternMatch(key, excludePatterns)) {
                     continue;
@@ -248,11 +394,11 @@ public final class DefaultExchange implements Exchange {
         }
 
         if (!toBeRemoved.isEmpty()) {
-            if (toBeRemoved.size() == properties.size()) {
+            if (toBeRemoved.size() == map.size()) {
                 // special optimization when all should be removed
-                properties.clear();
+                map.clear();
             } else {
-                toBeRemoved.forEach(k -> properties.remove(k));
+                toBeRemoved.forEach(k -> map.remove(k));
             }
         }
 
@@ -260,18 +406,89 @@ public final class DefaultExchange implements Exchange {
     }
 
     public Map<String, Object> getProperties() {
-        if (properties == null) {
-            properties = createProperties();
+        if (internalProperties == PROPERTIES_IN_MAP) {
+            return getPropertiesMap();
         }
-        return properties;
+        if (propertiesView == null) {
+            propertiesView = new PropertiesView();
+        }
+        return propertiesView;
     }
 
     public boolean hasProperties() {
-        return properties != null && !properties.isEmpty();
+        Object[] slots = internalProperties;
+        if (slots != PROPERTIES_IN_MAP && slots != null) {
+            for (long mask = internalPropertiesMask; mask != 0; mask &= mask - 1) {
+                if (slots[Long.numberOfTrailingZeros(mask)] != null) {
+                    return true;
+                }
+            }
+        }
+        Map<String, Object> map = properties;
+        return map != null && !map.isEmpty();
     }
 
     public void setProperties(Map<String, Object> properties) {
+        if (properties != null && properties == propertiesView) {
+            // already our own properties
+            return;
+        }
+        // store all the properties in the given map from now on, as the map may be shared with other exchanges
         this.properties = properties;
+        this.internalProperties = PROPERTIES_IN_MAP;
+        this.internalPropertiesMask = 0;
+    }
+
+    private Map<String, Object> getPropertiesMap() {
+        if (properties == null) {
+            properties = createProperties();
+        }
+        return properties;
+    }
+
+    private Object[] getInternalProperties() {
+        Object[] slots = internalProperties;
+        if (slots == null) {
+            INTERNAL_PROPERTIES.compareAndSet(this, null, new Object[KEYS.length]);
+            slots = internalProperties;
+        }
+        return slots;
+    }
+
+    private Object setInternalProperty(Object[] slots, int index, Object value) {
+        Object answer = slots[index];
+        slots[index] = value;
+        long bit = 1L << index;
+        if (value != null) {
+            setMaskBit(bit);
+        } else if (answer != null) {
+            clearMaskBit(bit);
+            // another thread may have set the property before the bit was cleared
+            if (slots[index] != null) {
+                setMaskBit(bit);
+            }
+        }
+        return answer;
+    }
+
+    private void setMaskBit(long bit) {
+        long mask;
+        do {
+            mask = internalPropertiesMask;
+            if ((mask & bit) != 0) {
+                return;
+            }
+        } while (!INTERNAL_PROPERTIES_MASK.compareAndSet(this, mask, mask | bit));
+    }
+
+    private void clearMaskBit(long bit) {
+        long mask;
+        do {
+            mask = internalPropertiesMask;
+            if ((mask & bit) == 0) {
+                return;
+            }
+        } while (!INTERNAL_PROPERTIES_MASK.compareAndSet(this, mask, mask & ~bit));
     }
 
     public Message getIn() {
@@ -372,7 +589,7 @@ public final class DefaultExchange implements Exchange {
         }
         if (t instanceof InterruptedException) {
             // mark the exchange as interrupted due to the interrupt exception
-            setProperty(Exchange.INTERRUPTED, Boolean.TRUE);
+            setProperty(ExchangePropertyKey.INTERRUPTED, Boolean.TRUE);
         }
     }
 
@@ -436,9 +653,10 @@ public final class DefaultExchange implements Exchange {
         // original message was externally redelivered or not, therefore we store this detail
         // as a exchange property to keep it around for the lifecycle of the exchange
         if (hasProperties()) {
-            answer = getProperty(Exchange.EXTERNAL_REDELIVERED, null, Boolean.class);
+            answer = getProperty(ExchangePropertyKey.EXTERNAL_REDELIVERED, null, Boolean.class);
         }
-        
+
+
         if (answer == null) {
             // lets avoid adding methods to the Message API, so we use the
             // DefaultMessage to allow component specific messages to extend
@@ -453,7 +671,7 @@ public final class DefaultExchange implements Exchange {
     }
 
     public boolean isRollbackOnly() {
-        return Boolean.TRUE.equals(getProperty(Exchange.ROLLBACK_ONLY)) || Boolean.TRUE.equals(getProperty(Exchange.ROLLBACK_ONLY_LAST));
+        return Boolean.TRUE.equals(getProperty(ExchangePropertyKey.ROLLBACK_ONLY)) || Boolean.TRUE.equals(getProperty(ExchangePropertyKey.ROLLBACK_ONLY_LAST));
     }
 
     public UnitOfWork getUnitOfWork() {
@@ -545,4 +763,194 @@ public final class DefaultExchange implements Exchange {
         return new ConcurrentHashMap<>(properties);
     }
 
+    /**
+     * A map view of all the properties, which are the well-known properties stored in
+     * the fixed slots and the other properties stored in the map.
+     */
+    private final class PropertiesView extends AbstractMap<String, Object> {
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String ? getProperty((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            Object answer = getProperty(key);
+            setProperty(key, value);
+            return answer;
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return key instanceof String ? removeProperty((String) key) : null;
+        }
+
+        @Override
+        public int size() {
+            Object[] slots = internalProperties;
+            if (slots == PROPERTIES_IN_MAP) {
+                return getPropertiesMap().size();
+            }
+            int answer = 0;
+            if (slots != null) {
+                for (long mask = internalPropertiesMask; mask != 0; mask &= mask - 1) {
+                    if (slots[Long.numberOfTrailingZeros(mask)] != null) {
+                        answer++;
+                    }
+                }
+            }
+            Map<String, Object> map = properties;
+            return answer + (map != null ? map.size() : 0);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return !hasProperties();
+        }
+
+        @Override
+        public void clear() {
+            Object[] slots = internalProperties;
+            if (slots == PROPERTIES_IN_MAP) {
+                getPropertiesMap().clear();
+                return;
+            }
+            if (slots != null) {
+                for (long mask = internalPropertiesMask; mask != 0; mask &= mask - 1) {
+                    setInternalProperty(slots, Long.numberOfTrailingZeros(mask), null);
+                }
+            }
+            Map<String, Object> map = properties;
+            if (map != null) {
+                map.clear();
+            }
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    Object[] slots = internalProperties;
+                    if (slots == PROPERTIES_IN_MAP) {
+                        return getPropertiesMap().entrySet().iterator();
+                    }
+                    return new PropertiesIterator(slots);
+                }
+
+                @Override
+                public int size() {
+                    return PropertiesView.this.size();
+                }
+
+                @Override
+                public void clear() {
+                    PropertiesView.this.clear();
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates the well-known properties in the fixed slots, and then the properties in the map.
+     */
+    private final class PropertiesIterator implements Iterator<Map.Entry<String, Object>> {
+
+        private final Object[] slots;
+        // the slots which had a property when the iterator was created, which are not iterated yet
+        private long mask;
+        private int lastIndex = -1;
+        private Iterator<Map.Entry<String, Object>> mapIterator;
+        private boolean lastInMap;
+
+        PropertiesIterator(Object[] slots) {
+            this.slots = slots;
+            this.mask = slots != null ? internalPropertiesMask : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextIndex() >= 0) {
+                return true;
+            }
+            return mapIterator().hasNext();
+        }
+
+        @Override
+        public Map.Entry<String, Object> next() {
+            int next = nextIndex();
+            if (next >= 0) {
+                Object value = slots[next];
+                mask &= ~(1L << next);
+                lastIndex = next;
+                lastInMap = false;
+                // the property may have been removed since, so the value is read once
+                if (value != null) {
+                    return new PropertyEntry(KEYS[next].getName(), value);
+                }
+                return next();
+            }
+            Map.Entry<String, Object> entry = mapIterator().next();
+            lastIndex = -1;
+            lastInMap = true;
+            return new PropertyEntry(entry.getKey(), entry.getValue());
+        }
+
+        @Override
+        public void remove() {
+            if (lastInMap) {
+                mapIterator.remove();
+                lastInMap = false;
+            } else if (lastIndex >= 0) {
+                if (slots == internalProperties) {
+                    setInternalProperty(slots, lastIndex, null);
+                }
+                lastIndex = -1;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        private int nextIndex() {
+            // skip the slots which no longer have a property
+            while (mask != 0) {
+                int next = Long.numberOfTrailingZeros(mask);
+                if (slots[next] != null) {
+                    return next;
+                }
+                mask &= ~(1L << next);
+            }
+            return -1;
+        }
+
+        private Iterator<Map.Entry<String, Object>> mapIterator() {
+            if (mapIterator == null) {
+                Map<String, Object> map = properties;
+                mapIterator = map != null ? map.entrySet().iterator() : Collections.emptyIterator();
+            }
+            return mapIterator;
+        }
+    }
+
+    private final class PropertyEntry extends AbstractMap.SimpleEntry<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        PropertyEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            setProperty(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
 }
@@ -28,6 +28,7 @@ import org.apache.camel.Attachment;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.CopyOnWriteMap;
 import org.apache.camel.util.ObjectHelper;
 
 /**
@@ -215,7 +216,8 @@ public class DefaultMessage extends MessageSupport {
     public void setHeaders(Map<String, Object> headers) {
         ObjectHelper.notNull(getCamelContext(), "CamelContext", this);
 
-        if (getCamelContext().getHeadersMapFactory().isInstanceOf(headers)) {
+        HeadersMapFactory factory = getCamelContext().getHeadersMapFactory();
+        if (factory.isInstanceOf(headers) || isSharedHeaders(headers, factory)) {
             this.headers = headers;
         } else {
             // create a new map
@@ -223,6 +225,13 @@ public class DefaultMessage extends MessageSupport {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static boolean isSharedHeaders(Map<String, Object> headers, HeadersMapFactory factory) {
+        // only copy-on-write maps of headers created from the headers map factory can be used as-is
+        // (and not other maps such as the exchange properties)
+        return headers instanceof CopyOnWriteMap && ((CopyOnWriteMap<String, Object>) headers).isBackedBy(factory::isInstanceOf);
+    }
+
     public boolean hasHeaders() {
         if (!hasPopulatedHeaders()) {
             // force creating headers
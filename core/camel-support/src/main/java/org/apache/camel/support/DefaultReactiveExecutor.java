@@ -0,0 +1,257 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default {@link ReactiveExecutor} which runs the scheduled tasks on the current thread.
+ * <p/>
+ * Each thread has a worker with an array backed ring deque of task slots, which are reused
+ * so scheduling a task or a callback does not allocate any objects. The descriptions of the
+ * tasks are only built when trace logging is enabled.
+ */
+public class DefaultReactiveExecutor implements ReactiveExecutor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultReactiveExecutor.class);
+
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+
+    @Override
+    public void scheduleMain(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, false, true, true, false);
+    }
+
+    @Override
+    public void schedule(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, false, true, false, false);
+    }
+
+    @Override
+    public void scheduleLast(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, false, false, false, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable, String description) {
+        workers.get().schedule(runnable, description, false, true, true, true);
+    }
+
+    @Override
+    public void callback(AsyncCallback callback) {
+        workers.get().schedule(callback, null, true, true, false, false);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    private static void run(Object task, boolean callback) {
+        if (callback) {
+            ((AsyncCallback) task).done(false);
+        } else {
+            ((Runnable) task).run();
+        }
+    }
+
+    private static String describe(Object task, String description, boolean callback) {
+        if (description != null) {
+            return description;
+        }
+        return callback ? "Callback[" + task + "]" : String.valueOf(task);
+    }
+
+    private static class Worker {
+
+        private TaskDeque queue = new TaskDeque();
+        // the queues pushed back by main tasks, and the spare queues to reuse
+        private final ArrayDeque<TaskDeque> back = new ArrayDeque<>();
+        private final ArrayDeque<TaskDeque> spare = new ArrayDeque<>();
+        private boolean running;
+
+        void schedule(Object task, String description, boolean callback, boolean first, boolean main, boolean sync) {
+            if (main) {
+                if (!queue.isEmpty()) {
+                    back.push(queue);
+                    TaskDeque next = spare.poll();
+                    queue = next != null ? next : new TaskDeque();
+                }
+            }
+            if (first) {
+                queue.addFirst(task, description, callback);
+            } else {
+                queue.addLast(task, description, callback);
+            }
+            if (!running || sync) {
+                running = true;
+                try {
+                    for (;;) {
+                        if (queue.isEmpty()) {
+                            if (!back.isEmpty()) {
+                                spare.push(queue);
+                                queue = back.poll();
+                                continue;
+                            } else {
+                                break;
+                            }
+                        }
+                        boolean polledCallback = queue.firstIsCallback();
+                        String polledDescription = queue.firstDescription();
+                        Object polled = queue.pollFirst();
+                        try {
+                            if (LOG.isTraceEnabled()) {
+                                LOG.trace("Running reactive work: {}", describe(polled, polledDescription, polledCallback));
+                            }
+                            run(polled, polledCallback);
+                        } catch (Throwable t) {
+                            LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+                        }
+                    }
+                } finally {
+                    running = false;
+                }
+            } else if (LOG.isDebugEnabled()) {
+                LOG.debug("Queuing reactive work: {}", describe(task, description, callback));
+            }
+        }
+
+        boolean executeFromQueue() {
+            if (queue.isEmpty()) {
+                return false;
+            }
+            boolean polledCallback = queue.firstIsCallback();
+            String polledDescription = queue.firstDescription();
+            Object polled = queue.pollFirst();
+            if (!LOG.isTraceEnabled()) {
+                try {
+                    run(polled, polledCallback);
+                } catch (Throwable t) {
+                    LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+                }
+                return true;
+            }
+            Thread thread = Thread.currentThread();
+            String name = thread.getName();
+            try {
+                thread.setName(name + " - " + describe(polled, polledDescription, polledCallback));
+                run(polled, polledCallback);
+            } catch (Throwable t) {
+                LOG.warn("Error executing reactive work due to " + t.getMessage() + ". This exception is ignored.", t);
+            } finally {
+                thread.setName(name);
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * An array backed ring deque holding the tasks in reusable slots.
+     */
+    static final class TaskDeque {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private Object[] tasks = new Object[INITIAL_CAPACITY];
+        private String[] descriptions = new String[INITIAL_CAPACITY];
+        private boolean[] callbacks = new boolean[INITIAL_CAPACITY];
+        // index of the first task, and the index of the slot after the last task
+        private int head;
+        private int tail;
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int size() {
+            return (tail - head) & (tasks.length - 1);
+        }
+
+        void addFirst(Object task, String description, boolean callback) {
+            // a null task would never be polled, so reject it up front like ArrayDeque did
+            Objects.requireNonNull(task, "task");
+            head = (head - 1) & (tasks.length - 1);
+            tasks[head] = task;
+            descriptions[head] = description;
+            callbacks[head] = callback;
+            if (head == tail) {
+                doubleCapacity();
+            }
+        }
+
+        void addLast(Object task, String description, boolean callback) {
+            Objects.requireNonNull(task, "task");
+            tasks[tail] = task;
+            descriptions[tail] = description;
+            callbacks[tail] = callback;
+            tail = (tail + 1) & (tasks.length - 1);
+            if (head == tail) {
+                doubleCapacity();
+            }
+        }
+
+        boolean firstIsCallback() {
+            return callbacks[head];
+        }
+
+        String firstDescription() {
+            return descriptions[head];
+        }
+
+        Object pollFirst() {
+            Object task = tasks[head];
+            if (task != null) {
+                // clear the slot so it can be reused
+                tasks[head] = null;
+                descriptions[head] = null;
+                callbacks[head] = false;
+                head = (head + 1) & (tasks.length - 1);
+            }
+            return task;
+        }
+
+        private void doubleCapacity() {
+            int n = tasks.length;
+            int r = n - head;
+            int newCapacity = n << 1;
+            if (newCapacity < 0) {
+                throw new IllegalStateException("Too many reactive tasks queued");
+            }
+            Object[] t = new Object[newCapacity];
+            String[] d = new String[newCapacity];
+            boolean[] c = new boolean[newCapacity];
+            System.arraycopy(tasks, head, t, 0, r);
+            System.arraycopy(tasks, 0, t, r, head);
+            System.arraycopy(descriptions, head, d, 0, r);
+            System.arraycopy(descriptions, 0, d, r, head);
+            System.arraycopy(callbacks, head, c, 0, r);
+            System.arraycopy(callbacks, 0, c, r, head);
+            tasks = t;
+            descriptions = d;
+            callbacks = c;
+            head = 0;
+            tail = n;
+        }
+    }
+}
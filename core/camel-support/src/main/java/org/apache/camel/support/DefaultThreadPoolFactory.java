@@ -27,24 +27,40 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
  */
 public class DefaultThreadPoolFactory implements ThreadPoolFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+    private static final AtomicBoolean VIRTUAL_THREADS_UNSUPPORTED_LOGGED = new AtomicBoolean();
+
     public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
         return Executors.newCachedThreadPool(threadFactory);
     }
     
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (profile.getVirtualThreads() != null && profile.getVirtualThreads()) {
+            if (CamelThreadFactory.isVirtualThreadsSupported()) {
+                return newVirtualThreadPool(profile.getRejectedExecutionHandler(), factory);
+            }
+            // platform threads must be pooled so use the pool sizes of the profile
+            if (VIRTUAL_THREADS_UNSUPPORTED_LOGGED.compareAndSet(false, true)) {
+                LOG.warn("Virtual threads are not supported by this JVM. Using thread pools with platform threads instead.");
+            }
+        }
         // allow core thread timeout is default false if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : false;
         return newThreadPool(profile.getPoolSize(), 
@@ -95,6 +111,25 @@ public class DefaultThreadPoolFactory implements ThreadPoolFactory {
         return answer;
     }
     
+    /**
+     * Creates a thread pool which runs each task on a new thread, to be used with a thread factory
+     * creating virtual threads. The pool and queue sizes are not used, as virtual threads are cheap to create
+     * and should not be pooled. The returned pool is a {@link ThreadPoolExecutor} to keep the rejection
+     * and management semantics of the other thread pools.
+     * <p/>
+     * The pool is unbounded, so it must only be used if virtual threads are supported.
+     */
+    public ExecutorService newVirtualThreadPool(RejectedExecutionHandler rejectedExecutionHandler, ThreadFactory threadFactory) {
+        // no core threads, no keep alive and direct-handover so every task is run by a new thread
+        ThreadPoolExecutor answer = new RejectableThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.SECONDS, new SynchronousQueue<>());
+        answer.setThreadFactory(threadFactory);
+        if (rejectedExecutionHandler == null) {
+            rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+        }
+        answer.setRejectedExecutionHandler(rejectedExecutionHandler);
+        return answer;
+    }
+
     @Override
     public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
         RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
@@ -19,7 +19,6 @@ package org.apache.camel.support;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -41,6 +40,12 @@ import org.slf4j.LoggerFactory;
  * This implementation supports thread safe and non thread safe, in the manner you can enable locking or not.
  * By default locking is enabled and thus we are thread safe.
  * <p/>
+ * The entries are kept in a hashed timing wheel, which has a slot for each purge poll time (tick), and where
+ * an entry is linked in the slot of the tick it expires. This makes put, get and remove constant time, and the
+ * purge task only checks the entries in the slots of the ticks which has passed since the last purge, instead of
+ * all the entries. Entries which expire after more than a full revolution of the wheel are kept in the slot and
+ * skipped until their revolution.
+ * <p/>
  * You must provide a {@link java.util.concurrent.ScheduledExecutorService} in the constructor which is used
  * to schedule a background task which check for old entries to purge. This implementation will shutdown the scheduler
  * if its being stopped.
@@ -51,11 +56,22 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
 
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
+    /**
+     * The number of slots in the timing wheel
+     */
+    static final int WHEEL_SIZE = 512;
+
+    private static final Lock NO_LOCK = new NoLock();
+
     private final ConcurrentMap<K, TimeoutMapEntry<K, V>> map = new ConcurrentHashMap<>();
     private final ScheduledExecutorService executor;
     private volatile ScheduledFuture<?> future;
     private final long purgePollTime;
+    private final long tickDuration;
     private final Lock lock;
+    private final Slot<K, V>[] wheel;
+    // the last tick which has been fully purged
+    private volatile long lastTick = Long.MIN_VALUE;
 
     public DefaultTimeoutMap(ScheduledExecutorService executor) {
         this(executor, 1000);
@@ -69,11 +85,17 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         this(executor, requestMapPollTimeMillis, useLock ? new ReentrantLock() : new NoLock());
     }
 
+    @SuppressWarnings("unchecked")
     public DefaultTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, Lock lock) {
         ObjectHelper.notNull(executor, "ScheduledExecutorService");
         this.executor = executor;
         this.purgePollTime = requestMapPollTimeMillis;
+        this.tickDuration = Math.max(1, requestMapPollTimeMillis);
         this.lock = lock;
+        this.wheel = new Slot[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new Slot<>(i);
+        }
     }
 
     public V get(K key) {
@@ -84,7 +106,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             if (entry == null) {
                 return null;
             }
+            unlink(entry);
             updateExpireTime(entry);
+            link(entry);
         } finally {
             lock.unlock();
         }
@@ -97,6 +121,10 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         try {
             updateExpireTime(entry);
             TimeoutMapEntry<K, V> result = map.put(key, entry);
+            if (result != null) {
+                unlink(result);
+            }
+            link(entry);
             return result != null ? result.getValue() : null;
         } finally {
             lock.unlock();
@@ -110,6 +138,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             updateExpireTime(entry);
             //Just make sure we don't override the old entry
             TimeoutMapEntry<K, V> result = map.putIfAbsent(key, entry);
+            if (result == null) {
+                link(entry);
+            }
             return result != null ? result.getValue() : null;
         } finally {
             lock.unlock();
@@ -122,6 +153,9 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         lock.lock();
         try {
             entry = map.remove(key);
+            if (entry != null) {
+                unlink(entry);
+            }
         } finally {
             lock.unlock();
         }
@@ -172,20 +206,19 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
         
         long now = currentTime();
+        long currentTick = tickOf(now);
 
         List<TimeoutMapEntry<K, V>> expired = new ArrayList<>();
 
         lock.lock();
         try {
-            // need to find the expired entries and add to the expired list
-            for (Map.Entry<K, TimeoutMapEntry<K, V>> entry : map.entrySet()) {
-                if (entry.getValue().getExpireTime() < now) {
-                    if (isValidForEviction(entry.getValue())) {
-                        log.debug("Evicting inactive entry ID: {}", entry.getValue());
-                        expired.add(entry.getValue());
-                    }
-                }
+            // need to find the expired entries in the slots of the ticks since the last purge,
+            // and the slot of the current tick, as its entries may not all have expired yet
+            long first = lastTick == Long.MIN_VALUE ? currentTick - WHEEL_SIZE + 1 : Math.max(lastTick + 1, currentTick - WHEEL_SIZE + 1);
+            for (long tick = first; tick <= currentTick; tick++) {
+                wheel[slotOf(tick)].collectExpired(now, expired);
             }
+            lastTick = currentTick - 1;
 
             // if we found any expired then we need to sort, onEviction and remove
             if (!expired.isEmpty()) {
@@ -200,26 +233,14 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
                     }
                 });
 
-                List<K> evicts = new ArrayList<>(expired.size());
-                try {
-                    // now fire eviction notification
-                    for (TimeoutMapEntry<K, V> entry : expired) {
-                        boolean evict = false;
-                        try {
-                            evict = onEviction(entry.getKey(), entry.getValue());
-                        } catch (Throwable t) {
-                            log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}", 
-                                    entry.getValue(), t);
-                        }
-                        if (evict) {
-                            // okay this entry should be evicted
-                            evicts.add(entry.getKey());
-                        }
-                    }
-                } finally {
-                    // and must remove from list after we have fired the notifications
-                    for (K key : evicts) {
-                        map.remove(key);
+                // now fire eviction notification
+                for (TimeoutMapEntry<K, V> entry : expired) {
+                    Lock evictionLock = getEvictionLock(entry.getKey());
+                    evictionLock.lock();
+                    try {
+                        evict(entry, now, currentTick);
+                    } finally {
+                        evictionLock.unlock();
                     }
                 }
             }
@@ -228,6 +249,38 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         }
     }
 
+    private void evict(TimeoutMapEntry<K, V> entry, long now, long currentTick) {
+        if (map.get(entry.getKey()) != entry) {
+            // the entry has been removed or replaced since it was found expired
+            return;
+        }
+        if (entry.getExpireTime() >= now) {
+            // the entry has been refreshed since it was found expired
+            unlink(entry);
+            link(entry);
+            return;
+        }
+
+        boolean evict = false;
+        if (isValidForEviction(entry)) {
+            log.debug("Evicting inactive entry ID: {}", entry);
+            try {
+                evict = onEviction(entry.getKey(), entry.getValue());
+            } catch (Throwable t) {
+                log.warn("Exception happened during eviction of entry ID {}, won't evict and will continue trying: {}",
+                        entry.getValue(), t);
+            }
+        }
+        if (evict) {
+            // okay this entry should be evicted
+            map.remove(entry.getKey(), entry);
+            unlink(entry);
+        } else if (map.get(entry.getKey()) == entry) {
+            // the entries which was not evicted must be checked again on the next purge
+            relink(entry, currentTick);
+        }
+    }
+
     // Properties
     // -------------------------------------------------------------------------
     
@@ -249,6 +302,16 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         future = executor.scheduleWithFixedDelay(this, 0, purgePollTime, TimeUnit.MILLISECONDS);
     }
 
+    /**
+     * Gets the lock to hold while evicting the entry with the given key, for derivations which guard
+     * the entries by their own locks instead of the lock of this map.
+     * <p/>
+     * By default there is no such lock, as the lock of this map is held while purging.
+     */
+    protected Lock getEvictionLock(K key) {
+        return NO_LOCK;
+    }
+
     /**
      * A hook to allow derivations to avoid evicting the current entry
      */
@@ -269,6 +332,44 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
         return System.currentTimeMillis();
     }
 
+    private long tickOf(long time) {
+        return Math.floorDiv(time, tickDuration);
+    }
+
+    private static int slotOf(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    /**
+     * Links the entry in the slot of the tick it expires, or the next tick to purge if it has already expired
+     */
+    private void link(TimeoutMapEntry<K, V> entry) {
+        long tick = tickOf(entry.getExpireTime());
+        long last = lastTick;
+        if (last != Long.MIN_VALUE && tick <= last) {
+            tick = last + 1;
+        }
+        wheel[slotOf(tick)].link(entry);
+    }
+
+    private void relink(TimeoutMapEntry<K, V> entry, long tick) {
+        unlink(entry);
+        wheel[slotOf(tick)].link(entry);
+    }
+
+    private void unlink(TimeoutMapEntry<K, V> entry) {
+        while (true) {
+            int slot = entry.slot;
+            if (slot < 0) {
+                return;
+            }
+            if (wheel[slot].unlink(entry, slot)) {
+                return;
+            }
+            // the entry was moved to another slot concurrently so try again
+        }
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (executor.isShutdown()) {
@@ -284,7 +385,84 @@ public class DefaultTimeoutMap<K, V> extends ServiceSupport implements TimeoutMa
             future = null;
         }
         // clear map if we stop
-        map.clear();
+        lock.lock();
+        try {
+            map.clear();
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i].clear();
+            }
+            lastTick = Long.MIN_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A slot of the timing wheel, which is a doubly linked list of the entries.
+     */
+    private static final class Slot<K, V> {
+
+        private final int index;
+        private TimeoutMapEntry<K, V> head;
+        private TimeoutMapEntry<K, V> tail;
+
+        Slot(int index) {
+            this.index = index;
+        }
+
+        synchronized void link(TimeoutMapEntry<K, V> entry) {
+            // append so entries with the same expire time are evicted in the order they were added
+            entry.next = null;
+            entry.previous = tail;
+            if (tail != null) {
+                tail.next = entry;
+            } else {
+                head = entry;
+            }
+            tail = entry;
+            entry.slot = index;
+        }
+
+        synchronized boolean unlink(TimeoutMapEntry<K, V> entry, int slot) {
+            if (entry.slot != slot) {
+                return false;
+            }
+            if (entry.previous != null) {
+                entry.previous.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.previous = entry.previous;
+            } else {
+                tail = entry.previous;
+            }
+            entry.previous = null;
+            entry.next = null;
+            entry.slot = -1;
+            return true;
+        }
+
+        synchronized void collectExpired(long now, List<TimeoutMapEntry<K, V>> expired) {
+            for (TimeoutMapEntry<K, V> entry = head; entry != null; entry = entry.next) {
+                if (entry.getExpireTime() < now) {
+                    expired.add(entry);
+                }
+            }
+        }
+
+        synchronized void clear() {
+            TimeoutMapEntry<K, V> entry = head;
+            while (entry != null) {
+                TimeoutMapEntry<K, V> next = entry.next;
+                entry.previous = null;
+                entry.next = null;
+                entry.slot = -1;
+                entry = next;
+            }
+            head = null;
+            tail = null;
+        }
     }
 
 }
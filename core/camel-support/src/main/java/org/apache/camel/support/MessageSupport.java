@@ -16,6 +16,8 @@
  */
 package org.apache.camel.support;
 
+import java.util.Map;
+
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
@@ -24,6 +26,7 @@ import org.apache.camel.Message;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.DataType;
 import org.apache.camel.spi.DataTypeAware;
+import org.apache.camel.util.CopyOnWriteMap;
 
 /**
  * A base class for implementation inheritance providing the core
@@ -38,6 +41,8 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     private Exchange exchange;
     private Object body;
     private String messageId;
+    // the id shared with the messages copied from this message, which is created when first needed
+    private SharedMessageId sharedMessageId = new SharedMessageId();
     private DataType dataType;
 
     @Override
@@ -194,6 +199,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public void copyFromWithNewBody(Message that, Object newBody) {
         if (that == this) {
             // the same instance so do not need to copy
@@ -211,7 +217,11 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
 
         // should likely not set DataType as the new body may be a different type than the original body
 
-        setMessageId(that.getMessageId());
+        if (that instanceof MessageSupport) {
+            shareMessageId((MessageSupport) that);
+        } else {
+            setMessageId(that.getMessageId());
+        }
         setBody(newBody);
         setFault(that.isFault());
 
@@ -228,7 +238,13 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
                 getHeaders().clear();
             }
             if (that.hasHeaders()) {
-                getHeaders().putAll(that.getHeaders());
+                Map<String, Object> headers = that.getHeaders();
+                if (headers instanceof CopyOnWriteMap && !hasHeaders()) {
+                    // share the headers copy-on-write, which only reads the given headers
+                    setHeaders(((CopyOnWriteMap<String, Object>) headers).copy());
+                } else {
+                    getHeaders().putAll(headers);
+                }
             }
         }
 
@@ -293,7 +309,7 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     @Override
     public String getMessageId() {
         if (messageId == null) {
-            messageId = createMessageId();
+            messageId = sharedMessageId.get(this);
         }
         return this.messageId;
     }
@@ -301,6 +317,36 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
     @Override
     public void setMessageId(String messageId) {
         this.messageId = messageId;
+        if (messageId == null) {
+            // a new id should be created and not the id shared with the copies
+            this.sharedMessageId = new SharedMessageId();
+        }
+    }
+
+    /**
+     * Lets this message use the same id as the given message, without creating the id
+     * if it has not been created yet.
+     */
+    private void shareMessageId(MessageSupport that) {
+        String id = that.messageId;
+        if (id != null || !that.isMessageIdShareable()) {
+            // the id may be created from the message itself, so it must be created now
+            setMessageId(id != null ? id : that.getMessageId());
+            return;
+        }
+        this.messageId = null;
+        this.sharedMessageId = that.sharedMessageId;
+    }
+
+    /**
+     * Whether the copies of this message can share the message id before it has been created, so the id is
+     * only created if any of the messages needs it.
+     * <p/>
+     * Implementations which create the message id from the message itself, by overriding {@link #createMessageId()},
+     * should return <tt>false</tt>, as the id of the copies must then be created from this message.
+     */
+    protected boolean isMessageIdShareable() {
+        return true;
     }
 
     /**
@@ -317,4 +363,21 @@ public abstract class MessageSupport implements Message, CamelContextAware, Data
         }
         return uuid;
     }
+
+    /**
+     * The id of a message and its copies, which is created by the message which first needs it.
+     * <p/>
+     * The messages are not kept, so the copies do not keep the original message and its body in memory.
+     */
+    private static final class SharedMessageId {
+
+        private String id;
+
+        synchronized String get(MessageSupport message) {
+            if (id == null) {
+                id = message.createMessageId();
+            }
+            return id;
+        }
+    }
 }
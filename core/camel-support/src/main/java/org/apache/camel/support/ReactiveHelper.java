@@ -16,148 +16,75 @@
  */
 package org.apache.camel.support;
 
-import java.util.LinkedList;
-
 import org.apache.camel.AsyncCallback;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.util.ObjectHelper;
 
+/**
+ * Helper to schedule the reactive work of the routing engine on the current thread.
+ * <p/>
+ * The work is delegated to a pluggable {@link ReactiveExecutor} which by default
+ * is the allocation free {@link DefaultReactiveExecutor}.
+ */
 public final class ReactiveHelper {
 
-    private static final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
-
-    private static final Logger LOG = LoggerFactory.getLogger(ReactiveHelper.class);
+    private static volatile ReactiveExecutor executor = new DefaultReactiveExecutor();
 
     private ReactiveHelper() {
     }
 
+    /**
+     * Gets the {@link ReactiveExecutor} in use.
+     */
+    public static ReactiveExecutor getReactiveExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets a custom {@link ReactiveExecutor} to use.
+     * <p/>
+     * This should only be changed before any Camel routing takes place, as pending work
+     * queued on the previous executor is not transferred.
+     */
+    public static void setReactiveExecutor(ReactiveExecutor reactiveExecutor) {
+        ObjectHelper.notNull(reactiveExecutor, "reactiveExecutor");
+        executor = reactiveExecutor;
+    }
+
     public static void scheduleMain(Runnable runnable) {
-        WORKERS.get().schedule(runnable, true, true, false);
+        executor.scheduleMain(runnable, null);
     }
 
     public static void scheduleSync(Runnable runnable) {
-        WORKERS.get().schedule(runnable, true, true, true);
+        executor.scheduleSync(runnable, null);
     }
 
     public static void scheduleMain(Runnable runnable, String description) {
-        WORKERS.get().schedule(describe(runnable, description), true, true, false);
+        executor.scheduleMain(runnable, description);
     }
 
     public static void schedule(Runnable runnable) {
-        WORKERS.get().schedule(runnable, true, false, false);
+        executor.schedule(runnable, null);
     }
 
     public static void schedule(Runnable runnable, String description) {
-        WORKERS.get().schedule(describe(runnable, description), true, false, false);
+        executor.schedule(runnable, description);
     }
 
     public static void scheduleLast(Runnable runnable, String description) {
-        WORKERS.get().schedule(describe(runnable, description), false, false, false);
+        executor.scheduleLast(runnable, description);
     }
 
     public static void scheduleSync(Runnable runnable, String description) {
-        WORKERS.get().schedule(describe(runnable, description), false, true, true);
+        executor.scheduleSync(runnable, description);
     }
 
     public static boolean executeFromQueue() {
-        return WORKERS.get().executeFromQueue();
+        return executor.executeFromQueue();
     }
 
     public static void callback(AsyncCallback callback) {
-        schedule(new Runnable() {
-            @Override
-            public void run() {
-                callback.done(false);
-            }
-            @Override
-            public String toString() {
-                return "Callback[" + callback + "]";
-            }
-        });
-    }
-
-    private static Runnable describe(Runnable runnable, String description) {
-        return new Runnable() {
-            @Override
-            public void run() {
-                runnable.run();
-            }
-            @Override
-            public String toString() {
-                return description;
-            }
-        };
+        executor.callback(callback);
     }
 
-    private static class Worker {
-
-        LinkedList<Runnable> queue = new LinkedList<>();
-        LinkedList<LinkedList<Runnable>> back;
-        boolean running;
-
-        public void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
-            if (main) {
-                if (!queue.isEmpty()) {
-                    if (back == null) {
-                        back = new LinkedList<>();
-                    }
-                    back.push(queue);
-                    queue = new LinkedList<>();
-                }
-            }
-            if (first) {
-                queue.addFirst(runnable);
-            } else {
-                queue.addLast(runnable);
-            }
-            if (!running || sync) {
-                running = true;
-//                Thread thread = Thread.currentThread();
-//                String name = thread.getName();
-                try {
-                    for (;;) {
-                        final Runnable polled = queue.poll();
-                        if (polled == null) {
-                            if (back != null && !back.isEmpty()) {
-                                queue = back.poll();
-                                continue;
-                            } else {
-                                break;
-                            }
-                        }
-                        try {
-//                            thread.setName(name + " - " + polled.toString());
-                            polled.run();
-                        } catch (Throwable t) {
-                            t.printStackTrace();
-                        }
-                    }
-                } finally {
-//                    thread.setName(name);
-                    running = false;
-                }
-            } else {
-                LOG.debug("Queuing reactive work: {}", runnable);
-            }
-        }
-
-        public boolean executeFromQueue() {
-            final Runnable polled = queue != null ? queue.poll() : null;
-            if (polled == null) {
-                return false;
-            }
-            Thread thread = Thread.currentThread();
-            String name = thread.getName();
-            try {
-                thread.setName(name + " - " + polled.toString());
-                polled.run();
-            } catch (Throwable t) {
-                t.printStackTrace();
-            } finally {
-                thread.setName(name);
-            }
-            return true;
-        }
-
-    }
 }
@@ -0,0 +1,66 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+
+/**
+ * A {@link TypeConverter} which delegates to a {@link ConversionMethod}, such as a method reference
+ * or lambda calling the converter method directly.
+ * <p/>
+ * This is used by the type converter loaders generated by the camel annotation processor, so the
+ * converters can be registered without using reflection.
+ */
+public class SimpleTypeConverter extends TypeConverterSupport {
+
+    /**
+     * The conversion to perform.
+     */
+    @FunctionalInterface
+    public interface ConversionMethod {
+
+        Object doConvert(Class<?> type, Exchange exchange, Object value) throws Exception;
+    }
+
+    private final boolean allowNull;
+    private final ConversionMethod method;
+
+    public SimpleTypeConverter(boolean allowNull, ConversionMethod method) {
+        this.allowNull = allowNull;
+        this.method = method;
+    }
+
+    @Override
+    public boolean allowNull() {
+        return allowNull;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+        try {
+            return (T) method.doConvert(type, exchange, value);
+        } catch (TypeConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new TypeConversionException(value, type, e);
+        }
+    }
+
+}
@@ -28,6 +28,10 @@ public class TimeoutMapEntry<K, V> implements Comparable<Object>, Map.Entry<K, V
     private V value;
     private long timeout;
     private long expireTime;
+    // the slot of the timing wheel in DefaultTimeoutMap the entry is linked in, or -1 if not linked
+    volatile int slot = -1;
+    TimeoutMapEntry<K, V> previous;
+    TimeoutMapEntry<K, V> next;
 
     public TimeoutMapEntry(K id, V handler, long timeout) {
         this.key = id;
@@ -0,0 +1,635 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * An {@link IdempotentRepository} which keeps a Bloom filter of the keys in front of another repository,
+ * so the other repository is only asked whether it contains a key when the key might have been added before.
+ * <p/>
+ * This is useful when the other repository is remote (such as a database), and most of the keys are new, as
+ * the Bloom filter tells for sure when a key has not been added, and then the lookup is skipped. Keys are still
+ * added to, removed from and confirmed in the other repository.
+ * <p/>
+ * The Bloom filter is scalable, so when it has been filled with {@link #getExpectedInsertions()} keys, then a new
+ * filter which is twice as large (and with a tighter false positive probability) is added, which keeps the overall false
+ * positive probability below {@link #getFalsePositiveProbability()}. When {@link #setCounting(boolean) counting} is
+ * enabled, then the filter keeps a counter instead of a bit for each position, so keys removed from the repository
+ * are also removed from the filter, at the cost of using more memory.
+ * <p/>
+ * The Bloom filter must know all the keys in the other repository, otherwise it would skip the lookup of keys which
+ * were added before. Therefore all changes of the other repository must go through this repository, and the filter
+ * is only used when it is known to be complete: when it has been loaded from the {@link #setFilterFile(File) filter file}
+ * which is written when the repository is stopped, after the repository has been cleared, or when
+ * {@link #setTrustNewFilter(boolean) trustNewFilter} is enabled (because the other repository is known to be empty).
+ * The filter file is deleted while the repository is running, so the filter is not trusted after a crash.
+ * <p/>
+ * Notice that a new filter cannot be filled with the keys which are already in the other repository, as an
+ * {@link IdempotentRepository} cannot list its keys. So when this repository is put in front of a non-empty
+ * repository, without a filter file, then the filter is never used to skip lookups (and not written to the filter
+ * file) until the repository is {@link #clear() cleared}.
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private static final int FILE_VERSION = 1;
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private CamelContext camelContext;
+    private IdempotentRepository repository;
+    private long expectedInsertions = 100000;
+    private double falsePositiveProbability = 0.01;
+    private boolean counting;
+    private File filterFile;
+    private boolean trustNewFilter;
+    private volatile boolean trusted;
+    // the filters are replaced as a whole (when growing or clearing) while holding the lock, and never changed in place
+    private final Object lock = new Object();
+    private volatile Filter[] filters = new Filter[0];
+
+    public BloomFilterIdempotentRepository() {
+    }
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new repository which keeps a Bloom filter of the keys in front of the given repository.
+     *
+     * @param repository the repository with the keys
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository) {
+        return new BloomFilterIdempotentRepository(repository);
+    }
+
+    /**
+     * Creates a new repository which keeps a Bloom filter of the keys in front of the given repository,
+     * which is stored in the given file when the repository is stopped.
+     *
+     * @param repository the repository with the keys
+     * @param filterFile the file to store the Bloom filter
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(IdempotentRepository repository, File filterFile) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setFilterFile(filterFile);
+        return answer;
+    }
+
+    @Override
+    public boolean add(String key) {
+        return doAdd(key, () -> repository.add(key));
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        return doAdd(key, () -> repository.add(exchange, key));
+    }
+
+    @Override
+    public boolean contains(String key) {
+        return doContains(key, () -> repository.contains(key));
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        return doContains(key, () -> repository.contains(exchange, key));
+    }
+
+    @Override
+    public boolean remove(String key) {
+        return doRemove(key, () -> repository.remove(key));
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return doRemove(key, () -> repository.remove(exchange, key));
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store and the Bloom filter")
+    public void clear() {
+        synchronized (lock) {
+            trusted = false;
+            // replace the filter before clearing the repository, so keys added concurrently are not lost
+            // when they are put into the old filter (see put)
+            filters = new Filter[] {newFilter()};
+            repository.clear();
+            // the repository is empty so the filter is complete
+            trusted = true;
+        }
+    }
+
+    /**
+     * Whether the key might have been added to the repository
+     */
+    public boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1);
+        for (Filter filter : filters) {
+            if (filter.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected boolean doAdd(String key, BooleanSupplier add) {
+        boolean known = mightContain(key);
+        boolean answer = add.getAsBoolean();
+        // also add keys which the repository already had but the filter did not know
+        if (answer || !known) {
+            put(key);
+        }
+        return answer;
+    }
+
+    protected boolean doContains(String key, BooleanSupplier contains) {
+        if (trusted && !mightContain(key)) {
+            skippedLookups.increment();
+            return false;
+        }
+        lookups.increment();
+        boolean answer = contains.getAsBoolean();
+        if (!answer && trusted) {
+            falsePositives.increment();
+        }
+        return answer;
+    }
+
+    protected boolean doRemove(String key, BooleanSupplier remove) {
+        boolean answer = remove.getAsBoolean();
+        if (answer && counting) {
+            long hash1 = hash(key);
+            long hash2 = mix(hash1);
+            Filter found = null;
+            for (Filter filter : filters) {
+                if (filter.mightContain(hash1, hash2)) {
+                    if (found != null) {
+                        // the key might be in more than one filter, so we cannot tell which one to remove it from
+                        return true;
+                    }
+                    found = filter;
+                }
+            }
+            if (found != null) {
+                found.remove(hash1, hash2);
+            }
+        }
+        return answer;
+    }
+
+    private void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1);
+        Filter filter;
+        do {
+            Filter[] current = filters;
+            filter = current[current.length - 1];
+            if (filter.isFull()) {
+                filter = grow(filter);
+            }
+            filter.put(hash1, hash2);
+            // the filter may have been discarded by clear meanwhile, then put the key into the new filter as well
+        } while (!isInUse(filter));
+    }
+
+    private Filter grow(Filter full) {
+        synchronized (lock) {
+            Filter[] current = filters;
+            Filter filter = current[current.length - 1];
+            if (filter == full) {
+                filter = new Filter(full.capacity * GROWTH_FACTOR, full.probability * TIGHTENING_RATIO, counting);
+                Filter[] answer = Arrays.copyOf(current, current.length + 1);
+                answer[current.length] = filter;
+                filters = answer;
+                log.debug("Bloom filter is full, added a new filter with capacity: {}", filter.capacity);
+            }
+            return filter;
+        }
+    }
+
+    private boolean isInUse(Filter filter) {
+        for (Filter f : filters) {
+            if (f == filter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Filter newFilter() {
+        return new Filter(expectedInsertions, falsePositiveProbability * (1 - TIGHTENING_RATIO), counting);
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    /**
+     * Sets the repository with the keys, which the Bloom filter is in front of
+     */
+    public void setRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    @ManagedAttribute(description = "The number of keys expected to be added before the Bloom filter grows")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Sets the number of keys expected to be added to the Bloom filter, before it grows.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the Bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * Sets the probability of the Bloom filter telling a key might have been added, when it has not been added,
+     * which then requires a lookup in the repository.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "Whether the Bloom filter is counting, to support removing keys")
+    public boolean isCounting() {
+        return counting;
+    }
+
+    /**
+     * Sets whether the Bloom filter keeps counters instead of bits, so keys removed from the repository
+     * are also removed from the filter. A counting filter uses 32 times more memory.
+     * <p/>
+     * The default is false.
+     */
+    public void setCounting(boolean counting) {
+        this.counting = counting;
+    }
+
+    public File getFilterFile() {
+        return filterFile;
+    }
+
+    /**
+     * Sets the file to store the Bloom filter when the repository is stopped, and which is loaded
+     * when the repository is started.
+     */
+    public void setFilterFile(File filterFile) {
+        this.filterFile = filterFile;
+    }
+
+    public boolean isTrustNewFilter() {
+        return trustNewFilter;
+    }
+
+    /**
+     * Sets whether to use a new Bloom filter, which is not loaded from the filter file, to skip lookups.
+     * This must only be enabled when the repository is empty, or contains no keys which can be added again.
+     * <p/>
+     * The default is false.
+     */
+    public void setTrustNewFilter(boolean trustNewFilter) {
+        this.trustNewFilter = trustNewFilter;
+    }
+
+    @ManagedAttribute(description = "Whether the Bloom filter is used to skip lookups")
+    public boolean isTrusted() {
+        return trusted;
+    }
+
+    @ManagedAttribute(description = "The number of keys in the Bloom filter")
+    public long getFilterSize() {
+        long answer = 0;
+        for (Filter filter : filters) {
+            answer += filter.size.get();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "The number of filters of the scalable Bloom filter")
+    public int getFilterCount() {
+        return filters.length;
+    }
+
+    @ManagedAttribute(description = "The number of lookups skipped as the Bloom filter tells the key has not been added")
+    public long getSkippedLookupCount() {
+        return skippedLookups.sum();
+    }
+
+    @ManagedAttribute(description = "The number of lookups in the repository")
+    public long getLookupCount() {
+        return lookups.sum();
+    }
+
+    @ManagedAttribute(description = "The number of lookups in the repository for keys which had not been added")
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    @ManagedAttribute(description = "The rate of keys which had not been added, that still required a lookup in the repository")
+    public double getFalsePositiveRate() {
+        long positives = falsePositives.sum();
+        long negatives = positives + skippedLookups.sum();
+        return negatives > 0 ? (double) positives / negatives : 0;
+    }
+
+    @ManagedOperation(description = "Reset the statistics")
+    public void resetStatistics() {
+        skippedLookups.reset();
+        lookups.reset();
+        falsePositives.reset();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+        if (camelContext != null && repository instanceof CamelContextAware) {
+            ((CamelContextAware) repository).setCamelContext(camelContext);
+        }
+        ServiceHelper.startService(repository);
+
+        trusted = false;
+        filters = new Filter[0];
+        if (filterFile != null && filterFile.exists()) {
+            loadFilter();
+            // delete the file so the filter is not trusted if we are not stopped gracefully
+            FileUtil.deleteFile(filterFile);
+        }
+        if (filters.length == 0) {
+            filters = new Filter[] {newFilter()};
+            trusted = trustNewFilter;
+        }
+        if (!trusted) {
+            log.info("Bloom filter of idempotent repository: {} is new and is not used to skip lookups until the repository is cleared", repository);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+        if (filterFile != null && trusted) {
+            storeFilter();
+        }
+    }
+
+    protected void loadFilter() throws IOException {
+        log.debug("Loading Bloom filter from file: {}", filterFile);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(filterFile)))) {
+            int version = in.readInt();
+            boolean fileCounting = in.readBoolean();
+            if (version != FILE_VERSION || fileCounting != counting) {
+                log.warn("Ignoring Bloom filter file: {} with version: {} and counting: {}", filterFile, version, fileCounting);
+                return;
+            }
+            int count = in.readInt();
+            List<Filter> answer = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                answer.add(Filter.read(in, counting));
+            }
+            filters = answer.toArray(new Filter[0]);
+            trusted = true;
+        } catch (IOException e) {
+            log.warn("Error loading Bloom filter file: " + filterFile + ". This exception is ignored.", e);
+        }
+    }
+
+    protected void storeFilter() throws IOException {
+        log.debug("Storing Bloom filter to file: {}", filterFile);
+        File parent = filterFile.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        File tmp = new File(filterFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FILE_VERSION);
+            out.writeBoolean(counting);
+            Filter[] current = filters;
+            out.writeInt(current.length);
+            for (Filter filter : current) {
+                filter.write(out);
+            }
+        }
+        Files.move(tmp.toPath(), filterFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * 64 bit FNV-1a hash of the characters of the key
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * The murmur3 finalizer, to derive a second hash from the first hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A Bloom filter with a fixed capacity, which uses bits or counters for its positions.
+     * The positions of a key are derived from two hashes of the key.
+     */
+    private static final class Filter {
+
+        private final long capacity;
+        private final double probability;
+        private final int hashes;
+        private final long positions;
+        private final AtomicLongArray bits;
+        private final AtomicIntegerArray counters;
+        private final AtomicLong size = new AtomicLong();
+
+        Filter(long capacity, double probability, boolean counting) {
+            this(capacity, probability, optimalPositions(capacity, probability), counting);
+        }
+
+        private Filter(long capacity, double probability, long positions, boolean counting) {
+            if (counting && positions > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Counting Bloom filter is too large with " + positions + " positions");
+            }
+            if (positions > 64L * Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Bloom filter is too large with " + positions + " positions");
+            }
+            this.capacity = capacity;
+            this.probability = probability;
+            this.positions = positions;
+            this.hashes = Math.max(1, (int) Math.round((double) positions / capacity * Math.log(2)));
+            this.bits = counting ? null : new AtomicLongArray((int) ((positions + 63) / 64));
+            this.counters = counting ? new AtomicIntegerArray((int) positions) : null;
+        }
+
+        static long optimalPositions(long capacity, double probability) {
+            if (capacity <= 0 || probability <= 0 || probability >= 1) {
+                throw new IllegalArgumentException("Invalid Bloom filter with capacity: " + capacity + " and false positive probability: " + probability);
+            }
+            return Math.max(64, (long) Math.ceil(-capacity * Math.log(probability) / (Math.log(2) * Math.log(2))));
+        }
+
+        boolean isFull() {
+            return size.get() >= capacity;
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            for (int i = 0; i < hashes; i++) {
+                long position = position(hash1, hash2, i);
+                if (counters != null) {
+                    if (counters.get((int) position) == 0) {
+                        return false;
+                    }
+                } else if ((bits.get((int) (position >>> 6)) & (1L << position)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long hash1, long hash2) {
+            for (int i = 0; i < hashes; i++) {
+                long position = position(hash1, hash2, i);
+                if (counters != null) {
+                    counters.incrementAndGet((int) position);
+                } else {
+                    long mask = 1L << position;
+                    bits.getAndAccumulate((int) (position >>> 6), mask, (a, b) -> a | b);
+                }
+            }
+            size.incrementAndGet();
+        }
+
+        void remove(long hash1, long hash2) {
+            for (int i = 0; i < hashes; i++) {
+                counters.getAndUpdate((int) position(hash1, hash2, i), c -> c > 0 ? c - 1 : 0);
+            }
+            size.decrementAndGet();
+        }
+
+        private long position(long hash1, long hash2, int i) {
+            // combine the two hashes to get the hash of the i'th hash function
+            long combined = hash1 + i * hash2;
+            return (combined & Long.MAX_VALUE) % positions;
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeLong(capacity);
+            out.writeDouble(probability);
+            out.writeLong(positions);
+            out.writeLong(size.get());
+            if (counters != null) {
+                for (int i = 0; i < counters.length(); i++) {
+                    out.writeInt(counters.get(i));
+                }
+            } else {
+                for (int i = 0; i < bits.length(); i++) {
+                    out.writeLong(bits.get(i));
+                }
+            }
+        }
+
+        static Filter read(DataInputStream in, boolean counting) throws IOException {
+            long capacity = in.readLong();
+            double probability = in.readDouble();
+            long positions = in.readLong();
+            Filter answer = new Filter(capacity, probability, positions, counting);
+            answer.size.set(in.readLong());
+            if (counting) {
+                for (int i = 0; i < answer.counters.length(); i++) {
+                    answer.counters.set(i, in.readInt());
+                }
+            } else {
+                for (int i = 0; i < answer.bits.length(); i++) {
+                    answer.bits.set(i, in.readLong());
+                }
+            }
+            return answer;
+        }
+    }
+
+}
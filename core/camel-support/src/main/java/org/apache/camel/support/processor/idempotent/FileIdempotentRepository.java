@@ -16,14 +16,28 @@
  */
 package org.apache.camel.support.processor.idempotent;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedAttribute;
 import org.apache.camel.api.management.ManagedOperation;
@@ -47,13 +61,40 @@ import org.apache.camel.util.Scanner;
  * The file store has a maximum capacity of 32mb by default (you can turn this off and have unlimited size).
  * If the file store grows bigger than the maximum capacity, then the {@link #getDropOldestFileStore()} (is default 1000)
  * number of entries from the file store is dropped to reduce the file store and make room for newer entries.
+ * <p/>
+ * When {@link #setLogStructured(boolean) log structured} is enabled, then all the keys are kept in memory, and the
+ * keys are never scanned for in the file store. Instead the added and removed keys are appended as records
+ * to a log file next to the file store (with the <tt>.log</tt> extension), which is flushed and synced to disk
+ * together every {@link #getLogSyncInterval()} millis. When the log has {@link #getLogCompactionThreshold()} records,
+ * then the log is compacted into the file store in the background. The file store has the same format in both modes,
+ * so an existing file store can be used in either mode. On startup the keys are loaded from the file store and then
+ * the log is replayed.
  */
 @ManagedResource(description = "File based idempotent repository")
-public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
 
     private static final String STORE_DELIMITER = "\n";
+    private static final String LOG_EXTENSION = ".log";
+    private static final String COMPACTING_EXTENSION = ".compacting";
+    private static final char ADD_RECORD = '+';
+    private static final char REMOVE_RECORD = '-';
 
     private final AtomicBoolean init = new AtomicBoolean();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final Object logLock = new Object();
+    private final Object compactionLock = new Object();
+
+    private CamelContext camelContext;
+    private boolean logStructured;
+    private long logSyncInterval = 1000;
+    private long logCompactionThreshold = 100000;
+    private Set<String> keys;
+    private FileOutputStream logStream;
+    private OutputStream logWriter;
+    private long logRecords;
+    private boolean logDirty;
+    private ScheduledExecutorService executorService;
+    private ScheduledFuture<?> syncTask;
 
     private Map<String, Object> cache;
     private File fileStore;
@@ -121,6 +162,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedOperation(description = "Adds the key to the store")
     public boolean add(String key) {
+        if (logStructured) {
+            return addToLog(key);
+        }
         synchronized (cache) {
             if (cache.containsKey(key)) {
                 return false;
@@ -150,6 +194,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedOperation(description = "Does the store contain the given key")
     public boolean contains(String key) {
+        if (logStructured) {
+            return keys.contains(key);
+        }
         synchronized (cache) {
             // check 1st-level first and then fallback to check the actual file
             return cache.containsKey(key) || containsStore(key);
@@ -158,6 +205,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedOperation(description = "Remove the key from the store")
     public boolean remove(String key) {
+        if (logStructured) {
+            return removeFromLog(key);
+        }
         boolean answer;
         synchronized (cache) {
             answer = cache.remove(key) != null;
@@ -174,6 +224,10 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
     
     @ManagedOperation(description = "Clear the store (danger this removes all entries)")
     public void clear() {
+        if (logStructured) {
+            clearLog();
+            return;
+        }
         synchronized (cache) {
             cache.clear();
             if (cache instanceof LRUCache) {
@@ -236,6 +290,67 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         this.dropOldestFileStore = dropOldestFileStore;
     }
 
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "Whether the file store is log structured")
+    public boolean isLogStructured() {
+        return logStructured;
+    }
+
+    /**
+     * Sets whether the file store is log structured, where all the keys are kept in memory, and the added and removed keys
+     * are appended to a log which is compacted into the file store in the background.
+     * <p/>
+     * The default is false.
+     */
+    public void setLogStructured(boolean logStructured) {
+        this.logStructured = logStructured;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between syncing the log to disk")
+    public long getLogSyncInterval() {
+        return logSyncInterval;
+    }
+
+    /**
+     * Sets the interval in millis between flushing and syncing the log to disk, when the file store is log structured.
+     * The records appended to the log within the interval are synced together.
+     * You can set the value to 0 or negative to sync the log after each record.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setLogSyncInterval(long logSyncInterval) {
+        this.logSyncInterval = logSyncInterval;
+    }
+
+    @ManagedAttribute(description = "Number of log records which triggers compaction of the log")
+    public long getLogCompactionThreshold() {
+        return logCompactionThreshold;
+    }
+
+    /**
+     * Sets the number of records in the log which triggers compacting the log into the file store in the background,
+     * when the file store is log structured.
+     * <p/>
+     * The default is 100000.
+     */
+    public void setLogCompactionThreshold(long logCompactionThreshold) {
+        this.logCompactionThreshold = logCompactionThreshold;
+    }
+
+    @ManagedAttribute(description = "Number of records in the log")
+    public long getLogRecords() {
+        synchronized (logLock) {
+            return logRecords;
+        }
+    }
+
     /**
      * Sets the 1st-level cache size.
      *
@@ -254,6 +369,9 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
 
     @ManagedAttribute(description = "The current 1st-level cache size")
     public int getCacheSize() {
+        if (logStructured && keys != null) {
+            return keys.size();
+        }
         if (cache != null) {
             return cache.size();
         }
@@ -265,6 +383,15 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
      */
     @ManagedOperation(description = "Reset and reloads the file store")
     public synchronized void reset() throws IOException {
+        if (logStructured) {
+            synchronized (compactionLock) {
+                synchronized (logLock) {
+                    closeLog();
+                    loadLog();
+                }
+            }
+            return;
+        }
         synchronized (cache) {
             // run the cleanup task first
             if (cache instanceof LRUCache) {
@@ -462,6 +589,13 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
             }
         }
 
+        if (logStructured) {
+            synchronized (logLock) {
+                loadLog();
+            }
+            return;
+        }
+
         log.trace("Loading to 1st level cache from idempotent filestore: {}", fileStore);
 
         cache.clear();
@@ -477,6 +611,311 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
         log.debug("Loaded {} to the 1st level cache from idempotent filestore: {}", cache.size(), fileStore);
     }
 
+    /**
+     * Adds the key to the keys in memory, and appends an add record to the log if its a new key
+     */
+    protected boolean addToLog(String key) {
+        if (keys.contains(key)) {
+            return false;
+        }
+        synchronized (logLock) {
+            if (!keys.add(key)) {
+                return false;
+            }
+            appendToLog(ADD_RECORD, key);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the key from the keys in memory, and appends a remove record to the log if the key existed
+     */
+    protected boolean removeFromLog(String key) {
+        synchronized (logLock) {
+            if (!keys.remove(key)) {
+                return false;
+            }
+            appendToLog(REMOVE_RECORD, key);
+        }
+        return true;
+    }
+
+    /**
+     * Clears the keys in memory, the log and the file store (danger this deletes all entries)
+     */
+    protected void clearLog() {
+        synchronized (compactionLock) {
+            synchronized (logLock) {
+                keys.clear();
+                closeLog();
+                FileUtil.deleteFile(new File(fileStore.getPath() + LOG_EXTENSION));
+                clearStore();
+                logRecords = 0;
+                openLog();
+            }
+        }
+    }
+
+    /**
+     * Compacts the log into the file store.
+     * <p/>
+     * The current log is closed and renamed, and the new records are appended to a new log while the renamed log
+     * is merged with the file store into a new file store.
+     */
+    @ManagedOperation(description = "Compacts the log into the file store")
+    public void compact() {
+        if (!logStructured) {
+            return;
+        }
+        synchronized (compactionLock) {
+            File compactingLog = new File(fileStore.getPath() + COMPACTING_EXTENSION);
+            synchronized (logLock) {
+                if (logWriter == null || logRecords == 0) {
+                    // the repository is stopped or there is nothing to compact
+                    return;
+                }
+                closeLog();
+                try {
+                    Files.move(new File(fileStore.getPath() + LOG_EXTENSION).toPath(), compactingLog.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(e);
+                } finally {
+                    logRecords = 0;
+                    openLog();
+                }
+            }
+            mergeLogIntoStore(compactingLog);
+        }
+    }
+
+    /**
+     * Merges the records of the given log into the file store, keeping the order of the keys.
+     */
+    protected void mergeLogIntoStore(File compactingLog) {
+        log.debug("Compacting log: {} into idempotent filestore: {}", compactingLog, fileStore);
+
+        // the changes of each key in order of the first change
+        Map<String, Boolean> changes = new LinkedHashMap<>();
+        try (Scanner scanner = new Scanner(compactingLog, null, STORE_DELIMITER)) {
+            while (scanner.hasNext()) {
+                String line = scanner.next();
+                if (!line.isEmpty()) {
+                    changes.put(line.substring(1), line.charAt(0) == ADD_RECORD);
+                }
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+
+        File tmp = new File(fileStore.getPath() + ".tmp");
+        long count = 0;
+        try (Scanner scanner = new Scanner(fileStore, null, STORE_DELIMITER);
+             FileOutputStream fos = new FileOutputStream(tmp)) {
+            OutputStream out = new BufferedOutputStream(fos);
+            while (scanner.hasNext()) {
+                String line = scanner.next();
+                Boolean added = changes.remove(line);
+                if (added == null || added) {
+                    writeLine(out, line);
+                    count++;
+                }
+            }
+            for (Map.Entry<String, Boolean> entry : changes.entrySet()) {
+                if (entry.getValue()) {
+                    writeLine(out, entry.getKey());
+                    count++;
+                }
+            }
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+
+        replaceStore(tmp);
+        FileUtil.deleteFile(compactingLog);
+        log.debug("Compacted idempotent filestore: {} with {} entries", fileStore, count);
+
+        // check if we hit maximum capacity (if enabled) and report a warning about this
+        if (maxFileStoreSize > 0 && fileStore.length() > maxFileStoreSize) {
+            log.warn("Maximum capacity of file store: {} hit at {} bytes. Dropping {} oldest entries from the file store", fileStore, maxFileStoreSize, dropOldestFileStore);
+            trunkLogStructuredStore();
+        }
+    }
+
+    /**
+     * Trunks the file store when the max store size is hit by dropping the most oldest entries,
+     * and removes the dropped entries from memory.
+     */
+    protected void trunkLogStructuredStore() {
+        List<String> dropped = new ArrayList<>();
+        File tmp = new File(fileStore.getPath() + ".tmp");
+        try (Scanner scanner = new Scanner(fileStore, null, STORE_DELIMITER);
+             FileOutputStream fos = new FileOutputStream(tmp)) {
+            OutputStream out = new BufferedOutputStream(fos);
+            while (scanner.hasNext()) {
+                String line = scanner.next();
+                if (dropped.size() < dropOldestFileStore) {
+                    dropped.add(line);
+                } else {
+                    writeLine(out, line);
+                }
+            }
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        replaceStore(tmp);
+        keys.removeAll(dropped);
+    }
+
+    /**
+     * Loads the file store and replays the log into the keys in memory, and opens the log for appending.
+     */
+    protected void loadLog() throws IOException {
+        log.trace("Loading keys from idempotent filestore: {}", fileStore);
+
+        keys.clear();
+        try (Scanner scanner = new Scanner(fileStore, null, STORE_DELIMITER)) {
+            while (scanner.hasNext()) {
+                keys.add(scanner.next());
+            }
+        }
+
+        // a compaction may not have been completed when we were stopped
+        File compactingLog = new File(fileStore.getPath() + COMPACTING_EXTENSION);
+        if (compactingLog.exists()) {
+            replayLog(compactingLog);
+            mergeLogIntoStore(compactingLog);
+        }
+        logRecords = replayLog(new File(fileStore.getPath() + LOG_EXTENSION));
+        openLog();
+
+        log.debug("Loaded {} keys from idempotent filestore: {} and {} records from its log", keys.size(), fileStore, logRecords);
+    }
+
+    private long replayLog(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        long count = 0;
+        try (Scanner scanner = new Scanner(file, null, STORE_DELIMITER)) {
+            while (scanner.hasNext()) {
+                String line = scanner.next();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String key = line.substring(1);
+                if (line.charAt(0) == ADD_RECORD) {
+                    keys.add(key);
+                } else {
+                    keys.remove(key);
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void appendToLog(char record, String key) {
+        try {
+            logWriter.write(record);
+            writeLine(logWriter, key);
+            logRecords++;
+            if (logSyncInterval > 0) {
+                logDirty = true;
+            } else {
+                syncLog();
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (logCompactionThreshold > 0 && logRecords >= logCompactionThreshold && compacting.compareAndSet(false, true)) {
+            executorService.execute(() -> {
+                try {
+                    compact();
+                } catch (Throwable e) {
+                    log.warn("Error compacting idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void syncLogIfDirty() {
+        synchronized (logLock) {
+            if (logDirty && logWriter != null) {
+                try {
+                    syncLog();
+                } catch (IOException e) {
+                    log.warn("Error syncing log of idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+                }
+            }
+        }
+    }
+
+    private void syncLog() throws IOException {
+        logWriter.flush();
+        logStream.getChannel().force(false);
+        logDirty = false;
+    }
+
+    private void openLog() {
+        try {
+            logStream = new FileOutputStream(new File(fileStore.getPath() + LOG_EXTENSION), true);
+            logWriter = new BufferedOutputStream(logStream);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private void closeLog() {
+        if (logWriter != null) {
+            try {
+                syncLog();
+            } catch (IOException e) {
+                log.warn("Error syncing log of idempotent filestore: " + fileStore + ". This exception is ignored.", e);
+            }
+            IOHelper.close(logWriter, "Closing log of file idempotent repository", log);
+            logWriter = null;
+            logStream = null;
+        }
+    }
+
+    private void replaceStore(File tmp) {
+        try {
+            try {
+                Files.move(tmp.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), fileStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes());
+        out.write(STORE_DELIMITER.getBytes());
+    }
+
+    private ScheduledExecutorService createExecutorService() {
+        if (camelContext != null) {
+            return camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileIdempotentRepository");
+        }
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "FileIdempotentRepository");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected void doStart() throws Exception {
@@ -487,14 +926,55 @@ public class FileIdempotentRepository extends ServiceSupport implements Idempote
             this.cache = LRUCacheFactory.newLRUCache(1000);
         }
 
+        if (logStructured) {
+            if (keys == null) {
+                keys = ConcurrentHashMap.newKeySet();
+            }
+            if (executorService == null) {
+                executorService = createExecutorService();
+            }
+        }
+
         // init store if not loaded before
         if (init.compareAndSet(false, true)) {
             loadStore();
         }
+
+        if (logStructured) {
+            if (logSyncInterval > 0) {
+                syncTask = executorService.scheduleWithFixedDelay(this::syncLogIfDirty, logSyncInterval, logSyncInterval, TimeUnit.MILLISECONDS);
+            }
+            synchronized (logLock) {
+                scheduleCompactionIfNeeded();
+            }
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
+        if (logStructured) {
+            if (syncTask != null) {
+                syncTask.cancel(false);
+                syncTask = null;
+            }
+            synchronized (compactionLock) {
+                synchronized (logLock) {
+                    closeLog();
+                }
+            }
+            if (executorService != null) {
+                if (camelContext != null) {
+                    camelContext.getExecutorServiceManager().shutdown(executorService);
+                } else {
+                    executorService.shutdown();
+                }
+                executorService = null;
+            }
+            if (keys != null) {
+                keys.clear();
+            }
+        }
+
         // run the cleanup task first
         if (cache instanceof LRUCache) {
             ((LRUCache) cache).cleanUp();
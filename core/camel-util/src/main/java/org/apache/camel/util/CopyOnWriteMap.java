@@ -0,0 +1,316 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A map which shares its content with the maps it was copied from and to, and only keeps
+ * track of the keys which have been changed since.
+ * <p/>
+ * The content is a shared <tt>base</tt> map, which is never changed, and an <tt>overlay</tt> map
+ * with the keys added, changed or removed by this map only. This allows {@link #copy()} to be cheap,
+ * as a copy only copies the overlay (which is empty for maps that has not been changed), and a copy
+ * only pays for the keys it changes.
+ * <p/>
+ * The maps used for the base and overlay are created by the given factory and copier, so the map has
+ * the same semantics as the underlying map implementation, such as case insensitive keys
+ * (although the case of a changed key is the case used when it was changed).
+ * <p/>
+ * The base map given to the constructor must not be changed afterwards by other means than this map.
+ * This map is as thread safe as the underlying map implementation.
+ */
+public class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+
+    /**
+     * The overlay is compacted into a new base map when a copy is made and the overlay
+     * has more than this number of keys, and more keys than half the base map.
+     */
+    static final int COMPACT_THRESHOLD = 16;
+
+    private static final Object REMOVED = new Object();
+    private static final Object NULL = new Object();
+
+    private final Supplier<Map<K, V>> factory;
+    private final Function<Map<K, V>, Map<K, V>> copier;
+    private final Map<K, V> base;
+    private volatile Map<K, Object> overlay;
+
+    /**
+     * Creates a new map with the given content.
+     *
+     * @param base    the content, which must not be changed afterwards
+     * @param factory to create a new empty map
+     * @param copier  to create a new map with the content of an existing map
+     */
+    public CopyOnWriteMap(Map<K, V> base, Supplier<Map<K, V>> factory, Function<Map<K, V>, Map<K, V>> copier) {
+        this(base, null, factory, copier);
+    }
+
+    private CopyOnWriteMap(Map<K, V> base, Map<K, Object> overlay, Supplier<Map<K, V>> factory, Function<Map<K, V>, Map<K, V>> copier) {
+        this.base = base;
+        this.overlay = overlay;
+        this.factory = factory;
+        this.copier = copier;
+    }
+
+    /**
+     * Creates a copy of this map, which shares the unchanged content with this map.
+     */
+    @SuppressWarnings("unchecked")
+    public CopyOnWriteMap<K, V> copy() {
+        Map<K, Object> changes = overlay;
+        if (changes == null || changes.isEmpty()) {
+            return new CopyOnWriteMap<>(base, null, factory, copier);
+        }
+        Map<K, V> current = base;
+        if (changes.size() > COMPACT_THRESHOLD && changes.size() > current.size() / 2) {
+            // too many changes so the copy should start from a new base
+            return new CopyOnWriteMap<>(copier.apply(this), null, factory, copier);
+        }
+        return new CopyOnWriteMap<>(current, (Map<K, Object>) copier.apply((Map<K, V>) changes), factory, copier);
+    }
+
+    /**
+     * Whether the content of this map is stored in a map accepted by the given test, such as
+     * whether the map is created by a given factory.
+     */
+    public boolean isBackedBy(Predicate<Map<K, V>> test) {
+        return test.test(base);
+    }
+
+    @Override
+    public V get(Object key) {
+        Map<K, Object> changes = overlay;
+        if (changes != null) {
+            Object value = changes.get(key);
+            if (value != null) {
+                return unmask(value);
+            }
+        }
+        return base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Map<K, Object> changes = overlay;
+        if (changes != null) {
+            Object value = changes.get(key);
+            if (value != null) {
+                return value != REMOVED;
+            }
+        }
+        return base.containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        V answer = get(key);
+        overlay().put(key, value != null ? value : NULL);
+        return answer;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Map<K, Object> changes = overlay;
+        if (changes == null && !base.containsKey(key)) {
+            return null;
+        }
+        V answer = get(key);
+        remove(key, overlay());
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void remove(Object key, Map<K, Object> changes) {
+        if (base.containsKey(key)) {
+            changes.put((K) key, REMOVED);
+        } else {
+            changes.remove(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        // clear using the overlay as when changing the keys one by one, as the base map is shared
+        Map<K, Object> changes = overlay();
+        changes.clear();
+        for (K key : base.keySet()) {
+            changes.put(key, REMOVED);
+        }
+    }
+
+    @Override
+    public int size() {
+        Map<K, V> current = base;
+        int answer = current.size();
+        Map<K, Object> changes = overlay;
+        if (changes != null) {
+            for (Map.Entry<K, Object> entry : changes.entrySet()) {
+                boolean inBase = current.containsKey(entry.getKey());
+                if (entry.getValue() == REMOVED) {
+                    if (inBase) {
+                        answer--;
+                    }
+                } else if (!inBase) {
+                    answer++;
+                }
+            }
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return CopyOnWriteMap.this.size();
+            }
+
+            @Override
+            public void clear() {
+                CopyOnWriteMap.this.clear();
+            }
+        };
+    }
+
+    private Map<K, Object> overlay() {
+        Map<K, Object> answer = overlay;
+        if (answer == null) {
+            synchronized (this) {
+                answer = overlay;
+                if (answer == null) {
+                    answer = createOverlay();
+                    overlay = answer;
+                }
+            }
+        }
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<K, Object> createOverlay() {
+        return (Map<K, Object>) factory.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V unmask(Object value) {
+        return value == REMOVED || value == NULL ? null : (V) value;
+    }
+
+    /**
+     * Iterates the keys of the base map (with the changed values from the overlay),
+     * and then the keys which has been added to the overlay.
+     */
+    private final class EntryIterator implements Iterator<Map.Entry<K, V>> {
+
+        private final Map<K, V> current = base;
+        private final Map<K, Object> changes = overlay;
+        private final Iterator<Map.Entry<K, V>> baseIterator = current.entrySet().iterator();
+        private Iterator<Map.Entry<K, Object>> overlayIterator;
+        private Map.Entry<K, V> next;
+        private Map.Entry<K, V> last;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = null;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last == null) {
+                throw new IllegalStateException();
+            }
+            // mark the key as removed, as removing the key from the overlay while it is
+            // being iterated is not supported by all map implementations
+            overlay().put(last.getKey(), REMOVED);
+            last = null;
+        }
+
+        private Map.Entry<K, V> advance() {
+            while (baseIterator.hasNext()) {
+                Map.Entry<K, V> entry = baseIterator.next();
+                K key = entry.getKey();
+                Object value = changes != null ? changes.get(key) : null;
+                if (value == REMOVED) {
+                    continue;
+                }
+                return new SharedEntry(key, value != null ? CopyOnWriteMap.<V>unmask(value) : entry.getValue());
+            }
+            if (changes != null) {
+                if (overlayIterator == null) {
+                    overlayIterator = changes.entrySet().iterator();
+                }
+                while (overlayIterator.hasNext()) {
+                    Map.Entry<K, Object> entry = overlayIterator.next();
+                    if (entry.getValue() != REMOVED && !current.containsKey(entry.getKey())) {
+                        return new SharedEntry(entry.getKey(), CopyOnWriteMap.<V>unmask(entry.getValue()));
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private final class SharedEntry extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        SharedEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            CopyOnWriteMap.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+}
@@ -23,24 +23,49 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Thread factory which creates threads supporting a naming pattern.
+ * <p/>
+ * The factory can create virtual threads, if the JVM supports virtual threads,
+ * otherwise platform threads are created instead.
  */
 public final class CamelThreadFactory implements ThreadFactory {
     private static final Logger LOG = LoggerFactory.getLogger(CamelThreadFactory.class);
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
 
     private final String pattern;
     private final String name;
     private final boolean daemon;
+    private final boolean virtual;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
+        // platform threads are used if the JVM does not support virtual threads
+        this.virtual = virtual && VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    /**
+     * Whether virtual threads are supported by this JVM.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
     }
 
     public Thread newThread(Runnable runnable) {
         String threadName = ThreadHelper.resolveThreadName(pattern, name);
-        Thread answer = new Thread(runnable, threadName);
-        answer.setDaemon(daemon);
+        Thread answer;
+        if (virtual) {
+            // virtual threads are always daemon threads
+            answer = VIRTUAL_THREAD_FACTORY.newThread(runnable);
+            answer.setName(threadName);
+        } else {
+            answer = new Thread(runnable, threadName);
+            answer.setDaemon(daemon);
+        }
 
         LOG.trace("Created thread[{}] -> {}", threadName, answer);
         return answer;
@@ -50,7 +75,23 @@ public final class CamelThreadFactory implements ThreadFactory {
         return name;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
     public String toString() {
         return "CamelThreadFactory[" + name + "]";
     }
+
+    private static ThreadFactory createVirtualThreadFactory() {
+        // use reflection as virtual threads requires a newer JVM than what we compile with
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Throwable e) {
+            // not supported, or a preview feature which is not enabled
+            return null;
+        }
+    }
 }
\ No newline at end of file
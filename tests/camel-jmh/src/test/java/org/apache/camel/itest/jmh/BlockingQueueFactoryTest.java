@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.component.seda.ArrayBlockingQueueFactory;
+import org.apache.camel.component.seda.BlockingQueueFactory;
+import org.apache.camel.component.seda.LinkedBlockingQueueFactory;
+import org.apache.camel.component.seda.MpscBlockingQueueFactory;
+import org.apache.camel.component.seda.SpmcBlockingQueueFactory;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the throughput of the queues created by the {@link BlockingQueueFactory} implementations of the SEDA component,
+ * with multiple producers and a single consumer, and with a single producer and multiple consumers.
+ */
+public class BlockingQueueFactoryTest {
+
+    private static final Integer ELEMENT = 1;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Group)
+    public static class MultipleProducersState {
+        @Param({"linked", "array", "mpsc"})
+        String factory;
+        BlockingQueue<Integer> queue;
+
+        @Setup(Level.Iteration)
+        public void initialize() {
+            queue = createFactory(factory).create(1024);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class MultipleConsumersState {
+        @Param({"linked", "array", "spmc"})
+        String factory;
+        BlockingQueue<Integer> queue;
+
+        @Setup(Level.Iteration)
+        public void initialize() {
+            queue = createFactory(factory).create(1024);
+        }
+    }
+
+    static BlockingQueueFactory<Integer> createFactory(String name) {
+        switch (name) {
+        case "linked":
+            return new LinkedBlockingQueueFactory<>();
+        case "array":
+            return new ArrayBlockingQueueFactory<>();
+        case "mpsc":
+            return new MpscBlockingQueueFactory<>();
+        case "spmc":
+            return new SpmcBlockingQueueFactory<>();
+        default:
+            throw new IllegalArgumentException("Unknown queue factory: " + name);
+        }
+    }
+
+    @Benchmark
+    @Group("multipleProducers")
+    @GroupThreads(3)
+    public boolean multipleProducersOffer(MultipleProducersState state) {
+        return state.queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("multipleProducers")
+    @GroupThreads(1)
+    public Integer multipleProducersPoll(MultipleProducersState state) {
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    @Group("multipleConsumers")
+    @GroupThreads(1)
+    public boolean multipleConsumersOffer(MultipleConsumersState state) {
+        return state.queue.offer(ELEMENT);
+    }
+
+    @Benchmark
+    @Group("multipleConsumers")
+    @GroupThreads(3)
+    public Integer multipleConsumersPoll(MultipleConsumersState state) {
+        return state.queue.poll();
+    }
+
+}
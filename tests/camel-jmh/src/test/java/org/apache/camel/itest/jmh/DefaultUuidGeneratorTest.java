@@ -18,7 +18,10 @@ package org.apache.camel.itest.jmh;
 
 import java.util.concurrent.TimeUnit;
 
+import org.apache.camel.impl.CompactUuidGenerator;
 import org.apache.camel.impl.DefaultUuidGenerator;
+import org.apache.camel.impl.JavaUuidGenerator;
+import org.apache.camel.support.SimpleUuidGenerator;
 import org.junit.Test;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Level;
@@ -34,7 +37,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
- * Tests the {@link DefaultUuidGenerator}.
+ * Tests the {@link DefaultUuidGenerator} compared to the {@link CompactUuidGenerator},
+ * {@link JavaUuidGenerator} and {@link SimpleUuidGenerator}.
  * <p/>
  * Thanks to this SO answer: https://stackoverflow.com/questions/30485856/how-to-run-jmh-from-inside-junit-tests
  */
@@ -64,13 +68,20 @@ public class DefaultUuidGeneratorTest {
 
     // The JMH samples are the best documentation for how to use it
     // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
-    @State(Scope.Thread)
+    // shared by the threads as the generator of a CamelContext is
+    @State(Scope.Benchmark)
     public static class BenchmarkState {
         DefaultUuidGenerator uuid;
+        CompactUuidGenerator compact;
+        JavaUuidGenerator java;
+        SimpleUuidGenerator simple;
 
         @Setup(Level.Trial)
         public void initialize() {
             uuid = new DefaultUuidGenerator();
+            compact = new CompactUuidGenerator();
+            java = new JavaUuidGenerator();
+            simple = new SimpleUuidGenerator();
         }
     }
 
@@ -81,4 +92,25 @@ public class DefaultUuidGeneratorTest {
         bh.consume(id);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000000)
+    public void benchmarkCompact(BenchmarkState state, Blackhole bh) {
+        String id = state.compact.generateUuid();
+        bh.consume(id);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000000)
+    public void benchmarkJava(BenchmarkState state, Blackhole bh) {
+        String id = state.java.generateUuid();
+        bh.consume(id);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000000)
+    public void benchmarkSimple(BenchmarkState state, Blackhole bh) {
+        String id = state.simple.generateUuid();
+        bh.consume(id);
+    }
+
 }
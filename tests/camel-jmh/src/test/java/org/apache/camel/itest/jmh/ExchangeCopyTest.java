@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the allocations when copying an {@link Exchange} for split and multicast fan-out.
+ */
+public class ExchangeCopyTest {
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                // report the allocation rate per operation
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Thread)
+    public static class BenchmarkState {
+        CamelContext camel;
+        ProducerTemplate producer;
+        Exchange exchange;
+        List<String> lines;
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            camel = new DefaultCamelContext();
+            camel.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("direct:split").split(body()).setHeader("line", body()).end();
+
+                    from("direct:multicast").multicast().to("direct:a", "direct:b", "direct:c", "direct:d");
+                    from("direct:a").setHeader("branch", constant("a"));
+                    from("direct:b").setHeader("branch", constant("b"));
+                    from("direct:c").setHeader("branch", constant("c"));
+                    from("direct:d").setHeader("branch", constant("d"));
+                }
+            });
+            camel.start();
+            producer = camel.createProducerTemplate();
+
+            exchange = new DefaultExchange(camel);
+            for (int i = 0; i < 10; i++) {
+                exchange.getIn().setHeader("header" + i, "value" + i);
+                exchange.setProperty("property" + i, "value" + i);
+            }
+            exchange.getIn().setBody("Hello World");
+
+            lines = new ArrayList<>(1000);
+            for (int i = 0; i < 1000; i++) {
+                lines.add("line" + i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            try {
+                producer.stop();
+                camel.stop();
+            } catch (Exception e) {
+                // ignore
+            }
+        }
+    }
+
+    @Benchmark
+    public void copy(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.exchange.copy());
+    }
+
+    @Benchmark
+    public void copyAndSetHeader(BenchmarkState state, Blackhole bh) {
+        Exchange copy = state.exchange.copy();
+        copy.getIn().setHeader("header0", "changed");
+        bh.consume(copy);
+    }
+
+    @Benchmark
+    public void splitFanOut(BenchmarkState state, Blackhole bh) {
+        Exchange exchange = state.exchange.copy();
+        exchange.getIn().setBody(state.lines);
+        bh.consume(state.producer.send("direct:split", exchange));
+    }
+
+    @Benchmark
+    public void multicastFanOut(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.producer.send("direct:multicast", state.exchange.copy()));
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.language.simple.SimpleLanguage;
 import org.apache.camel.spi.Language;
 import org.apache.camel.support.DefaultExchange;
 import org.junit.Test;
@@ -39,7 +40,7 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
 /**
- * Tests a Simple expression
+ * Tests a Simple expression and predicate, using both the interpreted and the compiled simple language
  */
 public class SimpleExpressionTest {
 
@@ -71,8 +72,10 @@ public class SimpleExpressionTest {
     public static class BenchmarkState {
         CamelContext camel;
         String expression = "Hello ${body}";
+        String predicate = "${header.foo} == 'abc' && ${header.bar} > 100";
         Exchange exchange;
         Language simple;
+        SimpleLanguage compiled;
 
         @Setup(Level.Trial)
         public void initialize() {
@@ -81,8 +84,15 @@ public class SimpleExpressionTest {
                 camel.start();
                 exchange = new DefaultExchange(camel);
                 exchange.getIn().setBody("World");
+                exchange.getIn().setHeader("foo", "abc");
+                exchange.getIn().setHeader("bar", 123);
                 simple = camel.resolveLanguage("simple");
 
+                compiled = new SimpleLanguage();
+                compiled.setCamelContext(camel);
+                compiled.setCompiled(true);
+                compiled.start();
+
             } catch (Exception e) {
                 // ignore
             }
@@ -109,4 +119,34 @@ public class SimpleExpressionTest {
         bh.consume(out);
     }
 
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simpleExpressionCompiled(BenchmarkState state, Blackhole bh) {
+        String out = state.compiled.createExpression(state.expression).evaluate(state.exchange, String.class);
+        if (!out.equals("Hello World")) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simplePredicate(BenchmarkState state, Blackhole bh) {
+        boolean out = state.simple.createPredicate(state.predicate).matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
+    @Benchmark
+    @Measurement(batchSize = 1000)
+    public void simplePredicateCompiled(BenchmarkState state, Blackhole bh) {
+        boolean out = state.compiled.createPredicate(state.predicate).matches(state.exchange);
+        if (!out) {
+            throw new IllegalArgumentException("Evaluation failed");
+        }
+        bh.consume(out);
+    }
+
 }
@@ -0,0 +1,111 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.itest.jmh;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Tests the {@link DefaultTimeoutMap} with 1 million pending entries, such as in-flight request/reply
+ * correlations which has not timed out yet.
+ */
+public class TimeoutMapTest {
+
+    private static final int PENDING = 1000000;
+
+    @Test
+    public void launchBenchmark() throws Exception {
+        Options opt = new OptionsBuilder()
+                // Specify which benchmarks to run.
+                // You can be more specific if you'd like to run only one benchmark per test.
+                .include(this.getClass().getName() + ".*")
+                // Set the following options as needed
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupTime(TimeValue.seconds(1))
+                .warmupIterations(2)
+                .measurementTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .threads(1)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    // The JMH samples are the best documentation for how to use it
+    // http://hg.openjdk.java.net/code-tools/jmh/file/tip/jmh-samples/src/main/java/org/openjdk/jmh/samples/
+    @State(Scope.Benchmark)
+    public static class BenchmarkState {
+        ScheduledExecutorService executor;
+        DefaultTimeoutMap<String, String> map;
+        AtomicLong counter = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void initialize() throws Exception {
+            executor = Executors.newSingleThreadScheduledExecutor();
+            // the map is not started as the benchmarks purge on demand
+            map = new DefaultTimeoutMap<>(executor, 1000);
+            for (int i = 0; i < PENDING; i++) {
+                // spread the timeouts over an hour so none of them expire
+                map.put("pending" + i, "value" + i, TimeUnit.HOURS.toMillis(1) + i % 3600000);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public void putAndRemove(BenchmarkState state, Blackhole bh) {
+        String key = "key" + state.counter.incrementAndGet();
+        bh.consume(state.map.put(key, key, 30000));
+        bh.consume(state.map.remove(key));
+    }
+
+    @Benchmark
+    public void get(BenchmarkState state, Blackhole bh) {
+        bh.consume(state.map.get("pending" + state.counter.incrementAndGet() % PENDING));
+    }
+
+    @Benchmark
+    public void purge(BenchmarkState state) {
+        state.map.purge();
+    }
+
+}
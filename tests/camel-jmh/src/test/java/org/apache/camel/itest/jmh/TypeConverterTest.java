@@ -77,6 +77,7 @@ public class TypeConverterTest {
         String someIntegerString = String.valueOf(someInteger);
         String xmlAsString;
         byte[] xmlAsBytes;
+        Object[] mixedValues;
 
         CamelContext camel;
 
@@ -91,6 +92,11 @@ public class TypeConverterTest {
 
             xmlAsString = IOHelper.loadText(getClass().getClassLoader().getResourceAsStream("sample_soap.xml"));
             xmlAsBytes = xmlAsString.getBytes(StandardCharsets.UTF_8);
+
+            // a mix of values which has direct type converters, type converters from their super type,
+            // and types which cannot be converted to an Integer
+            mixedValues = new Object[]{someIntegerString, someInteger, 123L, 45.6d, new StringBuilder("789"),
+                Boolean.TRUE, Thread.State.RUNNABLE, new Object()};
         }
 
         @TearDown(Level.Trial)
@@ -146,6 +152,20 @@ public class TypeConverterTest {
         bh.consume(bytes);
     }
 
+    @Benchmark
+    public void typeConvertMixedToString(BenchmarkCamelContextState state, Blackhole bh) {
+        for (Object value : state.mixedValues) {
+            bh.consume(state.camel.getTypeConverter().convertTo(String.class, value));
+        }
+    }
+
+    @Benchmark
+    public void typeConvertMixedToInteger(BenchmarkCamelContextState state, Blackhole bh) {
+        for (Object value : state.mixedValues) {
+            bh.consume(state.camel.getTypeConverter().tryConvertTo(Integer.class, value));
+        }
+    }
+
     @Benchmark
     public void typeConvertByteArrayToString(BenchmarkCamelContextState state, Blackhole bh) {
         String string = state.camel.getTypeConverter().convertTo(String.class, state.xmlAsBytes);
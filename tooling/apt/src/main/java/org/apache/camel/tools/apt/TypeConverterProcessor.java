@@ -17,6 +17,8 @@
 package org.apache.camel.tools.apt;
 
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -24,17 +26,37 @@ import java.util.TreeMap;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
 import javax.tools.StandardLocation;
 
 import static org.apache.camel.tools.apt.helper.Strings.canonicalClassName;
 
+/**
+ * Lists the {@link org.apache.camel.Converter} classes of the module in the <tt>META-INF/services/org/apache/camel/TypeConverter</tt>
+ * file, and generates a type converter loader for each of these classes which registers its type converters without
+ * using reflection. The loaders are listed in the <tt>META-INF/services/org/apache/camel/TypeConverterLoader</tt> file.
+ * <p/>
+ * A loader is only generated if all its converter methods can be called directly, otherwise the class is only loaded
+ * using reflection at runtime.
+ */
 @SupportedAnnotationTypes({"org.apache.camel.Converter"})
 public class TypeConverterProcessor extends AbstractCamelAnnotationProcessor {
 
+    private static final String LOADER_SUFFIX = "Loader";
+
     @Override
     protected void doProcess(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) throws Exception {
         TypeElement converterAnnotationType = this.processingEnv.getElementUtils().getTypeElement("org.apache.camel.Converter");
@@ -63,7 +85,205 @@ public class TypeConverterProcessor extends AbstractCamelAnnotationProcessor {
                     w.append(s).append("\n");
                 }
             }
+
+            // the generated loaders needs the simple type converter from camel-support
+            if (this.processingEnv.getElementUtils().getTypeElement("org.apache.camel.support.SimpleTypeConverter") != null) {
+                generateTypeConverterLoaders(converterClasses);
+            }
+        }
+    }
+
+    private void generateTypeConverterLoaders(Map<String, Element> converterClasses) throws Exception {
+        Map<String, Element> loaders = new TreeMap<>();
+        for (Map.Entry<String, Element> entry : converterClasses.entrySet()) {
+            TypeElement classElement = (TypeElement) entry.getValue();
+            List<ExecutableElement> converters = new ArrayList<>();
+            List<ExecutableElement> fallbackConverters = new ArrayList<>();
+            if (findConverterMethods(classElement, converters, fallbackConverters)) {
+                String loader = entry.getKey() + LOADER_SUFFIX;
+                writeTypeConverterLoader(classElement, loader, converters, fallbackConverters);
+                loaders.put(loader, classElement);
+            }
+        }
+
+        if (!loaders.isEmpty()) {
+            Filer filer = processingEnv.getFiler();
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT,
+                    "", "META-INF/services/org/apache/camel/TypeConverterLoader",
+                    loaders.values().toArray(new Element[0]));
+            try (Writer w = resource.openWriter()) {
+                w.append("# Generated by camel annotation processor\n");
+                for (String s : loaders.keySet()) {
+                    w.append(s).append("\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the converter methods of the class.
+     *
+     * @return <tt>true</tt> if a loader can be generated for the class, or <tt>false</tt> if the class
+     *         must be loaded using reflection, such as when it inherits converter methods or has methods
+     *         which are not valid converters
+     */
+    private boolean findConverterMethods(TypeElement classElement, List<ExecutableElement> converters, List<ExecutableElement> fallbackConverters) {
+        Set<Modifier> modifiers = classElement.getModifiers();
+        if (classElement.getKind() != ElementKind.CLASS || !modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.ABSTRACT)
+                || !classElement.getTypeParameters().isEmpty() || !"java.lang.Object".equals(toString(classElement.getSuperclass()))) {
+            return false;
+        }
+
+        for (Element element : classElement.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) element;
+            boolean converter = hasAnnotation(method, "org.apache.camel.Converter");
+            boolean fallback = !converter && hasAnnotation(method, "org.apache.camel.FallbackConverter");
+            if (!converter && !fallback) {
+                continue;
+            }
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.ABSTRACT)
+                    || method.getReturnType().getKind() == TypeKind.VOID) {
+                return false;
+            }
+            List<? extends VariableElement> parameters = method.getParameters();
+            int size = parameters.size();
+            if (converter) {
+                if (size != 1 && (size != 2 || !isAssignable(parameters.get(1).asType(), "org.apache.camel.Exchange"))) {
+                    return false;
+                }
+                converters.add(method);
+            } else {
+                if ((size != 3 && (size != 4 || !isAssignable(parameters.get(1).asType(), "org.apache.camel.Exchange")))
+                        || !isAssignable(parameters.get(size - 1).asType(), "org.apache.camel.spi.TypeConverterRegistry")) {
+                    return false;
+                }
+                fallbackConverters.add(method);
+            }
+        }
+        return !converters.isEmpty() || !fallbackConverters.isEmpty();
+    }
+
+    private void writeTypeConverterLoader(TypeElement classElement, String loader, List<ExecutableElement> converters,
+                                          List<ExecutableElement> fallbackConverters) throws Exception {
+        String type = toString(classElement.asType());
+        int pos = loader.lastIndexOf('.');
+        String p = loader.substring(0, pos);
+        String c = loader.substring(pos + 1);
+        boolean instance = false;
+
+        JavaFileObject jfo = processingEnv.getFiler().createSourceFile(loader, classElement);
+        try (Writer writer = jfo.openWriter()) {
+            writer.append("/* Generated by camel annotation processor */\n");
+            writer.append("package ").append(p).append(";\n");
+            writer.append("\n");
+            writer.append("/**\n");
+            writer.append(" * Loads the type converters of {@link ").append(type).append("} without using reflection.\n");
+            writer.append(" */\n");
+            writer.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.append("public final class ").append(c).append(" implements org.apache.camel.spi.TypeConverterLoader {\n");
+            writer.append("\n");
+            writer.append("    @Override\n");
+            writer.append("    public void load(org.apache.camel.spi.TypeConverterRegistry registry) throws org.apache.camel.TypeConverterLoaderException {\n");
+            for (ExecutableElement method : converters) {
+                instance |= !method.getModifiers().contains(Modifier.STATIC);
+                List<? extends VariableElement> parameters = method.getParameters();
+                writer.append("        registry.addTypeConverter(").append(toString(method.getReturnType())).append(".class, ")
+                        .append(toString(parameters.get(0).asType())).append(".class,\n");
+                writer.append("            new org.apache.camel.support.SimpleTypeConverter(")
+                        .append(getAnnotationValue(method, "org.apache.camel.Converter", "allowNull")).append(", (type, exchange, value) -> ")
+                        .append(toJava(type, method)).append("(").append(cast(parameters.get(0).asType(), "value"));
+                if (parameters.size() == 2) {
+                    writer.append(", ").append(cast(parameters.get(1).asType(), "exchange"));
+                }
+                writer.append(")));\n");
+            }
+            for (ExecutableElement method : fallbackConverters) {
+                instance |= !method.getModifiers().contains(Modifier.STATIC);
+                List<? extends VariableElement> parameters = method.getParameters();
+                writer.append("        registry.addFallbackTypeConverter(\n");
+                writer.append("            new org.apache.camel.support.SimpleTypeConverter(")
+                        .append(getAnnotationValue(method, "org.apache.camel.FallbackConverter", "allowNull")).append(", (type, exchange, value) -> ")
+                        .append(toJava(type, method)).append("(type, ");
+                if (parameters.size() == 4) {
+                    writer.append(cast(parameters.get(1).asType(), "exchange")).append(", ");
+                }
+                writer.append(cast(parameters.get(parameters.size() - 2).asType(), "value")).append(", registry)),\n");
+                writer.append("            ").append(getAnnotationValue(method, "org.apache.camel.FallbackConverter", "canPromote")).append(");\n");
+            }
+            writer.append("    }\n");
+
+            if (instance) {
+                writer.append("\n");
+                writer.append("    private volatile ").append(type).append(" converter;\n");
+                writer.append("\n");
+                writer.append("    private ").append(type).append(" getConverter(org.apache.camel.spi.TypeConverterRegistry registry) {\n");
+                writer.append("        if (converter == null) {\n");
+                writer.append("            synchronized (this) {\n");
+                writer.append("                if (converter == null) {\n");
+                writer.append("                    converter = registry.getInjector().newInstance(").append(type).append(".class);\n");
+                writer.append("                }\n");
+                writer.append("            }\n");
+                writer.append("        }\n");
+                writer.append("        return converter;\n");
+                writer.append("    }\n");
+            }
+
+            writer.append("\n");
+            writer.append("}\n");
+            writer.flush();
+        }
+    }
+
+    private String toJava(String type, ExecutableElement method) {
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return type + "." + method.getSimpleName();
+        } else {
+            return "getConverter(registry)." + method.getSimpleName();
+        }
+    }
+
+    private String cast(TypeMirror type, String name) {
+        String answer = toString(type);
+        if (answer.equals("java.lang.Object") || (name.equals("exchange") && answer.equals("org.apache.camel.Exchange"))) {
+            return name;
+        }
+        return "(" + answer + ") " + name;
+    }
+
+    private String toString(TypeMirror type) {
+        // use the erasure as the type converters are registered using the erased types, the same as using reflection
+        Types types = processingEnv.getTypeUtils();
+        return canonicalClassName(types.erasure(type).toString());
+    }
+
+    private boolean isAssignable(TypeMirror type, String className) {
+        TypeElement element = processingEnv.getElementUtils().getTypeElement(className);
+        return element != null && processingEnv.getTypeUtils().isAssignable(type, element.asType());
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (AnnotationMirror ann : element.getAnnotationMirrors()) {
+            if (annotation.equals(ann.getAnnotationType().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getAnnotationValue(Element element, String annotation, String name) {
+        for (AnnotationMirror ann : element.getAnnotationMirrors()) {
+            if (annotation.equals(ann.getAnnotationType().toString())) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : ann.getElementValues().entrySet()) {
+                    if (name.equals(entry.getKey().getSimpleName().toString())) {
+                        return entry.getValue().getValue().toString();
+                    }
+                }
+            }
         }
+        return "false";
     }
 
-}
\ No newline at end of file
+}
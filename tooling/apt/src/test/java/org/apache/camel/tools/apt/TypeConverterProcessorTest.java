@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.tools.apt;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class TypeConverterProcessorTest {
+
+    private Path dir;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("apt");
+
+        // the camel types the processor and the generated loaders need, so the test does not depend on camel-api
+        write("org/apache/camel/Converter.java", "package org.apache.camel;\n"
+                + "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n"
+                + "public @interface Converter { boolean allowNull() default false; }\n");
+        write("org/apache/camel/Exchange.java", "package org.apache.camel;\npublic interface Exchange { }\n");
+        write("org/apache/camel/TypeConverterLoaderException.java", "package org.apache.camel;\n"
+                + "public class TypeConverterLoaderException extends Exception { }\n");
+        write("org/apache/camel/spi/Injector.java", "package org.apache.camel.spi;\n"
+                + "public interface Injector { <T> T newInstance(Class<T> type); }\n");
+        write("org/apache/camel/spi/TypeConverterRegistry.java", "package org.apache.camel.spi;\n"
+                + "public interface TypeConverterRegistry {\n"
+                + "    void addTypeConverter(Class<?> toType, Class<?> fromType, Object typeConverter);\n"
+                + "    void addFallbackTypeConverter(Object typeConverter, boolean canPromote);\n"
+                + "    Injector getInjector();\n"
+                + "}\n");
+        write("org/apache/camel/spi/TypeConverterLoader.java", "package org.apache.camel.spi;\n"
+                + "public interface TypeConverterLoader {\n"
+                + "    void load(TypeConverterRegistry registry) throws org.apache.camel.TypeConverterLoaderException;\n"
+                + "}\n");
+        write("org/apache/camel/support/SimpleTypeConverter.java", "package org.apache.camel.support;\n"
+                + "public class SimpleTypeConverter {\n"
+                + "    public interface ConversionMethod {\n"
+                + "        Object doConvert(Class<?> type, org.apache.camel.Exchange exchange, Object value) throws Exception;\n"
+                + "    }\n"
+                + "    public SimpleTypeConverter(boolean allowNull, ConversionMethod method) { }\n"
+                + "}\n");
+
+        write("sample/MyConverter.java", "package sample;\n"
+                + "import org.apache.camel.Converter;\n"
+                + "import org.apache.camel.Exchange;\n"
+                + "@Converter\n"
+                + "public class MyConverter {\n"
+                + "    @Converter(allowNull = true)\n"
+                + "    public static Integer toInteger(String value) { return Integer.valueOf(value); }\n"
+                + "    @Converter\n"
+                + "    public Long toLong(String value, Exchange exchange) { return Long.valueOf(value); }\n"
+                + "}\n");
+        write("sample/MyBaseConverter.java", "package sample;\n"
+                + "public class MyBaseConverter {\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public static Integer toInteger(String value) { return Integer.valueOf(value); }\n"
+                + "}\n");
+        write("sample/MyInheritedConverter.java", "package sample;\n"
+                + "@org.apache.camel.Converter\n"
+                + "public class MyInheritedConverter extends MyBaseConverter {\n"
+                + "    @org.apache.camel.Converter\n"
+                + "    public static Long toLong(String value) { return Long.valueOf(value); }\n"
+                + "}\n");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted((a, b) -> b.compareTo(a)).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Test
+    public void testGenerateTypeConverterLoader() throws Exception {
+        process();
+
+        assertEquals(Arrays.asList("sample.MyConverter", "sample.MyInheritedConverter"),
+                readServices("META-INF/services/org/apache/camel/TypeConverter"));
+        // no loader for a class which inherits converter methods, as it is loaded using reflection
+        assertEquals(Arrays.asList("sample.MyConverterLoader"),
+                readServices("META-INF/services/org/apache/camel/TypeConverterLoader"));
+        assertFalse(Files.exists(dir.resolve("generated/sample/MyInheritedConverterLoader.java")));
+
+        String loader = read("generated/sample/MyConverterLoader.java");
+        assertTrue(loader, loader.contains("public final class MyConverterLoader implements org.apache.camel.spi.TypeConverterLoader {"));
+        assertTrue(loader, loader.contains("registry.addTypeConverter(java.lang.Integer.class, java.lang.String.class,\n"
+                + "            new org.apache.camel.support.SimpleTypeConverter(true, (type, exchange, value) -> "
+                + "sample.MyConverter.toInteger((java.lang.String) value)));"));
+        assertTrue(loader, loader.contains("registry.addTypeConverter(java.lang.Long.class, java.lang.String.class,\n"
+                + "            new org.apache.camel.support.SimpleTypeConverter(false, (type, exchange, value) -> "
+                + "getConverter(registry).toLong((java.lang.String) value, exchange)));"));
+        // the instance converter is created using the injector of the registry
+        assertTrue(loader, loader.contains("converter = registry.getInjector().newInstance(sample.MyConverter.class);"));
+        assertTrue(Files.exists(dir.resolve("classes/sample/MyConverterLoader.class")));
+    }
+
+    private void process() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull("No java compiler", compiler);
+
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+        // the generated loaders are compiled too, so the test fails if they are not valid java code
+        List<String> args = new ArrayList<>(Arrays.asList("-processor", TypeConverterProcessor.class.getName(),
+                "-d", classes.toString(), "-s", generated.toString()));
+        try (Stream<Path> paths = Files.walk(dir.resolve("src"))) {
+            paths.filter(p -> p.toString().endsWith(".java")).forEach(p -> args.add(p.toString()));
+        }
+        assertEquals(0, compiler.run(null, null, null, args.toArray(new String[0])));
+    }
+
+    private void write(String name, String source) throws IOException {
+        Path file = dir.resolve("src").resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(String name) throws IOException {
+        return new String(Files.readAllBytes(dir.resolve(name)), StandardCharsets.UTF_8);
+    }
+
+    private List<String> readServices(String name) throws IOException {
+        return Files.readAllLines(dir.resolve("classes").resolve(name), StandardCharsets.UTF_8).stream()
+                .filter(s -> !s.startsWith("#")).collect(Collectors.toList());
+    }
+
+}